@@ -0,0 +1,67 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.agent.Agent;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.maze.Maze;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single agent environment interaction ({@link Agent#doAction()}) for every exploration policy. The agent
+ * is moved back to the start node as soon as it reaches the end node, the knowledge of the agent is kept.
+ * The misc log messages of the agent are discarded, so only the interaction itself is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AgentBenchmark {
+
+    @Param({"Greedy", "Random", "EpsilonGreedy", "DecreasingEpsilon", "EpsilonFirst", "Softmax", "VDBE", "UCB"})
+    public String policy;
+
+    @Param({"10", "100", "1000"})
+    public int mazeSize;
+
+    private Maze maze;
+    private Agent agent;
+
+    @Setup
+    public void setUp() {
+        Logger.muteCurrentThread();
+        maze = BenchmarkMazes.create(mazeSize);
+        agent = new Agent(maze.getStartNode(), BenchmarkPolicies.create(policy, BenchmarkMazes.SEED),
+                0.1, 0.9, 0.0);
+    }
+
+    @Benchmark
+    public void doAction() {
+        if (agent.getCurrentPosition() == maze.getEndNode()) {
+            agent.resetAgentForEpisode(maze);
+        }
+        agent.doAction();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.configuration.Config;
+import de.uni.ks.criterion.changeLevel.MaxEpisodesReached;
+import de.uni.ks.criterion.stopEpisode.EndStateReached;
+import de.uni.ks.maze.complexityFunction.DefaultComplexityFunction;
+import de.uni.ks.maze.utils.mazeOperators.ChangeOptimalPathOperator;
+import de.uni.ks.maze.utils.mazeOperators.DeadEndOperator;
+import de.uni.ks.maze.utils.mazeOperators.NewPathOperator;
+import de.uni.ks.maze.utils.mazeOperators.ResizeOperator;
+
+/**
+ * Creates the configs of the trainings the benchmarks run. The values are the same as in the demo config, apart from
+ * the parameters of the benchmark.
+ */
+public final class BenchmarkConfigs {
+
+    private BenchmarkConfigs() {
+    }
+
+    /**
+     * Creates the config of a headless training, which doesn't show a progress bar in the console.
+     *
+     * @param trainingName     The name of the training and its log.
+     * @param policy           The name of the exploration policy (see {@link BenchmarkPolicies#create(String, int)}).
+     * @param numberOfLevels   The number of levels of the training.
+     * @param episodesPerLevel The number of episodes after which the level is changed.
+     * @param delta            Quantifies how much the maze is changed between two levels.
+     * @return The created config.
+     */
+    public static Config create(String trainingName, String policy, int numberOfLevels, int episodesPerLevel,
+                                double delta) {
+        Config config = new Config();
+        config.trainingName = trainingName;
+
+        config.horizontal = true;
+        config.initialPathLength = 5;
+        config.numberOfWayColors = 10;
+        config.numberOfWallColors = 10;
+        config.generatedWayColorsSeed = 8913;
+        config.generatedWallColorsSeed = 9122;
+        config.usedWayColorsSeed = 123;
+        config.usedWallColorsSeed = 345;
+        config.minWallWayBrightnessDifference = 200;
+
+        config.levelChangeCriteria.add(new MaxEpisodesReached(episodesPerLevel));
+        config.numberOfLevels = numberOfLevels;
+        config.delta = delta;
+        config.complexityFunction = new DefaultComplexityFunction();
+        config.changeMazeSeed = 999;
+        config.mazeOperators.add(new ChangeOptimalPathOperator(5.0, BenchmarkMazes.SEED));
+        config.mazeOperators.add(new DeadEndOperator(3, 50, 40.0, 0.5, BenchmarkMazes.SEED));
+        config.mazeOperators.add(new ResizeOperator(25.0, BenchmarkMazes.SEED));
+        config.mazeOperators.add(new NewPathOperator(4, 50, 10.0, BenchmarkMazes.SEED));
+
+        config.qLearningAlpha = 0.1;
+        config.qLearningGamma = 1.0;
+        config.explorationPolicy = BenchmarkPolicies.create(policy, BenchmarkMazes.SEED);
+        config.episodeStoppingCriteria.add(new EndStateReached());
+        config.initialQValue = 0.0;
+        config.wayNodeReward = -0.1;
+        config.endNodeReward = 1.0;
+        config.startEachLevelWithEmptyQTable = false;
+
+        config.restrictImageSize = true;
+        config.showProgressBarInConsole = false;
+        return config;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import java.io.File;
+
+/**
+ * Removes the logs that the benchmarks write to the "Logs" directory.
+ */
+public final class BenchmarkLogs {
+
+    private BenchmarkLogs() {
+    }
+
+    /**
+     * Deletes all log directories and archives of the training with the passed name, including the logs whose name
+     * got a number appended because the log already existed.
+     *
+     * @param trainingName The name of the training.
+     */
+    public static void delete(String trainingName) {
+        File[] logs = new File("Logs").listFiles((directory, name) -> name.startsWith(trainingName));
+        if (logs == null) return;
+        for (File log : logs) {
+            deleteRecursively(log);
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (!file.delete()) {
+            System.err.println("Can't delete " + file.getAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory;
+import de.uni.ks.maze.utils.MazeUtils;
+import de.uni.ks.maze.utils.mazeOperators.ChangeOptimalPathOperator;
+import de.uni.ks.maze.utils.mazeOperators.DeadEndOperator;
+import de.uni.ks.maze.utils.mazeOperators.MazeOperator;
+import de.uni.ks.maze.utils.mazeOperators.NewPathOperator;
+import de.uni.ks.maze.utils.mazeOperators.ResizeOperator;
+import de.uni.ks.random.RandomStream;
+
+import java.util.List;
+
+/**
+ * Creates the mazes the benchmarks run on. The mazes are generated with the existing maze operators and fixed seeds,
+ * so every benchmark run works on exactly the same mazes.
+ */
+public final class BenchmarkMazes {
+
+    public static final int SEED = 123;
+
+    private BenchmarkMazes() {
+    }
+
+    public static NodeFactory createNodeFactory() {
+        return new NodeFactory(-0.1, 1.0, 10, 10, 8913, 9122, 123, 345, 200);
+    }
+
+    /**
+     * Creates a maze whose dimensions are at least {@code size} x {@code size}. The initial linear maze is enlarged by
+     * a {@link ResizeOperator}. Afterwards new paths, dead ends and changes of the optimal path are added, whereby the
+     * allowed change grows linearly with the size of the maze.
+     *
+     * @param size The minimal x and y dimension of the maze.
+     * @return The generated maze.
+     */
+    public static Maze create(int size) {
+        Maze maze = MazeUtils.buildMaze(2, true, createNodeFactory());
+
+        ResizeOperator resizeOperator = new ResizeOperator(1.0, SEED);
+        while (maze.getXDim() < size || maze.getYDim() < size) {
+            int missingDimensions = Math.max(size - maze.getXDim(), size - maze.getYDim());
+            resizeOperator.estimateCost(maze, missingDimensions);
+            resizeOperator.changeMaze(maze);
+        }
+
+        List<MazeOperator> operators = List.of(
+                new NewPathOperator(4, size, 1.0, SEED),
+                new DeadEndOperator(3, size, 1.0, 0.5, SEED),
+                new ChangeOptimalPathOperator(1.0, SEED));
+        MazeUtils.changeMaze(maze, operators, size * 4.0, new RandomStream(SEED));
+        return maze;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.agent.explorationPolicies.DecreasingEpsilonPolicy;
+import de.uni.ks.agent.explorationPolicies.EpsilonFirstPolicy;
+import de.uni.ks.agent.explorationPolicies.EpsilonGreedyPolicy;
+import de.uni.ks.agent.explorationPolicies.ExplorationPolicy;
+import de.uni.ks.agent.explorationPolicies.GreedyPolicy;
+import de.uni.ks.agent.explorationPolicies.RandomPolicy;
+import de.uni.ks.agent.explorationPolicies.SoftmaxPolicy;
+import de.uni.ks.agent.explorationPolicies.UCBPolicy;
+import de.uni.ks.agent.explorationPolicies.VDBEPolicy;
+
+/**
+ * Creates the exploration policies the benchmarks are parameterised with. The names are the simple class names
+ * without the suffix "Policy", so they can be used as values of a JMH {@code @Param}.
+ */
+public final class BenchmarkPolicies {
+
+    private BenchmarkPolicies() {
+    }
+
+    /**
+     * Creates a new instance of the exploration policy with the passed name.
+     *
+     * @param name The name of the policy, e.g. "Greedy" or "VDBE".
+     * @param seed The seed of the policy.
+     * @return The created policy.
+     * @throws IllegalArgumentException If no policy with the passed name exists.
+     */
+    public static ExplorationPolicy create(String name, int seed) {
+        switch (name) {
+            case "Greedy":
+                return new GreedyPolicy(seed);
+            case "Random":
+                return new RandomPolicy(seed);
+            case "EpsilonGreedy":
+                return new EpsilonGreedyPolicy(0.1, seed);
+            case "DecreasingEpsilon":
+                return new DecreasingEpsilonPolicy(0.5, 0.999, seed);
+            case "EpsilonFirst":
+                return new EpsilonFirstPolicy(0.5, 0.05, 1000, seed);
+            case "Softmax":
+                return new SoftmaxPolicy(0.5, 10, seed);
+            case "VDBE":
+                return new VDBEPolicy(1.0, 0.5, seed);
+            case "UCB":
+                return new UCBPolicy(1.0, seed);
+            default:
+                throw new IllegalArgumentException("Unknown exploration policy [" + name + "].");
+        }
+    }
+}
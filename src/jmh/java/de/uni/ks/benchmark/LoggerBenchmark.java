@@ -0,0 +1,69 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.MazeSimulator;
+import de.uni.ks.configuration.Config;
+import de.uni.ks.logging.LogFormat;
+import de.uni.ks.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Logger#writeLog()} for the log of a finished headless training. Every invocation writes a new copy
+ * of the log to the "Logs" directory, the copies are deleted after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+public class LoggerBenchmark {
+
+    private static final String TRAINING_NAME = "LoggerBenchmark";
+
+    @Param({"DIRECTORY", "ZIP"})
+    public LogFormat logFormat;
+
+    @Param({"5", "20"})
+    public int numberOfLevels;
+
+    @Setup
+    public void setUp() {
+        Config config = BenchmarkConfigs.create(TRAINING_NAME, "EpsilonGreedy", numberOfLevels, 10, 200.0);
+        config.logFormat = logFormat;
+        MazeSimulator.createTraining(config, false).doTraining();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteLogs() {
+        BenchmarkLogs.delete(TRAINING_NAME);
+    }
+
+    @Benchmark
+    public void writeLog() {
+        Logger.writeLog();
+    }
+}
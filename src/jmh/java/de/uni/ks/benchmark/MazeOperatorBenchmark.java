@@ -0,0 +1,83 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.logging.Logger;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.utils.mazeOperators.ChangeOptimalPathOperator;
+import de.uni.ks.maze.utils.mazeOperators.DeadEndOperator;
+import de.uni.ks.maze.utils.mazeOperators.MazeOperator;
+import de.uni.ks.maze.utils.mazeOperators.NewPathOperator;
+import de.uni.ks.maze.utils.mazeOperators.ResizeOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MazeOperator#estimateCost(Maze, double)} of every maze operator. The maze is not changed, so every
+ * invocation estimates the cost of an operation on the same maze.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MazeOperatorBenchmark {
+
+    @Param({"Resize", "NewPath", "DeadEnd", "ChangeOptimalPath"})
+    public String operator;
+
+    @Param({"10", "100", "1000"})
+    public int mazeSize;
+
+    private Maze maze;
+    private MazeOperator mazeOperator;
+    private double allowedCost;
+
+    @Setup
+    public void setUp() {
+        Logger.muteCurrentThread();
+        maze = BenchmarkMazes.create(mazeSize);
+        mazeOperator = createOperator(operator, mazeSize);
+        allowedCost = mazeSize;
+    }
+
+    private static MazeOperator createOperator(String name, int mazeSize) {
+        switch (name) {
+            case "Resize":
+                return new ResizeOperator(1.0, BenchmarkMazes.SEED);
+            case "NewPath":
+                return new NewPathOperator(4, mazeSize, 1.0, BenchmarkMazes.SEED);
+            case "DeadEnd":
+                return new DeadEndOperator(3, mazeSize, 1.0, 0.5, BenchmarkMazes.SEED);
+            case "ChangeOptimalPath":
+                return new ChangeOptimalPathOperator(1.0, BenchmarkMazes.SEED);
+            default:
+                throw new IllegalArgumentException("Unknown maze operator [" + name + "].");
+        }
+    }
+
+    @Benchmark
+    public double estimateCost() {
+        return mazeOperator.estimateCost(maze, allowedCost);
+    }
+}
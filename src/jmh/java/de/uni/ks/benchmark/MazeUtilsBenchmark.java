@@ -0,0 +1,72 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.logging.Logger;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.maze.complexityFunction.DefaultComplexityFunction;
+import de.uni.ks.maze.utils.MazeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the path searches of {@link MazeUtils} and the {@link DefaultComplexityFunction}, which are executed
+ * whenever the maze of a level is changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MazeUtilsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int mazeSize;
+
+    private Maze maze;
+    private DefaultComplexityFunction complexityFunction;
+
+    @Setup
+    public void setUp() {
+        Logger.muteCurrentThread();
+        maze = BenchmarkMazes.create(mazeSize);
+        complexityFunction = new DefaultComplexityFunction();
+    }
+
+    @Benchmark
+    public Stack<Node> getShortestPath() {
+        return MazeUtils.getShortestPath(maze, maze.getStartNode(), maze.getEndNode());
+    }
+
+    @Benchmark
+    public Stack<Node> getAllParallelRouteNodes() {
+        return MazeUtils.getAllParallelRouteNodes(maze);
+    }
+
+    @Benchmark
+    public double calculateComplexity() {
+        return complexityFunction.calculateComplexity(maze);
+    }
+}
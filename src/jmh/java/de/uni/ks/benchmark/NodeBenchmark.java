@@ -0,0 +1,63 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.logging.Logger;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding of a node as state, which is done several times for every action of the agent.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodeBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int mazeSize;
+
+    private Node[] nodes;
+    private int nextNode;
+
+    @Setup
+    public void setUp() {
+        Logger.muteCurrentThread();
+        Maze maze = BenchmarkMazes.create(mazeSize);
+        List<Node> passableNodes = maze.getAllPassableNodes();
+        nodes = passableNodes.toArray(new Node[0]);
+        nextNode = 0;
+    }
+
+    @Benchmark
+    public String getState() {
+        Node node = nodes[nextNode];
+        nextNode = (nextNode + 1) % nodes.length;
+        return node.getState();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.agent.Action;
+import de.uni.ks.agent.Agent;
+import de.uni.ks.agent.QTable;
+import de.uni.ks.agent.explorationPolicies.GreedyPolicy;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the accesses to the {@link QTable} that are done for every action of the agent. The Q-Table contains an
+ * entry for every passable node of the maze, the accessed nodes and actions are visited round robin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QTableBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int mazeSize;
+
+    private QTable qTable;
+    private Node[] nodes;
+    private Action[] actions;
+    private int nextEntry;
+
+    @Setup
+    public void setUp() {
+        Logger.muteCurrentThread();
+        Maze maze = BenchmarkMazes.create(mazeSize);
+        Agent agent = new Agent(maze.getStartNode(), new GreedyPolicy(BenchmarkMazes.SEED), 0.1, 0.9, 0.0);
+        qTable = new QTable(0.0);
+
+        // remember one entry per state-action pair, so every access hits an existing entry
+        List<Node> entryNodes = new ArrayList<>();
+        List<Action> entryActions = new ArrayList<>();
+        for (Node node : maze.getAllPassableNodes()) {
+            ArrayList<Action> nodeActions = agent.createActions(node);
+            qTable.addEntry(node, nodeActions);
+            for (Action action : nodeActions) {
+                entryNodes.add(node);
+                entryActions.add(action);
+            }
+        }
+        nodes = entryNodes.toArray(new Node[0]);
+        actions = entryActions.toArray(new Action[0]);
+        nextEntry = 0;
+    }
+
+    private int nextEntry() {
+        int entry = nextEntry;
+        nextEntry = (nextEntry + 1) % nodes.length;
+        return entry;
+    }
+
+    @Benchmark
+    public double getQValue() {
+        int entry = nextEntry();
+        return qTable.getQValue(nodes[entry], actions[entry]);
+    }
+
+    @Benchmark
+    public void setQValue() {
+        int entry = nextEntry();
+        qTable.setQValue(nodes[entry], actions[entry], (double) entry);
+    }
+
+    @Benchmark
+    public Double getHighestQValueOfState() {
+        return qTable.getHighestQValueOfState(nodes[nextEntry()]);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import de.uni.ks.MazeSimulator;
+import de.uni.ks.Training;
+import de.uni.ks.configuration.Config;
+import de.uni.ks.criterion.stopEpisode.MaxActionsReached;
+import de.uni.ks.logging.LogVerbosity;
+import de.uni.ks.logging.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p> Runs a fixed set of headless trainings and measures the throughput of {@link Training#doStep()}, the duration
+ * of the steps that change the level, the peak heap usage and the duration of {@link Logger#writeLog()}. </p>
+ * <p> The trainings combine small, medium and huge mazes with the greedy, softmax and VDBE policy, each with and
+ * without logging. Every training is repeated and the median values are written to a JSON file (see
+ * {@link ThroughputResult}). If a baseline file is passed, the throughput of every training is compared with the
+ * baseline and the program exits with status 1 if it dropped by more than the tolerance. A baseline that doesn't
+ * exist, contains no scenarios or misses a scenario fails the comparison as well, unless
+ * {@code --allowMissingBaseline} is passed. </p>
+ * <p> Arguments: {@code --output=<path>} (required), {@code --baseline=<path>}, {@code --tolerance=<fraction>}
+ * (default 0.1), {@code --repetitions=<n>} (default 3) and {@code --allowMissingBaseline}. </p>
+ */
+public class ThroughputBenchmark {
+
+    public static final String OUTPUT_ARG = "--output";
+    public static final String BASELINE_ARG = "--baseline";
+    public static final String TOLERANCE_ARG = "--tolerance";
+    public static final String REPETITIONS_ARG = "--repetitions";
+    public static final String ALLOW_MISSING_BASELINE_ARG = "--allowMissingBaseline";
+
+    private static final String[] POLICIES = {"Greedy", "Softmax", "VDBE"};
+    private static final int EPISODES_PER_LEVEL = 5;
+    private static final int MAX_ACTIONS_PER_EPISODE = 20000;
+
+    /**
+     * The maze sizes of the trainings. The maze grows with every level by the delta of the size.
+     */
+    private enum MazeSize {
+        SMALL(5, 100.0),
+        MEDIUM(5, 500.0),
+        HUGE(3, 3000.0);
+
+        private final int numberOfLevels;
+        private final double delta;
+
+        MazeSize(int numberOfLevels, double delta) {
+            this.numberOfLevels = numberOfLevels;
+            this.delta = delta;
+        }
+    }
+
+    public static void main(String... args) throws IOException {
+        Path output = null;
+        Path baseline = null;
+        double tolerance = 0.1;
+        int repetitions = 3;
+        boolean allowMissingBaseline = false;
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.equals(ALLOW_MISSING_BASELINE_ARG)) {
+                allowMissingBaseline = true;
+            } else if (arg.startsWith(OUTPUT_ARG + "=")) {
+                output = Paths.get(value);
+            } else if (arg.startsWith(BASELINE_ARG + "=")) {
+                baseline = Paths.get(value);
+            } else if (arg.startsWith(TOLERANCE_ARG + "=")) {
+                tolerance = Double.parseDouble(value);
+            } else if (arg.startsWith(REPETITIONS_ARG + "=")) {
+                repetitions = Integer.parseInt(value);
+            } else {
+                System.out.println("Unknown argument [" + arg + "].");
+                System.exit(2);
+            }
+        }
+        if (output == null) {
+            System.out.println("Argument " + OUTPUT_ARG + "=<path> is missing.");
+            System.exit(2);
+        }
+
+        // check the baseline before the trainings run, so a missing baseline fails without running them
+        Map<String, ThroughputResult> baselineResults = null;
+        if (baseline != null) {
+            if (Files.exists(baseline)) {
+                baselineResults = ThroughputResult.read(baseline);
+            }
+            if (baselineResults == null || baselineResults.isEmpty()) {
+                String reason = "Baseline " + baseline.toAbsolutePath()
+                        + (baselineResults == null ? " doesn't exist." : " contains no scenarios.");
+                if (!allowMissingBaseline) {
+                    System.out.println(reason + " Record it with gradlew updateThroughputBaseline or pass "
+                            + ALLOW_MISSING_BASELINE_ARG + ".");
+                    System.exit(2);
+                }
+                System.out.println(reason + " The throughput is not compared.");
+                baselineResults = null;
+            }
+        }
+
+        List<ThroughputResult> results = new ArrayList<>();
+        for (MazeSize size : MazeSize.values()) {
+            for (String policy : POLICIES) {
+                for (boolean logging : new boolean[]{false, true}) {
+                    String name = size.name().toLowerCase(Locale.ROOT) + "-" + policy + (logging ? "-log" : "-noLog");
+                    List<ThroughputResult> runs = new ArrayList<>();
+                    for (int i = 0; i < repetitions; i++) {
+                        runs.add(runTraining(name, size, policy, logging));
+                    }
+                    ThroughputResult result = ThroughputResult.median(runs);
+                    results.add(result);
+                    System.out.printf(Locale.ROOT, "%-24s %12.1f steps/s %10.3f ms/level change %8.1f MB heap %10.3f ms log%n",
+                            name, result.getStepsPerSecond(), result.getLevelChangeMillis(),
+                            result.getPeakHeapMegabytes(), result.getLogWriteMillis());
+                }
+            }
+        }
+
+        ThroughputResult.write(output, results);
+        System.out.println("--------- wrote results to " + output.toAbsolutePath() + " ---------");
+
+        if (baselineResults != null
+                && !compareWithBaseline(results, baselineResults, tolerance, allowMissingBaseline)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Performs a single headless training of the scenario and measures it.
+     *
+     * @param name    The name of the scenario.
+     * @param size    The size of the mazes.
+     * @param policy  The name of the exploration policy (see {@link BenchmarkPolicies#create(String, int)}).
+     * @param logging True if all misc logs are filled and the log is written after the training.
+     * @return The measured values.
+     */
+    private static ThroughputResult runTraining(String name, MazeSize size, String policy, boolean logging) {
+        String trainingName = ThroughputBenchmark.class.getSimpleName() + "-" + name;
+        Config config = BenchmarkConfigs.create(trainingName, policy, size.numberOfLevels, EPISODES_PER_LEVEL,
+                size.delta);
+        config.episodeStoppingCriteria.add(new MaxActionsReached(MAX_ACTIONS_PER_EPISODE));
+        config.logVerbosity = logging ? LogVerbosity.ACTION : LogVerbosity.OFF;
+
+        System.gc();
+        resetPeakHeapUsage();
+        Training training = MazeSimulator.createTraining(config, false);
+        training.initSimulation();
+
+        long steps = 0;
+        int levelChanges = 0;
+        long levelChangeNanos = 0;
+        long trainingStart = System.nanoTime();
+        boolean running;
+        do {
+            int levelNr = training.getCurrentLevelNr();
+            long stepStart = System.nanoTime();
+            running = training.doStep();
+            if (training.getCurrentLevelNr() != levelNr) {
+                levelChangeNanos += System.nanoTime() - stepStart;
+                levelChanges++;
+            }
+            steps++;
+        } while (running);
+        long trainingNanos = System.nanoTime() - trainingStart;
+
+        long logWriteNanos = 0;
+        if (logging) {
+            long logStart = System.nanoTime();
+            Logger.writeLog();
+            logWriteNanos = System.nanoTime() - logStart;
+            BenchmarkLogs.delete(trainingName);
+        }
+
+        return new ThroughputResult(name, steps / (trainingNanos / 1e9),
+                levelChanges == 0 ? 0 : levelChangeNanos / 1e6 / levelChanges, getPeakHeapUsage() / 1048576.0,
+                logWriteNanos / 1e6);
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    private static long getPeakHeapUsage() {
+        long peakHeapUsage = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peakHeapUsage += pool.getPeakUsage().getUsed();
+        }
+        return peakHeapUsage;
+    }
+
+    /**
+     * Compares the throughput of the results with the throughput of the baseline. Scenarios that are missing in the
+     * baseline fail the comparison, unless they are allowed.
+     *
+     * @param results              The results of the current run.
+     * @param baseline             The results of the baseline, mapped by their scenario name.
+     * @param tolerance            The fraction by which the throughput may drop below the baseline.
+     * @param allowMissingBaseline True if scenarios that are missing in the baseline are only reported.
+     * @return True if every scenario has a baseline and no throughput dropped by more than the tolerance, false
+     * otherwise.
+     */
+    private static boolean compareWithBaseline(List<ThroughputResult> results, Map<String, ThroughputResult> baseline,
+                                               double tolerance, boolean allowMissingBaseline) {
+        System.out.printf(Locale.ROOT, "--------- compare with baseline (tolerance %.1f %%) ---------%n", tolerance * 100);
+        boolean withinTolerance = true;
+        for (ThroughputResult result : results) {
+            ThroughputResult expected = baseline.get(result.getName());
+            if (expected == null || expected.getStepsPerSecond() <= 0) {
+                System.out.printf("%-24s no baseline%s%n", result.getName(), allowMissingBaseline ? "" : " MISSING");
+                if (!allowMissingBaseline) withinTolerance = false;
+                continue;
+            }
+
+            double change = result.getStepsPerSecond() / expected.getStepsPerSecond() - 1;
+            boolean regression = change < -tolerance;
+            System.out.printf(Locale.ROOT, "%-24s %12.1f steps/s (baseline %12.1f, %+6.1f %%)%s%n",
+                    result.getName(), result.getStepsPerSecond(), expected.getStepsPerSecond(), change * 100,
+                    regression ? " REGRESSION" : "");
+            if (regression) withinTolerance = false;
+        }
+
+        if (!withinTolerance) {
+            System.err.println("--------- throughput dropped below the baseline or the baseline is incomplete ---------");
+        }
+        return withinTolerance;
+    }
+}
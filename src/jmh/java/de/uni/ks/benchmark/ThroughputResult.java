@@ -0,0 +1,162 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The measured values of a single scenario of the {@link ThroughputBenchmark}. A list of results is stored as JSON
+ * file, which contains one scenario per line, e.g.
+ * <pre>
+ * {
+ *   "scenarios": [
+ *     {"name": "small-Greedy-log", "stepsPerSecond": 512345.0, "levelChangeMillis": 1.2, "peakHeapMegabytes": 85.3, "logWriteMillis": 40.0}
+ *   ]
+ * }
+ * </pre>
+ */
+public class ThroughputResult {
+
+    private static final Pattern SCENARIO_PATTERN = Pattern.compile("\\{\\s*\"name\"\\s*:\\s*\"([^\"]+)\"(.*)}");
+    private static final Pattern VALUE_PATTERN = Pattern.compile("\"(\\w+)\"\\s*:\\s*([-+0-9.Ee]+)");
+
+    private final String name;
+    private final double stepsPerSecond;
+    private final double levelChangeMillis;
+    private final double peakHeapMegabytes;
+    private final double logWriteMillis;
+
+    /**
+     * @param name              Unique name of the scenario.
+     * @param stepsPerSecond    The number of training steps per second.
+     * @param levelChangeMillis The average duration of a step that changes the level, in milliseconds.
+     * @param peakHeapMegabytes The peak heap usage during the training, in megabytes.
+     * @param logWriteMillis    The duration of writing the log after the training, in milliseconds. 0 if no log is
+     *                          written.
+     */
+    public ThroughputResult(String name, double stepsPerSecond, double levelChangeMillis, double peakHeapMegabytes,
+                            double logWriteMillis) {
+        this.name = name;
+        this.stepsPerSecond = stepsPerSecond;
+        this.levelChangeMillis = levelChangeMillis;
+        this.peakHeapMegabytes = peakHeapMegabytes;
+        this.logWriteMillis = logWriteMillis;
+    }
+
+    /**
+     * Writes the passed results as JSON file (see {@link ThroughputResult}). Missing parent directories are created.
+     *
+     * @param path    The path of the file.
+     * @param results The results that are written.
+     * @throws IOException If the file can't be written.
+     */
+    public static void write(Path path, List<ThroughputResult> results) throws IOException {
+        StringBuilder json = new StringBuilder("{\n  \"scenarios\": [\n");
+        for (int i = 0; i < results.size(); i++) {
+            json.append("    ").append(results.get(i).toJson());
+            json.append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        Files.write(path, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the results from a JSON file that was written by {@link #write(Path, List)}.
+     *
+     * @param path The path of the file.
+     * @return The results of the file, mapped by their scenario name in the order of the file.
+     * @throws IOException If the file can't be read.
+     */
+    public static Map<String, ThroughputResult> read(Path path) throws IOException {
+        Map<String, ThroughputResult> results = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            Matcher scenario = SCENARIO_PATTERN.matcher(line);
+            if (!scenario.find()) continue;
+
+            Map<String, Double> values = new LinkedHashMap<>();
+            Matcher value = VALUE_PATTERN.matcher(scenario.group(2));
+            while (value.find()) {
+                values.put(value.group(1), Double.parseDouble(value.group(2)));
+            }
+            String name = scenario.group(1);
+            results.put(name, new ThroughputResult(name, values.getOrDefault("stepsPerSecond", 0.0),
+                    values.getOrDefault("levelChangeMillis", 0.0), values.getOrDefault("peakHeapMegabytes", 0.0),
+                    values.getOrDefault("logWriteMillis", 0.0)));
+        }
+        return results;
+    }
+
+    /**
+     * Calculates the median of the passed results of the same scenario, separately for every value.
+     *
+     * @param results The results of the repetitions of a scenario.
+     * @return A result that contains the median values.
+     */
+    public static ThroughputResult median(List<ThroughputResult> results) {
+        return new ThroughputResult(results.get(0).name,
+                median(results, result -> result.stepsPerSecond),
+                median(results, result -> result.levelChangeMillis),
+                median(results, result -> result.peakHeapMegabytes),
+                median(results, result -> result.logWriteMillis));
+    }
+
+    private static double median(List<ThroughputResult> results, ToDoubleFunction<ThroughputResult> value) {
+        double[] values = results.stream().mapToDouble(value).sorted().toArray();
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private String toJson() {
+        return String.format(Locale.ROOT, "{\"name\": \"%s\", \"stepsPerSecond\": %.1f, \"levelChangeMillis\": %.3f, "
+                        + "\"peakHeapMegabytes\": %.1f, \"logWriteMillis\": %.3f}",
+                name, stepsPerSecond, levelChangeMillis, peakHeapMegabytes, logWriteMillis);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getStepsPerSecond() {
+        return stepsPerSecond;
+    }
+
+    public double getLevelChangeMillis() {
+        return levelChangeMillis;
+    }
+
+    public double getPeakHeapMegabytes() {
+        return peakHeapMegabytes;
+    }
+
+    public double getLogWriteMillis() {
+        return logWriteMillis;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks;
+
+import de.uni.ks.agent.Agent;
+import de.uni.ks.agent.QTable;
+import de.uni.ks.agent.explorationPolicies.ExplorationPolicy;
+import de.uni.ks.configuration.Config;
+import de.uni.ks.criterion.Criterion;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.maze.Maze;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An additional actor of a parallel training. The actor runs its own episodes on the maze of the current level with its
+ * own exploration policy and learns in the Q-Table it shares with the agent of the training. The finished episodes are
+ * passed to the training, which logs them and checks the level change criteria for them.
+ * The actions of an actor are not logged.
+ */
+final class Actor {
+
+    private final String name;
+    private final ExplorationPolicy policy;
+    private final QTable qTable;
+    private final Config config;
+    private final BlockingQueue<FinishedEpisode> finishedEpisodes;
+
+    private Thread thread;
+    private volatile boolean running;
+
+    /**
+     * An episode an actor finished. The agent of the episode is not used by the actor anymore.
+     */
+    static final class FinishedEpisode {
+        final String actorName;
+        final Agent agent;
+        final Criterion occurredEpisodeStopCriterion;
+
+        FinishedEpisode(String actorName, Agent agent, Criterion occurredEpisodeStopCriterion) {
+            this.actorName = actorName;
+            this.agent = agent;
+            this.occurredEpisodeStopCriterion = occurredEpisodeStopCriterion;
+        }
+    }
+
+    /**
+     * @param name             The name of the thread of the actor.
+     * @param policy           The exploration policy of the actor, which is used by no other actor.
+     * @param qTable           The Q-Table shared by all actors.
+     * @param config           The config of the training.
+     * @param finishedEpisodes The queue the finished episodes are passed to.
+     */
+    Actor(String name, ExplorationPolicy policy, QTable qTable, Config config,
+          BlockingQueue<FinishedEpisode> finishedEpisodes) {
+        this.name = name;
+        this.policy = policy;
+        this.qTable = qTable;
+        this.config = config;
+        this.finishedEpisodes = finishedEpisodes;
+    }
+
+    /**
+     * Starts to run episodes on the passed maze. The maze must not be changed until the actor is stopped.
+     *
+     * @param maze The maze of the current level.
+     */
+    void start(Maze maze) {
+        running = true;
+        thread = new Thread(() -> run(maze), name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the actor and waits until its thread terminated. The current episode of the actor is dropped.
+     */
+    void stop() {
+        running = false;
+        if (thread == null) return;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void run(Maze maze) {
+        Logger.muteCurrentThread();
+
+        // the episode stopping criteria are checked with a view of the actor, they must not have a state
+        Training view = new Training(config, maze);
+        while (running) {
+            Agent agent = new Agent(maze.getStartNode(), policy, config.qLearningAlpha, config.qLearningGamma,
+                    config.initialQValue);
+            agent.setQTable(qTable);
+            view.setAgent(agent);
+
+            Criterion occurredEpisodeStopCriterion = null;
+            while (running && occurredEpisodeStopCriterion == null) {
+                agent.doAction();
+                occurredEpisodeStopCriterion = getOccurredEpisodeStopCriterion(view);
+            }
+
+            if (occurredEpisodeStopCriterion != null) {
+                FinishedEpisode finishedEpisode = new FinishedEpisode(name, agent, occurredEpisodeStopCriterion);
+                try {
+                    // wait while the training is busy with the episodes already finished
+                    while (running && !finishedEpisodes.offer(finishedEpisode, 10, TimeUnit.MILLISECONDS)) {
+                        // retry until the episode is taken or the actor is stopped
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Criterion getOccurredEpisodeStopCriterion(Training view) {
+        for (Criterion criterion : config.episodeStoppingCriteria) {
+            if (criterion.isMet(view)) {
+                return criterion;
+            }
+        }
+        return null;
+    }
+}
@@ -21,8 +21,10 @@ import de.uni.ks.configuration.ConfigManager;
 import de.uni.ks.gui.configurator.ConfigurationUI;
 import de.uni.ks.gui.simulator.presenter.SimulatorPresenter;
 import de.uni.ks.logging.Logger;
+import de.uni.ks.logging.remote.ProgressServer;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -36,6 +38,8 @@ public class MazeSimulator {
     public static final String CONFIG_UI_ARG = "--configure";
     public static final String START_WITH_UI_ARG = "--showUI";
     public static final String SET_CONFIG_ARG = "--config";
+    public static final String STREAM_ARG = "--stream";
+    public static final String ATTACH_ARG = "--attach";
     public static final String HELP_ARG = "-h";
     public static final String HELP_LONG_ARG = "--help";
 
@@ -44,6 +48,8 @@ public class MazeSimulator {
         boolean showConfigUI = false;
         boolean showUI = false;
         String configPath = "";
+        Integer streamPort = null;
+        Integer attachPort = null;
 
         List<String> arguments = new ArrayList<>(Arrays.asList(args));
 
@@ -66,19 +72,43 @@ public class MazeSimulator {
                 configPath = arg.substring(arg.indexOf('=') + 1);
             }
 
+            if (arg.startsWith(STREAM_ARG + "=") || arg.startsWith(ATTACH_ARG + "=")) {
+                int port;
+                try {
+                    port = Integer.parseInt(arg.substring(arg.indexOf('=') + 1));
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid port in argument [" + arg + "].");
+                    return;
+                }
+                if (arg.startsWith(STREAM_ARG)) {
+                    streamPort = port;
+                } else {
+                    attachPort = port;
+                }
+            }
+
             if (!arg.equals(CONFIG_UI_ARG)
                     && !arg.equals(START_WITH_UI_ARG)
                     && !arg.equals(HELP_ARG)
                     && !arg.equals(HELP_LONG_ARG)
-                    && !arg.startsWith(SET_CONFIG_ARG)) {
+                    && !arg.startsWith(SET_CONFIG_ARG)
+                    && !arg.startsWith(STREAM_ARG + "=")
+                    && !arg.startsWith(ATTACH_ARG + "=")) {
                 System.out.println("Unknown argument [" + arg + "]. Type " + HELP_ARG
                         + " to show all valid arguments.");
                 return;
             }
         }
 
+        if (attachPort != null && (showConfigUI || !configPath.isEmpty())) {
+            System.out.println("Attaching to a running training can't be combined with other arguments!");
+            return;
+        }
+
         if (showConfigUI) {
             javafx.application.Application.launch(ConfigurationUI.class);
+        } else if (attachPort != null) {
+            javafx.application.Application.launch(SimulatorPresenter.class, ATTACH_ARG + "=" + attachPort);
         } else if (!configPath.isEmpty()) {
             try {
                 File file = new File(configPath);
@@ -90,10 +120,17 @@ public class MazeSimulator {
                     javafx.application.Application.launch(SimulatorPresenter.class, configPath);
                 } else {
                     Training training = createTraining(config, false);
-                    Logger.addTextToMiscLogOfCurrentTraining("Start training");
-                    training.doTraining();
-                    Logger.addTextToMiscLogOfCurrentTraining("Finished training");
-                    Logger.writeLog();
+                    ProgressServer progressServer = streamPort != null ? openProgressServer(streamPort, config) : null;
+                    training.setProgressServer(progressServer);
+                    try {
+                        Logger.startLogStream();
+                        Logger.addTextToMiscLogOfCurrentTraining("Start training");
+                        training.doTraining();
+                        Logger.addTextToMiscLogOfCurrentTraining("Finished training");
+                        Logger.writeLog();
+                    } finally {
+                        if (progressServer != null) progressServer.close();
+                    }
                 }
             } catch (IllegalArgumentException e) {
                 System.out.println("An error occurred while running the program: " + e.getMessage());
@@ -114,6 +151,12 @@ public class MazeSimulator {
                         "\tMazeSimulator.jar " + SET_CONFIG_ARG + "=<path/to/config.cfg> " + START_WITH_UI_ARG +
                         " (with user interface)\n" +
                         "\n" +
+                        "\tMazeSimulator.jar " + SET_CONFIG_ARG + "=<path/to/config.cfg> " + STREAM_ARG + "=<port>" +
+                        " (without user interface, the progress can be viewed with " + ATTACH_ARG + ")\n" +
+                        "\n" +
+                        "Show the progress of a training that was started with " + STREAM_ARG + ":\n" +
+                        "\tMazeSimulator.jar " + ATTACH_ARG + "=<port>\n" +
+                        "\n" +
                         "Start the configuration assistant:\n" +
                         "\tMazeSimulator.jar " + CONFIG_UI_ARG + "\n" +
                         "\n" +
@@ -121,6 +164,25 @@ public class MazeSimulator {
                         "\tMazeSimulator.jar --help / -h (these arguments ignore all other arguments)");
     }
 
+    /**
+     * Opens a server on the passed local port, which publishes the progress of the training to viewers.
+     *
+     * @param port   The port.
+     * @param config The config of the training.
+     * @return The server or null if it could not be opened, the training then runs without it.
+     */
+    private static ProgressServer openProgressServer(int port, Config config) {
+        try {
+            ProgressServer progressServer = ProgressServer.open(port, config.trainingName,
+                    ConfigManager.serializeConfig(config));
+            System.out.println("The progress of the training is published on port " + progressServer.getPort());
+            return progressServer;
+        } catch (IOException e) {
+            System.err.println("Can't publish the progress of the training on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
     public static Training createTraining(Config config, boolean guiWasStarted) {
         Training training = new Training(config);
         Logger.initLogger(config.trainingName, config, guiWasStarted);
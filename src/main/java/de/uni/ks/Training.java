@@ -17,38 +17,70 @@
 package de.uni.ks;
 
 import de.uni.ks.agent.Agent;
+import de.uni.ks.agent.ConcurrentQTable;
+import de.uni.ks.agent.ExperienceReplayBuffer;
+import de.uni.ks.agent.PrioritizedSweepingPlanner;
+import de.uni.ks.agent.explorationPolicies.ExplorationPolicy;
 import de.uni.ks.configuration.Config;
+import de.uni.ks.configuration.handlers.ExplorationPolicyHandler;
 import de.uni.ks.criterion.Criterion;
 import de.uni.ks.logging.Logger;
 import de.uni.ks.logging.data.EpisodeData;
 import de.uni.ks.logging.data.LevelData;
+import de.uni.ks.logging.data.PhaseLatencies;
+import de.uni.ks.logging.data.TrainingPhase;
 import de.uni.ks.logging.messages.GuiMessageType;
+import de.uni.ks.logging.remote.ProgressProtocol;
+import de.uni.ks.logging.remote.ProgressServer;
 import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory;
 import de.uni.ks.maze.utils.MazeUtils;
+import de.uni.ks.random.RandomStream;
 
 import java.time.Duration;
 import java.time.LocalTime;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 
 /**
  * The class represents and performs the actual training.
  */
 public class Training {
+    // maximum number of finished episodes of the actors that wait to be logged
+    private static final int FINISHED_EPISODES_CAPACITY = 1024;
+
     private int currentEpisodeNr = 1;
     private int currentLevelNr = 1;
     private boolean isFinished = false;
 
+    // log data of the current level and episode, kept to avoid looking them up on every step
+    private LevelData currentLevelData;
+    private EpisodeData currentEpisodeData;
+
     private Maze maze;
     private Agent agent;
 
-    private Random operatorRandom;
+    private RandomStream operatorRandom;
+
+    // durations of the phases of the steps in the current level, only recorded if enabled in the config
+    private PhaseLatencies phaseLatencies = PhaseLatencies.DISABLED;
+
+    // additional actors of a parallel training, empty if the agent is the only actor
+    private final List<Actor> actors = new ArrayList<>();
+    private final BlockingQueue<Actor.FinishedEpisode> finishedEpisodesOfActors =
+            new LinkedBlockingQueue<>(FINISHED_EPISODES_CAPACITY);
 
     private Config config;
 
+    // publishes the progress to viewers, null if the training is not streamed
+    private ProgressServer progressServer;
+
     private Timer progressPrinter;
     private final Semaphore isProgressPrinterFinished = new Semaphore(1);
     private final LocalTime startTime = LocalTime.now(); // To show the total running time of the training.
@@ -61,7 +93,8 @@ public class Training {
     public Training(Config config) {
         this.config = config;
 
-        this.operatorRandom = new Random(config.changeMazeSeed);
+        this.operatorRandom = new RandomStream(config.changeMazeSeed);
+        this.phaseLatencies = new PhaseLatencies(config.measurePhaseLatencies);
         if (config.showProgressBarInConsole) startProgressPrinter();
     }
 
@@ -72,6 +105,18 @@ public class Training {
         this.config = new Config();
     }
 
+    /**
+     * Creates a view of the passed maze, which is used by the actors of a parallel training to check the episode
+     * stopping criteria.
+     *
+     * @param config The config of the training.
+     * @param maze   The maze of the current level.
+     */
+    Training(Config config, Maze maze) {
+        this.config = config;
+        this.maze = maze;
+    }
+
     /**
      * Perform the complete training.
      */
@@ -95,6 +140,37 @@ public class Training {
         this.maze = MazeUtils.buildMaze(config.initialPathLength, config.horizontal, nodeFactory);
         this.agent = new Agent(maze.getStartNode(), config.explorationPolicy, config.qLearningAlpha,
                 config.qLearningGamma, config.initialQValue);
+        this.agent.setPhaseLatencies(phaseLatencies);
+        if (config.planningUpdatesPerStep > 0) {
+            PrioritizedSweepingPlanner planner = new PrioritizedSweepingPlanner(config.qLearningAlpha,
+                    config.qLearningGamma, config.initialQValue, config.planningUpdatesPerStep, config.planningThreshold);
+            planner.start();
+            this.agent.setPlanner(planner);
+        }
+        if (config.replayUpdatesPerStep > 0) {
+            this.agent.setReplayBuffer(new ExperienceReplayBuffer(config.qLearningAlpha, config.qLearningGamma,
+                    config.replayUpdatesPerStep, config.replayBufferCapacity, config.prioritizedReplay,
+                    config.replaySeed));
+        }
+        if (config.numberOfActors > 1) {
+            initActors();
+        }
+    }
+
+    /**
+     * Creates the additional actors of a parallel training, which share the Q-Table of the agent. Every actor gets a
+     * copy of the exploration policy with its own seed.
+     */
+    private void initActors() {
+        ConcurrentQTable qTable = new ConcurrentQTable(config.initialQValue);
+        this.agent.setQTable(qTable);
+
+        List<ExplorationPolicy> policies =
+                ExplorationPolicyHandler.createPoliciesWithSplitSeeds(config.explorationPolicy, config.numberOfActors - 1);
+        for (int i = 0; i < policies.size(); i++) {
+            actors.add(new Actor("Actor " + (i + 2), policies.get(i), qTable, config, finishedEpisodesOfActors));
+        }
+        startActors();
     }
 
     /**
@@ -110,21 +186,33 @@ public class Training {
         if (currentLevelNr <= config.numberOfLevels) {
 
             // set current level log data
-            LevelData levelData = Logger.trainingData.getLevelData(currentLevelNr);
-            if (levelData == null) {
-                levelData = new LevelData(currentLevelNr);
-                Logger.addLevelData(levelData);
+            LevelData levelData = currentLevelData;
+            if (levelData == null || levelData.getLevelNr() != currentLevelNr) {
+                levelData = Logger.trainingData.getLevelData(currentLevelNr);
+                if (levelData == null) {
+                    levelData = new LevelData(currentLevelNr);
+                    Logger.addLevelData(levelData);
+                }
+                currentLevelData = levelData;
+                currentEpisodeData = null;
             }
             if (levelData.getMaze() == null) {
                 levelData.setMaze(maze);
+                long phaseStart = phaseLatencies.start();
                 levelData.refreshComplexity(config.complexityFunction);
+                phaseLatencies.stop(TrainingPhase.COMPLEXITY, phaseStart);
+                if (progressServer != null) progressServer.publishLevel(currentLevelNr, maze);
             }
 
             // set current episode log data
-            EpisodeData episodeData = Logger.trainingData.getLevelData(currentLevelNr).getEpisodeData(currentEpisodeNr);
-            if (episodeData == null) {
-                episodeData = new EpisodeData(currentEpisodeNr);
-                Logger.addEpisodeData(currentLevelNr, episodeData);
+            EpisodeData episodeData = currentEpisodeData;
+            if (episodeData == null || episodeData.getEpisodeNr() != currentEpisodeNr) {
+                episodeData = levelData.getEpisodeData(currentEpisodeNr);
+                if (episodeData == null) {
+                    episodeData = new EpisodeData(currentEpisodeNr);
+                    Logger.addEpisodeData(currentLevelNr, episodeData);
+                }
+                currentEpisodeData = episodeData;
             }
 
             // do action
@@ -135,21 +223,51 @@ public class Training {
             // update stats of current episode
             episodeData.setNumberOfActions(this.agent.getNumberOfActionsTaken());
             episodeData.setTotalReward(this.agent.getTotalReward());
+            if (progressServer != null) {
+                progressServer.publishStep(currentLevelNr, currentEpisodeNr, this.agent.getNumberOfActionsTaken(),
+                        this.agent.getTotalReward(), this.agent.getCurrentPosition().getXPos(),
+                        this.agent.getCurrentPosition().getYPos());
+            }
 
             // check if episode has finished
-            if (checkForEpisodeStopCriterion()) {
+            long phaseStart = phaseLatencies.start();
+            boolean episodeFinished = checkForEpisodeStopCriterion();
+            phaseLatencies.stop(TrainingPhase.EPISODE_STOP_CRITERION, phaseStart);
+            if (episodeFinished) {
                 episodeData.setQTable(this.agent.getQTable());
+                phaseStart = phaseLatencies.start();
+                Logger.logFinishedEpisode(levelData, episodeData);
+                phaseLatencies.stop(TrainingPhase.LOGGING, phaseStart);
+                phaseStart = phaseLatencies.start();
+                boolean levelFinished = checkForLevelChangeCriteria();
+                phaseLatencies.stop(TrainingPhase.LEVEL_CHANGE_CRITERIA, phaseStart);
+
+                // the episodes the actors finished in the meantime count for the level change criteria as well
+                Actor.FinishedEpisode finishedEpisode;
+                while (!levelFinished && (finishedEpisode = finishedEpisodesOfActors.poll()) != null) {
+                    publishFinishedEpisode(episodeData, ProgressProtocol.NEXT_EPISODE);
+                    episodeData = logFinishedEpisodeOfActor(levelData, finishedEpisode);
+                    levelFinished = checkForLevelChangeCriteriaOfActor(finishedEpisode);
+                }
 
                 // check if level has finished
-                if (checkForLevelChangeCriteria()) {
+                if (levelFinished) {
 
-                    // refresh average values of current level data
-                    levelData.refreshAverageNumberOfActions();
-                    levelData.refreshAverageReward();
+                    // refresh episode stop criteria counter of current level data
                     levelData.refreshEpisodeStoppingCriteriaOccurrences(config.episodeStoppingCriteria);
 
+                    // keep the latencies of the finished level, the maze change belongs to the next level
+                    if (phaseLatencies.isEnabled()) {
+                        levelData.setPhaseLatencies(phaseLatencies);
+                        phaseLatencies.clear();
+                    }
+
                     // stop training if last level has been finished
                     if (currentLevelNr == config.numberOfLevels) {
+                        publishFinishedEpisode(episodeData, ProgressProtocol.TRAINING_FINISHED);
+                        phaseStart = phaseLatencies.start();
+                        Logger.logFinishedLevel(levelData);
+                        phaseLatencies.stop(TrainingPhase.LOGGING, phaseStart);
                         Logger.addTextToGuiLog("Training has been finished", GuiMessageType.All);
                         isFinished = true;
                         handleRemainingThreads();
@@ -157,6 +275,8 @@ public class Training {
                         return false;
                     }
 
+                    publishFinishedEpisode(episodeData, ProgressProtocol.NEXT_LEVEL);
+
                     // separate new level from old level in GUI Log by adding separator line
                     Logger.addSeparatorLineToGuiLog();
 
@@ -170,33 +290,53 @@ public class Training {
 
                     // init new episode data
                     EpisodeData newEpisodeData = new EpisodeData(currentEpisodeNr);
-                    Logger.addEpisodeData(currentLevelNr, newEpisodeData);
+                    newLevelData.addEpisodeData(newEpisodeData);
+                    currentLevelData = newLevelData;
+                    currentEpisodeData = newEpisodeData;
 
-                    // reset values for new level
+                    // reset values for new level, the actors must not use the Q-Table and the maze meanwhile
+                    stopActors();
                     resetLevelChangeCriteria();
                     Logger.CurrentData.currentActionNumber = 0;
                     if (config.startEachLevelWithEmptyQTable) this.agent.resetQTable();
+                    if (config.startEachLevelWithEmptyReplayBuffer && this.agent.getReplayBuffer() != null) {
+                        this.agent.getReplayBuffer().clear();
+                    }
 
                     // change maze
-                    if (MazeUtils.changeMaze(maze, config.mazeOperators, config.delta, operatorRandom) <= 0) {
+                    phaseStart = phaseLatencies.start();
+                    double change = MazeUtils.changeMaze(maze, config.mazeOperators, config.delta, operatorRandom);
+                    phaseLatencies.stop(TrainingPhase.CHANGE_MAZE, phaseStart);
+                    if (change <= 0) {
                         // No changes could be made.
                         levelData.addTextToMiscLog("Training stopped because no operator " +
                                 "could be used on the current maze.");
                         Logger.addTextToGuiLog("Training stopped because no operator " +
                                 "could be used on the current maze.", GuiMessageType.All);
                         System.err.println("Training stopped because no operator could be used on the current maze");
+                        Logger.logFinishedLevel(levelData);
                         handleRemainingThreads();
                         throw new RuntimeException("Training stopped because no maze operator could be used on the current maze");
                     }
                     newLevelData.setMaze(maze);
+                    phaseStart = phaseLatencies.start();
                     newLevelData.refreshComplexity(config.complexityFunction);
+                    phaseLatencies.stop(TrainingPhase.COMPLEXITY, phaseStart);
+                    if (progressServer != null) progressServer.publishLevel(currentLevelNr, maze);
+                    startActors();
+                    phaseStart = phaseLatencies.start();
                     Logger.addTextToGuiLog("Complexity of new Maze: " + newLevelData.getComplexity(), GuiMessageType.Maze);
+                    Logger.logFinishedLevel(levelData);
+                    phaseLatencies.stop(TrainingPhase.LOGGING, phaseStart);
 
                 } else {
+                    publishFinishedEpisode(episodeData, ProgressProtocol.NEXT_EPISODE);
+
                     // change episode
                     this.currentEpisodeNr++;
                     EpisodeData newEpisodeData = new EpisodeData(currentEpisodeNr);
-                    Logger.addEpisodeData(currentLevelNr, newEpisodeData);
+                    levelData.addEpisodeData(newEpisodeData);
+                    currentEpisodeData = newEpisodeData;
                 }
 
                 // reset all values for new episode
@@ -208,6 +348,79 @@ public class Training {
         return false;
     }
 
+    /**
+     * Adds an episode an actor finished to the current level as the next episode.
+     *
+     * @param levelData       The current level.
+     * @param finishedEpisode The episode of the actor.
+     * @return The log data of the episode.
+     */
+    private EpisodeData logFinishedEpisodeOfActor(LevelData levelData, Actor.FinishedEpisode finishedEpisode) {
+        this.currentEpisodeNr++;
+        EpisodeData episodeData = new EpisodeData(currentEpisodeNr);
+        episodeData.setNumberOfActions(finishedEpisode.agent.getNumberOfActionsTaken());
+        episodeData.setTotalReward(finishedEpisode.agent.getTotalReward());
+        episodeData.setOccurredEpisodeStopCriterion(finishedEpisode.occurredEpisodeStopCriterion);
+        levelData.addEpisodeData(episodeData);
+        currentEpisodeData = episodeData;
+
+        episodeData.setQTable(this.agent.getQTable());
+        Logger.addTextToMiscLogOfCurrentLevel(() -> "Finished by " + finishedEpisode.actorName + ", "
+                + finishedEpisode.occurredEpisodeStopCriterion.getClass().getSimpleName() + " triggered");
+        Logger.logFinishedEpisode(levelData, episodeData);
+        return episodeData;
+    }
+
+    /**
+     * Checks the level change criteria for an episode an actor finished. While the criteria are checked, the agent of
+     * the episode is the agent of the training.
+     *
+     * @param finishedEpisode The episode of the actor, which was logged as the current episode.
+     * @return True if level change criteria is met.  Otherwise false.
+     */
+    private boolean checkForLevelChangeCriteriaOfActor(Actor.FinishedEpisode finishedEpisode) {
+        Agent agentOfTraining = this.agent;
+        this.agent = finishedEpisode.agent;
+        try {
+            return checkForLevelChangeCriteria();
+        } finally {
+            this.agent = agentOfTraining;
+        }
+    }
+
+    /**
+     * Starts the actors on the current maze.
+     */
+    private void startActors() {
+        for (Actor actor : actors) {
+            actor.start(maze);
+        }
+    }
+
+    /**
+     * Stops the actors and drops the episodes they finished on the maze of the old level.
+     */
+    private void stopActors() {
+        for (Actor actor : actors) {
+            actor.stop();
+        }
+        finishedEpisodesOfActors.clear();
+    }
+
+    /**
+     * Publishes the result of an episode to the viewers of the training, if the training is streamed.
+     *
+     * @param episodeData The finished episode.
+     * @param next        What follows the episode, see {@link ProgressProtocol#NEXT_EPISODE}.
+     */
+    private void publishFinishedEpisode(EpisodeData episodeData, byte next) {
+        if (progressServer != null) {
+            progressServer.publishEpisode(currentLevelNr, episodeData.getEpisodeNr(), episodeData.getNumberOfActions(),
+                    episodeData.getTotalReward(), config.episodeStoppingCriteria.indexOf(
+                            episodeData.getOccurredEpisodeStopCriterion()), next);
+        }
+    }
+
     /**
      * Checks if a maze change criterion is true.
      *
@@ -245,8 +458,10 @@ public class Training {
     boolean checkForEpisodeStopCriterion() {
         for (Criterion stopEpisodeCriterion : config.episodeStoppingCriteria) {
             if (stopEpisodeCriterion.isMet(this)) {
-                Logger.addTextToGuiLog(stopEpisodeCriterion.getLoggerString() + " triggered", GuiMessageType.Criteria);
-                Logger.addTextToMiscLogOfCurrentEpisode(stopEpisodeCriterion.getClass().getSimpleName() + " triggered");
+                Logger.addTextToGuiLog(() -> stopEpisodeCriterion.getLoggerString() + " triggered",
+                        GuiMessageType.Criteria);
+                Logger.addTextToMiscLogOfCurrentEpisode(() -> stopEpisodeCriterion.getClass().getSimpleName()
+                        + " triggered");
                 if (Logger.CurrentData.currentEpisodeData != null) {
                     Logger.CurrentData.currentEpisodeData.setOccurredEpisodeStopCriterion(stopEpisodeCriterion);
                 }
@@ -267,9 +482,13 @@ public class Training {
 
     /**
      * Terminates all training related threads.
-     * Currently only manages progress bar thread after the training has been finished or aborted.
+     * Stops the actors and the planner of the agent and manages the progress bar thread after the training has been finished or aborted.
      */
     public void handleRemainingThreads() {
+        stopActors();
+        if (agent != null && agent.getPlanner() != null) {
+            agent.getPlanner().close();
+        }
         if (isFinished) {
             try {
                 isProgressPrinterFinished.acquire();
@@ -321,7 +540,8 @@ public class Training {
                             + String.format("%02d:%02d:%02d",
                             Duration.between(startTime, LocalTime.now()).toHoursPart(),
                             Duration.between(startTime, LocalTime.now()).toMinutesPart(),
-                            Duration.between(startTime, LocalTime.now()).toSecondsPart()));
+                            Duration.between(startTime, LocalTime.now()).toSecondsPart())
+                            + getPhaseLatenciesString());
 
                     if (currentLevel == totalLevels && isFinished) {
                         progressPrinter.cancel();
@@ -332,6 +552,29 @@ public class Training {
         }
     }
 
+    /**
+     * Creates the part of the console progress line that shows the median and the 99th percentile of the phase
+     * durations in the current level, e.g. " | p50/p99 [us] action 0.4/2.1 update 0.2/0.9 ...".
+     *
+     * @return The part of the progress line or an empty String if the phase latencies are not measured.
+     */
+    private String getPhaseLatenciesString() {
+        if (!phaseLatencies.isEnabled()) return "";
+
+        StringBuilder latencies = new StringBuilder(" | p50/p99 [us]");
+        for (TrainingPhase phase : TrainingPhase.values()) {
+            if (phaseLatencies.getCount(phase) == 0) continue;
+            latencies.append(String.format(Locale.ROOT, " %s %.1f/%.1f", phase.getShortName(),
+                    phaseLatencies.getPercentile(phase, 0.5) / 1000.0,
+                    phaseLatencies.getPercentile(phase, 0.99) / 1000.0));
+        }
+        return latencies.toString();
+    }
+
+    public void setProgressServer(ProgressServer progressServer) {
+        this.progressServer = progressServer;
+    }
+
     public Maze getMaze() {
         return maze;
     }
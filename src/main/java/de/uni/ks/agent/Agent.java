@@ -18,6 +18,8 @@ package de.uni.ks.agent;
 
 import de.uni.ks.agent.explorationPolicies.ExplorationPolicy;
 import de.uni.ks.logging.Logger;
+import de.uni.ks.logging.data.PhaseLatencies;
+import de.uni.ks.logging.data.TrainingPhase;
 import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory.Node;
 
@@ -36,6 +38,9 @@ public class Agent {
     private final ExplorationPolicy policy;
     private int numberOfActionsTaken;
     private Double totalReward;
+    private PrioritizedSweepingPlanner planner;
+    private ExperienceReplayBuffer replayBuffer;
+    private PhaseLatencies phaseLatencies = PhaseLatencies.DISABLED;
 
     public Agent(Node currentPosition, ExplorationPolicy explorationPolicy, Double qLearningAlpha,
                  Double qLearningGamma, Double qTableInitValue) {
@@ -92,6 +97,11 @@ public class Agent {
      */
     public void doAction() {
 
+        // apply the updates of the planner before the action is chosen
+        if (this.planner != null) {
+            this.planner.applyUpdates(this.qTable);
+        }
+
         // check if entry for current state already exists in QTable.
         // if no entry exists: calculate possible actions and create new entry
         if (!this.qTable.stateExists(this.currentPosition)) {
@@ -103,7 +113,9 @@ public class Agent {
         Node oldNode = this.currentPosition;
 
         // choose action according to policy
+        long phaseStart = this.phaseLatencies.start();
         Action action = this.policy.chooseAction(this.currentPosition, this.qTable);
+        this.phaseLatencies.stop(TrainingPhase.CHOOSE_ACTION, phaseStart);
 
         // do action
         moveAgent(action);
@@ -115,11 +127,16 @@ public class Agent {
         this.numberOfActionsTaken++;
         this.totalReward += reward;
 
-        // write logger message
-        Logger.CurrentData.currentActionNumber = this.numberOfActionsTaken;
-        Logger.addTextToMiscLogOfCurrentEpisode("Agent moved " + action);
+        // write logger message, the actions of muted threads belong to another episode than the current one
+        if (!Logger.isCurrentThreadMuted()) {
+            phaseStart = this.phaseLatencies.start();
+            Logger.CurrentData.currentActionNumber = this.numberOfActionsTaken;
+            Logger.addTextToMiscLogOfCurrentEpisode(() -> "Agent moved " + action);
+            this.phaseLatencies.stop(TrainingPhase.LOGGING, phaseStart);
+        }
 
         // save old Q-Value
+        phaseStart = this.phaseLatencies.start();
         double oldQValue = this.qTable.getQValue(oldNode, action);
 
         // calculate highest q value of current state. if state does not exist -> create entry
@@ -134,9 +151,28 @@ public class Agent {
         // update QTable
         double newQValue = oldQValue + this.qLearningAlpha * (reward + this.qLearningGamma * highestQValueCurrentState - oldQValue);
         this.qTable.setQValue(oldNode, action, newQValue);
+        this.phaseLatencies.stop(TrainingPhase.Q_UPDATE, phaseStart);
+
+        // the planner and the replay buffer share the encoded states, a node builds a new string on every call
+        String oldState = null;
+        String newState = null;
+        if (this.planner != null || this.replayBuffer != null) {
+            oldState = oldNode.getState();
+            newState = this.currentPosition.getState();
+        }
+        if (this.planner != null) {
+            this.planner.observe(oldState, this.qTable.getActions(oldNode), action, reward,
+                    newState, this.qTable.getActions(this.currentPosition), newQValue);
+        }
 
         // do post processing
         this.policy.postProcessing(oldNode, action, oldQValue, this.currentPosition, this.qTable);
+
+        // store the transition and learn from stored transitions again
+        if (this.replayBuffer != null) {
+            this.replayBuffer.add(oldState, action, reward, newState);
+            this.replayBuffer.replay(this.qTable);
+        }
     }
 
     /**
@@ -181,6 +217,44 @@ public class Agent {
      */
     public void resetQTable() {
         this.qTable.clear();
+        if (this.planner != null) {
+            this.planner.reset();
+        }
+    }
+
+    /**
+     * Sets the planner that learns a model from the transitions of the agent and updates the Q-Table in the background.
+     *
+     * @param planner The started planner or null to learn from real transitions only.
+     */
+    public void setPlanner(PrioritizedSweepingPlanner planner) {
+        this.planner = planner;
+    }
+
+    public PrioritizedSweepingPlanner getPlanner() {
+        return planner;
+    }
+
+    /**
+     * Sets the buffer that stores the transitions of the agent and replays them after every step.
+     *
+     * @param replayBuffer The buffer or null to learn from every transition only once.
+     */
+    public void setReplayBuffer(ExperienceReplayBuffer replayBuffer) {
+        this.replayBuffer = replayBuffer;
+    }
+
+    public ExperienceReplayBuffer getReplayBuffer() {
+        return replayBuffer;
+    }
+
+    /**
+     * Sets the latencies in which the durations of the action selection, the Q update and the logging are recorded.
+     *
+     * @param phaseLatencies The latencies of the current level.
+     */
+    public void setPhaseLatencies(PhaseLatencies phaseLatencies) {
+        this.phaseLatencies = phaseLatencies;
     }
 
     public QTable getQTable() {
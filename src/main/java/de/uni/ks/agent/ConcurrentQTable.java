@@ -0,0 +1,413 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import de.uni.ks.maze.NodeFactory.Node;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ * Q-Table that is shared by the actors of a parallel training, which update it concurrently without locks
+ * (Hogwild). The Q-Values are stored in primitive arrays, every state gets a slot of {@link Action#values()} values.
+ * The slots of the states are managed by a {@link ConcurrentHashMap}.
+ * </p>
+ * <p>
+ * Memory consistency:
+ * <ul>
+ *     <li>A state is published with its initial Q-Values, an actor that finds a state also sees these values.</li>
+ *     <li>Q-Values are written and read with opaque access, so every read returns a value some actor has written,
+ *     but writes of different actors may overwrite each other. {@link #replaceQValue(String, Action, double, double)}
+ *     is the only atomic read-modify-write.</li>
+ *     <li>A copy of the Q-Table ({@link QTable#QTable(QTable)} or {@link #getQTable()}), e.g. the snapshot handed to
+ *     {@link de.uni.ks.logging.data.EpisodeData}, contains every state that was published before the copy started.
+ *     Since the actors keep learning while the copy is made, the copy is not a consistent cut of the Q-Values, each
+ *     value of the copy is just a value the pair had during the copy.</li>
+ *     <li>{@link #clear()} must not be called while actors use the Q-Table.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * If changes are tracked, the actors mark the slots they add or update in a bitset per chunk, so
+ * {@link #takeChangedStates()} only visits the marked slots.
+ * </p>
+ */
+public class ConcurrentQTable extends QTable {
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final int NUMBER_OF_ACTIONS = ACTIONS.length;
+    static final int SLOTS_PER_CHUNK = 1024;
+    private static final int MAX_CHUNKS = 4096;
+    private static final VarHandle Q_VALUES = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle DIRTY_SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final double qTableInitValue;
+
+    private final ConcurrentHashMap<String, Integer> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger numberOfSlots = new AtomicInteger();
+    // every chunk stores SLOTS_PER_CHUNK slots and is published with a single CAS by the first slot creator
+    private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private volatile boolean trackChanges;
+
+    /**
+     * @param qTableInitValue Each new state-action pair is initialized with this value.
+     */
+    public ConcurrentQTable(double qTableInitValue) {
+        super(qTableInitValue);
+        this.qTableInitValue = qTableInitValue;
+    }
+
+    @Override
+    public boolean addEntry(Node node, ArrayList<Action> actions) {
+        HashMap<Action, Double> actionValuePairs = new HashMap<>();
+        for (Action action : actions) {
+            actionValuePairs.put(action, this.qTableInitValue);
+        }
+        return addEntry(node, actionValuePairs);
+    }
+
+    /**
+     * Adds the state, if no other actor added it in the meantime.
+     *
+     * @param node    The node whose neighborhood will encode the state.
+     * @param actions The actions that will be added to the state of the passed node.
+     * @return True if adding the entry was successful. False if the state already exists.
+     */
+    @Override
+    public boolean addEntry(Node node, HashMap<Action, Double> actions) {
+        return addEntry(node.getState(), actions);
+    }
+
+    /**
+     * Adds the state, if no other actor added it in the meantime.
+     *
+     * @param state   The encoded state.
+     * @param actions The actions that will be added to the state.
+     * @return True if adding the entry was successful. False if the state already exists.
+     */
+    boolean addEntry(String state, HashMap<Action, Double> actions) {
+        boolean[] added = new boolean[1];
+        slots.computeIfAbsent(state, newState -> {
+            added[0] = true;
+            return createSlot(newState, actions);
+        });
+        return added[0];
+    }
+
+    @Override
+    public void setQValue(Node node, Action action, Double newQValue) {
+        int index = getIndex(node.getState(), action);
+        if (index < 0) {
+            throw new RuntimeException("Can't set Q-Value of state action pair (" + node.getState() + ", " + action + ") since the state action pair can't be found in the Q-Table");
+        }
+        Q_VALUES.setOpaque(chunks.get(index / (SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS)).qValues,
+                index % (SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS), (double) newQValue);
+        markChanged(index / NUMBER_OF_ACTIONS);
+    }
+
+    @Override
+    boolean replaceQValue(String state, Action action, double expectedQValue, double newQValue) {
+        int index = getIndex(state, action);
+        if (index < 0) {
+            return false;
+        }
+        if (!Q_VALUES.compareAndSet(chunks.get(index / (SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS)).qValues,
+                index % (SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS), expectedQValue, newQValue)) {
+            return false;
+        }
+        markChanged(index / NUMBER_OF_ACTIONS);
+        return true;
+    }
+
+    @Override
+    public double getQValue(Node node, Action action) {
+        int index = getIndex(node.getState(), action);
+        if (index < 0) {
+            throw new RuntimeException("Can't request Q-Value of state action pair (" + node.getState() + ", " + action + ") since the state action pair can't be found in the Q-Table");
+        }
+        return getQValue(index);
+    }
+
+    @Override
+    public double getQValue(String state, Action action) {
+        int index = getIndex(state, action);
+        return index < 0 ? Double.NaN : getQValue(index);
+    }
+
+    @Override
+    double getHighestQValue(String state) {
+        Integer slot = slots.get(state);
+        int mask = slot == null ? 0 : getActionMask(slot);
+        if (mask == 0) {
+            return Double.NaN;
+        }
+        return highestQValue(slot, mask);
+    }
+
+    /**
+     * Returns a copy of the Q-Values of all actions of the state. Creates a state without actions, if the state does
+     * not exist. Changing the returned HashMap doesn't change the Q-Table.
+     *
+     * @param node The node whose neighborhood encodes the state.
+     * @return HashMap with all saved actions and their Q-Values.
+     */
+    @Override
+    public HashMap<Action, Double> getActions(Node node) {
+        String state = node.getState();
+        Integer slot = slots.get(state);
+        if (slot == null) {
+            boolean[] added = new boolean[1];
+            slot = slots.computeIfAbsent(state, newState -> {
+                added[0] = true;
+                return createSlot(newState, new HashMap<>());
+            });
+            if (added[0]) {
+                System.err.println("creation of state<" + state + "> has been forced. Empty HashMap with actions was added");
+            }
+        }
+        return getActions(slot);
+    }
+
+    @Override
+    public Double getHighestQValueOfState(Node node) {
+        Integer slot = slots.get(node.getState());
+        int mask = slot == null ? 0 : getActionMask(slot);
+        if (mask == 0) {
+            throw new RuntimeException("can't get highest Q-Value of state <" + node.getState() + "> since it does not contain any actions");
+        }
+
+        return highestQValue(slot, mask);
+    }
+
+    @Override
+    public boolean actionExists(Node node, Action action) {
+        return getIndex(node.getState(), action) >= 0;
+    }
+
+    @Override
+    public boolean stateExists(Node node) {
+        return slots.containsKey(node.getState());
+    }
+
+    @Override
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Removes all states. Must not be called while actors use the Q-Table.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        slots.clear();
+        numberOfSlots.set(0);
+        clearDirtySlots();
+    }
+
+    /**
+     * Enables or disables the recording of added and changed states. Must not be called while actors use the Q-Table.
+     *
+     * @param trackChanges True if changes should be recorded.
+     */
+    @Override
+    public void setTrackChanges(boolean trackChanges) {
+        super.setTrackChanges(trackChanges);
+        if (this.trackChanges != trackChanges) {
+            clearDirtySlots();
+            this.trackChanges = trackChanges;
+        }
+    }
+
+    /**
+     * Returns the states that were added or whose Q-values changed since the last call and clears their marks. A state
+     * that is changed by an actor during the call is either returned now or by the next call.
+     *
+     * @return The changed states or an empty set if changes are not tracked.
+     */
+    @Override
+    public Set<String> takeChangedStates() {
+        if (!trackChanges) {
+            return Collections.emptySet();
+        }
+        super.takeChangedStates();
+
+        Set<String> changedStates = new HashSet<>();
+        int numberOfChunks = Math.min((numberOfSlots.get() + SLOTS_PER_CHUNK - 1) / SLOTS_PER_CHUNK, MAX_CHUNKS);
+        for (int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+            Chunk chunk = chunks.get(chunkIndex);
+            if (chunk == null) {
+                continue;
+            }
+            for (int word = 0; word < chunk.dirtySlots.length; word++) {
+                // only words with marks are written, so the scan doesn't contend with the actors
+                if ((long) DIRTY_SLOTS.getOpaque(chunk.dirtySlots, word) == 0L) {
+                    continue;
+                }
+                long dirtySlots = (long) DIRTY_SLOTS.getAndSet(chunk.dirtySlots, word, 0L);
+                while (dirtySlots != 0L) {
+                    int offset = word * Long.SIZE + Long.numberOfTrailingZeros(dirtySlots);
+                    dirtySlots &= dirtySlots - 1;
+                    changedStates.add(chunk.states[offset]);
+                }
+            }
+        }
+        return changedStates;
+    }
+
+    /**
+     * Returns a copy of the Q-Values of all actions of the state. Changing the returned HashMap doesn't change the
+     * Q-Table.
+     *
+     * @param state The encoded state.
+     * @return HashMap with all saved actions and their Q-Values or null if the state does not exist.
+     */
+    @Override
+    public HashMap<Action, Double> getRow(String state) {
+        Integer slot = slots.get(state);
+        return slot == null ? null : getActions(slot);
+    }
+
+    @Override
+    public String getCsvString() {
+        return new QTable(this).getCsvString();
+    }
+
+    /**
+     * Returns a snapshot of the Q-Table, see the memory consistency notes of this class. Changing the returned HashMap
+     * doesn't change the Q-Table.
+     *
+     * @return The states and the Q-Values of their actions.
+     */
+    @Override
+    public HashMap<String, HashMap<Action, Double>> getQTable() {
+        HashMap<String, HashMap<Action, Double>> snapshot = new HashMap<>();
+        for (Map.Entry<String, Integer> stateSlot : slots.entrySet()) {
+            snapshot.put(stateSlot.getKey(), getActions(stateSlot.getValue()));
+        }
+        return snapshot;
+    }
+
+    // Is called inside of computeIfAbsent, so the slot is initialized before the state is published.
+    private int createSlot(String state, HashMap<Action, Double> actions) {
+        int slot = numberOfSlots.getAndIncrement();
+        int chunk = slot / SLOTS_PER_CHUNK;
+        if (chunk >= MAX_CHUNKS) {
+            throw new RuntimeException("Q-Table can't store more than " + MAX_CHUNKS * SLOTS_PER_CHUNK + " states");
+        }
+        if (chunks.get(chunk) == null) {
+            chunks.compareAndSet(chunk, null, new Chunk());
+        }
+
+        Chunk slotChunk = chunks.get(chunk);
+        double[] qValues = slotChunk.qValues;
+        int offset = slot % SLOTS_PER_CHUNK;
+        int mask = 0;
+        for (Map.Entry<Action, Double> actionValue : actions.entrySet()) {
+            int action = actionValue.getKey().ordinal();
+            mask |= 1 << action;
+            Q_VALUES.setOpaque(qValues, offset * NUMBER_OF_ACTIONS + action, (double) actionValue.getValue());
+        }
+        slotChunk.actionMasks[offset] = mask;
+        slotChunk.states[offset] = state;
+        markChanged(slot);
+        return slot;
+    }
+
+    // The state of the slot is written before the mark, so the thread that takes the mark also sees the state.
+    private void markChanged(int slot) {
+        if (trackChanges) {
+            int offset = slot % SLOTS_PER_CHUNK;
+            DIRTY_SLOTS.getAndBitwiseOr(chunks.get(slot / SLOTS_PER_CHUNK).dirtySlots, offset / Long.SIZE,
+                    1L << (offset % Long.SIZE));
+        }
+    }
+
+    private void clearDirtySlots() {
+        for (int chunkIndex = 0; chunkIndex < MAX_CHUNKS; chunkIndex++) {
+            Chunk chunk = chunks.get(chunkIndex);
+            if (chunk == null) {
+                break;
+            }
+            for (int word = 0; word < chunk.dirtySlots.length; word++) {
+                DIRTY_SLOTS.setVolatile(chunk.dirtySlots, word, 0L);
+            }
+        }
+    }
+
+    private int getIndex(String state, Action action) {
+        Integer slot = slots.get(state);
+        if (slot == null || (getActionMask(slot) & (1 << action.ordinal())) == 0) {
+            return -1;
+        }
+        return slot * NUMBER_OF_ACTIONS + action.ordinal();
+    }
+
+    private int getActionMask(int slot) {
+        return chunks.get(slot / SLOTS_PER_CHUNK).actionMasks[slot % SLOTS_PER_CHUNK];
+    }
+
+    private double getQValue(int index) {
+        return (double) Q_VALUES.getOpaque(chunks.get(index / (SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS)).qValues,
+                index % (SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS));
+    }
+
+    private double highestQValue(int slot, int mask) {
+        double highestValue = Double.NEGATIVE_INFINITY;
+        for (int action = 0; action < NUMBER_OF_ACTIONS; action++) {
+            if ((mask & (1 << action)) != 0) {
+                highestValue = Math.max(highestValue, getQValue(slot * NUMBER_OF_ACTIONS + action));
+            }
+        }
+        return highestValue;
+    }
+
+    private HashMap<Action, Double> getActions(int slot) {
+        HashMap<Action, Double> actions = new HashMap<>();
+        int mask = getActionMask(slot);
+        for (int action = 0; action < NUMBER_OF_ACTIONS; action++) {
+            if ((mask & (1 << action)) != 0) {
+                actions.put(ACTIONS[action], getQValue(slot * NUMBER_OF_ACTIONS + action));
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * The arrays of SLOTS_PER_CHUNK slots. All arrays are published together, so an actor that finds the chunk can
+     * use all of them.
+     */
+    private static final class Chunk {
+        // the Q-Values of a slot are stored at [slot % SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS + action]
+        private final double[] qValues = new double[SLOTS_PER_CHUNK * NUMBER_OF_ACTIONS];
+        // bit i of a mask is set if the state has the action with ordinal i, the mask doesn't change after publishing
+        private final int[] actionMasks = new int[SLOTS_PER_CHUNK];
+        // the state of every slot, needed to map the marked slots back to their states
+        private final String[] states = new String[SLOTS_PER_CHUNK];
+        // bit (slot % 64) of word (slot / 64) is set if the slot was added or changed since the changes were taken
+        private final long[] dirtySlots = new long[SLOTS_PER_CHUNK / Long.SIZE];
+    }
+}
@@ -0,0 +1,217 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import de.uni.ks.random.RandomStream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * <p>
+ * Stores the last transitions of the agent and replays them, i.e. updates their Q-Values again with the current
+ * Q-Values of their next states. The transitions are stored in a ring of parallel primitive arrays with a fixed
+ * capacity, the oldest transition is overwritten if the buffer is full. States are stored as numbers, only a new state
+ * needs an entry in the table of state numbers.
+ * </p>
+ * <p>
+ * The replayed transitions are drawn uniformly or, if the replay is prioritized, proportional to the absolute
+ * difference between their Q-Value and its target at the time they were replayed last (TD error). New transitions get
+ * the highest priority seen so far, so every transition is replayed at least once with high probability.
+ * The priorities are kept in a sum tree, so a transition is drawn in logarithmic time.
+ * </p>
+ */
+public class ExperienceReplayBuffer {
+
+    // the priority of a transition is never zero, so it can be drawn again after the Q-Values of its next state changed
+    private static final double MIN_PRIORITY = 1.0E-6;
+    private static final Action[] ACTIONS = Action.values();
+
+    private final double alpha;
+    private final double gamma;
+    private final int updatesPerStep;
+    private final boolean prioritized;
+    private final RandomStream random;
+
+    private final int capacity;
+    private final int[] states;
+    private final int[] actions;
+    private final double[] rewards;
+    private final int[] nextStates;
+    private int size = 0;
+    private int nextIndex = 0;
+
+    // sum tree of the priorities, the priority of transition i is stored in leaf [leaves + i]
+    private final int leaves;
+    private final double[] priorities;
+    private double maxPriority = 1.0;
+
+    private final HashMap<String, Integer> stateNumbers = new HashMap<>();
+    private final ArrayList<String> stateNames = new ArrayList<>();
+
+    /**
+     * @param alpha          The learning rate of the replayed updates.
+     * @param gamma          The discount factor of the replayed updates.
+     * @param updatesPerStep The number of transitions that are replayed per real step.
+     * @param capacity       The maximum number of stored transitions.
+     * @param prioritized    True if transitions are drawn by priority, false if they are drawn uniformly.
+     * @param seed           Determines which transitions are drawn.
+     */
+    public ExperienceReplayBuffer(double alpha, double gamma, int updatesPerStep, int capacity, boolean prioritized,
+                                  int seed) {
+        if (updatesPerStep <= 0) {
+            throw new IllegalArgumentException("Parameter [updatesPerStep] = " + updatesPerStep + " has to be greater than 0");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Parameter [capacity] = " + capacity + " has to be greater than 0");
+        }
+
+        this.alpha = alpha;
+        this.gamma = gamma;
+        this.updatesPerStep = updatesPerStep;
+        this.prioritized = prioritized;
+        this.random = new RandomStream(seed);
+
+        this.capacity = capacity;
+        this.states = new int[capacity];
+        this.actions = new int[capacity];
+        this.rewards = new double[capacity];
+        this.nextStates = new int[capacity];
+
+        this.leaves = prioritized ? Integer.highestOneBit(Math.max(1, capacity - 1)) << 1 : 0;
+        this.priorities = new double[2 * leaves];
+    }
+
+    /**
+     * Stores a transition, overwrites the oldest transition if the buffer is full. The buffer itself only allocates
+     * for states it has not seen before, the given state strings are built by the caller.
+     *
+     * @param state     The state the agent was in.
+     * @param action    The chosen action.
+     * @param reward    The received reward.
+     * @param nextState The state the agent moved to.
+     */
+    public void add(String state, Action action, double reward, String nextState) {
+        int index = nextIndex;
+        states[index] = getStateNumber(state);
+        actions[index] = action.ordinal();
+        rewards[index] = reward;
+        nextStates[index] = getStateNumber(nextState);
+        if (prioritized) {
+            setPriority(index, maxPriority);
+        }
+
+        nextIndex = (index + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+    }
+
+    /**
+     * Replays the configured number of stored transitions. Transitions whose state action pair is not part of the
+     * Q-Table (anymore) are skipped.
+     *
+     * @param qTable The Q-Table whose Q-Values are updated.
+     * @return The number of updated Q-Values.
+     */
+    public int replay(QTable qTable) {
+        if (size == 0) {
+            return 0;
+        }
+
+        int updates = 0;
+        for (int i = 0; i < updatesPerStep; i++) {
+            int index = prioritized ? drawByPriority() : random.nextInt(size);
+            String state = stateNames.get(states[index]);
+            Action action = ACTIONS[actions[index]];
+
+            double oldQValue = qTable.getQValue(state, action);
+            if (Double.isNaN(oldQValue)) {
+                continue;
+            }
+            double highestQValueNextState = qTable.getHighestQValue(stateNames.get(nextStates[index]));
+            if (Double.isNaN(highestQValueNextState)) {
+                // the next state is added to the Q-Table with the initial Q-Values as soon as the agent enters it
+                continue;
+            }
+
+            double tdError = rewards[index] + gamma * highestQValueNextState - oldQValue;
+            if (qTable.replaceQValue(state, action, oldQValue, oldQValue + alpha * tdError)) {
+                updates++;
+            }
+            if (prioritized) {
+                setPriority(index, Math.max(Math.abs(tdError), MIN_PRIORITY));
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * Removes all stored transitions.
+     */
+    public void clear() {
+        size = 0;
+        nextIndex = 0;
+        if (prioritized) {
+            Arrays.fill(priorities, 0.0);
+            maxPriority = 1.0;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int getStateNumber(String state) {
+        Integer number = stateNumbers.get(state);
+        if (number == null) {
+            number = stateNames.size();
+            stateNumbers.put(state, number);
+            stateNames.add(state);
+        }
+        return number;
+    }
+
+    private void setPriority(int index, double priority) {
+        maxPriority = Math.max(maxPriority, priority);
+        int node = leaves + index;
+        double change = priority - priorities[node];
+        while (node > 0) {
+            priorities[node] += change;
+            node >>>= 1;
+        }
+    }
+
+    private int drawByPriority() {
+        double value = random.nextDouble() * priorities[1];
+        int node = 1;
+        while (node < leaves) {
+            int left = 2 * node;
+            if (value < priorities[left] || priorities[left + 1] <= 0.0) {
+                node = left;
+            } else {
+                value -= priorities[left];
+                node = left + 1;
+            }
+        }
+        // rounding errors of the sums may lead to an empty leaf
+        return Math.min(node - leaves, size - 1);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import java.util.Arrays;
+
+/**
+ * Priority queue of non-negative int keys that are ordered by a double priority, the key with the highest priority is
+ * removed first. Every key is contained at most once, offering a contained key raises its priority if the new priority
+ * is higher. The queue is a binary heap in primitive arrays and does not allocate as long as it does not grow.
+ */
+final class IndexedPriorityQueue {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // keys ordered as binary max heap
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    // priority and position in the heap of every key, the position is -1 if the key is not contained
+    private double[] priorities = new double[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+
+    IndexedPriorityQueue() {
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Adds the key with the passed priority. If the key is already contained, its priority is only changed if the
+     * passed priority is higher.
+     *
+     * @param key      The key, must not be negative.
+     * @param priority The priority of the key.
+     */
+    void offer(int key, double priority) {
+        ensureKeyCapacity(key);
+
+        int position = positions[key];
+        if (position >= 0) {
+            if (priority > priorities[key]) {
+                priorities[key] = priority;
+                siftUp(position);
+            }
+            return;
+        }
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, 2 * size);
+        }
+        priorities[key] = priority;
+        heap[size] = key;
+        positions[key] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Removes the key with the highest priority.
+     *
+     * @return The removed key or -1 if the queue is empty.
+     */
+    int poll() {
+        if (size == 0) {
+            return -1;
+        }
+
+        int key = heap[0];
+        positions[key] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return key;
+    }
+
+    /**
+     * @param key The requested key.
+     * @return The priority of the key or NaN if the key is not contained.
+     */
+    double getPriority(int key) {
+        return key < positions.length && positions[key] >= 0 ? priorities[key] : Double.NaN;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int key = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (priorities[heap[parent]] >= priorities[key]) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(key, position);
+    }
+
+    private void siftDown(int position) {
+        int key = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && priorities[heap[child + 1]] > priorities[heap[child]]) {
+                child++;
+            }
+            if (priorities[key] >= priorities[heap[child]]) {
+                break;
+            }
+            move(heap[child], position);
+            position = child;
+        }
+        move(key, position);
+    }
+
+    private void move(int key, int position) {
+        heap[position] = key;
+        positions[key] = position;
+    }
+
+    private void ensureKeyCapacity(int key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key " + key + " is negative.");
+        }
+        if (key >= positions.length) {
+            int oldLength = positions.length;
+            int newLength = Math.max(2 * oldLength, key + 1);
+            positions = Arrays.copyOf(positions, newLength);
+            Arrays.fill(positions, oldLength, newLength, -1);
+            priorities = Arrays.copyOf(priorities, newLength);
+        }
+    }
+}
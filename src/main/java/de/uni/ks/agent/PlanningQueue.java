@@ -0,0 +1,128 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue that passes records of primitive values from exactly one producer thread to exactly one consumer
+ * thread without locks and without allocations. Every record consists of four ints and two doubles, their meaning is
+ * up to the user of the queue.
+ */
+final class PlanningQueue {
+
+    private static final int INTS_PER_RECORD = 4;
+    private static final int DOUBLES_PER_RECORD = 2;
+
+    private final int capacity;
+    private final int mask;
+    private final int[] ints;
+    private final double[] doubles;
+
+    // number of records read, only written by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // number of records written, only written by the producer
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Holds the values of a record that was taken from the queue.
+     */
+    static final class Record {
+        int first;
+        int second;
+        int third;
+        int fourth;
+        double firstValue;
+        double secondValue;
+    }
+
+    /**
+     * @param capacity The maximum number of records in the queue, has to be a power of two.
+     */
+    PlanningQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity " + capacity + " is not a power of two.");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.ints = new int[capacity * INTS_PER_RECORD];
+        this.doubles = new double[capacity * DOUBLES_PER_RECORD];
+    }
+
+    /**
+     * Appends a record. May only be called by the producer.
+     *
+     * @return False if the queue is full and the record was not added.
+     */
+    boolean offer(int first, int second, int third, int fourth, double firstValue, double secondValue) {
+        long written = tail.get();
+        if (written - head.get() == capacity) {
+            return false;
+        }
+
+        int index = (int) (written & mask);
+        ints[index * INTS_PER_RECORD] = first;
+        ints[index * INTS_PER_RECORD + 1] = second;
+        ints[index * INTS_PER_RECORD + 2] = third;
+        ints[index * INTS_PER_RECORD + 3] = fourth;
+        doubles[index * DOUBLES_PER_RECORD] = firstValue;
+        doubles[index * DOUBLES_PER_RECORD + 1] = secondValue;
+
+        // publishes the values written above to the consumer
+        tail.lazySet(written + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest record. May only be called by the consumer.
+     *
+     * @param record Receives the values of the removed record.
+     * @return False if the queue is empty.
+     */
+    boolean poll(Record record) {
+        long read = head.get();
+        if (read == tail.get()) {
+            return false;
+        }
+
+        int index = (int) (read & mask);
+        record.first = ints[index * INTS_PER_RECORD];
+        record.second = ints[index * INTS_PER_RECORD + 1];
+        record.third = ints[index * INTS_PER_RECORD + 2];
+        record.fourth = ints[index * INTS_PER_RECORD + 3];
+        record.firstValue = doubles[index * DOUBLES_PER_RECORD];
+        record.secondValue = doubles[index * DOUBLES_PER_RECORD + 1];
+
+        // releases the slot to the producer
+        head.lazySet(read + 1);
+        return true;
+    }
+
+    /**
+     * @return True if the queue contains no records. May only be called by the consumer.
+     */
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * @return True if the next {@link #offer} would fail. A full queue can only become non-full by the consumer.
+     */
+    boolean isFull() {
+        return tail.get() - head.get() == capacity;
+    }
+}
@@ -0,0 +1,354 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * Model based planning component of the {@link Agent} that performs prioritized sweeping on a background thread.
+ * The planner learns a model of the environment from the real transitions of the agent. For every state action pair the
+ * model stores the last observed successor state and reward. The pairs whose Q-Value differs from the Bellman target
+ * of the model by more than a threshold are kept in a priority queue ordered by this difference. The planner updates the
+ * pair with the highest difference and afterwards checks all pairs that lead into its state.
+ * </p>
+ * <p>
+ * Only the training thread writes the {@link QTable} (single writer). The planner thread works on its own copy of the
+ * Q-Values in primitive arrays and hands its updates over to the training thread, which applies them in
+ * {@link #applyUpdates(QTable)}. An update is only applied if the Q-Value still has the value the update was calculated
+ * from, so the real updates of the agent are never overwritten. The real updates in turn are passed to the planner with
+ * every observed transition, so that its copy follows the Q-Table. Therefore planning can't be combined with the
+ * actors of a parallel training, which write the Q-Table as well ({@link de.uni.ks.configuration.ConfigManager}
+ * rejects such a config).
+ * </p>
+ * <p>
+ * The number of planning updates is limited to a fixed number per real step. Since the planner runs concurrently, a
+ * training with planning is not exactly reproducible.
+ * </p>
+ */
+public class PrioritizedSweepingPlanner implements AutoCloseable {
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final int NUMBER_OF_ACTIONS = ACTIONS.length;
+    private static final int QUEUE_CAPACITY = 1 << 16;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int RESET = -1;
+
+    private final double alpha;
+    private final double gamma;
+    private final double initialQValue;
+    private final int updatesPerStep;
+    private final double threshold;
+
+    // transitions and resets from the training thread to the planner thread
+    private final PlanningQueue transitions = new PlanningQueue(QUEUE_CAPACITY);
+    // planning updates from the planner thread to the training thread
+    private final PlanningQueue updates = new PlanningQueue(QUEUE_CAPACITY);
+    private final Thread thread;
+    private volatile boolean running;
+    private final AtomicLong numberOfPlanningUpdates = new AtomicLong();
+
+    // only used by the training thread
+    private final HashMap<String, Integer> stateSlots = new HashMap<>();
+    private final ArrayList<String> states = new ArrayList<>();
+    private final PlanningQueue.Record update = new PlanningQueue.Record();
+    private int epoch = 0;
+
+    // only used by the planner thread, a state action pair has the index [slot * NUMBER_OF_ACTIONS + action]
+    private final PlanningQueue.Record transition = new PlanningQueue.Record();
+    private final IndexedPriorityQueue priorityQueue = new IndexedPriorityQueue();
+    private double[] qValues = new double[0];
+    private double[] rewards = new double[0];
+    private int[] nextStates = new int[0];
+    private int[] actionMasks = new int[0];
+    private int[][] predecessors = new int[0][];
+    private int[] numberOfPredecessors = new int[0];
+    private int plannerEpoch = 0;
+    private long remainingUpdates = 0;
+
+    /**
+     * Creates the planner, its thread is started by {@link #start()}.
+     *
+     * @param alpha          The learning rate of the Q-Learning updates.
+     * @param gamma          The discount factor of the Q-Learning updates.
+     * @param initialQValue  The Q-Value of new state action pairs.
+     * @param updatesPerStep The maximum number of planning updates per real step.
+     * @param threshold      Pairs whose Q-Value differs from the Bellman target by at most this value are not updated.
+     */
+    public PrioritizedSweepingPlanner(double alpha, double gamma, double initialQValue, int updatesPerStep, double threshold) {
+        if (updatesPerStep <= 0) {
+            throw new IllegalArgumentException("Parameter [updatesPerStep] = " + updatesPerStep + " has to be greater than 0");
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Parameter [threshold] = " + threshold + " must not be negative");
+        }
+
+        this.alpha = alpha;
+        this.gamma = gamma;
+        this.initialQValue = initialQValue;
+        this.updatesPerStep = updatesPerStep;
+        this.threshold = threshold;
+
+        this.thread = new Thread(this::plan, "Planner");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the planner thread.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Passes a real transition of the agent to the planner. Must be called by the training thread after the Q-Value of
+     * the transition was updated.
+     *
+     * @param state       The state the agent was in.
+     * @param actions     The actions of the state and their Q-Values.
+     * @param action      The chosen action.
+     * @param reward      The received reward.
+     * @param nextState   The state the agent moved to.
+     * @param nextActions The actions of the next state and their Q-Values.
+     * @param newQValue   The updated Q-Value of the state action pair.
+     */
+    public void observe(String state, Map<Action, Double> actions, Action action, double reward, String nextState,
+                        Map<Action, Double> nextActions, double newQValue) {
+        int stateSlot = getSlot(state);
+        int nextStateSlot = getSlot(nextState);
+        int masks = actionMask(actions) | actionMask(nextActions) << NUMBER_OF_ACTIONS;
+
+        // if the planner falls behind the transition is lost, the model is updated when the pair is visited again
+        if (transitions.offer(stateSlot, action.ordinal(), nextStateSlot, masks, reward, newQValue)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Applies the planning updates to the Q-Table. Must be called by the training thread, which is the only thread that
+     * changes the Q-Table, so the planner must not be used together with actors.
+     *
+     * @param qTable The Q-Table of the agent.
+     * @return The number of applied updates.
+     */
+    public int applyUpdates(QTable qTable) {
+        int appliedUpdates = 0;
+        while (updates.poll(update)) {
+            // updates that were calculated before the last reset are outdated
+            if (update.third == epoch && qTable.replaceQValue(states.get(update.first), ACTIONS[update.second],
+                    update.firstValue, update.secondValue)) {
+                appliedUpdates++;
+            }
+        }
+        return appliedUpdates;
+    }
+
+    /**
+     * Tells the planner that the Q-Table was cleared. The model of the environment is kept.
+     */
+    public void reset() {
+        epoch++;
+        while (!transitions.offer(epoch, RESET, 0, 0, 0, 0)) {
+            Thread.onSpinWait();
+        }
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * @return The number of planning updates calculated so far, including those that were not applied.
+     */
+    public long getNumberOfPlanningUpdates() {
+        return numberOfPlanningUpdates.get();
+    }
+
+    /**
+     * Stops the planner thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int getSlot(String state) {
+        Integer slot = stateSlots.get(state);
+        if (slot == null) {
+            slot = states.size();
+            stateSlots.put(state, slot);
+            states.add(state);
+        }
+        return slot;
+    }
+
+    private static int actionMask(Map<Action, Double> actions) {
+        int mask = 0;
+        for (Action action : actions.keySet()) {
+            mask |= 1 << action.ordinal();
+        }
+        return mask;
+    }
+
+    // --- planner thread ---
+
+    private void plan() {
+        while (running) {
+            boolean worked = false;
+            while (transitions.poll(transition)) {
+                processTransition();
+                worked = true;
+            }
+
+            while (remainingUpdates > 0 && !priorityQueue.isEmpty() && !updates.isFull()) {
+                planningUpdate();
+                remainingUpdates--;
+                worked = true;
+                if (!transitions.isEmpty()) {
+                    break;
+                }
+            }
+
+            // the budget of a step can't be saved up for later steps
+            if (priorityQueue.isEmpty()) {
+                remainingUpdates = 0;
+            }
+
+            if (!worked) {
+                LockSupport.parkNanos(this, 1_000_000);
+            }
+        }
+    }
+
+    private void processTransition() {
+        if (transition.second == RESET) {
+            plannerEpoch = transition.first;
+            Arrays.fill(qValues, initialQValue);
+            priorityQueue.clear();
+            remainingUpdates = 0;
+            return;
+        }
+
+        int state = transition.first;
+        int nextState = transition.third;
+        ensureCapacity(Math.max(state, nextState) + 1);
+        actionMasks[state] = transition.fourth & ((1 << NUMBER_OF_ACTIONS) - 1);
+        actionMasks[nextState] = transition.fourth >>> NUMBER_OF_ACTIONS;
+
+        int pair = state * NUMBER_OF_ACTIONS + transition.second;
+        rewards[pair] = transition.firstValue;
+        qValues[pair] = transition.secondValue;
+        if (nextStates[pair] != nextState) {
+            nextStates[pair] = nextState;
+            addPredecessor(nextState, pair);
+        }
+
+        remainingUpdates += updatesPerStep;
+        prioritize(pair);
+        prioritizePredecessors(state);
+    }
+
+    private void planningUpdate() {
+        int pair = priorityQueue.poll();
+        int state = pair / NUMBER_OF_ACTIONS;
+
+        double oldQValue = qValues[pair];
+        double newQValue = oldQValue + alpha * (rewards[pair] + gamma * highestQValue(nextStates[pair]) - oldQValue);
+        qValues[pair] = newQValue;
+        updates.offer(state, pair % NUMBER_OF_ACTIONS, plannerEpoch, 0, oldQValue, newQValue);
+        numberOfPlanningUpdates.lazySet(numberOfPlanningUpdates.get() + 1);
+
+        // the value of the state changed, so the pairs leading into it may have to be updated as well
+        prioritizePredecessors(state);
+    }
+
+    private void prioritize(int pair) {
+        int nextState = nextStates[pair];
+        if (nextState < 0) {
+            return;
+        }
+        double bellmanError = Math.abs(rewards[pair] + gamma * highestQValue(nextState) - qValues[pair]);
+        if (bellmanError > threshold) {
+            priorityQueue.offer(pair, bellmanError);
+        }
+    }
+
+    private void prioritizePredecessors(int state) {
+        int[] statePredecessors = predecessors[state];
+        for (int i = 0; i < numberOfPredecessors[state]; i++) {
+            int pair = statePredecessors[i];
+            // the model may have learned another successor for the pair in the meantime
+            if (nextStates[pair] == state) {
+                prioritize(pair);
+            }
+        }
+    }
+
+    private double highestQValue(int state) {
+        int mask = actionMasks[state];
+        if (mask == 0) {
+            return initialQValue;
+        }
+
+        double highestQValue = Double.NEGATIVE_INFINITY;
+        for (int action = 0; action < NUMBER_OF_ACTIONS; action++) {
+            if ((mask & (1 << action)) != 0) {
+                highestQValue = Math.max(highestQValue, qValues[state * NUMBER_OF_ACTIONS + action]);
+            }
+        }
+        return highestQValue;
+    }
+
+    private void addPredecessor(int state, int pair) {
+        int[] statePredecessors = predecessors[state];
+        int count = numberOfPredecessors[state];
+        if (count == statePredecessors.length) {
+            statePredecessors = Arrays.copyOf(statePredecessors, Math.max(4, 2 * count));
+            predecessors[state] = statePredecessors;
+        }
+        statePredecessors[count] = pair;
+        numberOfPredecessors[state] = count + 1;
+    }
+
+    private void ensureCapacity(int numberOfStates) {
+        int oldCapacity = actionMasks.length;
+        if (numberOfStates <= oldCapacity) {
+            return;
+        }
+
+        int newCapacity = Math.max(Math.max(INITIAL_CAPACITY, 2 * oldCapacity), numberOfStates);
+        actionMasks = Arrays.copyOf(actionMasks, newCapacity);
+        numberOfPredecessors = Arrays.copyOf(numberOfPredecessors, newCapacity);
+        predecessors = Arrays.copyOf(predecessors, newCapacity);
+        Arrays.fill(predecessors, oldCapacity, newCapacity, new int[0]);
+
+        qValues = Arrays.copyOf(qValues, newCapacity * NUMBER_OF_ACTIONS);
+        Arrays.fill(qValues, oldCapacity * NUMBER_OF_ACTIONS, newCapacity * NUMBER_OF_ACTIONS, initialQValue);
+        rewards = Arrays.copyOf(rewards, newCapacity * NUMBER_OF_ACTIONS);
+        nextStates = Arrays.copyOf(nextStates, newCapacity * NUMBER_OF_ACTIONS);
+        Arrays.fill(nextStates, oldCapacity * NUMBER_OF_ACTIONS, newCapacity * NUMBER_OF_ACTIONS, -1);
+    }
+}
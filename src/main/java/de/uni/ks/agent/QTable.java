@@ -19,8 +19,11 @@ package de.uni.ks.agent;
 import de.uni.ks.maze.NodeFactory.Node;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * <p>
@@ -33,12 +36,21 @@ import java.util.Map;
  * The nested HashMaps themselves are the values of a parent HashMap (qTable).
  * The parent HashMap (qTable) is using states as keys, over which the nested HashMaps can be accessed.
  * </p>
+ * <p>
+ * Optionally the Q-Table records which states were added or changed, see {@link #setTrackChanges(boolean)}.
+ * This way a view of the Q-Table only has to update the changed rows.
+ * Changes made directly to the HashMap returned by {@link #getQTable()} are not recorded.
+ * </p>
  */
 public class QTable {
 
     final HashMap<String, HashMap<Action, Double>> qTable;
     private final double qTableInitValue;
 
+    // states that were added or changed since the changes were taken last time, null if changes are not tracked
+    private HashSet<String> changedStates;
+    private boolean clearedSinceChangesTaken;
+
     /**
      * Initializes the Q-Table by initializing the nested HashMap, that is used, to store the Q-Values.
      *
@@ -90,6 +102,7 @@ public class QTable {
                 actionValuePairs.put(action, this.qTableInitValue);
             }
             this.qTable.put(node.getState(), actionValuePairs);
+            markChanged(node.getState());
             return true;
         } else {
             System.err.println("state <" + node.getState() + "> already exist. No Entry was added ");
@@ -107,6 +120,7 @@ public class QTable {
     public boolean addEntry(Node node, HashMap<Action, Double> actions) {
         if (!this.stateExists(node)) {
             this.qTable.put(node.getState(), actions);
+            markChanged(node.getState());
             return true;
         } else {
             System.err.println("state <" + node.getState() + "> already exists in Q-Table. No Entry was added ");
@@ -132,7 +146,70 @@ public class QTable {
         }
 
         // set new QValue
-        this.qTable.get(node.getState()).replace(action, newQValue);
+        String state = node.getState();
+        this.qTable.get(state).replace(action, newQValue);
+        markChanged(state);
+    }
+
+    /**
+     * Replaces the Q-Value of a state action pair, but only if it still has the expected value. This way an update that
+     * was calculated from an outdated Q-Value can't overwrite a newer one.
+     *
+     * @param state          The encoded state.
+     * @param action         The action whose Q-Value has to be changed.
+     * @param expectedQValue The Q-Value the new Q-Value was calculated from.
+     * @param newQValue      The new Q-Value.
+     * @return True if the Q-Value was replaced. False if the state action pair does not exist or its Q-Value differs
+     * from the expected Q-Value.
+     */
+    boolean replaceQValue(String state, Action action, double expectedQValue, double newQValue) {
+        HashMap<Action, Double> actions = this.qTable.get(state);
+        if (actions == null) {
+            return false;
+        }
+
+        Double currentQValue = actions.get(action);
+        if (currentQValue == null || Double.compare(currentQValue, expectedQValue) != 0) {
+            return false;
+        }
+
+        actions.put(action, newQValue);
+        markChanged(state);
+        return true;
+    }
+
+    /**
+     * Returns the Q-Value of a state action pair by its encoded state.
+     *
+     * @param state  The encoded state.
+     * @param action The action whose Q-Value is requested.
+     * @return The Q-Value or NaN if the state action pair does not exist.
+     */
+    public double getQValue(String state, Action action) {
+        HashMap<Action, Double> actions = this.qTable.get(state);
+        if (actions == null) {
+            return Double.NaN;
+        }
+        Double qValue = actions.get(action);
+        return qValue == null ? Double.NaN : qValue;
+    }
+
+    /**
+     * Returns the highest Q-Value of a state by its encoded state.
+     *
+     * @param state The encoded state.
+     * @return The highest Q-Value or NaN if the state does not exist or has no actions.
+     */
+    double getHighestQValue(String state) {
+        HashMap<Action, Double> actions = this.qTable.get(state);
+        if (actions == null || actions.isEmpty()) {
+            return Double.NaN;
+        }
+        double highestValue = Double.NEGATIVE_INFINITY;
+        for (Double qValue : actions.values()) {
+            highestValue = Math.max(highestValue, qValue);
+        }
+        return highestValue;
     }
 
     /**
@@ -167,6 +244,7 @@ public class QTable {
         if (!this.stateExists(node)) {
             HashMap<Action, Double> actions = new HashMap<>();
             this.qTable.put(node.getState(), actions);
+            markChanged(node.getState());
             System.err.println("creation of state<" + node.getState() + "> has been forced. Empty HashMap with actions was added");
         }
 
@@ -238,8 +316,72 @@ public class QTable {
      */
     public void clear() {
         this.qTable.clear();
+        if (changedStates != null) {
+            changedStates.clear();
+            clearedSinceChangesTaken = true;
+        }
+    }
+
+    /**
+     * Enables or disables the recording of added and changed states. Disabling discards the recorded changes.
+     *
+     * @param trackChanges True if changes should be recorded.
+     */
+    public void setTrackChanges(boolean trackChanges) {
+        if (trackChanges && changedStates == null) {
+            changedStates = new HashSet<>();
+        } else if (!trackChanges) {
+            changedStates = null;
+        }
+        clearedSinceChangesTaken = false;
+    }
+
+    public boolean isTrackingChanges() {
+        return changedStates != null;
+    }
+
+    /**
+     * Returns true if the Q-Table was cleared since the changes were taken last time with {@link #takeChangedStates()}.
+     * The changed states then only contain the states added after clearing.
+     *
+     * @return True if the Q-Table was cleared.
+     */
+    public boolean wasClearedSinceChangesTaken() {
+        return clearedSinceChangesTaken;
+    }
+
+    /**
+     * Returns the states that were added or whose Q-values changed since the last call and starts a new recording.
+     *
+     * @return The changed states or an empty set if changes are not tracked.
+     */
+    public Set<String> takeChangedStates() {
+        if (changedStates == null) {
+            return Collections.emptySet();
+        }
+        Set<String> states = changedStates;
+        changedStates = new HashSet<>();
+        clearedSinceChangesTaken = false;
+        return states;
     }
 
+    private void markChanged(String state) {
+        if (changedStates != null) {
+            changedStates.add(state);
+        }
+    }
+
+    /**
+     * Returns a copy of the Q-Values of all actions of the state. Changing the returned HashMap doesn't change the
+     * Q-Table.
+     *
+     * @param state The encoded state.
+     * @return HashMap with all saved actions and their Q-Values or null if the state does not exist.
+     */
+    public HashMap<Action, Double> getRow(String state) {
+        HashMap<Action, Double> actions = this.qTable.get(state);
+        return actions == null ? null : new HashMap<>(actions);
+    }
 
     /**
      * Returns a string that represents the Q-Table in the .csv format.
@@ -80,7 +80,7 @@ public class DecreasingEpsilonPolicy implements ExplorationPolicy {
         double newEpsilon = oldEpsilon * this.reducingFactor;
         this.epsilonGreedyPolicy.setEpsilon(newEpsilon);
 
-        Logger.addTextToGuiLog("Decreased epsilon to " + newEpsilon, GuiMessageType.Policy);
+        Logger.addTextToGuiLog(() -> "Decreased epsilon to " + newEpsilon, GuiMessageType.Policy);
         return chosenAction;
     }
 
@@ -21,6 +21,7 @@ import de.uni.ks.agent.QTable;
 import de.uni.ks.logging.Logger;
 import de.uni.ks.logging.messages.GuiMessageType;
 import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.random.RandomStream;
 
 import java.util.Objects;
 
@@ -66,8 +67,12 @@ public class EpsilonFirstPolicy implements ExplorationPolicy {
         this.numberOfExploringActions = numberOfExploringActions;
         this.seed = seed;
 
+        // both phases get their own stream of random numbers
+        RandomStream randomStream = new RandomStream(this.seed);
         firstPolicy = new EpsilonGreedyPolicy(this.epsilonExplore, this.seed);
+        firstPolicy.setRandomStream(randomStream.split());
         secondPolicy = new EpsilonGreedyPolicy(this.epsilonExploit, this.seed);
+        secondPolicy.setRandomStream(randomStream.split());
     }
 
     /**
@@ -81,7 +86,7 @@ public class EpsilonFirstPolicy implements ExplorationPolicy {
         actionsTaken++;
 
         if (actionsTaken > numberOfExploringActions) {
-            Logger.addTextToGuiLog("Changed epsilon from " + firstPolicy.getEpsilon() + " to "
+            Logger.addTextToGuiLog(() -> "Changed epsilon from " + firstPolicy.getEpsilon() + " to "
                     + secondPolicy.getEpsilon(), GuiMessageType.Policy);
         }
 
@@ -21,15 +21,15 @@ import de.uni.ks.agent.QTable;
 import de.uni.ks.logging.Logger;
 import de.uni.ks.logging.messages.GuiMessageType;
 import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.random.RandomStream;
 
 import java.util.Objects;
-import java.util.Random;
 
 public class EpsilonGreedyPolicy implements ExplorationPolicy {
 
     private double epsilon;
     private final int seed;
-    private final Random random;
+    private RandomStream random;
 
     private RandomPolicy randomPolicy;
     private GreedyPolicy greedyPolicy;
@@ -50,10 +50,9 @@ public class EpsilonGreedyPolicy implements ExplorationPolicy {
         }
 
         this.seed = seed;
-        this.random = new Random(this.seed);
-
         randomPolicy = new RandomPolicy(this.seed);
         greedyPolicy = new GreedyPolicy(this.seed);
+        setRandomStream(new RandomStream(this.seed));
 
         setEpsilon(epsilon);
     }
@@ -79,6 +78,18 @@ public class EpsilonGreedyPolicy implements ExplorationPolicy {
         }
     }
 
+    /**
+     * Replaces the stream the random numbers are taken from. The sub policies get their own streams that are split
+     * from the passed stream, otherwise they would repeat the numbers of this policy.
+     *
+     * @param randomStream The stream that will be used.
+     */
+    void setRandomStream(RandomStream randomStream) {
+        this.random = randomStream;
+        this.randomPolicy.setRandomStream(randomStream.split());
+        this.greedyPolicy.setRandomStream(randomStream.split());
+    }
+
     public double getEpsilon() {
         return epsilon;
     }
@@ -19,12 +19,13 @@ package de.uni.ks.agent.explorationPolicies;
 import de.uni.ks.agent.Action;
 import de.uni.ks.agent.QTable;
 import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.random.RandomStream;
 
 import java.util.*;
 
 public class GreedyPolicy implements ExplorationPolicy {
 
-    private final Random random;
+    private RandomStream random;
     private final int seed;
 
     /**
@@ -35,7 +36,17 @@ public class GreedyPolicy implements ExplorationPolicy {
      */
     public GreedyPolicy(int seed) {
         this.seed = seed;
-        this.random = new Random(seed);
+        this.random = new RandomStream(seed);
+    }
+
+    /**
+     * Replaces the stream the random numbers are taken from. Used by policies that are built on this policy, so that
+     * every policy uses its own independent stream.
+     *
+     * @param randomStream The stream that will be used.
+     */
+    void setRandomStream(RandomStream randomStream) {
+        this.random = randomStream;
     }
 
     /**
@@ -52,8 +63,13 @@ public class GreedyPolicy implements ExplorationPolicy {
         // init needed data
         HashMap<Action, Double> actions = qTable.getActions(currentNode);
 
-        // determine highest Q-Value of passed state
-        Double highestValue = qTable.getHighestQValueOfState(currentNode);
+        // determine highest Q-Value of the read actions, other actors may change the Q-Table in the meantime
+        Double highestValue = Double.NEGATIVE_INFINITY;
+        for (Double value : actions.values()) {
+            if (value > highestValue) {
+                highestValue = value;
+            }
+        }
 
         // get best actions
         ArrayList<Action> greedyActions = new ArrayList<>();
@@ -19,16 +19,16 @@ package de.uni.ks.agent.explorationPolicies;
 import de.uni.ks.agent.Action;
 import de.uni.ks.agent.QTable;
 import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.random.RandomStream;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Objects;
-import java.util.Random;
 
 public class RandomPolicy implements ExplorationPolicy {
 
     private final int seed;
-    private final Random random;
+    private RandomStream random;
 
     /**
      * This policy chooses actions randomly from all the available actions for the state.
@@ -37,7 +37,17 @@ public class RandomPolicy implements ExplorationPolicy {
      */
     public RandomPolicy(int seed) {
         this.seed = seed;
-        this.random = new Random(this.seed);
+        this.random = new RandomStream(this.seed);
+    }
+
+    /**
+     * Replaces the stream the random numbers are taken from. Used by policies that are built on this policy, so that
+     * every policy uses its own independent stream.
+     *
+     * @param randomStream The stream that will be used.
+     */
+    void setRandomStream(RandomStream randomStream) {
+        this.random = randomStream;
     }
 
     /**
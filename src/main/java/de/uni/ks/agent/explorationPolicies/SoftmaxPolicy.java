@@ -20,24 +20,37 @@ import ch.obermuhlner.math.big.BigDecimalMath;
 import de.uni.ks.agent.Action;
 import de.uni.ks.agent.QTable;
 import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.random.RandomStream;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Random;
 
 public class SoftmaxPolicy implements ExplorationPolicy {
 
+    /**
+     * The highest precision (in decimal digits) that can be achieved with a calculation based on doubles.
+     */
+    static final int MAX_DOUBLE_PRECISION = 15;
+
+    // all actions in the order in which they are ranked during the action selection
+    private static final Action[] ACTIONS = Action.values();
+
     private double temperature;
     private int precision;
     private final int seed;
 
-    private final Random random;
+    private final RandomStream random;
     private MathContext usedMathContext;
 
+    // reused by the double precision calculation to avoid allocations in every step
+    private final Action[] candidateActions = new Action[ACTIONS.length];
+    private final double[] cumulativeWeights = new double[ACTIONS.length];
+
     /**
      * The softmax-policy consists of a random choice according to a Gibbs/Boltzmann distribution.
      * The greedy action is still given the highest selection probability, but all actions are ranked and weighted
@@ -48,6 +61,8 @@ public class SoftmaxPolicy implements ExplorationPolicy {
      * Therefore, the softmax-policy behaves similar to the random-policy if a very high temperature is used and similar
      * to the greedy-policy if the temperature is very low.
      * The precision determines how many digits of irrational and recurring numbers will be used.
+     * As long as doubles are exact enough for the precision, the temperature and the q values of the current state,
+     * the probabilities are calculated with doubles. Otherwise the calculation falls back to {@link BigDecimal}s.
      *
      * @param temperature Exploration parameter that controls the selection behaviour.
      * @param precision   Determines how many digits of irrational numbers will be used.
@@ -55,7 +70,7 @@ public class SoftmaxPolicy implements ExplorationPolicy {
      */
     public SoftmaxPolicy(double temperature, int precision, int seed) {
         this.seed = seed;
-        this.random = new Random(this.seed);
+        this.random = new RandomStream(this.seed);
 
         if (temperature > 0) {
             this.temperature = temperature;
@@ -80,6 +95,88 @@ public class SoftmaxPolicy implements ExplorationPolicy {
      */
     @Override
     public Action chooseAction(Node currentNode, QTable qTable) {
+        Map<Action, Double> qValues = qTable.getActions(currentNode);
+
+        if (isDoublePrecisionSufficient(qValues)) {
+            return chooseActionWithDoubles(qValues);
+        } else {
+            return chooseActionWithBigDecimals(currentNode, qTable);
+        }
+    }
+
+    /**
+     * Checks whether a calculation with doubles reaches the used precision for the passed q values.
+     * The exponents of the weighted q values are shifted by the highest q value, so that they can neither overflow nor
+     * lose their relative precision. The remaining relative error of a probability is bounded by the rounding error of
+     * the exponent, which grows with the magnitude of [Q(s,a)/temperature], and the rounding errors of the summation.
+     *
+     * @param qValues The q values of the actions of the current state.
+     * @return True if the probabilities calculated with doubles are exact to the used precision.
+     */
+    boolean isDoublePrecisionSufficient(Map<Action, Double> qValues) {
+        if (this.precision > MAX_DOUBLE_PRECISION || qValues.isEmpty()) {
+            return false;
+        }
+
+        double highestAbsoluteQValue = 0;
+        for (Double qValue : qValues.values()) {
+            highestAbsoluteQValue = Math.max(highestAbsoluteQValue, Math.abs(qValue));
+        }
+
+        // NaN and infinite values fail this comparison as well
+        double relativeError = (2 * highestAbsoluteQValue / this.temperature + qValues.size() + 2) * Math.ulp(1.0d);
+        return relativeError <= 0.5d * Math.pow(10, -this.precision);
+    }
+
+    /**
+     * Performs action selection regarding to the softmax-policy with doubles.
+     * The weighted q values are calculated as [exp((Q(s,a) - max Q(s,a'))/temperature)] and the action is chosen by
+     * comparing a random number between 0 and the sum of all weights with the cumulative weights of the actions. This
+     * selects every action with the same probability as the normalized calculation of {@link #chooseActionWithBigDecimals}.
+     *
+     * @param qValues The q values of the actions of the current state.
+     * @return Action that determines the next movement of the agent.
+     */
+    private Action chooseActionWithDoubles(Map<Action, Double> qValues) {
+
+        // collect the available actions in a fixed order and determine the highest q value
+        int numberOfActions = 0;
+        double highestQValue = Double.NEGATIVE_INFINITY;
+        for (Action action : ACTIONS) {
+            Double qValue = qValues.get(action);
+            if (qValue != null) {
+                candidateActions[numberOfActions] = action;
+                cumulativeWeights[numberOfActions] = qValue;
+                highestQValue = Math.max(highestQValue, qValue);
+                numberOfActions++;
+            }
+        }
+
+        // calculate cumulative weights of the shifted q values
+        double sumOfWeights = 0;
+        for (int i = 0; i < numberOfActions; i++) {
+            sumOfWeights += Math.exp((cumulativeWeights[i] - highestQValue) / this.temperature);
+            cumulativeWeights[i] = sumOfWeights;
+        }
+
+        // choose the first action whose cumulative weight reaches the random number
+        double randomDouble = sumOfWeights * this.random.nextDouble();
+        for (int i = 0; i < numberOfActions - 1; i++) {
+            if (cumulativeWeights[i] >= randomDouble) {
+                return candidateActions[i];
+            }
+        }
+        return candidateActions[numberOfActions - 1];
+    }
+
+    /**
+     * Performs action selection regarding to the softmax-policy with {@link BigDecimal}s of the used precision.
+     *
+     * @param currentNode The node whose neighborhood encodes the state.
+     * @param qTable      QTable that stores the knowledge of the agent
+     * @return Action that determines the next movement of the agent.
+     */
+    private Action chooseActionWithBigDecimals(Node currentNode, QTable qTable) {
 
         // init needed data
         ArrayList<Action> actions = (ArrayList<Action>) getSortedListFromActionSet(qTable.getActions(currentNode).keySet());
@@ -0,0 +1,101 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent.explorationPolicies;
+
+import de.uni.ks.maze.NodeFactory.Node;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns every state a consecutive slot number when it is added for the first time. Policies that store values per
+ * state use the slots as indices of primitive arrays instead of maps keyed by {@link Node#getState()}.
+ * <p>
+ * Encoding a state is expensive. Therefore the slot of the node passed to {@link #getOrAddSlot(Node)} is remembered
+ * until {@link #forgetLastNode()} is called, so that the post processing of the same step does not encode it again.
+ */
+final class StateSlots {
+
+    private final HashMap<String, Integer> slots = new HashMap<>();
+
+    private Node lastNode;
+    private int lastSlot;
+
+    /**
+     * Returns the slot of the state of the passed node and adds the state if it is unknown.
+     *
+     * @param node The node whose neighborhood encodes the state.
+     * @return The slot of the state.
+     */
+    int getOrAddSlot(Node node) {
+        return getOrAddSlot(node, node.getState());
+    }
+
+    /**
+     * Same as {@link #getOrAddSlot(Node)} for a caller that already encoded the state of the node.
+     *
+     * @param node  The node whose neighborhood encodes the state.
+     * @param state The state of the node, as returned by {@link Node#getState()}.
+     * @return The slot of the state.
+     */
+    int getOrAddSlot(Node node, String state) {
+        Integer slot = slots.get(state);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(state, slot);
+        }
+        this.lastNode = node;
+        this.lastSlot = slot;
+        return slot;
+    }
+
+    /**
+     * Returns the slot of the state of the passed node.
+     *
+     * @param node The node whose neighborhood encodes the state.
+     * @return The slot of the state or -1 if the state is unknown.
+     */
+    int getSlot(Node node) {
+        if (node == lastNode) {
+            return lastSlot;
+        }
+        Integer slot = slots.get(node.getState());
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Forgets the remembered node. Has to be called when the node could encode another state the next time, i.e. at
+     * the end of every step.
+     */
+    void forgetLastNode() {
+        this.lastNode = null;
+    }
+
+    /**
+     * @return The number of known states, which is also the next free slot.
+     */
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * @return Map with all known states as keys and their slots as values.
+     */
+    Map<String, Integer> getSlots() {
+        return slots;
+    }
+}
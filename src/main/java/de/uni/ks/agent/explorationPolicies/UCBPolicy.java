@@ -0,0 +1,172 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent.explorationPolicies;
+
+import de.uni.ks.agent.Action;
+import de.uni.ks.agent.QTable;
+import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.random.RandomStream;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public class UCBPolicy implements ExplorationPolicy {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // all actions in the order in which they are ranked during the action selection
+    private static final Action[] ACTIONS = Action.values();
+
+    private final double c;
+    private final int seed;
+    private final RandomStream random;
+
+    // every state gets a slot when it is visited for the first time, the counters of a state are stored in
+    // [slot * ACTIONS.length, (slot + 1) * ACTIONS.length)
+    private final StateSlots stateSlots;
+    private int[] actionVisits;
+    private int[] stateVisits;
+
+    /**
+     * The UCB-policy (Upper Confidence Bound, UCB1) counts how often each action was chosen in each state.
+     * It always selects the action with the highest upper bound [Q(s,a) + c * sqrt(ln(N(s)) / N(s,a))], where N(s) is
+     * the number of times the state was left and N(s,a) the number of times the action was chosen in the state.
+     * Actions that were never chosen in a state are preferred over all other actions.
+     * The exploration parameter c controls how much the bound of rarely chosen actions exceeds their q value. With
+     * c = 0 the policy behaves like the {@link GreedyPolicy}.
+     *
+     * @param c    Exploration parameter that scales the confidence bound.
+     * @param seed Determines which action will be selected if the policy has to choose between actions with the same bound.
+     */
+    public UCBPolicy(double c, int seed) {
+        if (c >= 0) {
+            this.c = c;
+        } else {
+            throw new IllegalArgumentException("Parameter [c] = " + c + " must not be negative.");
+        }
+
+        this.seed = seed;
+        this.random = new RandomStream(seed);
+        this.stateSlots = new StateSlots();
+        this.actionVisits = new int[INITIAL_CAPACITY * ACTIONS.length];
+        this.stateVisits = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Performs action selection according to the UCB-policy.
+     *
+     * @param currentNode The node whose neighborhood encodes the state.
+     * @param qTable      QTable that stores the knowledge of the agent.
+     * @return Action that determines the next movement of the agent.
+     */
+    @Override
+    public Action chooseAction(Node currentNode, QTable qTable) {
+        // the state is encoded once per step, the Q-Values are read without copying the row
+        String state = currentNode.getState();
+        int slot = stateSlots.getOrAddSlot(currentNode, state);
+        if (slot == stateVisits.length) {
+            stateVisits = Arrays.copyOf(stateVisits, 2 * slot);
+            actionVisits = Arrays.copyOf(actionVisits, 2 * slot * ACTIONS.length);
+        }
+
+        double logStateVisits = Math.log(Math.max(1, stateVisits[slot]));
+        int firstCounter = slot * ACTIONS.length;
+
+        Action bestAction = null;
+        double highestBound = Double.NEGATIVE_INFINITY;
+        int numberOfBestActions = 0;
+        for (Action action : ACTIONS) {
+            double qValue = qTable.getQValue(state, action);
+            if (Double.isNaN(qValue)) {
+                continue;
+            }
+
+            int visits = actionVisits[firstCounter + action.ordinal()];
+            double bound = visits == 0 ? Double.POSITIVE_INFINITY : qValue + c * Math.sqrt(logStateVisits / visits);
+
+            // ties are broken randomly, every tied action is kept with probability 1 / numberOfBestActions
+            if (bestAction == null || bound > highestBound) {
+                bestAction = action;
+                highestBound = bound;
+                numberOfBestActions = 1;
+            } else if (bound == highestBound && random.nextInt(++numberOfBestActions) == 0) {
+                bestAction = action;
+            }
+        }
+
+        if (bestAction == null) {
+            throw new RuntimeException("Can't choose an action in state <" + state + "> since it does not contain any actions");
+        }
+        return bestAction;
+    }
+
+    /**
+     * Counts the chosen action of the node the agent was placed on before the last interaction.
+     *
+     * @param oldNode      The node the agent was placed on before the interaction
+     * @param chosenAction The Action the agent chose in the interaction
+     * @param oldQValue    The Q Value of the state-action pair (oldNode, chosenAction) before the last interaction
+     * @param newNode      The node the agent moved to after the interaction
+     * @param qTable       QTable that stores the knowledge of the agent.
+     */
+    @Override
+    public void postProcessing(Node oldNode, Action chosenAction, double oldQValue, Node newNode, QTable qTable) {
+        int slot = stateSlots.getSlot(oldNode);
+        stateSlots.forgetLastNode();
+        if (slot < 0) {
+            System.err.println("visits of state " + oldNode.getState() + " do not exist");
+            return;
+        }
+
+        actionVisits[slot * ACTIONS.length + chosenAction.ordinal()]++;
+        stateVisits[slot]++;
+    }
+
+    /**
+     * Returns how often the passed action was chosen in the state of the passed node.
+     *
+     * @param node   The node whose neighborhood encodes the state.
+     * @param action The considered action.
+     * @return The number of times the action was chosen in the state.
+     */
+    public int getVisits(Node node, Action action) {
+        int slot = stateSlots.getSlot(node);
+        return slot < 0 ? 0 : actionVisits[slot * ACTIONS.length + action.ordinal()];
+    }
+
+    @Override
+    public String myConfigString() {
+        return getClass().getSimpleName() + "("
+                + "c = " + c + ", "
+                + "seed = " + seed
+                + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UCBPolicy that = (UCBPolicy) o;
+        return Double.compare(that.c, c) == 0 &&
+                seed == that.seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(c, seed);
+    }
+}
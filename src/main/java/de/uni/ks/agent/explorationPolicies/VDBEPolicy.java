@@ -16,27 +16,28 @@
 */
 package de.uni.ks.agent.explorationPolicies;
 
-import ch.obermuhlner.math.big.BigDecimalMath;
 import de.uni.ks.agent.Action;
 import de.uni.ks.agent.QTable;
 import de.uni.ks.logging.Logger;
 import de.uni.ks.logging.messages.GuiMessageType;
 import de.uni.ks.maze.NodeFactory.Node;
 
-import java.math.BigDecimal;
-import java.math.MathContext;
-import java.math.RoundingMode;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 public class VDBEPolicy implements ExplorationPolicy {
 
+    private static final int INITIAL_CAPACITY = 64;
+
     private double inverseSensitivity;
     private double epsilon_0;
     private int seed;
 
-    private MathContext mathContext;
-    private HashMap<String, Double> epsilonValues;
+    // every state gets a slot in the epsilon array when it is visited for the first time
+    private final StateSlots stateSlots;
+    private double[] epsilonValues;
     private EpsilonGreedyPolicy epsilonGreedyPolicy;
 
     /**
@@ -64,10 +65,9 @@ public class VDBEPolicy implements ExplorationPolicy {
             throw new IllegalArgumentException("Parameter [epsilon_0] = " + epsilon_0 + " is not in [0, 1].");
         }
 
-        int PRECISION = 100;
-        this.mathContext = new MathContext(PRECISION, RoundingMode.DOWN);
         this.seed = seed;
-        this.epsilonValues = new HashMap<>();
+        this.stateSlots = new StateSlots();
+        this.epsilonValues = new double[INITIAL_CAPACITY];
     }
 
     /**
@@ -81,12 +81,17 @@ public class VDBEPolicy implements ExplorationPolicy {
     public Action chooseAction(Node currentNode, QTable qTable) {
 
         // create new epsilon for passed state if no epsilon is saved
-        if (!epsilonValues.containsKey(currentNode.getState())) {
-            epsilonValues.put(currentNode.getState(), this.epsilon_0);
+        int knownStates = stateSlots.size();
+        int slot = stateSlots.getOrAddSlot(currentNode);
+        if (slot == knownStates) {
+            if (slot == epsilonValues.length) {
+                epsilonValues = Arrays.copyOf(epsilonValues, 2 * slot);
+            }
+            epsilonValues[slot] = this.epsilon_0;
         }
 
         // choose epsilon greedy action with the epsilon of the considered state
-        epsilonGreedyPolicy.setEpsilon(getEpsilon(currentNode));
+        epsilonGreedyPolicy.setEpsilon(epsilonValues[slot]);
         return epsilonGreedyPolicy.chooseAction(currentNode, qTable);
     }
 
@@ -101,63 +106,63 @@ public class VDBEPolicy implements ExplorationPolicy {
      */
     @Override
     public void postProcessing(Node oldNode, Action chosenAction, double oldQValue, Node newNode, QTable qTable) {
+        int slot = stateSlots.getSlot(oldNode);
+        stateSlots.forgetLastNode();
+        if (slot < 0) {
+            System.err.println("epsilon of state " + oldNode.getState() + " does not exist");
+            return;
+        }
+
         // calculate new epsilon
-        double activationValue = boltzmannActivation(oldQValue, qTable.getQValue(oldNode, chosenAction));
-        double newEpsilon = getNewEpsilonValue(oldNode, activationValue);
+        double activationValue = boltzmannActivation(oldQValue, qTable.getQValue(oldNode, chosenAction), this.inverseSensitivity);
+        double oldEpsilon = epsilonValues[slot];
+        double newEpsilon = getNewEpsilonValue(oldNode, oldEpsilon, activationValue);
 
         // mention change in gui log
-        if (epsilonValues.get(oldNode.getState()) < newEpsilon) {
-            Logger.addTextToGuiLog("Epsilon of state " + oldNode.getState() + " increased", GuiMessageType.Policy);
-        } else if (epsilonValues.get(oldNode.getState()) > newEpsilon) {
-            Logger.addTextToGuiLog("Epsilon of state " + oldNode.getState() + " decreased", GuiMessageType.Policy);
-        } else {
-            Logger.addTextToGuiLog("Epsilon of state " + oldNode.getState() + " stayed the same", GuiMessageType.Policy);
+        if (Logger.guiIsActive) {
+            String oldState = oldNode.getState();
+            if (oldEpsilon < newEpsilon) {
+                Logger.addTextToGuiLog("Epsilon of state " + oldState + " increased", GuiMessageType.Policy);
+            } else if (oldEpsilon > newEpsilon) {
+                Logger.addTextToGuiLog("Epsilon of state " + oldState + " decreased", GuiMessageType.Policy);
+            } else {
+                Logger.addTextToGuiLog("Epsilon of state " + oldState + " stayed the same", GuiMessageType.Policy);
+            }
         }
 
         // update epsilon of previous state
-        this.epsilonValues.put(oldNode.getState(), newEpsilon);
+        this.epsilonValues[slot] = newEpsilon;
     }
 
     /**
      * Calculates activation value (double between 0 and 1) based on a Gibbs/Boltzmann distribution.
+     * The difference of the two Boltzmann probabilities |exp(a) - exp(b)| / (exp(a) + exp(b)) with
+     * a = oldQValue / inverseSensitivity and b = newQValue / inverseSensitivity equals tanh(|a - b| / 2).
+     * Unlike the exponential functions tanh can't overflow.
      *
-     * @param oldQValue The old q value of the considered state action pair
-     * @param newQValue The new q value of the considered state action pair
+     * @param oldQValue          The old q value of the considered state action pair
+     * @param newQValue          The new q value of the considered state action pair
+     * @param inverseSensitivity Determines which impact the value difference has on the activation value
      * @return The activation value that controls the change of the exploration parameter
      */
-    private double boltzmannActivation(double oldQValue, double newQValue) {
-        // calculate e term of the old q value
-        BigDecimal oldQValueFraction = BigDecimal.valueOf(oldQValue).divide(BigDecimal.valueOf(this.inverseSensitivity), this.mathContext);
-        BigDecimal oldQValueETerm = BigDecimalMath.exp(oldQValueFraction, this.mathContext);
-
-        // calculate e term of the new q value
-        BigDecimal newQValueFraction = BigDecimal.valueOf(newQValue).divide(BigDecimal.valueOf(this.inverseSensitivity), this.mathContext);
-        BigDecimal newQValueETerm = BigDecimalMath.exp(newQValueFraction, this.mathContext);
-
-        // calculate first fraction
-        BigDecimal firstFractionDenominator = oldQValueETerm.add(newQValueETerm);
-        BigDecimal firstFraction = oldQValueETerm.divide(firstFractionDenominator, mathContext);
-
-        // calculate second fraction
-        BigDecimal secondFraction = newQValueETerm.divide(firstFractionDenominator, mathContext);
-
-        // calculate activation value
-        BigDecimal activationValue = firstFraction.subtract(secondFraction).abs();
-        return activationValue.doubleValue();
+    static double boltzmannActivation(double oldQValue, double newQValue, double inverseSensitivity) {
+        // an overflowing difference or quotient becomes infinite, which tanh maps to 1
+        return Math.tanh(Math.abs(newQValue - oldQValue) / (2 * inverseSensitivity));
     }
 
     /**
      * Calculates the new epsilon value of a passed node and an given activation value.
      *
      * @param node       The node whose new epsilon value will be calculated.
+     * @param oldEpsilon The current epsilon value of the node.
      * @param activation The previously calculated activation value that determines the change of the old epsilon.
      * @return The new epsilon value of the previous node.
      */
-    private double getNewEpsilonValue(Node node, double activation) {
+    private double getNewEpsilonValue(Node node, double oldEpsilon, double activation) {
         // calculate learn rate as recommended by Michel Tokic
-        double learnRate = 1 / (double) node.getPassableNeighbors().size();
+        double learnRate = 1 / (double) node.getNumberOfPassableNeighbors();
         // calculate and return new epsilon value
-        return learnRate * activation + (1 - learnRate) * getEpsilon(node);
+        return learnRate * activation + (1 - learnRate) * oldEpsilon;
     }
 
     /**
@@ -167,14 +172,28 @@ public class VDBEPolicy implements ExplorationPolicy {
      * @return The epsilon of the passed node. Returns negative Infinity if no epsilon for the given node exists.
      */
     public double getEpsilon(Node node) {
-        if (this.epsilonValues.containsKey(node.getState())) {
-            return epsilonValues.get(node.getState());
+        int slot = stateSlots.getSlot(node);
+        if (slot >= 0) {
+            return epsilonValues[slot];
         } else {
             System.err.println("epsilon of state " + node.getState() + " does not exist");
             return -Double.POSITIVE_INFINITY;
         }
     }
 
+    /**
+     * Creates a map that contains the epsilon value of every known state.
+     *
+     * @return A map with states as keys and their epsilon values as values.
+     */
+    private HashMap<String, Double> getEpsilonValues() {
+        HashMap<String, Double> epsilons = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : stateSlots.getSlots().entrySet()) {
+            epsilons.put(entry.getKey(), epsilonValues[entry.getValue()]);
+        }
+        return epsilons;
+    }
+
     @Override
     public String myConfigString() {
         return getClass().getSimpleName() + "("
@@ -192,13 +211,12 @@ public class VDBEPolicy implements ExplorationPolicy {
         return Double.compare(that.inverseSensitivity, inverseSensitivity) == 0 &&
                 Double.compare(that.epsilon_0, epsilon_0) == 0 &&
                 seed == that.seed &&
-                mathContext.equals(that.mathContext) &&
-                epsilonValues.equals(that.epsilonValues) &&
+                getEpsilonValues().equals(that.getEpsilonValues()) &&
                 epsilonGreedyPolicy.equals(that.epsilonGreedyPolicy);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(inverseSensitivity, epsilon_0, seed, mathContext, epsilonValues, epsilonGreedyPolicy);
+        return Objects.hash(inverseSensitivity, epsilon_0, seed, getEpsilonValues(), epsilonGreedyPolicy);
     }
-}
\ No newline at end of file
+}
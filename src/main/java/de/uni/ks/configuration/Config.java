@@ -18,6 +18,8 @@ package de.uni.ks.configuration;
 
 import de.uni.ks.agent.explorationPolicies.ExplorationPolicy;
 import de.uni.ks.criterion.Criterion;
+import de.uni.ks.logging.LogFormat;
+import de.uni.ks.logging.LogVerbosity;
 import de.uni.ks.maze.complexityFunction.ComplexityFunction;
 import de.uni.ks.maze.utils.mazeOperators.MazeOperator;
 
@@ -49,6 +51,30 @@ public class Config {
     @DoNotChange
     @Section(name = "Reinforcement Learning")
     public Boolean startEachLevelWithEmptyQTable;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Integer planningUpdatesPerStep = 0;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Double planningThreshold = 1.0E-4;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Integer numberOfActors = 1;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Integer replayUpdatesPerStep = 0;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Integer replayBufferCapacity = 10000;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Boolean prioritizedReplay = false;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Boolean startEachLevelWithEmptyReplayBuffer = true;
+    @DoNotChange
+    @Section(name = "Reinforcement Learning")
+    public Integer replaySeed = 0;
     @Section(name = "Reinforcement Learning")
     public ExplorationPolicy explorationPolicy;
     @Section(name = "Reinforcement Learning")
@@ -102,6 +128,18 @@ public class Config {
     @Section(name = "Misc")
     @DoNotChange
     public Boolean showProgressBarInConsole;
+    @Section(name = "Misc")
+    @DoNotChange
+    public LogVerbosity logVerbosity = LogVerbosity.ACTION;
+    @Section(name = "Misc")
+    @DoNotChange
+    public LogFormat logFormat = LogFormat.DIRECTORY;
+    @Section(name = "Misc")
+    @DoNotChange
+    public Integer zipCompressionLevel = 6;
+    @Section(name = "Misc")
+    @DoNotChange
+    public Boolean measurePhaseLatencies = false;
 
     @Override
     public String toString() {
@@ -113,6 +151,14 @@ public class Config {
                 ", qLearningAlpha=" + qLearningAlpha +
                 ", qLearningGamma=" + qLearningGamma +
                 ", startEachLevelWithEmptyQTable=" + startEachLevelWithEmptyQTable +
+                ", planningUpdatesPerStep=" + planningUpdatesPerStep +
+                ", planningThreshold=" + planningThreshold +
+                ", numberOfActors=" + numberOfActors +
+                ", replayUpdatesPerStep=" + replayUpdatesPerStep +
+                ", replayBufferCapacity=" + replayBufferCapacity +
+                ", prioritizedReplay=" + prioritizedReplay +
+                ", startEachLevelWithEmptyReplayBuffer=" + startEachLevelWithEmptyReplayBuffer +
+                ", replaySeed=" + replaySeed +
                 ", explorationPolicy=" + explorationPolicy +
                 ", episodeStoppingCriteria=" + episodeStoppingCriteria +
                 ", levelChangeCriteria=" + levelChangeCriteria +
@@ -132,6 +178,10 @@ public class Config {
                 ", mazeOperators=" + mazeOperators +
                 ", restrictImageSize=" + restrictImageSize +
                 ", showProgressBarInConsole=" + showProgressBarInConsole +
+                ", logVerbosity=" + logVerbosity +
+                ", logFormat=" + logFormat +
+                ", zipCompressionLevel=" + zipCompressionLevel +
+                ", measurePhaseLatencies=" + measurePhaseLatencies +
                 '}';
     }
 
@@ -147,6 +197,14 @@ public class Config {
                 Objects.equals(qLearningAlpha, config.qLearningAlpha) &&
                 Objects.equals(qLearningGamma, config.qLearningGamma) &&
                 Objects.equals(startEachLevelWithEmptyQTable, config.startEachLevelWithEmptyQTable) &&
+                Objects.equals(planningUpdatesPerStep, config.planningUpdatesPerStep) &&
+                Objects.equals(planningThreshold, config.planningThreshold) &&
+                Objects.equals(numberOfActors, config.numberOfActors) &&
+                Objects.equals(replayUpdatesPerStep, config.replayUpdatesPerStep) &&
+                Objects.equals(replayBufferCapacity, config.replayBufferCapacity) &&
+                Objects.equals(prioritizedReplay, config.prioritizedReplay) &&
+                Objects.equals(startEachLevelWithEmptyReplayBuffer, config.startEachLevelWithEmptyReplayBuffer) &&
+                Objects.equals(replaySeed, config.replaySeed) &&
                 Objects.equals(explorationPolicy, config.explorationPolicy) &&
                 Objects.equals(episodeStoppingCriteria, config.episodeStoppingCriteria) &&
                 Objects.equals(levelChangeCriteria, config.levelChangeCriteria) &&
@@ -165,16 +223,23 @@ public class Config {
                 Objects.equals(changeMazeSeed, config.changeMazeSeed) &&
                 Objects.equals(mazeOperators, config.mazeOperators) &&
                 Objects.equals(restrictImageSize, config.restrictImageSize) &&
-                Objects.equals(showProgressBarInConsole, config.showProgressBarInConsole);
+                Objects.equals(showProgressBarInConsole, config.showProgressBarInConsole) &&
+                Objects.equals(logVerbosity, config.logVerbosity) &&
+                Objects.equals(logFormat, config.logFormat) &&
+                Objects.equals(zipCompressionLevel, config.zipCompressionLevel) &&
+                Objects.equals(measurePhaseLatencies, config.measurePhaseLatencies);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(trainingName, initialQValue, wayNodeReward, endNodeReward, qLearningAlpha, qLearningGamma,
-                startEachLevelWithEmptyQTable, explorationPolicy, episodeStoppingCriteria, levelChangeCriteria,
+                startEachLevelWithEmptyQTable, planningUpdatesPerStep, planningThreshold, numberOfActors,
+                replayUpdatesPerStep, replayBufferCapacity, prioritizedReplay, startEachLevelWithEmptyReplayBuffer,
+                replaySeed, explorationPolicy, episodeStoppingCriteria, levelChangeCriteria,
                 complexityFunction, horizontal, initialPathLength, numberOfWayColors, numberOfWallColors,
                 generatedWayColorsSeed, generatedWallColorsSeed, usedWayColorsSeed, usedWallColorsSeed,
                 minWallWayBrightnessDifference, numberOfLevels, delta, changeMazeSeed, mazeOperators,
-                restrictImageSize, showProgressBarInConsole);
+                restrictImageSize, showProgressBarInConsole, logVerbosity, logFormat, zipCompressionLevel,
+                measurePhaseLatencies);
     }
 }
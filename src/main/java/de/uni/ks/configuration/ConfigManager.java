@@ -293,6 +293,10 @@ public class ConfigManager {
                         } else if (identifiers.getComplexityFunction().equals(key)) {
                             sb.append(describeAllConstructors(ComplexityFunctionHandler.packagePath,
                                     ComplexityFunctionHandler.interfaceName));
+                        } else if (f.getType().isEnum()) {
+                            sb.append(Arrays.stream(f.getType().getEnumConstants())
+                                    .map(Object::toString)
+                                    .collect(Collectors.joining(", ", "# ", "\n")));
                         }
 
 
@@ -456,7 +460,7 @@ public class ConfigManager {
     /**
      * Serializes the values of fields of an instance of [Config] class
      * (i.e. it returns a string representing the field). [Integer], [Double], [Boolean], and [String] are serialized
-     * by their respective [toString] method.
+     * by their respective [toString] method, enums by their name.
      * Other fields must implement the [Interface] [ToConfigWritable] to be serialized.
      *
      * @param field  The field of [config] that should be parsed.
@@ -484,6 +488,8 @@ public class ConfigManager {
                     || type.equals(Boolean.class)
                     || type.equals(String.class)) {
                 return fieldInstance.toString();
+            } else if (type.isEnum()) {
+                return ((Enum<?>) fieldInstance).name();
             } else if (type.equals(List.class)) {
                 // Iterate over all objects
                 StringBuilder listDescription = new StringBuilder();
@@ -581,6 +587,28 @@ public class ConfigManager {
 
         if (config.delta <= 0) errorMessages.add("Value for parameter [delta] must be greater than 0.");
 
+        if (config.planningUpdatesPerStep < 0)
+            errorMessages.add("Value for parameter [planningUpdatesPerStep] must not be negative.");
+
+        if (config.planningThreshold < 0)
+            errorMessages.add("Value for parameter [planningThreshold] must not be negative.");
+
+        if (config.numberOfActors < 1)
+            errorMessages.add("Value for parameter [numberOfActors] must be at least 1.");
+
+        // the planner relies on the training thread being the only thread that writes the Q-Table
+        if (config.numberOfActors > 1 && config.planningUpdatesPerStep > 0)
+            errorMessages.add("Parameter [planningUpdatesPerStep] must be 0 if [numberOfActors] is greater than 1.");
+
+        if (config.replayUpdatesPerStep < 0)
+            errorMessages.add("Value for parameter [replayUpdatesPerStep] must not be negative.");
+
+        if (config.replayBufferCapacity <= 0)
+            errorMessages.add("Value for parameter [replayBufferCapacity] must be greater than 0.");
+
+        if (config.zipCompressionLevel < 0 || config.zipCompressionLevel > 9)
+            errorMessages.add("Value for parameter [zipCompressionLevel] must be between 0 and 9.");
+
         // Check if episode stopping criteria contain end state reached as a criterion.
         boolean containsEndStateReached = false;
 
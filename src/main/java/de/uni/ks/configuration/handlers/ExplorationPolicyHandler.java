@@ -19,7 +19,10 @@ package de.uni.ks.configuration.handlers;
 import de.uni.ks.agent.explorationPolicies.ExplorationPolicy;
 import de.uni.ks.configuration.Config;
 import de.uni.ks.configuration.Identifiers;
+import de.uni.ks.random.RandomStream;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -55,4 +58,31 @@ public class ExplorationPolicyHandler implements KeyHandler {
         return false;
     }
 
+    /**
+     * Creates copies of the passed policy, e.g. for the additional actors of a parallel training. The copies have the
+     * same parameters as the policy, except for the seed. The seeds of the copies are drawn from split streams of a
+     * {@link RandomStream} that is seeded with the seed of the policy. A policy without the parameter [seed] is copied
+     * unchanged.
+     *
+     * @param policy           The policy to copy.
+     * @param numberOfPolicies The number of copies.
+     * @return The copies of the policy.
+     */
+    public static List<ExplorationPolicy> createPoliciesWithSplitSeeds(ExplorationPolicy policy, int numberOfPolicies) {
+        String value = policy.myConfigString();
+        String className = HandlerUtils.parseClassName(value);
+        Map<String, String> parsedArgumentMap = HandlerUtils.parseParameters(value);
+        String seed = parsedArgumentMap.get("seed");
+        RandomStream seeds = seed == null ? null : new RandomStream(Long.parseLong(seed));
+
+        List<ExplorationPolicy> policies = new ArrayList<>(numberOfPolicies);
+        for (int i = 0; i < numberOfPolicies; i++) {
+            if (seeds != null) {
+                parsedArgumentMap.put("seed", Integer.toString(seeds.split().nextInt(Integer.MAX_VALUE)));
+            }
+            policies.add((ExplorationPolicy) HandlerUtils.createClass(packagePath, className, parsedArgumentMap,
+                    interfaceName));
+        }
+        return policies;
+    }
 }
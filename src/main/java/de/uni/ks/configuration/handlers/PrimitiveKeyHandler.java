@@ -19,10 +19,11 @@ package de.uni.ks.configuration.handlers;
 import de.uni.ks.configuration.Config;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 
 /**
  * Parses all primitive key-value pairs in the config file. It currently supports parsing {@link Integer}, {@link Double},
- * {@link Boolean} and {@link String} values.
+ * {@link Boolean}, {@link String} and enum values. Enum values are written by their name.
  */
 public class PrimitiveKeyHandler implements KeyHandler {
 
@@ -61,6 +62,10 @@ public class PrimitiveKeyHandler implements KeyHandler {
                             field.set(config, value);
                             return true;
                         default:
+                            if (f.getType().isEnum()) {
+                                field.set(config, parseEnum(f.getType(), key, value));
+                                return true;
+                            }
                             // This is no primitive key.
                             return false;
                     }
@@ -79,4 +84,23 @@ public class PrimitiveKeyHandler implements KeyHandler {
 
         return false;
     }
+
+    /**
+     * Returns the constant of an enum that has the passed name.
+     *
+     * @param enumType The enum class.
+     * @param key      The key of the value, used for the error message.
+     * @param value    The name of the constant.
+     * @return The constant with the name {@code value}.
+     * @throws HandlerUtils.ConfigurationReaderException If the enum has no constant with the passed name.
+     */
+    private static Object parseEnum(Class<?> enumType, String key, String value) {
+        for (Object constant : enumType.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(value)) {
+                return constant;
+            }
+        }
+        throw new HandlerUtils.ConfigurationReaderException("[" + value + "] is not a valid value for [" + key + "]. " +
+                "Valid values are " + Arrays.toString(enumType.getEnumConstants()) + ".");
+    }
 }
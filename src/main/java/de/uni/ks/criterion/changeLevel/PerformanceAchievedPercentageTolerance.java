@@ -80,7 +80,7 @@ public class PerformanceAchievedPercentageTolerance implements Criterion {
             this.numberOfWellPerformedEpisodes++;
         }
 
-        Logger.addTextToGuiLog("Well performed episodes: " + numberOfWellPerformedEpisodes + "/"
+        Logger.addTextToGuiLog(() -> "Well performed episodes: " + numberOfWellPerformedEpisodes + "/"
                 + this.numberOfConsideredEpisodes, GuiMessageType.Criteria);
 
         // check if agent achieved desired quality in all past considered episodes
@@ -86,7 +86,7 @@ public class PerformanceAchievedStaticTolerance implements Criterion {
             this.numberOfWellPerformedEpisodes++;
         }
 
-        Logger.addTextToGuiLog("Well performed episodes: " + numberOfWellPerformedEpisodes
+        Logger.addTextToGuiLog(() -> "Well performed episodes: " + numberOfWellPerformedEpisodes
                 + "/" + this.numberOfConsideredEpisodes, GuiMessageType.Criteria);
 
         // if agent achieved desired quality in all past considered episodes -> reset counter and return true
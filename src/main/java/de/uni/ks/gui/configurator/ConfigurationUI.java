@@ -218,6 +218,8 @@ public class ConfigurationUI extends Application {
                 vBox.getChildren().add(buildPrimitiveField(field, 0.0).build());
             } else if ("boolean".equals(type)) {
                 vBox.getChildren().add(buildPrimitiveField(field, false).build());
+            } else if (field.getType().isEnum()) {
+                vBox.getChildren().add(buildPrimitiveField(field, field.getType().getEnumConstants()[0]).build());
             } else if (ExplorationPolicy.class.getSimpleName().toLowerCase().equals(type)) {
                 vBox.getChildren().add(buildSingleSelectorBox(ExplorationPolicyHandler.packagePath,
                         ExplorationPolicyHandler.interfaceName,
@@ -360,6 +362,8 @@ public class ConfigurationUI extends Application {
                     } else if (typeName.equals("boolean")) {
                         UIFactory.SingleInput<Boolean> singleInput = (UIFactory.SingleInput<Boolean>) singleInputRaw;
                         singleInput.update((Boolean) HandlerUtils.parseStringToType(f.get(config).toString(), typeName));
+                    } else if (f.getType().isEnum()) {
+                        ((UIFactory.EnumInputField<?>) singleInputRaw).updateConstant((Enum<?>) f.get(config));
                     } else if (!identifiers.getTrainingName().equals(f.getName())) {
                         System.err.println("An input field was found for key [" + id + "], but the type is not" +
                                 " supported, this indicates an error in the code itself.");
@@ -564,6 +568,7 @@ public class ConfigurationUI extends Application {
      * * {@link Integer}
      * * {@link Double}
      * * {@link Boolean}
+     * * enums
      *
      * @param id           The id is used as a key in the {@link #singleInputMap}.
      * @param defaultValue The default value of the input field.
@@ -581,6 +586,8 @@ public class ConfigurationUI extends Application {
             inputField = new UIFactory.TextInputField<>(id, (Number) defaultValue);
         } else if (defaultValue instanceof Boolean) {
             inputField = new UIFactory.BoolInputField(id, (Boolean) defaultValue);
+        } else if (defaultValue instanceof Enum) {
+            inputField = buildEnumField(id, (Enum<?>) defaultValue);
         } else {
             throw new IllegalArgumentException("Input field for " + id
                     + " cannot be created because the type is not supported.");
@@ -591,6 +598,19 @@ public class ConfigurationUI extends Application {
 
     }
 
+    /**
+     * Builds a {@link UIFactory.EnumInputField} for the enum of the given default value.
+     *
+     * @param id           The id of the input field.
+     * @param defaultValue The default value of the input field.
+     * @param <E>          The enum of the default value.
+     * @return An instance of {@link UIFactory.EnumInputField}.
+     */
+    @SuppressWarnings("unchecked") // every constant of an enum E is an Enum<E>
+    private static <E extends Enum<E>> UIFactory.EnumInputField<E> buildEnumField(String id, Enum<?> defaultValue) {
+        return new UIFactory.EnumInputField<>(id, (E) defaultValue);
+    }
+
     /**
      * Wraps {@link #buildPrimitiveField(String, Object)} and uses the name of a {@link Field} as the id.
      *
@@ -731,6 +731,73 @@ public class UIFactory {
         }
     }
 
+    /**
+     * Helper class for building the ui. This class handles enum values.
+     *
+     * @param <T> The type of the enum.
+     */
+    protected static class EnumInputField<T extends Enum<T>> implements SingleInput<T> {
+
+        private final String id;
+
+        private final Class<T> enumType;
+
+        private final ComboBox<T> inputField;
+
+        /**
+         * This class is used to input enum values. The user can choose one of the constants of the enum.
+         *
+         * @param id           The identifier of the instance, this is also used for labeling the input field in the ui.
+         * @param defaultValue The default value of this input field.
+         */
+        protected EnumInputField(String id, T defaultValue) {
+            this.id = id;
+            this.enumType = defaultValue.getDeclaringClass();
+            this.inputField = new ComboBox<>();
+            inputField.getItems().addAll(enumType.getEnumConstants());
+            inputField.setValue(defaultValue);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public boolean validate() {
+            return true; // Invalid inputs cannot be made here.
+        }
+
+        @Override
+        public Node build() {
+            BorderPane pane = new BorderPane();
+            pane.setLeft(new Label(id));
+            pane.setRight(inputField);
+            pane.setPadding(new Insets(10, 0, 10, 0));
+
+            return pane;
+        }
+
+        @Override
+        public T getValue() {
+            return inputField.getValue();
+        }
+
+        @Override
+        public void update(T value) {
+            if (value == null) throw new IllegalArgumentException("Parameter [value] must not be null!");
+            this.inputField.setValue(value);
+        }
+
+        /**
+         * Like {@link #update(Enum)}, but checks that the value is a constant of the enum of this input field.
+         *
+         * @param value The new value, a constant of the enum of this input field.
+         */
+        public void updateConstant(Enum<?> value) {
+            update(enumType.cast(value));
+        }
+    }
+
     /**
      * Returns a list of all classes that are located directly in a specific package. A class is valid if it meets
      * the following conditions:
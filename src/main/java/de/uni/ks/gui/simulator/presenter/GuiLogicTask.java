@@ -16,16 +16,18 @@
 */
 package de.uni.ks.gui.simulator.presenter;
 
-import de.uni.ks.maze.NodeFactory;
-import javafx.application.Platform;
 import javafx.concurrent.Task;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * <p>This class performs the training while the simulator ui is running.
  * This is necessary because the JavaFx thread (which is responsible for the UI)
  * otherwise freezes if the training calculations take too long. </p>
  * <p>In addition to the actual training calculations, this class coordinates
- * the time delay between two simulation steps and triggers the UI updates.</p>
+ * the time delay between two simulation steps. The training does not wait for the UI. After every step a
+ * {@link TrainingSnapshot} is published, which the UI renders once per frame. The next snapshot is added in place to
+ * a snapshot the UI did not take in time.</p>
  */
 class GuiLogicTask extends Task<Boolean> {
 
@@ -41,62 +43,23 @@ class GuiLogicTask extends Task<Boolean> {
         try {
             while (isNotFinished && !isCancelled()) {
                 // save some information before executing the next action
-                NodeFactory.Node oldNode = simulatorPresenter.training.getAgent().getCurrentPosition();
-                String oldState = oldNode.getState();
                 int oldLvlNr = simulatorPresenter.training.getCurrentLevelNr();
                 int oldEpisodeNr = simulatorPresenter.training.getCurrentEpisodeNr();
-                int oldActionNr = simulatorPresenter.training.getAgent().getNumberOfActionsTaken();
 
                 // do action
                 isNotFinished = simulatorPresenter.training.doStep();
 
-                // save some information after the execution of the action
-                NodeFactory.Node newNode = simulatorPresenter.training.getAgent().getCurrentPosition();
-                String newState = newNode.getState();
-                int newLvlNr = simulatorPresenter.training.getCurrentLevelNr();
-                int newEpisodeNr = simulatorPresenter.training.getCurrentEpisodeNr();
-                int newActionNr = simulatorPresenter.training.getAgent().getNumberOfActionsTaken();
-
-                // update UI
-                boolean isFinished = !isNotFinished;
-                Platform.runLater(() -> {
-
-                    // abort if training has been aborted
-                    if (isCancelled()) {
-                        simulatorPresenter.guiGetsUpdated.release();
-                        return;
-                    }
-
-                    // update ui and release semaphore
-                    simulatorPresenter.updateUi(oldState, oldLvlNr, oldEpisodeNr, oldActionNr, newState, newLvlNr,
-                            newEpisodeNr, newActionNr, isFinished);
-                    simulatorPresenter.guiGetsUpdated.release();
-                });
-
-                // abort if training has been aborted
-                if (isCancelled()) return !isNotFinished;
-
-                // wait until gui update is finished and measure the time passed while doing so
-                long startTime = System.nanoTime();
-                try {
-                    simulatorPresenter.guiGetsUpdated.acquire();
-                } catch (InterruptedException e) {
-                    // e.printStackTrace();
-                }
-                long timeAlreadyWaited = System.nanoTime() - startTime;
-
-                // calculate the remaining delay
-                long speedSliderDelayInNanoSeconds = (long) (simulatorPresenter.speedSliderView.getSpeedSlider()
-                        .getValue() * 1000000000);
-                long remainingDelayInNanoSeconds = (speedSliderDelayInNanoSeconds - timeAlreadyWaited);
-                long remainingDelayInMilliSeconds = remainingDelayInNanoSeconds / 1000000;
+                // publish the new state of the training for the UI
+                simulatorPresenter.publishSnapshot(TrainingSnapshot.create(simulatorPresenter.training, oldLvlNr,
+                        oldEpisodeNr, !isNotFinished));
 
                 // abort if training has been aborted
                 if (isCancelled()) return !isNotFinished;
 
-                // wait the possibly remaining delay
-                if (remainingDelayInMilliSeconds > 0) {
-                    Thread.sleep(remainingDelayInMilliSeconds);
+                // wait the delay set by the speed slider
+                long delayInNanoSeconds = (long) (simulatorPresenter.stepDelayInSeconds * 1000000000);
+                if (delayInNanoSeconds > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delayInNanoSeconds);
                 }
             }
         }
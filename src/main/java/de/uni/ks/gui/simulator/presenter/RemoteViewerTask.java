@@ -0,0 +1,168 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.presenter;
+
+import de.uni.ks.configuration.Config;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.logging.data.EpisodeData;
+import de.uni.ks.logging.data.LevelData;
+import de.uni.ks.logging.remote.ProgressClient;
+import de.uni.ks.logging.remote.ProgressListener;
+import de.uni.ks.logging.remote.ProgressProtocol;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory;
+import javafx.concurrent.Task;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>This class shows a training that runs without UI in another process, see
+ * {@link de.uni.ks.logging.remote.ProgressServer}. It reads the progress with a {@link ProgressClient} and fills
+ * the data of the {@link Logger} the same way the training does, so the UI can show it like a local training.
+ * After every received step, episode or level a {@link TrainingSnapshot} is published.</p>
+ * <p>The Q-table and the messages of the UI log are not transferred.</p>
+ */
+class RemoteViewerTask extends Task<Boolean> implements ProgressListener {
+
+    private final SimulatorPresenter simulatorPresenter;
+    private final ProgressClient progressClient;
+    private final Config config;
+    private final NodeFactory nodeFactory;
+
+    // state of the training
+    private int levelNr = 1;
+    private int episodeNr = 1;
+    private int actionNr = 0;
+    private Maze maze;
+    private boolean trainingFinished;
+
+    // result of the last episode of a level, which is published together with the result of the level
+    private final List<TrainingSnapshot.FinishedEpisode> finishedEpisodes = new ArrayList<>(1);
+
+    RemoteViewerTask(SimulatorPresenter simulatorPresenter, ProgressClient progressClient, Config config) {
+        this.simulatorPresenter = simulatorPresenter;
+        this.progressClient = progressClient;
+        this.config = config;
+        this.nodeFactory = new NodeFactory(config.wayNodeReward, config.endNodeReward, config.numberOfWayColors,
+                config.numberOfWallColors, config.generatedWayColorsSeed, config.generatedWallColorsSeed,
+                config.usedWayColorsSeed, config.usedWallColorsSeed, config.minWallWayBrightnessDifference);
+    }
+
+    /**
+     * Reads the progress until the maze of the first level is known. Is called before the task is started.
+     *
+     * @throws IOException If reading fails or the server closed the connection before.
+     */
+    void readFirstLevel() throws IOException {
+        while (maze == null) {
+            if (!progressClient.readFrame(this)) {
+                throw new IOException("The training was closed before it started.");
+            }
+        }
+    }
+
+    @Override
+    protected Boolean call() {
+        try {
+            while (!trainingFinished && !isCancelled()) {
+                if (!progressClient.readFrame(this)) break;
+            }
+        } catch (IOException e) {
+            if (!isCancelled()) System.err.println("The connection to the training was interrupted: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Remote viewer task was interrupted due to exception :" + e.getMessage());
+            e.printStackTrace();
+        }
+        return trainingFinished;
+    }
+
+    @Override
+    public void onLevel(int levelNr, ProgressProtocol.MazeCells mazeCells) {
+        LevelData levelData = Logger.trainingData.getLevelData(levelNr);
+        if (levelData == null) {
+            levelData = new LevelData(levelNr);
+            Logger.addLevelData(levelData);
+            levelData.addEpisodeData(new EpisodeData(1));
+        }
+        levelData.setMaze(mazeCells.toMaze(nodeFactory));
+        levelData.refreshComplexity(config.complexityFunction);
+
+        // the copy of the level data isn't changed anymore and can be passed to the UI
+        maze = levelData.getMaze();
+        List<TrainingSnapshot.FinishedLevel> finishedLevels = new ArrayList<>(1);
+        if (levelNr > 1) {
+            finishedLevels.add(createFinishedLevel(levelNr - 1, levelData.getComplexity()));
+        }
+        this.levelNr = levelNr;
+        this.episodeNr = 1;
+        this.actionNr = 0;
+        publish(maze.getStartNode(), finishedLevels);
+    }
+
+    @Override
+    public void onStep(int levelNr, int episodeNr, int actionNr, double totalReward, int agentRow, int agentColumn) {
+        if (levelNr != this.levelNr || episodeNr != this.episodeNr) return;
+        EpisodeData episodeData = Logger.trainingData.getLevelData(levelNr).getEpisodeData(episodeNr);
+        episodeData.setNumberOfActions(actionNr);
+        episodeData.setTotalReward(totalReward);
+        this.actionNr = actionNr;
+        publish(maze.getNodeAt(agentRow, agentColumn), new ArrayList<>(0));
+    }
+
+    @Override
+    public void onEpisode(int levelNr, int episodeNr, int numberOfActions, double totalReward,
+                          int stopCriterionIndex, byte next) {
+        LevelData levelData = Logger.trainingData.getLevelData(levelNr);
+        EpisodeData episodeData = levelData.getEpisodeData(episodeNr);
+        episodeData.setNumberOfActions(numberOfActions);
+        episodeData.setTotalReward(totalReward);
+        if (stopCriterionIndex >= 0 && stopCriterionIndex < config.episodeStoppingCriteria.size()) {
+            episodeData.setOccurredEpisodeStopCriterion(config.episodeStoppingCriteria.get(stopCriterionIndex));
+        }
+        finishedEpisodes.add(new TrainingSnapshot.FinishedEpisode(levelNr, episodeNr, numberOfActions));
+
+        if (next == ProgressProtocol.NEXT_EPISODE) {
+            this.episodeNr = episodeNr + 1;
+            this.actionNr = 0;
+            levelData.addEpisodeData(new EpisodeData(this.episodeNr));
+            publish(maze.getStartNode(), new ArrayList<>(0));
+        } else {
+            levelData.refreshEpisodeStoppingCriteriaOccurrences(config.episodeStoppingCriteria);
+            if (next == ProgressProtocol.TRAINING_FINISHED) {
+                trainingFinished = true;
+                List<TrainingSnapshot.FinishedLevel> finishedLevels = new ArrayList<>(1);
+                finishedLevels.add(createFinishedLevel(levelNr, null));
+                publish(maze.getStartNode(), finishedLevels);
+            }
+            // otherwise the episode is published with the next level
+        }
+    }
+
+    private TrainingSnapshot.FinishedLevel createFinishedLevel(int levelNr, Double complexityOfNextLevel) {
+        LevelData levelData = Logger.trainingData.getLevelData(levelNr);
+        return new TrainingSnapshot.FinishedLevel(levelNr, levelData.getAverageNumberOfActions(),
+                levelData.getOptimalNumberOfActions(), complexityOfNextLevel);
+    }
+
+    private void publish(NodeFactory.Node agentPosition, List<TrainingSnapshot.FinishedLevel> finishedLevels) {
+        simulatorPresenter.publishSnapshot(TrainingSnapshot.create(levelNr, episodeNr, actionNr, trainingFinished,
+                maze, agentPosition, new ArrayList<>(finishedEpisodes), finishedLevels));
+        finishedEpisodes.clear();
+    }
+}
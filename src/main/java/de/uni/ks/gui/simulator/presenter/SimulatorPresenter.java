@@ -24,8 +24,11 @@ import de.uni.ks.configuration.Config;
 import de.uni.ks.configuration.ConfigManager;
 import de.uni.ks.gui.simulator.view.*;
 import de.uni.ks.logging.Logger;
-import de.uni.ks.logging.data.EpisodeData;
 import de.uni.ks.logging.data.LevelData;
+import de.uni.ks.logging.remote.ProgressClient;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -38,15 +41,18 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Optional;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class creates the graphical user interface by assembling the components
  * implemented in {@link de.uni.ks.gui.simulator.view} into one interface.
  * Furthermore, this class is responsible for updating the UI components.
  * The actual training logic is executed in the {@link de.uni.ks.gui.simulator.presenter.GuiLogicTask} task.
+ * Alternatively the UI can show a training that runs without UI in another process, which is received by the
+ * {@link RemoteViewerTask}.
  */
 public class SimulatorPresenter extends Application {
 
@@ -62,6 +68,7 @@ public class SimulatorPresenter extends Application {
     private QTableView qTableView;
     private LevelSpinnerView levelSelectionSpinnerResults;
     private ResultTableView resultTableView;
+    private Tab resultsTab;
     private LevelSpinnerView levelSelectionSpinnerLiveBehaviour;
     private LiveBehaviourChartView liveBehaviourChartView;
     private ComplexityChartView complexityChartView;
@@ -69,9 +76,24 @@ public class SimulatorPresenter extends Application {
 
     // logical components
     private GuiLogicTask guiLogicTask;
-    final Semaphore guiGetsUpdated = new Semaphore(0);
     Training training;
 
+    // set instead of the training if the UI shows a training of another process
+    private RemoteViewerTask remoteViewerTask;
+    private ProgressClient progressClient;
+    volatile double stepDelayInSeconds;
+
+    // the latest snapshot published by the training thread, taken by the render timer once per frame
+    private final AtomicReference<TrainingSnapshot> snapshotMailbox = new AtomicReference<>();
+    private AnimationTimer renderTimer;
+
+    // state of the training that is currently shown
+    private int renderedLevelNr = 1;
+    private int renderedEpisodeNr = 1;
+    private int renderedActionNr = 0;
+    private Maze renderedMaze;
+    private NodeFactory.Node renderedAgentPosition;
+
     private Config config;
 
     // Used by javafx.
@@ -98,18 +120,25 @@ public class SimulatorPresenter extends Application {
         // https://www.eclipse.org/forums/index.php/t/988541/
         com.sun.javafx.util.Logging.getCSSLogger().disableLogging();
 
-        // ---- create training ----
+        // ---- create training or attach to a training of another process ----
         if (this.config == null) {
             if (this.getParameters().getRaw().size() == 0) {
                 System.err.println("User needs to pass config file path");
                 System.exit(-1);
             }
 
-            File file = new File(this.getParameters().getRaw().get(0));
-            this.config = ConfigManager.readConfig(file);
+            String argument = this.getParameters().getRaw().get(0);
+            if (argument.startsWith(MazeSimulator.ATTACH_ARG + "=")) {
+                attachToTraining(Integer.parseInt(argument.substring(argument.indexOf('=') + 1)));
+            } else {
+                File file = new File(argument);
+                this.config = ConfigManager.readConfig(file);
+            }
+        }
+        if (remoteViewerTask == null) {
+            training = MazeSimulator.createTraining(config, true);
+            training.initSimulation();
         }
-        training = MazeSimulator.createTraining(config, true);
-        training.initSimulation();
 
         // ---- create left side of the scene ----
 
@@ -142,7 +171,7 @@ public class SimulatorPresenter extends Application {
 
         // create tab for each info component
         Tab qTableTab = new Tab("Q Table", qTableView.getQTableView());
-        Tab resultsTab = new Tab("Results", resultsVBox);
+        resultsTab = new Tab("Results", resultsVBox);
         Tab liveBehaviourTab = new Tab("Live Behaviour", liveBehaviourBox);
         Tab summaryTab = new Tab("Summary", summaryChartVBox);
         Tab complexityTab = new Tab("Complexity", complexityVBox);
@@ -154,6 +183,14 @@ public class SimulatorPresenter extends Application {
         infoTabPane.getTabs().add(summaryTab);
         infoTabPane.getTabs().add(complexityTab);
 
+        // the result table is only updated while it is shown
+        resultsTab.selectedProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue && levelSelectionSpinnerResults.getValue() != null) {
+                resultTableView.refresh(levelSelectionSpinnerResults.getValue(),
+                        getNumberOfRenderedEpisodes(levelSelectionSpinnerResults.getValue()));
+            }
+        });
+
         // ---- create right side of the scene ----
 
         // create VBox that contains the simulation and the speed slider
@@ -179,20 +216,39 @@ public class SimulatorPresenter extends Application {
 
         // ---- init UI data ----
 
-        // create entry for the start node before the training begins
-        ArrayList<Action> actions = training.getAgent().createActions(training.getAgent().getCurrentPosition());
-        training.getAgent().getQTable().addEntry(training.getAgent().getCurrentPosition(), actions);
-        qTableView.refresh(training.getAgent().getQTable());
-
-        // highlight start node
-        qTableView.selectEntry(training.getAgent().getCurrentPosition().getState());
-
-        // add complexity of first level to complexity chart
-        complexityChartView.addDataToSeries(1, training.getConfig().complexityFunction.calculateComplexity(training.getMaze()));
+        if (training != null) {
+            // create entry for the start node before the training begins
+            ArrayList<Action> actions = training.getAgent().createActions(training.getAgent().getCurrentPosition());
+            training.getAgent().getQTable().addEntry(training.getAgent().getCurrentPosition(), actions);
+            qTableView.refresh(training.getAgent().getQTable());
+
+            // from now on only the changed rows of the q table are passed to the UI
+            training.getAgent().getQTable().setTrackChanges(true);
+
+            // highlight start node
+            qTableView.selectEntry(training.getAgent().getCurrentPosition().getState());
+
+            // show the maze before the training begins
+            renderedMaze = new Maze(training.getMaze());
+            renderedAgentPosition = training.getAgent().getCurrentPosition();
+
+            // add complexity of first level to complexity chart
+            complexityChartView.addDataToSeries(1, training.getConfig().complexityFunction.calculateComplexity(training.getMaze()));
+        } else {
+            // the first level was already received while attaching
+            LevelData firstLevelData = Logger.trainingData.getLevelData(1);
+            renderedMaze = firstLevelData.getMaze();
+            renderedAgentPosition = renderedMaze.getStartNode();
+            complexityChartView.addDataToSeries(1, firstLevelData.getComplexity());
+
+            // the speed of a training in another process can't be changed
+            speedSliderView.getSpeedSlider().setDisable(true);
+        }
+        complexityChartView.refresh();
 
         // ---- show stage ----
 
-        primaryStage.setTitle(training.getConfig().trainingName);
+        primaryStage.setTitle(config.trainingName);
         primaryStage.setMinHeight(700);
         primaryStage.setMinWidth(900);
         primaryStage.setScene(new Scene(root));
@@ -200,6 +256,32 @@ public class SimulatorPresenter extends Application {
 
         // ---- start logic ----
 
+        // read the delay on the FX thread, the training thread only reads the volatile copy
+        stepDelayInSeconds = speedSliderView.getSpeedSlider().getValue();
+        speedSliderView.getSpeedSlider().valueProperty().addListener((observable, oldValue, newValue)
+                -> stepDelayInSeconds = newValue.doubleValue());
+
+        // render the latest snapshot of the training and the new log messages once per frame
+        renderTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                TrainingSnapshot snapshot = snapshotMailbox.getAndSet(null);
+                if (snapshot != null) {
+                    updateUi(snapshot);
+                }
+                loggerView.refresh();
+            }
+        };
+        renderTimer.start();
+
+        if (remoteViewerTask != null) {
+            // separate non-FX thread that reads the progress of the training in the other process
+            Thread thread = new Thread(remoteViewerTask);
+            thread.setDaemon(true);
+            thread.start();
+            return;
+        }
+
         // separate non-FX thread that does the actual training
         guiLogicTask = new GuiLogicTask(this);
         Thread thread = new Thread(guiLogicTask);
@@ -212,12 +294,41 @@ public class SimulatorPresenter extends Application {
         });
     }
 
+    /**
+     * Connects to a training that publishes its progress on the passed local port and receives the first level. The
+     * training itself is not changed by the UI and continues if the UI is closed.
+     *
+     * @param port The port of the training.
+     */
+    private void attachToTraining(int port) {
+        try {
+            progressClient = ProgressClient.connect(port);
+            config = ConfigManager.readConfig(progressClient.getConfig(), progressClient.getTrainingName());
+            Logger.initLogger(config.trainingName, config, true);
+            remoteViewerTask = new RemoteViewerTask(this, progressClient, config);
+            remoteViewerTask.readFirstLevel();
+        } catch (IOException e) {
+            System.err.println("Can't attach to the training on port " + port + ": " + e.getMessage());
+            System.exit(-1);
+        }
+    }
+
     @Override
     public void stop() {
-        guiGetsUpdated.release();
-        guiLogicTask.cancel();
+        renderTimer.stop();
         Logger.guiIsActive = false;
 
+        if (remoteViewerTask != null) {
+            remoteViewerTask.cancel();
+            try {
+                progressClient.close();
+            } catch (IOException e) {
+                System.err.println("Closing the connection to the training failed: " + e.getMessage());
+            }
+            return;
+        }
+
+        guiLogicTask.cancel();
         if (!training.isFinished()) {
             training.handleRemainingThreads();
         }
@@ -283,12 +394,12 @@ public class SimulatorPresenter extends Application {
 
         // add maze canvas to previously created container
         Canvas mazeCanvas = mazeCanvasView.getMazeCanvas();
-        simulatorGraphicBox.getChildren().add(mazeCanvas);
+        simulatorGraphicBox.getChildren().add(mazeCanvasView.getMazePane());
 
         mazeCanvas.widthProperty().bind(simulatorGraphicBox.widthProperty());
         mazeCanvas.heightProperty().bind(simulatorGraphicBox.heightProperty());
-        mazeCanvas.widthProperty().addListener(evt -> mazeCanvasView.drawMaze(training.getMaze(), training.getAgent()));
-        mazeCanvas.heightProperty().addListener(evt -> mazeCanvasView.drawMaze(training.getMaze(), training.getAgent()));
+        mazeCanvas.widthProperty().addListener(evt -> mazeCanvasView.drawMaze(renderedMaze, renderedAgentPosition));
+        mazeCanvas.heightProperty().addListener(evt -> mazeCanvasView.drawMaze(renderedMaze, renderedAgentPosition));
         return simulatorGraphicBox;
     }
 
@@ -333,7 +444,8 @@ public class SimulatorPresenter extends Application {
         HBox spinnerHBox = createSpinnerHBox(levelSelectionSpinner);
 
         // change displayed data if spinner value changed
-        levelSelectionSpinner.valueProperty().addListener((observable, oldValue, newValue) -> resultTableView.setLevel(newValue));
+        levelSelectionSpinner.valueProperty().addListener((observable, oldValue, newValue)
+                -> resultTableView.setLevel(newValue, getNumberOfRenderedEpisodes(newValue)));
 
         // enable vertical resizing of result table view
         VBox.setVgrow(resultTableView.getResultsTableView(), Priority.ALWAYS);
@@ -414,75 +526,111 @@ public class SimulatorPresenter extends Application {
     // ################################################################################################################
 
     /**
-     * Updates the UI after a step of the simulation has been completed.
+     * Publishes a snapshot of the training for the UI. If the UI did not take the previous snapshot yet, it is taken
+     * back and the new snapshot is added to it in place. Is called by the training thread, which is the only thread
+     * that puts snapshots into the mailbox, and never blocks.
      *
-     * @param oldState         The state the agent was in before the last step was executed.
-     * @param oldLvlNr         The number of the level the agent was in before the last step was executed.
-     * @param oldEpisodeNr     The number of the episode the agent was in before the last step was executed.
-     * @param oldActionNr      The number of actions the agent had performed before the last step was executed.
-     * @param newState         The state the agent is in after the last step
-     * @param newLvlNr         The number of the level the agent is in after the last step.
-     * @param newEpisodeNr     The number of the episode the agent is in after the last step.
-     * @param newActionNr      The number of actions the agent had performed after the last step.
-     * @param trainingFinished Boolean, which tells if the training has been completed.
+     * @param snapshot The state of the training after the last step.
      */
-    void updateUi(String oldState, int oldLvlNr, int oldEpisodeNr, int oldActionNr, String newState, int newLvlNr,
-                  int newEpisodeNr, int newActionNr, boolean trainingFinished) {
-        // update maze visualisation
-        mazeCanvasView.drawMaze(training.getMaze(), training.getAgent());
+    void publishSnapshot(TrainingSnapshot snapshot) {
+        // the UI can't take the pending snapshot while it is changed, it may only miss it for one frame
+        TrainingSnapshot pending = snapshotMailbox.getAndSet(null);
+        if (pending != null) {
+            pending.absorb(snapshot);
+            snapshot = pending;
+        }
+        snapshotMailbox.set(snapshot);
+    }
 
-        // make sure that a list is created for the first level in the result controller, even if the level has only one action
-        if (oldLvlNr == 1 || oldEpisodeNr == 1 || oldActionNr == 1) {
-            resultTableView.refresh(Logger.trainingData.getLevelData(1));
+    /**
+     * Returns the number of episodes of the passed level that may be shown. Episodes the training added after the
+     * currently shown snapshot are not read, since they may still be changed.
+     *
+     * @param levelData The level.
+     * @return The number of episodes that may be shown.
+     */
+    private int getNumberOfRenderedEpisodes(LevelData levelData) {
+        if (levelData.getLevelNr() < renderedLevelNr) {
+            return levelData.getNumberOfEpisodes();
+        } else if (levelData.getLevelNr() == renderedLevelNr) {
+            return renderedEpisodeNr;
         }
+        return 0;
+    }
+
+    /**
+     * Updates the UI with the latest snapshot of the training. Since snapshots are rendered at most once per frame,
+     * the snapshot may contain the changes of several steps.
+     *
+     * @param snapshot The state of the training after the last step.
+     */
+    void updateUi(TrainingSnapshot snapshot) {
+        int oldLvlNr = renderedLevelNr;
+        int newLvlNr = snapshot.levelNr;
+        renderedLevelNr = snapshot.levelNr;
+        renderedEpisodeNr = snapshot.episodeNr;
+        renderedActionNr = snapshot.actionNr;
+
+        // update maze visualisation
+        renderedMaze = snapshot.maze;
+        renderedAgentPosition = snapshot.agentPosition;
+        mazeCanvasView.drawMaze(renderedMaze, renderedAgentPosition);
 
         // set level spinner data of results tab -> automatically select newest level if level changed and agent had
         // previously selected newest level
+        LevelData currentLevelData = Logger.trainingData.getLevelData(newLvlNr);
         if (levelSelectionSpinnerResults.getValue() == null || levelSelectionSpinnerResults.getValue()
                 .getLevelNr() == oldLvlNr) {
-            levelSelectionSpinnerResults.setValue(Logger.CurrentData.currentLevelData);
+            levelSelectionSpinnerResults.setValue(currentLevelData);
         }
 
         // set level spinner data of live behaviour tab -> automatically select newest level if level changed and agent
         // had previously selected newest level
         if (levelSelectionSpinnerLiveBehaviour.getValue() == null || levelSelectionSpinnerLiveBehaviour.getValue()
                 .getLevelNr() == oldLvlNr) {
-            levelSelectionSpinnerLiveBehaviour.setValue(Logger.CurrentData.currentLevelData);
+            levelSelectionSpinnerLiveBehaviour.setValue(currentLevelData);
         }
 
-        // update training info label after every action
+        // update training info label
         trainingInfoLabel.setText("Level: " + newLvlNr + "\t Episode: "
-                + newEpisodeNr + "\t Action: " + training.getAgent().getNumberOfActionsTaken());
+                + snapshot.episodeNr + "\t Action: " + snapshot.actionNr);
 
-        // update q table after every action
-        QTable qTable = training.getAgent().getQTable();
-        qTableView.refresh(qTable);
+        // update the changed rows of the q table
+        qTableView.refresh(snapshot.qTableRows, snapshot.qTableCleared);
 
-        // update result table after every action
-        resultTableView.refresh(levelSelectionSpinnerResults.getValue());
+        // update result table, if it is shown
+        if (resultsTab.isSelected()) {
+            resultTableView.refresh(levelSelectionSpinnerResults.getValue(),
+                    getNumberOfRenderedEpisodes(levelSelectionSpinnerResults.getValue()));
+        }
 
         // highlight row of new state if level didn't changed
         if (oldLvlNr == newLvlNr) {
-            qTableView.selectEntry(newState);
+            qTableView.selectEntry(snapshot.agentState);
         }
 
-        // update complexity data if level changed
-        if (oldLvlNr != newLvlNr) {
-            LevelData newLevelData = Logger.trainingData.getLevelData(newLvlNr);
-            complexityChartView.addDataToSeries(newLvlNr, newLevelData.getComplexity());
+        // update complexity and summary data of the levels that were finished
+        for (TrainingSnapshot.FinishedLevel finishedLevel : snapshot.finishedLevels) {
+            if (finishedLevel.complexityOfNextLevel != null) {
+                complexityChartView.addDataToSeries(finishedLevel.levelNr + 1, finishedLevel.complexityOfNextLevel);
+            }
+            summaryChartView.addDataToSeries(finishedLevel.levelNr, finishedLevel.averageNumberOfActions,
+                    finishedLevel.optimalNumberOfActions);
         }
 
-        // update summary data if a level was finished
-        if (oldLvlNr != newLvlNr || trainingFinished) {
-            LevelData oldLevelData = Logger.trainingData.getLevelData(oldLvlNr);
-            summaryChartView.addDataToSeries(oldLvlNr, oldLevelData.getAverageNumberOfActions(),
-                    oldLevelData.getOptimalNumberOfActions());
+        // update live behavior data of the episodes that were finished
+        for (TrainingSnapshot.FinishedEpisode finishedEpisode : snapshot.finishedEpisodes) {
+            liveBehaviourChartView.addDataToSeries(finishedEpisode.levelNr, finishedEpisode.episodeNr,
+                    finishedEpisode.numberOfActions);
         }
 
-        // update live behavior data if episode changed or training has been finished
-        if (oldEpisodeNr != newEpisodeNr || oldLvlNr != newLvlNr || trainingFinished) {
-            EpisodeData formerEpisodeData = Logger.trainingData.getLevelData(oldLvlNr).getEpisodeData(oldEpisodeNr);
-            liveBehaviourChartView.addDataToSeries(oldLvlNr, oldEpisodeNr, formerEpisodeData.getNumberOfActions());
+        // draw the new data of the charts
+        if (!snapshot.finishedLevels.isEmpty()) {
+            complexityChartView.refresh();
+            summaryChartView.refresh();
+        }
+        if (!snapshot.finishedEpisodes.isEmpty()) {
+            liveBehaviourChartView.refresh();
         }
     }
 }
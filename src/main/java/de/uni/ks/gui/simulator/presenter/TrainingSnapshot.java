@@ -0,0 +1,216 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.presenter;
+
+import de.uni.ks.Training;
+import de.uni.ks.agent.Action;
+import de.uni.ks.agent.QTable;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.logging.data.LevelData;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>State of the training after a step, which is passed from the training thread to the JavaFX thread.
+ * It contains everything the UI needs, so the JavaFX thread never has to read data that is changed by the training
+ * thread at the same time. The maze is the copy stored in the {@link LevelData} of the level, which is not changed
+ * anymore, and the Q-table is only contained in form of copies of the rows that changed. Therefore the Q-table of
+ * the agent must track its changes, see {@link QTable#setTrackChanges(boolean)}.</p>
+ * <p>If the UI did not take a snapshot before the next one is published, the training thread takes it back and adds
+ * the newer snapshot to it with {@link #absorb(TrainingSnapshot)}, so no row changes and no finished episodes or levels
+ * get lost. A snapshot is only changed by the thread that owns it, which is the training thread until the UI took it
+ * and the JavaFX thread afterwards.</p>
+ */
+final class TrainingSnapshot {
+
+    int levelNr;
+    int episodeNr;
+    int actionNr;
+    boolean trainingFinished;
+
+    Maze maze;
+    NodeFactory.Node agentPosition;
+    String agentState;
+
+    // true if the Q-table was cleared, the rows then contain all rows of the new Q-table
+    boolean qTableCleared;
+    final Map<String, Map<Action, Double>> qTableRows;
+
+    // events that happened since the last snapshot taken by the UI, ordered by time
+    final List<FinishedEpisode> finishedEpisodes;
+    final List<FinishedLevel> finishedLevels;
+
+    private TrainingSnapshot(int levelNr, int episodeNr, int actionNr, boolean trainingFinished, Maze maze,
+                             NodeFactory.Node agentPosition, String agentState, boolean qTableCleared,
+                             Map<String, Map<Action, Double>> qTableRows, List<FinishedEpisode> finishedEpisodes,
+                             List<FinishedLevel> finishedLevels) {
+        this.levelNr = levelNr;
+        this.episodeNr = episodeNr;
+        this.actionNr = actionNr;
+        this.trainingFinished = trainingFinished;
+        this.maze = maze;
+        this.agentPosition = agentPosition;
+        this.agentState = agentState;
+        this.qTableCleared = qTableCleared;
+        this.qTableRows = qTableRows;
+        this.finishedEpisodes = finishedEpisodes;
+        this.finishedLevels = finishedLevels;
+    }
+
+    /**
+     * Creates the snapshot of the passed training after a step. Must be called by the thread that performs the
+     * training.
+     *
+     * @param training         The training.
+     * @param oldLvlNr         The number of the level before the step.
+     * @param oldEpisodeNr     The number of the episode before the step.
+     * @param trainingFinished True if the training has been finished with the step.
+     * @return The snapshot.
+     */
+    static TrainingSnapshot create(Training training, int oldLvlNr, int oldEpisodeNr, boolean trainingFinished) {
+        int levelNr = training.getCurrentLevelNr();
+        int episodeNr = training.getCurrentEpisodeNr();
+        boolean levelChanged = oldLvlNr != levelNr;
+
+        // the maze copy of the level matches the maze of the training during the whole level
+        LevelData levelData = Logger.trainingData.getLevelData(levelNr);
+        Maze maze = levelData.getMaze();
+        NodeFactory.Node position = training.getAgent().getCurrentPosition();
+        NodeFactory.Node agentPosition = maze.getNodeAt(position.getXPos(), position.getYPos());
+
+        // copy the rows that were changed since the last snapshot
+        QTable qTable = training.getAgent().getQTable();
+        boolean qTableCleared = qTable.wasClearedSinceChangesTaken();
+        Map<String, Map<Action, Double>> qTableRows = new HashMap<>();
+        for (String state : qTable.takeChangedStates()) {
+            HashMap<Action, Double> row = qTable.getRow(state);
+            if (row != null) {
+                qTableRows.put(state, row);
+            }
+        }
+
+        boolean episodeChanged = oldEpisodeNr != episodeNr || levelChanged || trainingFinished;
+        List<FinishedEpisode> finishedEpisodes = new ArrayList<>(1);
+        if (episodeChanged) {
+            // the actors of a parallel training may have finished further episodes within the step
+            LevelData oldLevelData = Logger.trainingData.getLevelData(oldLvlNr);
+            int lastFinishedEpisodeNr = levelChanged || trainingFinished ? oldLevelData.getNumberOfEpisodes() : episodeNr - 1;
+            for (int finishedEpisodeNr = oldEpisodeNr; finishedEpisodeNr <= lastFinishedEpisodeNr; finishedEpisodeNr++) {
+                int actions = oldLevelData.getEpisodeData(finishedEpisodeNr).getNumberOfActions();
+                finishedEpisodes.add(new FinishedEpisode(oldLvlNr, finishedEpisodeNr, actions));
+            }
+        }
+
+        List<FinishedLevel> finishedLevels = new ArrayList<>(1);
+        if (levelChanged || trainingFinished) {
+            LevelData oldLevelData = Logger.trainingData.getLevelData(oldLvlNr);
+            finishedLevels.add(new FinishedLevel(oldLvlNr, oldLevelData.getAverageNumberOfActions(),
+                    oldLevelData.getOptimalNumberOfActions(), levelChanged ? levelData.getComplexity() : null));
+        }
+
+        return new TrainingSnapshot(levelNr, episodeNr, training.getAgent().getNumberOfActionsTaken(),
+                trainingFinished, maze, agentPosition, position.getState(), qTableCleared, qTableRows, finishedEpisodes, finishedLevels);
+    }
+
+    /**
+     * Creates a snapshot of a training that runs in another process, see {@link RemoteViewerTask}. The snapshot
+     * contains no rows of the Q-table.
+     *
+     * @param levelNr          The number of the level.
+     * @param episodeNr        The number of the episode.
+     * @param actionNr         The number of actions in the episode.
+     * @param trainingFinished True if the training has been finished.
+     * @param maze             The maze of the level, which must not be changed anymore.
+     * @param agentPosition    The node of the maze the agent is on.
+     * @param finishedEpisodes The episodes that were finished since the previous snapshot, the list is owned by the
+     *                         snapshot afterwards.
+     * @param finishedLevels   The levels that were finished since the previous snapshot, the list is owned by the
+     *                         snapshot afterwards.
+     * @return The snapshot.
+     */
+    static TrainingSnapshot create(int levelNr, int episodeNr, int actionNr, boolean trainingFinished, Maze maze,
+                                   NodeFactory.Node agentPosition, List<FinishedEpisode> finishedEpisodes,
+                                   List<FinishedLevel> finishedLevels) {
+        return new TrainingSnapshot(levelNr, episodeNr, actionNr, trainingFinished, maze, agentPosition,
+                agentPosition.getState(), false, new HashMap<>(), finishedEpisodes, finishedLevels);
+    }
+
+    /**
+     * Adds a newer snapshot to this one, which has not been taken by the UI. Afterwards this snapshot has the state of
+     * the newer one and the changes and events of both. Only the changes of the newer snapshot are copied, so adding
+     * the snapshots of many steps stays cheap.
+     *
+     * @param newer The newer snapshot.
+     */
+    void absorb(TrainingSnapshot newer) {
+        levelNr = newer.levelNr;
+        episodeNr = newer.episodeNr;
+        actionNr = newer.actionNr;
+        trainingFinished = newer.trainingFinished;
+        maze = newer.maze;
+        agentPosition = newer.agentPosition;
+        agentState = newer.agentState;
+
+        if (newer.qTableCleared) {
+            qTableRows.clear();
+            qTableCleared = true;
+        }
+        qTableRows.putAll(newer.qTableRows);
+        finishedEpisodes.addAll(newer.finishedEpisodes);
+        finishedLevels.addAll(newer.finishedLevels);
+    }
+
+    /**
+     * Result of an episode that has been finished.
+     */
+    static final class FinishedEpisode {
+        final int levelNr;
+        final int episodeNr;
+        final int numberOfActions;
+
+        FinishedEpisode(int levelNr, int episodeNr, int numberOfActions) {
+            this.levelNr = levelNr;
+            this.episodeNr = episodeNr;
+            this.numberOfActions = numberOfActions;
+        }
+    }
+
+    /**
+     * Result of a level that has been finished.
+     */
+    static final class FinishedLevel {
+        final int levelNr;
+        final Double averageNumberOfActions;
+        final int optimalNumberOfActions;
+
+        // complexity of the following level, null if the training has been finished
+        final Double complexityOfNextLevel;
+
+        FinishedLevel(int levelNr, Double averageNumberOfActions, int optimalNumberOfActions,
+                      Double complexityOfNextLevel) {
+            this.levelNr = levelNr;
+            this.averageNumberOfActions = averageNumberOfActions;
+            this.optimalNumberOfActions = optimalNumberOfActions;
+            this.complexityOfNextLevel = complexityOfNextLevel;
+        }
+    }
+}
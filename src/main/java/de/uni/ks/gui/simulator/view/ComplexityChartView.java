@@ -16,8 +16,6 @@
 */
 package de.uni.ks.gui.simulator.view;
 
-import javafx.scene.chart.XYChart;
-
 /**
  * This class creates and coordinates the content of a line chart {link en.uni.ks.gui.simulator.view.LineChartView},
  * which shows a level number on the X-axis and the complexity on the Y-axis.
@@ -25,33 +23,29 @@ import javafx.scene.chart.XYChart;
  */
 public class ComplexityChartView extends LineChartView {
 
-    private final XYChart.Series<Number, Number> complexitySeries;
+    private final DownsampledSeries complexitySeries;
 
     public ComplexityChartView() {
         // create line chart
         super("Level", "Complexity");
 
         // create complexity series
-        complexitySeries = new XYChart.Series<>();
-        complexitySeries.setName("Overall Complexity");
+        complexitySeries = new DownsampledSeries("Overall Complexity");
 
         // add series to line chart
-        lineChart.getData().add(complexitySeries);
+        setDisplayedSeries(complexitySeries);
     }
 
     /**
-     * Adds data (complexity per level) to the complexity series.
+     * Adds data (complexity per level) to the complexity series. The data is drawn with the next call of
+     * {@link #refresh()}.
      *
      * @param levelNr    The number of the level whose complexity will be added.
      * @param complexity The complexity of the passed level.
      */
     public void addDataToSeries(int levelNr, Number complexity) {
         // add complexity to series
-        XYChart.Data<Number, Number> newComplexityData = new XYChart.Data<>(levelNr, complexity);
-        complexitySeries.getData().add(newComplexityData);
-
-        // update axes of the chart
-        updateAxes(complexitySeries);
+        complexitySeries.add(levelNr, complexity.doubleValue());
     }
 
 }
@@ -0,0 +1,182 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.view;
+
+import javafx.scene.chart.XYChart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class stores the data points of a line chart in primitive arrays and only passes a downsampled version of them
+ * to the {@link XYChart.Series} that is displayed. The points are selected with the Largest-Triangle-Three-Buckets
+ * algorithm, which keeps the shape of the line. Furthermore the highest values of the data are tracked, so the axes
+ * can be scaled without iterating over the data.
+ */
+class DownsampledSeries {
+
+    private final XYChart.Series<Number, Number> series;
+
+    private double[] xValues = new double[16];
+    private double[] yValues = new double[16];
+    private int size;
+
+    private double highestXValue = -Double.MAX_VALUE;
+    private double highestYValue = -Double.MAX_VALUE;
+
+    // state of the displayed series
+    private boolean changed;
+    private int renderedNumberOfPoints;
+
+    DownsampledSeries(String name) {
+        series = new XYChart.Series<>();
+        series.setName(name);
+    }
+
+    /**
+     * Adds a data point. The x value must not be lower than the x value of the previous point.
+     *
+     * @param xValue The x value.
+     * @param yValue The y value.
+     */
+    void add(double xValue, double yValue) {
+        if (size == xValues.length) {
+            xValues = Arrays.copyOf(xValues, 2 * size);
+            yValues = Arrays.copyOf(yValues, 2 * size);
+        }
+        xValues[size] = xValue;
+        yValues[size] = yValue;
+        size++;
+        highestXValue = Math.max(highestXValue, xValue);
+        highestYValue = Math.max(highestYValue, yValue);
+        changed = true;
+    }
+
+    /**
+     * Replaces the data by a horizontal line, which only consists of two points.
+     *
+     * @param fromXValue The x value where the line starts.
+     * @param toXValue   The x value where the line ends.
+     * @param yValue     The y value of the line.
+     */
+    void setHorizontalLine(double fromXValue, double toXValue, double yValue) {
+        size = 0;
+        highestXValue = -Double.MAX_VALUE;
+        highestYValue = -Double.MAX_VALUE;
+        add(fromXValue, yValue);
+        if (toXValue != fromXValue) add(toXValue, yValue);
+    }
+
+    /**
+     * Passes the data to the displayed series, if the data or the requested number of points changed since the last
+     * call.
+     *
+     * @param numberOfPoints The maximum number of points that are displayed.
+     */
+    void render(int numberOfPoints) {
+        if (!changed && numberOfPoints == renderedNumberOfPoints) return;
+        changed = false;
+        renderedNumberOfPoints = numberOfPoints;
+
+        int[] indices = downsample(xValues, yValues, size, numberOfPoints);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            data.add(new XYChart.Data<>(xValues[index], yValues[index]));
+        }
+        series.getData().setAll(data);
+    }
+
+    /**
+     * Selects the points of a line with the Largest-Triangle-Three-Buckets algorithm. The first and the last point are
+     * always selected. The points between them are divided into buckets of equal size and from each bucket the point is
+     * selected that forms the largest triangle with the previously selected point and the average of the next bucket.
+     *
+     * @param xValues   The x values of the points.
+     * @param yValues   The y values of the points.
+     * @param size      The number of points.
+     * @param threshold The maximum number of selected points.
+     * @return The indices of the selected points in ascending order.
+     */
+    static int[] downsample(double[] xValues, double[] yValues, int size, int threshold) {
+        if (threshold >= size || threshold < 3) {
+            int[] indices = new int[size];
+            for (int i = 0; i < size; i++) indices[i] = i;
+            return indices;
+        }
+
+        int[] indices = new int[threshold];
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int selected = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // average of the next bucket, the last point forms the last bucket
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            if (bucket == threshold - 3) {
+                nextStart = size - 1;
+                nextEnd = size;
+            }
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += xValues[i];
+                averageY += yValues[i];
+            }
+            averageX /= nextEnd - nextStart;
+            averageY /= nextEnd - nextStart;
+
+            // point of the current bucket with the largest triangle
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double selectedX = xValues[indices[selected]];
+            double selectedY = yValues[indices[selected]];
+            double largestArea = -1;
+            int largestIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((selectedX - averageX) * (yValues[i] - selectedY)
+                        - (selectedX - xValues[i]) * (averageY - selectedY));
+                if (area > largestArea) {
+                    largestArea = area;
+                    largestIndex = i;
+                }
+            }
+            indices[++selected] = largestIndex;
+        }
+        indices[++selected] = size - 1;
+        return indices;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double getFirstXValue() {
+        return xValues[0];
+    }
+
+    double getHighestXValue() {
+        return highestXValue;
+    }
+
+    double getHighestYValue() {
+        return highestYValue;
+    }
+
+    XYChart.Series<Number, Number> getSeries() {
+        return series;
+    }
+}
@@ -20,6 +20,9 @@ import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This class is the base class of all line charts used in the UI.
  * This class exists primarily to do the axis scaling uniform for all graphs.
@@ -27,6 +30,10 @@ import javafx.scene.chart.XYChart;
 class LineChartView {
 
     final LineChart<Number, Number> lineChart;
+    private DownsampledSeries[] displayedSeries = new DownsampledSeries[0];
+
+    // number of points of a series that are drawn at least, if the chart is smaller or not shown yet
+    private static final int MIN_NUMBER_OF_POINTS = 200;
 
     private final int DEFAULT_LOWER_X_BOUND = 1;
     private final int DEFAULT_UPPER_X_BOUND = 10;
@@ -38,6 +45,9 @@ class LineChartView {
 
     LineChartView(String xAxisLabel, String yAxisLabel) {
         lineChart = createLineChart(xAxisLabel, yAxisLabel);
+
+        // draw the series again with the number of points that fits to the new width
+        lineChart.getXAxis().widthProperty().addListener(evt -> refresh());
     }
 
     private LineChart<Number, Number> createLineChart(String xAxisLabel, String yAxisLabel) {
@@ -58,6 +68,33 @@ class LineChartView {
         return lineChart;
     }
 
+    /**
+     * Displays the passed series in the chart and draws them.
+     *
+     * @param series The series to display.
+     */
+    void setDisplayedSeries(DownsampledSeries... series) {
+        displayedSeries = series;
+        List<XYChart.Series<Number, Number>> chartSeries = new ArrayList<>(series.length);
+        for (DownsampledSeries tmpSeries : series) {
+            chartSeries.add(tmpSeries.getSeries());
+        }
+        lineChart.getData().setAll(chartSeries);
+        refresh();
+    }
+
+    /**
+     * Draws the data that was added to the displayed series since the last call. The series are downsampled to about
+     * one point per pixel of the x axis. Should be called once after all new data has been added.
+     */
+    public void refresh() {
+        int numberOfPoints = Math.max(MIN_NUMBER_OF_POINTS, (int) lineChart.getXAxis().getWidth());
+        for (DownsampledSeries tmpSeries : displayedSeries) {
+            tmpSeries.render(numberOfPoints);
+        }
+        updateAxes(displayedSeries);
+    }
+
     /**
      * Determines the lower and upper bound as well as the tick unit for the X and Y axis of the chart.
      * The adjustment of the axes will only take place if the maximum x or the maximum y value of the passed series are
@@ -65,44 +102,36 @@ class LineChartView {
      *
      * @param series A list of series to be drawn in the graph.
      */
-    void updateAxes(XYChart.Series<Number, Number>... series) {
+    private void updateAxes(DownsampledSeries... series) {
         // get axes
         NumberAxis xAxis = (NumberAxis) lineChart.getXAxis();
         NumberAxis yAxis = (NumberAxis) lineChart.getYAxis();
 
-        // determine maximum number of data points for each series
-        int maximumNumberOfDataPoints = 0;
-        for (XYChart.Series<Number, Number> tmpSeries : series) {
-            maximumNumberOfDataPoints = Math.max(tmpSeries.getData().size(), maximumNumberOfDataPoints);
+        // determine highest x and the highest y value that will be displayed
+        boolean hasData = false;
+        double highestXValue = -Double.MAX_VALUE;
+        double highestYValue = -Double.MAX_VALUE;
+        for (DownsampledSeries tmpSeries : series) {
+            if (tmpSeries.size() > 0) {
+                hasData = true;
+                highestXValue = Math.max(tmpSeries.getHighestXValue(), highestXValue);
+                highestYValue = Math.max(tmpSeries.getHighestYValue(), highestYValue);
+            }
         }
 
         // use default axes if no data is available
-        if (series.length == 0 || maximumNumberOfDataPoints == 0) {
+        if (!hasData) {
             /// set x axis to default
             xAxis.setLowerBound(DEFAULT_LOWER_X_BOUND);
             xAxis.setUpperBound(DEFAULT_UPPER_X_BOUND);
             xAxis.setTickUnit(DEFAULT_X_Tick_UNIT);
             /// set y axis to default
-            xAxis.setLowerBound(DEFAULT_LOWER_Y_BOUND);
+            yAxis.setLowerBound(DEFAULT_LOWER_Y_BOUND);
             yAxis.setUpperBound(DEFAULT_UPPER_Y_BOUND);
             yAxis.setTickUnit(DEFAULT_Y_Tick_UNIT);
         }
         // otherwise update axes according to the existing data
         else {
-            // determine highest x and the highest y value that will be displayed
-            double highestXValue = -Double.MAX_VALUE;
-            double highestYValue = -Double.MAX_VALUE;
-            for (XYChart.Series<Number, Number> tmpSeries : series) {
-                for (XYChart.Data<Number, Number> dataPoint : tmpSeries.getData()) {
-                    if (dataPoint.getXValue().doubleValue() > highestXValue) {
-                        highestXValue = dataPoint.getXValue().doubleValue();
-                    }
-                    if (dataPoint.getYValue().doubleValue() > highestYValue) {
-                        highestYValue = dataPoint.getYValue().doubleValue();
-                    }
-                }
-            }
-
             // update x axis regarding to the highest possible x value
             if (highestXValue >= DEFAULT_UPPER_X_BOUND) {
                 xAxis.setUpperBound((int) highestXValue);
@@ -122,7 +151,7 @@ class LineChartView {
                 if (tickRateY == 0) tickRateY = 1;
                 yAxis.setTickUnit(tickRateY);
             } else {
-                xAxis.setLowerBound(DEFAULT_LOWER_Y_BOUND);
+                yAxis.setLowerBound(DEFAULT_LOWER_Y_BOUND);
                 yAxis.setUpperBound(DEFAULT_UPPER_Y_BOUND);
                 yAxis.setTickUnit(DEFAULT_Y_Tick_UNIT);
             }
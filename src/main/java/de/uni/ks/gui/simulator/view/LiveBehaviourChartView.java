@@ -17,7 +17,6 @@
 package de.uni.ks.gui.simulator.view;
 
 import de.uni.ks.logging.Logger;
-import javafx.scene.chart.XYChart;
 
 import java.util.HashMap;
 
@@ -30,8 +29,8 @@ import java.util.HashMap;
 
 public class LiveBehaviourChartView extends LineChartView {
 
-    private final HashMap<Number, XYChart.Series<Number, Number>> resultSeries;
-    private final HashMap<Number, XYChart.Series<Number, Number>> optimalSeries;
+    private final HashMap<Number, DownsampledSeries> resultSeries;
+    private final HashMap<Number, DownsampledSeries> optimalSeries;
 
     public LiveBehaviourChartView() {
         // create line chart
@@ -50,18 +49,17 @@ public class LiveBehaviourChartView extends LineChartView {
      */
     public void setLiveBehaviourSeries(int levelNr) {
         // get requested series
-        XYChart.Series<Number, Number> resultSeries = getOrCreateResultSeries(levelNr);
-        XYChart.Series<Number, Number> optimalSeries = getOrCreateOptimalSeries(levelNr);
+        DownsampledSeries resultSeries = getOrCreateResultSeries(levelNr);
+        DownsampledSeries optimalSeries = getOrCreateOptimalSeries(levelNr);
 
         // update chart
-        //noinspection unchecked
-        lineChart.getData().setAll(resultSeries, optimalSeries);
-        updateAxes(resultSeries, optimalSeries);
+        setDisplayedSeries(resultSeries, optimalSeries);
     }
 
     /**
      * Adds data (actions per episode) to the result series of the passed level number.
-     * Furthermore the corresponding optimal series will get expanded.
+     * Furthermore the corresponding optimal series, which is a horizontal line, will get expanded.
+     * The data is drawn with the next call of {@link #refresh()}.
      *
      * @param levelNr The number of the level whose data should be expanded.
      * @param episode The number of the episode.
@@ -69,20 +67,13 @@ public class LiveBehaviourChartView extends LineChartView {
      */
     public void addDataToSeries(int levelNr, Number episode, Number actions) {
         // create a new series or selects the already created result series and add the new data
-        XYChart.Series<Number, Number> resultSeries = getOrCreateResultSeries(levelNr);
-        XYChart.Data<Number, Number> newResultData = new XYChart.Data<>(episode, actions);
-        resultSeries.getData().add(newResultData);
-
-        // create a new series or selects the already created optimal series and add the new data
-        XYChart.Series<Number, Number> optimalSeries = getOrCreateOptimalSeries(levelNr);
-        XYChart.Data<Number, Number> newData = new XYChart.Data<>(episode, Logger.trainingData.getLevelData(levelNr)
-                .getOptimalNumberOfActions());
-        optimalSeries.getData().add(newData);
-
-        // update axes of chart if data was added to the current series
-        if (lineChart.getData().contains(resultSeries) && lineChart.getData().contains(optimalSeries)) {
-            updateAxes(resultSeries, optimalSeries);
-        }
+        DownsampledSeries resultSeries = getOrCreateResultSeries(levelNr);
+        resultSeries.add(episode.doubleValue(), actions.doubleValue());
+
+        // create a new series or selects the already created optimal series and extend the line to the new episode
+        DownsampledSeries optimalSeries = getOrCreateOptimalSeries(levelNr);
+        optimalSeries.setHorizontalLine(resultSeries.getFirstXValue(), episode.doubleValue(),
+                Logger.trainingData.getLevelData(levelNr).getOptimalNumberOfActions());
     }
 
     /**
@@ -91,14 +82,8 @@ public class LiveBehaviourChartView extends LineChartView {
      * @param levelNr The number of the level whose result series is requested.
      * @return The result series of the passed level number.
      */
-    private XYChart.Series<Number, Number> getOrCreateResultSeries(int levelNr) {
-        XYChart.Series<Number, Number> resultSeries;
-        if (!this.resultSeries.containsKey(levelNr)) {
-            resultSeries = new XYChart.Series<>();
-            resultSeries.setName("Result Level " + levelNr);
-            this.resultSeries.put(levelNr, resultSeries);
-        }
-        return this.resultSeries.get(levelNr);
+    private DownsampledSeries getOrCreateResultSeries(int levelNr) {
+        return this.resultSeries.computeIfAbsent(levelNr, key -> new DownsampledSeries("Result Level " + levelNr));
     }
 
     /**
@@ -107,14 +92,8 @@ public class LiveBehaviourChartView extends LineChartView {
      * @param levelNr The number of the level whose optimal series is requested.
      * @return The optimal series of the passed level number.
      */
-    private XYChart.Series<Number, Number> getOrCreateOptimalSeries(int levelNr) {
-        XYChart.Series<Number, Number> optimalSeries;
-        if (!this.optimalSeries.containsKey(levelNr)) {
-            optimalSeries = new XYChart.Series<>();
-            optimalSeries.setName("Optimum Level " + levelNr);
-            this.optimalSeries.put(levelNr, optimalSeries);
-        }
-        return this.optimalSeries.get(levelNr);
+    private DownsampledSeries getOrCreateOptimalSeries(int levelNr) {
+        return this.optimalSeries.computeIfAbsent(levelNr, key -> new DownsampledSeries("Optimum Level " + levelNr));
     }
 
 }
@@ -19,11 +19,14 @@ package de.uni.ks.gui.simulator.view;
 import de.uni.ks.logging.Logger;
 import de.uni.ks.logging.messages.GuiMessageLog;
 import de.uni.ks.logging.messages.GuiMessageType;
-import javafx.collections.ListChangeListener;
 import javafx.scene.control.ListView;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * This class creates the {@link TabPane} Container that displays the UI log.
  * For each value of the enum {@link de.uni.ks.logging.messages.GuiMessageType} a separate tab will be created.
@@ -31,10 +34,14 @@ import javafx.scene.control.TabPane;
 public class LoggerView {
 
     private final TabPane loggerTabPane;
+    private final List<ListView<String>> listViews;
+    private final boolean[] autoScroll;
     private static final int MIN_HEIGHT = 200;
     private static final int MAX_HEIGHT = 325;
 
     public LoggerView() {
+        listViews = new ArrayList<>(Collections.nCopies(GuiMessageType.values().length, null));
+        autoScroll = new boolean[GuiMessageType.values().length];
         loggerTabPane = createLoggerTabPane();
     }
 
@@ -48,7 +55,8 @@ public class LoggerView {
 
         // create tab for every value in enum 'GuiMessageType'
         for (GuiMessageType messageType : GuiMessageType.values()) {
-            ListView<String> listView = createListView(Logger.guiMessageLogs[messageType.ordinal()]);
+            ListView<String> listView = createListView(Logger.guiMessageLogs[messageType.ordinal()],
+                    messageType.ordinal());
 
             // create new tab and assign list view to it
             Tab newTab = new Tab(messageType.name());
@@ -61,20 +69,32 @@ public class LoggerView {
         return loggerTabPane;
     }
 
-    private ListView<String> createListView(GuiMessageLog guiMessageLog) {
+    private ListView<String> createListView(GuiMessageLog guiMessageLog, int index) {
         // create ListView for new tab
         ListView<String> listView = new ListView<>();
         listView.setItems(guiMessageLog.getMessages());
+        listViews.set(index, listView);
 
         // set default setting of list view: always scroll to bottom of list view
-        ListChangeListener<String> scrollListener = c -> listView.scrollTo(c.getList().size() - 1);
-        listView.getItems().addListener(scrollListener);
+        autoScroll[index] = true;
 
         // stop scrolling if user clicks on log
-        listView.setOnMouseClicked(event -> listView.getItems().removeListener(scrollListener));
+        listView.setOnMouseClicked(event -> autoScroll[index] = false);
         return listView;
     }
 
+    /**
+     * Shows the messages that were added to the logs since the last call. Should be called once per frame.
+     */
+    public void refresh() {
+        for (GuiMessageType messageType : GuiMessageType.values()) {
+            int index = messageType.ordinal();
+            if (Logger.guiMessageLogs[index].drain() > 0 && autoScroll[index]) {
+                listViews.get(index).scrollTo(listViews.get(index).getItems().size() - 1);
+            }
+        }
+    }
+
     public TabPane getLoggerTabPane() {
         return loggerTabPane;
     }
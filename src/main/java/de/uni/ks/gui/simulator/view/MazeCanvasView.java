@@ -21,21 +21,55 @@ import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
+import java.util.Arrays;
+
 /**
- * This class is used to display the {@link Agent} and the {@link Maze} in a {@link Canvas}
+ * This class is used to display the {@link Agent} and the {@link Maze} in a {@link Canvas}.
+ * <p>
+ * The view consists of two layers. The maze layer shows the cells of the maze, which are written pixel by pixel into a
+ * {@link WritableImage} and drawn with a single call. It is only created again if the maze or the size of the canvas
+ * changed, i.e. once per level. The overlay layer shows the start, the end and the agent. If only the agent moved,
+ * just the cells of its old and new position are drawn again.
  */
-
 public class MazeCanvasView {
 
     private final Canvas mazeCanvas;
+    private final Canvas overlayCanvas;
+    private final StackPane mazePane;
     private static final int DEFAULT_WIDTH = 500;
     private static final int DEFAULT_HEIGHT = 500;
 
+    // Disclaimer: Even when the width is set to 0 there will be a fine border.
+    private static final double RASTER_WIDTH = 0.02d;
+
+    // maximum size of the rasterised maze image in pixels per dimension
+    private static final int MAX_IMAGE_SIZE = 4096;
+
+    // state of the drawn layers
+    private Maze drawnMaze;
+    private double drawnWidth;
+    private double drawnHeight;
+    private double cellWidth;
+    private double offsetX;
+    private double offsetY;
+    private int agentRow = -1;
+    private int agentColumn = -1;
+    private Font labelFont;
+    private Font agentFont;
+
     public MazeCanvasView() {
         this.mazeCanvas = createMazeCanvas();
+        this.overlayCanvas = createMazeCanvas();
+        this.overlayCanvas.widthProperty().bind(mazeCanvas.widthProperty());
+        this.overlayCanvas.heightProperty().bind(mazeCanvas.heightProperty());
+        this.mazePane = new StackPane(mazeCanvas, overlayCanvas);
     }
 
     private Canvas createMazeCanvas() {
@@ -43,103 +77,187 @@ public class MazeCanvasView {
     }
 
     /**
-     * Same as {@link #drawMaze(double, Maze, Agent)} but without a raster width.
+     * Same as {@link #drawMaze(Maze, NodeFactory.Node)}.
      *
      * @param maze  The maze to draw.
      * @param agent The agent to draw.
      */
     public void drawMaze(Maze maze, Agent agent) {
-        // Disclaimer: Even when the width is set to 0 there will be a fine border.
-        double rasterWidth = 0.02d;
-        drawMaze(rasterWidth, maze, agent);
+        drawMaze(maze, agent.getCurrentPosition());
     }
 
     /**
      * Draws a maze on a canvas, each cell of the maze will be drawn as a rectangle where all sides have the same length.
      * The length of the sides is calculated by using the shortest dimension (i.e. width or height) of the canvas,
      * this way it is guarantied that the whole maze fits on the canvas.
+     * <p>
+     * The maze layer is only drawn again if a different maze object is passed or the canvas was resized. The maze must
+     * therefore not be changed after it was drawn, e.g. the copy stored in the level data can be used.
      *
-     * @param maze        The maze to draw.
-     * @param agent       The agent to draw.
-     * @param rasterWidth The width of the border of each rectangle, when <code>rasterWidth</code> is 0 there
-     *                    will still be a fine border around each rectangle.
+     * @param maze          The maze to draw.
+     * @param agentPosition The node the agent is on, nodes are compared by their position.
      */
-    private void drawMaze(double rasterWidth, Maze maze, Agent agent) {
-
-        NodeFactory.Node[][] nodes = maze.getMaze();
+    public void drawMaze(Maze maze, NodeFactory.Node agentPosition) {
+        if (maze != drawnMaze || mazeCanvas.getWidth() != drawnWidth || mazeCanvas.getHeight() != drawnHeight) {
+            drawMazeLayer(maze);
+            drawOverlay(agentPosition);
+        } else {
+            moveAgent(agentPosition);
+        }
+    }
 
-        double width = Math.min(mazeCanvas.getHeight() / maze.getXDim(),
-                mazeCanvas.getWidth() / maze.getYDim());
+    private void drawMazeLayer(Maze maze) {
+        drawnMaze = maze;
+        drawnWidth = mazeCanvas.getWidth();
+        drawnHeight = mazeCanvas.getHeight();
 
-        double offsetX = 0.5 * (mazeCanvas.getWidth() - (nodes[0].length * width));
-        double offsetY = 0.5 * (mazeCanvas.getHeight() - nodes.length * width);
+        int rows = maze.getXDim();
+        int columns = maze.getYDim();
+        cellWidth = Math.min(drawnHeight / rows, drawnWidth / columns);
+        offsetX = 0.5 * (drawnWidth - columns * cellWidth);
+        offsetY = 0.5 * (drawnHeight - rows * cellWidth);
+        labelFont = new Font(cellWidth);
+        agentFont = new Font(0.7 * cellWidth);
 
         GraphicsContext gc = mazeCanvas.getGraphicsContext2D();
-        gc.clearRect(0, 0, mazeCanvas.getWidth(), mazeCanvas.getHeight());
+        gc.clearRect(0, 0, drawnWidth, drawnHeight);
 
         // visualize canvas size
         gc.setFill(Color.BLACK);
-        gc.fillRect(0, 0, mazeCanvas.getWidth(), mazeCanvas.getHeight());
-
-        for (int y = 0; y < nodes.length; y++) {
-            for (int x = 0; x < nodes[0].length; x++) {
-                NodeFactory.Node node = nodes[y][x];
-
-                gc.setFill(Color.GRAY);
+        gc.fillRect(0, 0, drawnWidth, drawnHeight);
 
-                gc.fillRect(offsetX + x * width, offsetY + y * width, width, width);
+        if (cellWidth <= 0) return;
 
-                gc.setFill(transformColor(node.getColor()));
-
-                double lineWidth = width * rasterWidth;
-
-                gc.fillRect(offsetX + x * width + lineWidth, offsetY + y * width + lineWidth,
-                        width - 2 * lineWidth, width - 2 * lineWidth);
+        // rasterise the cells with whole pixels per cell and scale the image to the actual cell width
+        int cellPixels = Math.max(1, Math.min((int) Math.ceil(cellWidth), MAX_IMAGE_SIZE / Math.max(rows, columns)));
+        WritableImage image = new WritableImage(columns * cellPixels, rows * cellPixels);
+        image.getPixelWriter().setPixels(0, 0, columns * cellPixels, rows * cellPixels,
+                PixelFormat.getIntArgbInstance(), rasterizeMaze(maze, cellPixels), 0, columns * cellPixels);
+        gc.setImageSmoothing(false);
+        gc.drawImage(image, offsetX, offsetY, columns * cellWidth, rows * cellWidth);
+    }
 
-                if (maze.getStartNode().equals(node)) {
-                    gc.setFill(Color.BLACK);
-                    gc.setFont(new Font(width));
-                    gc.fillText("S", offsetX + x * width + 0.2 * width, offsetY + y * width + 0.9 * width);
-                } else if (maze.getEndNode().equals(node)) {
-                    gc.setFill(Color.BLACK);
-                    gc.setFont(new Font(width));
-                    gc.fillText("E", offsetX + x * width + 0.2 * width, offsetY + y * width + 0.9 * width);
-                }
+    /**
+     * Writes the cells of the maze into an ARGB pixel array. Each cell is a square of the passed size with a fine gray
+     * border if the cells are large enough.
+     *
+     * @param maze       The maze.
+     * @param cellPixels The size of a cell in pixels.
+     * @return The pixels row by row, the width is the number of columns of the maze times the cell size.
+     */
+    static int[] rasterizeMaze(Maze maze, int cellPixels) {
+        NodeFactory.Node[][] nodes = maze.getMaze();
+        int rows = nodes.length;
+        int columns = nodes[0].length;
+        int width = columns * cellPixels;
+        int border = cellPixels >= 5 ? Math.max(1, (int) Math.round(cellPixels * RASTER_WIDTH)) : 0;
+        int borderColor = toArgb(Color.GRAY);
 
-                // Mark agent on the maze
-                if (agent.getCurrentPosition() != null
-                        && agent.getCurrentPosition().equals(node)) {
-                    gc.setFill(Color.GRAY);
-                    //noinspection SuspiciousNameCombination
-                    gc.fillRoundRect(offsetX + x * width + 0.1 * width, offsetY + y * width + 0.1 * width,
-                            0.8 * width, 0.8 * width, width, width);
-
-                    gc.setFill(Color.BLACK);
-                    gc.setFont(new Font(0.7 * width));
-                    gc.fillText("A", offsetX + x * width + 0.25 * width, offsetY + y * width + 0.75 * width);
+        int[] pixels = new int[width * rows * cellPixels];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int color = nodes[row][column].getColor().getRGB();
+                int start = column * cellPixels;
+                int end = start + cellPixels;
+                for (int y = 0; y < cellPixels; y++) {
+                    int rowStart = (row * cellPixels + y) * width;
+                    if (y < border || y >= cellPixels - border) {
+                        Arrays.fill(pixels, rowStart + start, rowStart + end, borderColor);
+                    } else {
+                        Arrays.fill(pixels, rowStart + start, rowStart + start + border, borderColor);
+                        Arrays.fill(pixels, rowStart + start + border, rowStart + end - border, color);
+                        Arrays.fill(pixels, rowStart + end - border, rowStart + end, borderColor);
+                    }
                 }
             }
         }
+        return pixels;
+    }
+
+    private void drawOverlay(NodeFactory.Node agentPosition) {
+        overlayCanvas.getGraphicsContext2D().clearRect(0, 0, overlayCanvas.getWidth(), overlayCanvas.getHeight());
+        agentRow = -1;
+        agentColumn = -1;
+        drawLabel(drawnMaze.getStartNode(), "S");
+        drawLabel(drawnMaze.getEndNode(), "E");
+        moveAgent(agentPosition);
     }
 
     /**
-     * Transforms @link{java.awt.Color} to @link{javafx.scene.paint.Color}
+     * Draws the cell of the old agent position without and the cell of the new agent position with the agent.
      *
-     * @param input The awt color to transform
-     * @return The javafx color representation of <code>input</code>.
+     * @param agentPosition The new position of the agent.
      */
-    private Color transformColor(java.awt.Color input) {
-        int alpha = input.getAlpha();
-        int blue = input.getBlue();
-        int red = input.getRed();
-        int green = input.getGreen();
+    private void moveAgent(NodeFactory.Node agentPosition) {
+        int newRow = agentPosition == null ? -1 : agentPosition.getXPos();
+        int newColumn = agentPosition == null ? -1 : agentPosition.getYPos();
+        if (newRow == agentRow && newColumn == agentColumn) return;
 
-        double opacity = alpha / 255.0;
+        GraphicsContext gc = overlayCanvas.getGraphicsContext2D();
+        if (agentRow >= 0) {
+            // a little larger than the cell, since the agent is drawn anti-aliased
+            gc.clearRect(offsetX + agentColumn * cellWidth - 1, offsetY + agentRow * cellWidth - 1,
+                    cellWidth + 2, cellWidth + 2);
+            NodeFactory.Node oldNode = drawnMaze.getNodeAt(agentRow, agentColumn);
+            if (drawnMaze.getStartNode().equals(oldNode)) {
+                drawLabel(oldNode, "S");
+            } else if (drawnMaze.getEndNode().equals(oldNode)) {
+                drawLabel(oldNode, "E");
+            }
+        }
+
+        agentRow = newRow;
+        agentColumn = newColumn;
+        if (agentRow >= 0) {
+            double x = offsetX + agentColumn * cellWidth;
+            double y = offsetY + agentRow * cellWidth;
 
-        return Color.rgb(red, green, blue, opacity);
+            // Mark agent on the maze
+            gc.setFill(Color.GRAY);
+            //noinspection SuspiciousNameCombination
+            gc.fillRoundRect(x + 0.1 * cellWidth, y + 0.1 * cellWidth, 0.8 * cellWidth, 0.8 * cellWidth,
+                    cellWidth, cellWidth);
+
+            gc.setFill(Color.BLACK);
+            gc.setFont(agentFont);
+            gc.fillText("A", x + 0.25 * cellWidth, y + 0.75 * cellWidth);
+        }
     }
 
+    private void drawLabel(NodeFactory.Node node, String label) {
+        GraphicsContext gc = overlayCanvas.getGraphicsContext2D();
+        gc.setFill(Color.BLACK);
+        gc.setFont(labelFont);
+        gc.fillText(label, offsetX + node.getYPos() * cellWidth + 0.2 * cellWidth,
+                offsetY + node.getXPos() * cellWidth + 0.9 * cellWidth);
+    }
+
+    /**
+     * Transforms @link{javafx.scene.paint.Color} to an ARGB value.
+     *
+     * @param color The javafx color to transform.
+     * @return The ARGB representation of <code>color</code>.
+     */
+    private static int toArgb(Color color) {
+        return (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+    }
+
+    /**
+     * Returns the canvas of the maze layer. Its size determines the size of the view.
+     *
+     * @return The canvas of the maze layer.
+     */
     public Canvas getMazeCanvas() {
         return mazeCanvas;
     }
+
+    /**
+     * Returns the container of both layers, which has to be added to the scene.
+     *
+     * @return The container of the layers.
+     */
+    public Pane getMazePane() {
+        return mazePane;
+    }
 }
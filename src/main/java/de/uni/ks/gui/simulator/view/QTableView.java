@@ -18,7 +18,8 @@ package de.uni.ks.gui.simulator.view;
 
 import de.uni.ks.agent.Action;
 import de.uni.ks.agent.QTable;
-import de.uni.ks.maze.NodeFactory;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
@@ -29,11 +30,9 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.HBox;
 import javafx.util.Callback;
 
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -44,12 +43,15 @@ import java.util.Map;
  */
 public class QTableView {
 
+    // maximum number of cached state images
+    private static final int STATE_IMAGE_CACHE_CAPACITY = 512;
+
     private final TableView<QTableDataController.Entry> qTableView;
     private final QTableDataController qTableDataController;
 
     public QTableView() {
         qTableView = createQTableView();
-        qTableDataController = new QTableDataController();
+        qTableDataController = new QTableDataController(new StateImageCache(STATE_IMAGE_CACHE_CAPACITY));
         qTableView.setItems(qTableDataController.getEntries());
     }
 
@@ -67,22 +69,18 @@ public class QTableView {
         stateCol.setCellFactory(new Callback<>() {
             @Override
             public TableCell<QTableDataController.Entry, Image> call(TableColumn<QTableDataController.Entry, Image> param) {
-                return new TableCell<>() {
+                // the image view is created once per cell and reused for every item
+                ImageView imageView = new ImageView();
+                TableCell<QTableDataController.Entry, Image> cell = new TableCell<>() {
                     @Override
                     protected void updateItem(Image item, boolean empty) {
                         super.updateItem(item, empty);
-
-                        HBox box = new HBox();
-                        box.setSpacing(10);
-
-                        ImageView imageview = new ImageView();
-                        imageview.setImage(item);
-
-                        box.getChildren().addAll(imageview);
-                        box.setAlignment(Pos.CENTER);
-                        setGraphic(box);
+                        imageView.setImage(empty ? null : item);
                     }
                 };
+                cell.setAlignment(Pos.CENTER);
+                cell.setGraphic(imageView);
+                return cell;
             }
         });
 
@@ -108,38 +106,44 @@ public class QTableView {
         return qTableView;
     }
 
-    private int getRowIndexOfState(String state) {
-        ObservableList<QTableDataController.Entry> items = qTableView.getItems();
-        for (int i = 0; i < qTableView.getItems().size(); i++) {
-            if (items.get(i).getState().equals(state)) {
-                return i;
-            }
-        }
-        System.err.println("state " + state + " could not be found in QTableTableView");
-        return -1;
-    }
-
     /**
      * Searches the passed state in the table view and selects the corresponding row.
      *
      * @param state The state that will be searched.
      */
     public void selectEntry(String state) {
-        int rowIndexOfCurrentState = getRowIndexOfState(state);
+        int rowIndexOfCurrentState = qTableDataController.getRowIndexOfState(state);
+        if (rowIndexOfCurrentState < 0) {
+            System.err.println("state " + state + " could not be found in QTableTableView");
+        }
         TableView.TableViewSelectionModel<QTableDataController.Entry> selectionModel = qTableView.getSelectionModel();
         selectionModel.setSelectionMode(SelectionMode.SINGLE);
         selectionModel.select(rowIndexOfCurrentState);
     }
 
     /**
-     * Updates the internally stored QTable data and refreshes the UI.
+     * Synchronizes the internally stored QTable data with the complete passed QTable.
+     * The rows are bound to the values of the entries, so the UI updates itself.
      *
      * @param qTable The data with which the internally stored data will be synchronized.
      */
     public void refresh(QTable qTable) {
         if (!qTableDataController.updateEntries(qTable))
             System.err.println("Could not update data of qTableDataController correctly");
-        qTableView.refresh();
+    }
+
+    /**
+     * Updates the passed rows of the internally stored QTable data. Only the passed rows are touched, so the costs
+     * depend on the number of changed rows and not on the size of the QTable.
+     *
+     * @param rows    The changed rows of the QTable, mapped by state.
+     * @param cleared True if the QTable was cleared before the rows were added.
+     */
+    public void refresh(Map<String, ? extends Map<Action, Double>> rows, boolean cleared) {
+        if (cleared) {
+            qTableDataController.clear();
+        }
+        qTableDataController.updateEntries(rows);
     }
 
     public TableView<QTableDataController.Entry> getQTableView() {
@@ -153,55 +157,27 @@ public class QTableView {
 
         private final ObservableList<Entry> entries;
 
-        QTableDataController() {
-            entries = FXCollections.observableArrayList();
-        }
+        // index of the entries by state
+        private final HashMap<String, Entry> entriesByState;
 
-        private boolean addEntry(QTable qTable, String state) {
-            HashMap<String, HashMap<Action, Double>> qTableHashMap = qTable.getQTable();
-            Double upQValue = null;
-            Double rightQValue = null;
-            Double downQValue = null;
-            Double leftQValue = null;
-
-            if (qTableHashMap.containsKey(state)) {
-                HashMap<Action, Double> actionMap = qTableHashMap.get(state);
-                if (actionMap.containsKey(Action.UP)) {
-                    upQValue = actionMap.get(Action.UP);
-                }
-                if (actionMap.containsKey(Action.RIGHT)) {
-                    rightQValue = actionMap.get(Action.RIGHT);
-                }
-                if (actionMap.containsKey(Action.DOWN)) {
-                    downQValue = actionMap.get(Action.DOWN);
-                }
-                if (actionMap.containsKey(Action.LEFT)) {
-                    leftQValue = actionMap.get(Action.LEFT);
-                }
+        private final StateImageCache stateImageCache;
 
-                QTableDataController.Entry newEntry = new Entry(state, upQValue, rightQValue,
-                        downQValue, leftQValue);
-                this.entries.add(newEntry);
-                return true;
-            }
-            return false;
+        QTableDataController(StateImageCache stateImageCache) {
+            entries = FXCollections.observableArrayList();
+            entriesByState = new HashMap<>();
+            this.stateImageCache = stateImageCache;
         }
 
-        private boolean updateEntry(QTable qTable, String state) {
-            HashMap<String, HashMap<Action, Double>> qTableHashMap = qTable.getQTable();
-            QTableDataController.Entry entry = getEntry(state);
-
-            if (entry == null) {
-                System.err.println("entry of state " + state + " does not exist in qTableDataController");
-                return false;
-            }
-
-            if (!qTableHashMap.containsKey(state)) {
-                System.err.println("State " + state + " does not exist in qTable");
-                return false;
-            }
+        private void addEntry(String state, Map<Action, Double> actionMap) {
+            Entry newEntry = new Entry(state, actionMap.get(Action.UP), actionMap.get(Action.RIGHT),
+                    actionMap.get(Action.DOWN), actionMap.get(Action.LEFT));
+            newEntry.rowIndex = entries.size();
+            this.entries.add(newEntry);
+            this.entriesByState.put(state, newEntry);
+            stateImageCache.requestImage(state, newEntry::setStateImage);
+        }
 
-            HashMap<Action, Double> actionMap = qTableHashMap.get(state);
+        private void updateEntry(Entry entry, Map<Action, Double> actionMap) {
             if (actionMap.containsKey(Action.UP)) {
                 entry.setUpValue(actionMap.get(Action.UP));
             }
@@ -214,30 +190,41 @@ public class QTableView {
             if (actionMap.containsKey(Action.LEFT)) {
                 entry.setLeftValue(actionMap.get(Action.LEFT));
             }
-            return true;
         }
 
-        private QTableDataController.Entry getEntry(String state) {
-            for (QTableDataController.Entry entry : this.entries) {
-                if (entry.getState().equals(state)) {
-                    return entry;
-                }
-            }
-            return null;
+        QTableDataController.Entry getEntry(String state) {
+            return entriesByState.get(state);
         }
 
         boolean entryExists(String state) {
-            for (QTableDataController.Entry entry : this.entries) {
-                if (entry.getState().equals(state))
-                    return true;
+            return entriesByState.containsKey(state);
+        }
+
+        /**
+         * Returns the index of the row of the passed state. Entries are only appended, so the index stored in the
+         * entry is valid unless the user sorted the table.
+         *
+         * @param state The state.
+         * @return The index of the row or -1 if the state does not exist.
+         */
+        int getRowIndexOfState(String state) {
+            Entry entry = entriesByState.get(state);
+            if (entry == null) return -1;
+            if (entry.rowIndex >= entries.size() || entries.get(entry.rowIndex) != entry) {
+                entry.rowIndex = entries.indexOf(entry);
             }
-            return false;
+            return entry.rowIndex;
         }
 
         ObservableList<QTableDataController.Entry> getEntries() {
             return entries;
         }
 
+        void clear() {
+            entries.clear();
+            entriesByState.clear();
+        }
+
         /**
          * The method synchronizes the data of the passed QTable with the data stored internally ({@link #entries}).
          *
@@ -245,35 +232,35 @@ public class QTableView {
          */
         boolean updateEntries(QTable qTable) {
             HashMap<String, HashMap<Action, Double>> qTableHashMap = qTable.getQTable();
-            // iterate through passed QTable
-            for (Map.Entry<String, HashMap<Action, Double>> stateActions : qTableHashMap.entrySet()) {
-                String state = stateActions.getKey();
+            updateEntries(qTableHashMap);
+
+            // remove deleted entries if necessary
+            if (entries.size() > qTableHashMap.size()) {
+                entries.removeIf(entry -> !qTableHashMap.containsKey(entry.getState()));
+                entriesByState.keySet().retainAll(qTableHashMap.keySet());
+            }
+
+            return entries.size() == qTableHashMap.size();
+        }
+
+        /**
+         * The method updates the passed rows in the internally stored data ({@link #entries}) or adds them if they
+         * do not exist yet. Other entries are not changed.
+         *
+         * @param rows The rows of the QTable that will be updated, mapped by state.
+         */
+        void updateEntries(Map<String, ? extends Map<Action, Double>> rows) {
+            for (Map.Entry<String, ? extends Map<Action, Double>> stateActions : rows.entrySet()) {
+                Entry entry = entriesByState.get(stateActions.getKey());
                 // update existing entry if entry is already saved in QTable TableView
-                if (entryExists(state)) {
-                    if (!updateEntry(qTable, state)) {
-                        return false;
-                    }
+                if (entry != null) {
+                    updateEntry(entry, stateActions.getValue());
                 }
                 // add new entry if entry is not existing in QTable TableView
                 else {
-                    if (!addEntry(qTable, state)) {
-                        return false;
-                    }
+                    addEntry(stateActions.getKey(), stateActions.getValue());
                 }
             }
-
-            // remove deleted entries if necessary
-            if (entries.size() > qTableHashMap.size()) {
-                Iterator iterator = entries.iterator();
-                while (iterator.hasNext()) {
-                    QTableDataController.Entry entry = (QTableDataController.Entry) iterator.next();
-                    if (!qTableHashMap.containsKey(entry.getState())) {
-                        iterator.remove();
-                    }
-                }
-            }
-
-            return true;
         }
 
         /**
@@ -282,19 +269,22 @@ public class QTableView {
          */
         public static class Entry {
             private String state;
-            private Image stateImage;
-            private Double upValue;
-            private Double rightValue;
-            private Double downValue;
-            private Double leftValue;
+            private final ObjectProperty<Image> stateImage;
+            private final ObjectProperty<Double> upValue;
+            private final ObjectProperty<Double> rightValue;
+            private final ObjectProperty<Double> downValue;
+            private final ObjectProperty<Double> leftValue;
+
+            // index of the row of this entry in the table view
+            private int rowIndex;
 
             Entry(String state, Double upValue, Double rightValue, Double downValue, Double leftValue) {
                 this.state = state;
-                this.upValue = upValue;
-                this.rightValue = rightValue;
-                this.downValue = downValue;
-                this.leftValue = leftValue;
-                this.stateImage = NodeFactory.createImageOfState(state);
+                this.upValue = new SimpleObjectProperty<>(upValue);
+                this.rightValue = new SimpleObjectProperty<>(rightValue);
+                this.downValue = new SimpleObjectProperty<>(downValue);
+                this.leftValue = new SimpleObjectProperty<>(leftValue);
+                this.stateImage = new SimpleObjectProperty<>();
             }
 
             String getState() {
@@ -307,49 +297,73 @@ public class QTableView {
             }
 
             public Image getStateImage() {
-                return stateImage;
+                return stateImage.get();
             }
 
             public void setStateImage(Image stateImage) {
-                this.stateImage = stateImage;
+                this.stateImage.set(stateImage);
+            }
+
+            @SuppressWarnings("unused")
+            public ObjectProperty<Image> stateImageProperty() {
+                return stateImage;
             }
 
             @SuppressWarnings("unused")
             public Double getUpValue() {
-                return upValue;
+                return upValue.get();
             }
 
             void setUpValue(double upValue) {
-                this.upValue = upValue;
+                this.upValue.set(upValue);
+            }
+
+            @SuppressWarnings("unused")
+            public ObjectProperty<Double> upValueProperty() {
+                return upValue;
             }
 
             @SuppressWarnings("unused")
             public Double getRightValue() {
-                return rightValue;
+                return rightValue.get();
             }
 
             void setRightValue(double rightValue) {
-                this.rightValue = rightValue;
+                this.rightValue.set(rightValue);
+            }
+
+            @SuppressWarnings("unused")
+            public ObjectProperty<Double> rightValueProperty() {
+                return rightValue;
             }
 
             @SuppressWarnings("unused")
             public Double getDownValue() {
-                return downValue;
+                return downValue.get();
             }
 
             void setDownValue(double downValue) {
-                this.downValue = downValue;
+                this.downValue.set(downValue);
+            }
+
+            @SuppressWarnings("unused")
+            public ObjectProperty<Double> downValueProperty() {
+                return downValue;
             }
 
             @SuppressWarnings("unused")
             public Double getLeftValue() {
-                return leftValue;
+                return leftValue.get();
             }
 
             void setLeftValue(double leftValue) {
-                this.leftValue = leftValue;
+                this.leftValue.set(leftValue);
             }
 
+            @SuppressWarnings("unused")
+            public ObjectProperty<Double> leftValueProperty() {
+                return leftValue;
+            }
         }
     }
 }
@@ -79,23 +79,24 @@ public class ResultTableView {
     /**
      * Sets the level whose results will be displayed in the result TableView.
      *
-     * @param levelData Stores the results that will be displayed.
+     * @param levelData        Stores the results that will be displayed.
+     * @param numberOfEpisodes The number of episodes of the level that will be displayed.
      */
-    public void setLevel(LevelData levelData) {
-        resultTableDataController.updateResultsTable(levelData);
+    public void setLevel(LevelData levelData, int numberOfEpisodes) {
+        resultTableDataController.updateResultsTable(levelData, numberOfEpisodes);
         ObservableList<EpisodeData> episodes = resultTableDataController.getEpisodesOfLevel(levelData.getLevelNr());
         resultsTableView.setItems(episodes);
-        resultsTableView.refresh();
     }
 
     /**
-     * Updates the internally stored results data and refreshes the UI.
+     * Updates the internally stored results data and thereby the UI. Only the rows of the new episodes and of the
+     * episode that was the last one during the previous call are updated.
      *
-     * @param levelData The data with which the internally stored data will be synchronized.
+     * @param levelData        The data with which the internally stored data will be synchronized.
+     * @param numberOfEpisodes The number of episodes of the level that will be displayed.
      */
-    public void refresh(LevelData levelData) {
-        resultTableDataController.updateResultsTable(levelData);
-        resultsTableView.refresh();
+    public void refresh(LevelData levelData, int numberOfEpisodes) {
+        resultTableDataController.updateResultsTable(levelData, numberOfEpisodes);
     }
 
     public TableView<EpisodeData> getResultsTableView() {
@@ -117,43 +118,37 @@ public class ResultTableView {
         /**
          * The method synchronizes the data of the passed LevelData Object with the data stored internally in
          * ({@link #levelEpisodeData}).
+         * Only the first episodes up to the passed number are read, because the training may add further episodes
+         * at the same time. Since only the last episode of a level is changed by the training, the episodes that were
+         * already synchronized are skipped, except for the last one, which is replaced in order to update its row.
          *
-         * @param levelData The data with which the internally stored data will be synchronized.
+         * @param levelData        The data with which the internally stored data will be synchronized.
+         * @param numberOfEpisodes The number of episodes that will be synchronized.
          */
-        boolean updateResultsTable(LevelData levelData) {
-            if (!episodesOfLevelAlreadyExist(levelData.getLevelNr())) {
+        boolean updateResultsTable(LevelData levelData, int numberOfEpisodes) {
+            // create lists for all levels up to the passed one, since the lists are accessed by the level number
+            while (!episodesOfLevelAlreadyExist(levelData.getLevelNr())) {
                 levelEpisodeData.add(FXCollections.observableArrayList());
             }
 
-            for (EpisodeData episodeData : levelData.getEpisodes()) {
-                if (episodeOfLevelAlreadyExists(levelData.getLevelNr(), episodeData.getEpisodeNr())) {
-                    updateEpisodeData(episodeData, getEpisodeOfLevel(levelData.getLevelNr(), episodeData.getEpisodeNr()));
-                } else {
-                    if (!addEpisodeData(levelData.getLevelNr(), episodeData)) {
-                        return false;
-                    }
-                }
-            }
-            return true;
-        }
+            ObservableList<EpisodeData> episodesOfLevel = getEpisodesOfLevel(levelData.getLevelNr());
+            int synchronizedEpisodes = episodesOfLevel.size();
+            if (synchronizedEpisodes > numberOfEpisodes) return false;
 
-        private boolean addEpisodeData(int levelNr, EpisodeData episodeData) {
-            if (episodeOfLevelAlreadyExists(levelNr, episodeData.getEpisodeNr())) return false;
-            ObservableList<EpisodeData> episodesOfLevel = getEpisodesOfLevel(levelNr);
-            episodesOfLevel.add(episodeData);
-            return true;
-        }
-
-        private void updateEpisodeData(EpisodeData passedEpisodeData, EpisodeData savedEpisodeData) {
-            if (passedEpisodeData.getNumberOfActions() != savedEpisodeData.getNumberOfActions()) {
-                savedEpisodeData.setNumberOfActions(passedEpisodeData.getNumberOfActions());
-            }
-            if (passedEpisodeData.getTotalReward().compareTo(savedEpisodeData.getTotalReward()) != 0) {
-                savedEpisodeData.setTotalReward(passedEpisodeData.getTotalReward());
+            // update the row of the episode that may have been in progress
+            if (synchronizedEpisodes > 0) {
+                episodesOfLevel.set(synchronizedEpisodes - 1, levelData.getEpisodes().get(synchronizedEpisodes - 1));
             }
-            if (passedEpisodeData.getOccurredEpisodeStopCriterion() != savedEpisodeData.getOccurredEpisodeStopCriterion()) {
-                savedEpisodeData.setOccurredEpisodeStopCriterion(passedEpisodeData.getOccurredEpisodeStopCriterion());
+
+            // add the rows of the new episodes, with one change of the list
+            if (numberOfEpisodes > synchronizedEpisodes) {
+                ArrayList<EpisodeData> newEpisodes = new ArrayList<>(numberOfEpisodes - synchronizedEpisodes);
+                for (int i = synchronizedEpisodes; i < numberOfEpisodes; i++) {
+                    newEpisodes.add(levelData.getEpisodes().get(i));
+                }
+                episodesOfLevel.addAll(newEpisodes);
             }
+            return true;
         }
 
         private boolean episodesOfLevelAlreadyExist(int levelNr) {
@@ -0,0 +1,184 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.view;
+
+import de.uni.ks.maze.NodeFactory;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * <p>This class creates and caches the images of states shown in the {@link QTableView}.</p>
+ * <p>The neighbour colours of the states come from a small palette, so many states look the same. Images are therefore
+ * cached by the colours of the eight neighbours and the least recently used images are removed if the cache is full.
+ * Missing images are created by a background thread, which writes the pixels directly into a {@link WritableImage}.
+ * Only the part that is the same for all states (borders and agent) is drawn once with a canvas.</p>
+ * <p>The cache must only be used by the JavaFX thread.</p>
+ */
+class StateImageCache {
+
+    static final int CELL_SIZE = 20;
+    static final int IMAGE_SIZE = 3 * CELL_SIZE;
+
+    // width of the inner rectangle of a cell, the remaining pixel is the border
+    private static final int INNER_CELL_SIZE = (int) (CELL_SIZE - 2 * CELL_SIZE * 0.02d);
+
+    // positions (x, y) of the neighbour cells in the order of NodeFactory.getNeighbourColorsOfState
+    private static final int[][] NEIGHBOUR_CELLS = {{1, 0}, {2, 0}, {2, 1}, {2, 2}, {1, 2}, {0, 2}, {0, 1}, {0, 0}};
+
+    private final LinkedHashMap<StateColors, Image> images;
+    private final HashMap<StateColors, List<Consumer<Image>>> pendingRequests;
+    private final ExecutorService renderer;
+    private final int[] template;
+
+    /**
+     * Creates the cache. Must be called by the JavaFX thread, since the template image is drawn with a canvas.
+     *
+     * @param capacity The maximum number of cached images.
+     */
+    StateImageCache(int capacity) {
+        this.images = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StateColors, Image> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.pendingRequests = new HashMap<>();
+        this.renderer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "State Image Renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.template = createTemplate();
+    }
+
+    /**
+     * Passes the image of the passed state to the consumer. If the image is cached the consumer is called immediately,
+     * otherwise it is called by the JavaFX thread as soon as the image has been created.
+     *
+     * @param state    The state whose image is requested.
+     * @param consumer Receives the image.
+     */
+    void requestImage(String state, Consumer<Image> consumer) {
+        StateColors key = new StateColors(NodeFactory.getNeighbourColorsOfState(state));
+        Image image = images.get(key);
+        if (image != null) {
+            consumer.accept(image);
+            return;
+        }
+
+        // the image is already being created
+        List<Consumer<Image>> waitingConsumers = pendingRequests.get(key);
+        if (waitingConsumers != null) {
+            waitingConsumers.add(consumer);
+            return;
+        }
+
+        waitingConsumers = new ArrayList<>();
+        waitingConsumers.add(consumer);
+        pendingRequests.put(key, waitingConsumers);
+        renderer.execute(() -> {
+            WritableImage newImage = new WritableImage(IMAGE_SIZE, IMAGE_SIZE);
+            newImage.getPixelWriter().setPixels(0, 0, IMAGE_SIZE, IMAGE_SIZE, PixelFormat.getIntArgbInstance(),
+                    createPixels(template, key.colors), 0, IMAGE_SIZE);
+            Platform.runLater(() -> {
+                images.put(key, newImage);
+                for (Consumer<Image> waitingConsumer : pendingRequests.remove(key)) {
+                    waitingConsumer.accept(newImage);
+                }
+            });
+        });
+    }
+
+    int size() {
+        return images.size();
+    }
+
+    /**
+     * Draws the parts of a state image that are the same for every state and returns its pixels.
+     *
+     * @return The ARGB pixels of the template, row by row.
+     */
+    private static int[] createTemplate() {
+        Color[] colors = new Color[8];
+        Arrays.fill(colors, Color.WHITE);
+        Image image = NodeFactory.createStateImageFromString(colors[0], colors[1], colors[2], colors[3], colors[4],
+                colors[5], colors[6], colors[7]);
+        int[] pixels = new int[IMAGE_SIZE * IMAGE_SIZE];
+        PixelReader pixelReader = image.getPixelReader();
+        pixelReader.getPixels(0, 0, IMAGE_SIZE, IMAGE_SIZE, PixelFormat.getIntArgbInstance(), pixels, 0, IMAGE_SIZE);
+        return pixels;
+    }
+
+    /**
+     * Fills the neighbour cells of the template with the passed colours.
+     *
+     * @param template        The ARGB pixels of the template.
+     * @param neighbourColors The ARGB colours of the eight neighbours.
+     * @return The ARGB pixels of the image, row by row.
+     */
+    static int[] createPixels(int[] template, int[] neighbourColors) {
+        int[] pixels = template.clone();
+        for (int i = 0; i < NEIGHBOUR_CELLS.length; i++) {
+            int cellX = NEIGHBOUR_CELLS[i][0] * CELL_SIZE;
+            int cellY = NEIGHBOUR_CELLS[i][1] * CELL_SIZE;
+            for (int y = cellY; y < cellY + INNER_CELL_SIZE; y++) {
+                Arrays.fill(pixels, y * IMAGE_SIZE + cellX, y * IMAGE_SIZE + cellX + INNER_CELL_SIZE,
+                        neighbourColors[i]);
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Key of the cache, the colours of the neighbours of a state.
+     */
+    private static final class StateColors {
+        private final int[] colors;
+        private final int hash;
+
+        StateColors(int[] colors) {
+            this.colors = colors;
+            this.hash = Arrays.hashCode(colors);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(colors, ((StateColors) o).colors);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -16,8 +16,6 @@
 */
 package de.uni.ks.gui.simulator.view;
 
-import javafx.scene.chart.XYChart;
-
 /**
  * This class creates and coordinates the content of a line chart {link en.uni.ks.gui.simulator.view.LineChartView},
  * which shows a level number on the X-axis and number of actions on the Y-axis.
@@ -27,28 +25,26 @@ import javafx.scene.chart.XYChart;
 
 public class SummaryChartView extends LineChartView {
 
-    private final XYChart.Series<Number, Number> averageSeries;
-    private final XYChart.Series<Number, Number> optimalSeries;
+    private final DownsampledSeries averageSeries;
+    private final DownsampledSeries optimalSeries;
 
     public SummaryChartView() {
         // create line chart
         super("Level", "Actions");
 
-        // create series for optimal number of actions
-        averageSeries = new XYChart.Series<>();
-        averageSeries.setName("Average Number of Actions");
-
         // create series for average number of actions
-        optimalSeries = new XYChart.Series<>();
-        optimalSeries.setName("Optimal Number of Actions");
+        averageSeries = new DownsampledSeries("Average Number of Actions");
+
+        // create series for optimal number of actions
+        optimalSeries = new DownsampledSeries("Optimal Number of Actions");
 
         // add series to line chart
-        lineChart.getData().add(averageSeries);
-        lineChart.getData().add(optimalSeries);
+        setDisplayedSeries(averageSeries, optimalSeries);
     }
 
     /**
      * Adds data (average number of actions and  optimal number of actions per level) to the corresponding series.
+     * The data is drawn with the next call of {@link #refresh()}.
      *
      * @param levelNr                The number of the level whose summary will be refreshed.
      * @param averageNumberOfActions The average number of actions the agent needed of the passed level.
@@ -56,14 +52,9 @@ public class SummaryChartView extends LineChartView {
      */
     public void addDataToSeries(int levelNr, Number averageNumberOfActions, Number optimalNumberOfActions) {
         // add average number of actions to corresponding series
-        XYChart.Data<Number, Number> newAverageData = new XYChart.Data<>(levelNr, averageNumberOfActions);
-        averageSeries.getData().add(newAverageData);
+        averageSeries.add(levelNr, averageNumberOfActions.doubleValue());
         // add optimal number of actions to corresponding series
-        XYChart.Data<Number, Number> newOptimalData = new XYChart.Data<>(levelNr, optimalNumberOfActions);
-        optimalSeries.getData().add(newOptimalData);
-
-        // update axes of the chart
-        updateAxes(averageSeries, optimalSeries);
+        optimalSeries.add(levelNr, optimalNumberOfActions.doubleValue());
     }
 
 }
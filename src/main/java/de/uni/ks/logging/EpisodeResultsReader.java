@@ -0,0 +1,312 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p> Reads the columnar binary file "episodes.bin" that is written together with the csv files of a log. The file
+ * contains the results of all episodes of a training. It is mapped into memory, single values are read directly from
+ * the mapped file, so no objects are created per episode. </p>
+ * <p> Layout of the file (all numbers little-endian): </p>
+ * <pre>
+ * magic       4 bytes        "RLER"
+ * version     int            1
+ * rows        int            number of episodes
+ * criteria    int            number of episode stop criteria in the dictionary
+ * dictionary  criteria x     unsigned short length + UTF-8 name of the criterion
+ * padding     0 - 7 bytes    columns start at a multiple of 8
+ * reward      rows x double  total reward of the episode
+ * level       rows x int     number of the level
+ * episode     rows x int     number of the episode
+ * actions     rows x int     number of actions of the episode
+ * criterion   rows x byte    index of the occurred episode stop criterion in the dictionary, -1 if there is none
+ * </pre>
+ * <p> The rows are ordered by level and episode. </p>
+ */
+public class EpisodeResultsReader {
+
+    private final ByteBuffer data;
+    private final int rows;
+    private final List<String> criteria;
+
+    private final int rewardOffset;
+    private final int levelOffset;
+    private final int episodeOffset;
+    private final int actionsOffset;
+    private final int criterionOffset;
+
+    /**
+     * Maps a results file into memory.
+     *
+     * @param file The results file.
+     * @throws IOException              If the file can not be read.
+     * @throws IllegalArgumentException If the file is no valid results file.
+     */
+    public EpisodeResultsReader(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(EpisodeResultsWriter.BYTE_ORDER);
+        }
+
+        try {
+            byte[] magic = new byte[EpisodeResultsWriter.MAGIC.length];
+            data.get(magic);
+            if (!Arrays.equals(magic, EpisodeResultsWriter.MAGIC)) {
+                throw new IllegalArgumentException("[" + file.getName() + "] is no episode results file.");
+            }
+            int version = data.getInt();
+            if (version != EpisodeResultsWriter.VERSION) {
+                throw new IllegalArgumentException("Version [" + version + "] of [" + file.getName()
+                        + "] is not supported.");
+            }
+            this.rows = data.getInt();
+
+            int numberOfCriteria = data.getInt();
+            List<String> names = new ArrayList<>(numberOfCriteria);
+            for (int i = 0; i < numberOfCriteria; i++) {
+                byte[] name = new byte[Short.toUnsignedInt(data.getShort())];
+                data.get(name);
+                names.add(new String(name, StandardCharsets.UTF_8));
+            }
+            this.criteria = Collections.unmodifiableList(names);
+
+            this.rewardOffset = (data.position() + 7) / 8 * 8;
+            this.levelOffset = rewardOffset + rows * Double.BYTES;
+            this.episodeOffset = levelOffset + rows * Integer.BYTES;
+            this.actionsOffset = episodeOffset + rows * Integer.BYTES;
+            this.criterionOffset = actionsOffset + rows * Integer.BYTES;
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException) throw e;
+            throw new IllegalArgumentException("[" + file.getName() + "] is damaged.");
+        }
+
+        if (criterionOffset + rows > data.limit()) {
+            throw new IllegalArgumentException("[" + file.getName() + "] is damaged.");
+        }
+    }
+
+    public int getNumberOfEpisodes() {
+        return rows;
+    }
+
+    /**
+     * Returns the names of all episode stop criteria that occurred, the index in the list is the id of the criterion.
+     *
+     * @return The dictionary of the episode stop criteria.
+     */
+    public List<String> getStopCriteria() {
+        return criteria;
+    }
+
+    public int getLevelNr(int row) {
+        return data.getInt(levelOffset + checkRow(row) * Integer.BYTES);
+    }
+
+    public int getEpisodeNr(int row) {
+        return data.getInt(episodeOffset + checkRow(row) * Integer.BYTES);
+    }
+
+    public int getNumberOfActions(int row) {
+        return data.getInt(actionsOffset + checkRow(row) * Integer.BYTES);
+    }
+
+    public double getTotalReward(int row) {
+        return data.getDouble(rewardOffset + checkRow(row) * Double.BYTES);
+    }
+
+    /**
+     * Returns the id of the occurred episode stop criterion of an episode, see {@link #getStopCriteria()}.
+     *
+     * @param row Row of the episode.
+     * @return The id of the criterion, -1 if no criterion was recorded.
+     */
+    public int getStopCriterionId(int row) {
+        return data.get(criterionOffset + checkRow(row));
+    }
+
+    /**
+     * Returns the name of the occurred episode stop criterion of an episode.
+     *
+     * @param row Row of the episode.
+     * @return The name of the criterion, null if no criterion was recorded.
+     */
+    public String getStopCriterion(int row) {
+        int id = getStopCriterionId(row);
+        return id == EpisodeResultsWriter.NO_CRITERION ? null : criteria.get(id);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row [" + row + "] does not exist, file contains " + rows + " rows.");
+        }
+        return row;
+    }
+
+    /**
+     * Returns the first row of a level.
+     *
+     * @param levelNr Number of the level.
+     * @return The first row of the level, -1 if the file contains no episode of the level.
+     */
+    public int getFirstRowOfLevel(int levelNr) {
+        // rows are ordered by level -> binary search for the first row
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getLevelNr(middle) < levelNr) low = middle + 1;
+            else high = middle;
+        }
+        return low < rows && getLevelNr(low) == levelNr ? low : -1;
+    }
+
+    /**
+     * Computes the aggregates of all episodes of a level.
+     *
+     * @param levelNr Number of the level.
+     * @return The aggregates of the level, null if the file contains no episode of the level.
+     */
+    public LevelAggregate aggregateLevel(int levelNr) {
+        int first = getFirstRowOfLevel(levelNr);
+        if (first == -1) return null;
+
+        int end = first;
+        while (end < rows && getLevelNr(end) == levelNr) end++;
+        return aggregate(levelNr, first, end);
+    }
+
+    /**
+     * Computes the aggregates of every level in the file.
+     *
+     * @return The aggregates of all levels, ordered by level.
+     */
+    public List<LevelAggregate> aggregateLevels() {
+        List<LevelAggregate> aggregates = new ArrayList<>();
+        int first = 0;
+        while (first < rows) {
+            int levelNr = getLevelNr(first);
+            int end = first;
+            while (end < rows && getLevelNr(end) == levelNr) end++;
+            aggregates.add(aggregate(levelNr, first, end));
+            first = end;
+        }
+        return aggregates;
+    }
+
+    private LevelAggregate aggregate(int levelNr, int first, int end) {
+        LevelAggregate aggregate = new LevelAggregate(levelNr, criteria);
+        for (int row = first; row < end; row++) {
+            int actions = data.getInt(actionsOffset + row * Integer.BYTES);
+            double reward = data.getDouble(rewardOffset + row * Double.BYTES);
+            int criterion = data.get(criterionOffset + row);
+
+            aggregate.numberOfEpisodes++;
+            aggregate.totalActions += actions;
+            aggregate.minActions = Math.min(aggregate.minActions, actions);
+            aggregate.maxActions = Math.max(aggregate.maxActions, actions);
+            aggregate.totalReward += reward;
+            aggregate.minReward = Math.min(aggregate.minReward, reward);
+            aggregate.maxReward = Math.max(aggregate.maxReward, reward);
+            if (criterion != EpisodeResultsWriter.NO_CRITERION) aggregate.criterionOccurrences[criterion]++;
+        }
+        return aggregate;
+    }
+
+    /**
+     * Aggregated results of all episodes of one level.
+     */
+    public static class LevelAggregate {
+        private final int levelNr;
+        private final List<String> criteria;
+        private final int[] criterionOccurrences;
+
+        private int numberOfEpisodes = 0;
+        private long totalActions = 0;
+        private int minActions = Integer.MAX_VALUE;
+        private int maxActions = Integer.MIN_VALUE;
+        private double totalReward = 0;
+        private double minReward = Double.POSITIVE_INFINITY;
+        private double maxReward = Double.NEGATIVE_INFINITY;
+
+        private LevelAggregate(int levelNr, List<String> criteria) {
+            this.levelNr = levelNr;
+            this.criteria = criteria;
+            this.criterionOccurrences = new int[criteria.size()];
+        }
+
+        public int getLevelNr() {
+            return levelNr;
+        }
+
+        public int getNumberOfEpisodes() {
+            return numberOfEpisodes;
+        }
+
+        public long getTotalActions() {
+            return totalActions;
+        }
+
+        public double getAverageNumberOfActions() {
+            return (double) totalActions / numberOfEpisodes;
+        }
+
+        public int getMinNumberOfActions() {
+            return minActions;
+        }
+
+        public int getMaxNumberOfActions() {
+            return maxActions;
+        }
+
+        public double getTotalReward() {
+            return totalReward;
+        }
+
+        public double getAverageReward() {
+            return totalReward / numberOfEpisodes;
+        }
+
+        public double getMinReward() {
+            return minReward;
+        }
+
+        public double getMaxReward() {
+            return maxReward;
+        }
+
+        /**
+         * Returns how often an episode stop criterion occurred in this level.
+         *
+         * @param criterion Name of the criterion, see {@link EpisodeResultsReader#getStopCriteria()}.
+         * @return The number of occurrences.
+         */
+        public int getStopCriterionOccurrences(String criterion) {
+            int id = criteria.indexOf(criterion);
+            return id == -1 ? 0 : criterionOccurrences[id];
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging;
+
+import de.uni.ks.criterion.Criterion;
+import de.uni.ks.logging.data.EpisodeData;
+import de.uni.ks.logging.data.LevelData;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the content of the columnar binary file that contains the results of all episodes of a training. The
+ * layout of the file is described in {@link EpisodeResultsReader}.
+ */
+final class EpisodeResultsWriter {
+
+    static final byte[] MAGIC = {'R', 'L', 'E', 'R'};
+    static final int VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final byte NO_CRITERION = -1;
+
+    private EpisodeResultsWriter() {
+    }
+
+    /**
+     * Encodes the results of all episodes of the passed levels. The rows are ordered by level and episode.
+     *
+     * @param levels The levels of the training.
+     * @return The content of the results file.
+     */
+    static byte[] encode(List<LevelData> levels) {
+        int rows = 0;
+        for (LevelData levelData : levels) {
+            rows += levelData.getEpisodes().size();
+        }
+
+        // dictionary encode the names of the episode stop criteria
+        List<byte[]> dictionary = new ArrayList<>();
+        Map<String, Byte> ids = new HashMap<>();
+        byte[] criterionIds = new byte[rows];
+        int row = 0;
+        for (LevelData levelData : levels) {
+            for (EpisodeData episodeData : levelData.getEpisodes()) {
+                Criterion criterion = episodeData.getOccurredEpisodeStopCriterion();
+                if (criterion == null) {
+                    criterionIds[row++] = NO_CRITERION;
+                    continue;
+                }
+                String name = criterion.getLoggerString();
+                Byte id = ids.get(name);
+                if (id == null) {
+                    if (dictionary.size() > Byte.MAX_VALUE) {
+                        throw new IllegalStateException("Too many different episode stop criteria.");
+                    }
+                    id = (byte) dictionary.size();
+                    ids.put(name, id);
+                    dictionary.add(name.getBytes(StandardCharsets.UTF_8));
+                }
+                criterionIds[row++] = id;
+            }
+        }
+
+        int headerSize = getHeaderSize(dictionary);
+        ByteBuffer buffer = ByteBuffer.allocate(headerSize + rows * (Double.BYTES + 3 * Integer.BYTES + 1))
+                .order(BYTE_ORDER);
+
+        // header
+        buffer.put(MAGIC).putInt(VERSION).putInt(rows).putInt(dictionary.size());
+        for (byte[] name : dictionary) {
+            buffer.putShort((short) name.length).put(name);
+        }
+        buffer.position(headerSize);
+
+        // columns
+        for (LevelData levelData : levels) {
+            for (EpisodeData episodeData : levelData.getEpisodes()) {
+                buffer.putDouble(episodeData.getTotalReward());
+            }
+        }
+        for (LevelData levelData : levels) {
+            for (int i = 0; i < levelData.getEpisodes().size(); i++) {
+                buffer.putInt(levelData.getLevelNr());
+            }
+        }
+        for (LevelData levelData : levels) {
+            for (EpisodeData episodeData : levelData.getEpisodes()) {
+                buffer.putInt(episodeData.getEpisodeNr());
+            }
+        }
+        for (LevelData levelData : levels) {
+            for (EpisodeData episodeData : levelData.getEpisodes()) {
+                buffer.putInt(episodeData.getNumberOfActions());
+            }
+        }
+        buffer.put(criterionIds);
+
+        return buffer.array();
+    }
+
+    /**
+     * Returns the size of the header including the dictionary, rounded up to a multiple of 8 so that the columns are
+     * aligned.
+     *
+     * @param dictionary The encoded names of the episode stop criteria.
+     * @return The size of the header in bytes.
+     */
+    private static int getHeaderSize(List<byte[]> dictionary) {
+        int size = MAGIC.length + 3 * Integer.BYTES;
+        for (byte[] name : dictionary) {
+            size += Short.BYTES + name.length;
+        }
+        return (size + 7) / 8 * 8;
+    }
+}
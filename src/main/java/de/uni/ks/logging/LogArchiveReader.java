@@ -0,0 +1,166 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * <p> Reads logs that were written as ZIP archive (see {@link LogFormat#ZIP}). </p>
+ * <p> The entries have the same paths as the files of a log directory, relative to the root of the log and separated
+ * by '/' (e.g. "Level 1/Episode 3/qtable.csv"). Single entries can be listed, read or extracted without unpacking the
+ * whole archive, because the archive is accessed through its central directory. </p>
+ * <p> The class can also be used from the command line:
+ * <br> {@code LogArchiveReader <archive>} lists all entries,
+ * <br> {@code LogArchiveReader <archive> <entry>} prints an entry,
+ * <br> {@code LogArchiveReader <archive> <entry> <target file>} extracts an entry. </p>
+ */
+public class LogArchiveReader implements AutoCloseable {
+
+    private final ZipFile archive;
+
+    /**
+     * Opens a log archive.
+     *
+     * @param archive The archive file.
+     * @throws IOException If the file does not exist or is no valid ZIP archive.
+     */
+    public LogArchiveReader(File archive) throws IOException {
+        this.archive = new ZipFile(archive);
+    }
+
+    /**
+     * Returns the paths of all entries in the order in which they were written.
+     *
+     * @return List of all entry paths.
+     */
+    public List<String> listEntries() {
+        return listEntries("");
+    }
+
+    /**
+     * Returns the paths of all entries that are located in the passed directory or in its sub directories.
+     *
+     * @param directory Path of the directory, e.g. "Level 2". An empty String selects all entries.
+     * @return List of the entry paths.
+     */
+    public List<String> listEntries(String directory) {
+        String prefix = directory.isEmpty() || directory.endsWith("/") ? directory : directory + "/";
+
+        List<String> entries = new ArrayList<>();
+        Enumeration<? extends ZipEntry> enumeration = archive.entries();
+        while (enumeration.hasMoreElements()) {
+            String name = enumeration.nextElement().getName();
+            if (name.startsWith(prefix)) entries.add(name);
+        }
+        return entries;
+    }
+
+    /**
+     * Checks if the archive contains an entry.
+     *
+     * @param path Path of the entry.
+     * @return True if the entry exists, false otherwise.
+     */
+    public boolean containsEntry(String path) {
+        return archive.getEntry(path) != null;
+    }
+
+    /**
+     * Opens a stream that returns the uncompressed content of an entry. The stream must be closed by the caller.
+     *
+     * @param path Path of the entry.
+     * @return Stream of the content of the entry.
+     * @throws IOException              If the entry can not be read.
+     * @throws IllegalArgumentException If the archive does not contain the entry.
+     */
+    public InputStream openEntry(String path) throws IOException {
+        ZipEntry entry = archive.getEntry(path);
+        if (entry == null) {
+            throw new IllegalArgumentException("Entry [" + path + "] does not exist in [" + archive.getName() + "].");
+        }
+        return archive.getInputStream(entry);
+    }
+
+    /**
+     * Reads a text entry, e.g. a csv file or a misc log. The text is decoded with the default charset of the
+     * platform, like it was encoded by the {@link Logger}.
+     *
+     * @param path Path of the entry.
+     * @return The content of the entry.
+     * @throws IOException              If the entry can not be read.
+     * @throws IllegalArgumentException If the archive does not contain the entry.
+     */
+    public String readEntry(String path) throws IOException {
+        try (InputStream in = openEntry(path)) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            in.transferTo(content);
+            return content.toString(Charset.defaultCharset());
+        }
+    }
+
+    /**
+     * Writes the content of an entry to a file. Existing files are replaced.
+     *
+     * @param path   Path of the entry.
+     * @param target The file the content is written to.
+     * @throws IOException              If the entry can not be read or the file can not be written.
+     * @throws IllegalArgumentException If the archive does not contain the entry.
+     */
+    public void extractEntry(String path, File target) throws IOException {
+        try (InputStream in = openEntry(path)) {
+            Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        archive.close();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: LogArchiveReader <archive> [<entry> [<target file>]]");
+            return;
+        }
+
+        try (LogArchiveReader reader = new LogArchiveReader(new File(args[0]))) {
+            if (args.length == 1) {
+                reader.listEntries().forEach(System.out::println);
+            } else if (args.length == 2) {
+                try (InputStream in = reader.openEntry(args[1])) {
+                    in.transferTo(System.out);
+                }
+                System.out.flush();
+            } else {
+                reader.extractEntry(args[1], new File(args[2]));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging;
+
+/**
+ * Describes how the log of a training is stored on the hard drive (see {@link Logger#writeLog()}).
+ */
+public enum LogFormat {
+
+    /**
+     * The log is stored as directory, with a sub directory for every level and every episode.
+     */
+    DIRECTORY,
+    /**
+     * The log is stored in a single ZIP archive. The entries of the archive have the same paths as the files of a
+     * {@link #DIRECTORY} log. Use {@link LogArchiveReader} to list or extract entries.
+     */
+    ZIP
+}
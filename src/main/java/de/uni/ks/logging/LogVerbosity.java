@@ -0,0 +1,53 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging;
+
+/**
+ * <p> Describes which messages are stored in the misc logs of a training (see {@link Logger}). </p>
+ * <p> Each verbosity includes the messages of all lower verbosities. The misc log of the training contains messages
+ * per level, the misc log of a level contains messages per episode and the misc log of an episode contains messages
+ * per action. </p>
+ */
+public enum LogVerbosity {
+
+    /**
+     * No misc log messages are stored.
+     */
+    OFF,
+    /**
+     * Only the misc log of the training is filled.
+     */
+    LEVEL,
+    /**
+     * The misc logs of the training and of the levels are filled.
+     */
+    EPISODE,
+    /**
+     * All misc logs are filled, including the per action messages of the episodes.
+     */
+    ACTION;
+
+    /**
+     * Checks if messages of the passed verbosity are stored when this verbosity is used.
+     *
+     * @param verbosity The verbosity of the messages.
+     * @return True if the messages are stored, false otherwise.
+     */
+    public boolean includes(LogVerbosity verbosity) {
+        return verbosity != OFF && this.ordinal() >= verbosity.ordinal();
+    }
+}
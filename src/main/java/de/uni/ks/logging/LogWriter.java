@@ -0,0 +1,391 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging;
+
+import de.uni.ks.logging.data.ChunkedTextBuffer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <p> This class writes log files in a separate thread, so that the training does not have to wait for the hard drive. </p>
+ * <p> Write jobs are executed in the order in which they were submitted. The number of pending jobs is limited, which
+ * means that {@link #submit(Runnable)} blocks if the hard drive can not keep up with the training. This keeps the
+ * memory that is occupied by data that still needs to be written bounded. </p>
+ * <p> Files are addressed by paths relative to the root of the log, using '/' as separator. Depending on the
+ * {@link LogFormat} they are written into a directory or as entries into a single ZIP archive (see
+ * {@link LogArchiveReader}). Text is encoded with a reused buffer, using the default charset of the platform
+ * (like {@link String#getBytes()}). </p>
+ */
+class LogWriter {
+
+    private static final int MAX_PENDING_JOBS = 256;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Marks the end of the job queue.
+    private static final Runnable END_OF_JOBS = () -> {
+    };
+
+    private final BlockingQueue<Runnable> jobs = new ArrayBlockingQueue<>(MAX_PENDING_JOBS);
+    private final Thread writerThread;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    // Root directory of the log, is null if the log is written into an archive.
+    private final Path rootDirectory;
+    // Archive the log is written into, is null if the log is written into a directory.
+    private final ZipOutputStream archive;
+    private final WritableByteChannel archiveChannel;
+    private final int compressionLevel;
+
+    private volatile boolean writingFailed = false;
+    private boolean isClosed = false;
+
+    /**
+     * Creates a writer that writes all files into the passed directory.
+     *
+     * @param rootDirectory The root directory of the log, must already exist.
+     */
+    LogWriter(String rootDirectory) {
+        this.rootDirectory = Paths.get(rootDirectory);
+        this.archive = null;
+        this.archiveChannel = null;
+        this.compressionLevel = Deflater.DEFAULT_COMPRESSION;
+        this.writerThread = startWriterThread();
+    }
+
+    /**
+     * Creates a writer that writes all files as entries into a new ZIP archive.
+     *
+     * @param archivePath      The path of the archive, the file must already exist and is overwritten.
+     * @param compressionLevel The compression level (0-9) of text entries. Images are stored without compression,
+     *                         because they are already compressed.
+     * @throws IOException If the archive can not be opened.
+     */
+    LogWriter(String archivePath, int compressionLevel) throws IOException {
+        this.rootDirectory = null;
+        this.archive = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(archivePath), BUFFER_SIZE));
+        this.archiveChannel = Channels.newChannel(archive);
+        this.compressionLevel = compressionLevel;
+        this.writerThread = startWriterThread();
+    }
+
+    private Thread startWriterThread() {
+        Thread thread = new Thread(this::processJobs, "Log Writer");
+        // Pending jobs are still written if the JVM shuts down, see Logger#startLogStream().
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Executes all submitted jobs until {@link #END_OF_JOBS} is taken from the queue.
+     */
+    private void processJobs() {
+        while (true) {
+            Runnable job;
+            try {
+                job = jobs.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            if (job == END_OF_JOBS) return;
+
+            try {
+                job.run();
+            } catch (Exception e) {
+                System.err.println("Writing log data failed: " + e.getMessage());
+                writingFailed = true;
+            }
+        }
+    }
+
+    /**
+     * Adds a job to the queue of the writer thread. Blocks if the maximum number of pending jobs is reached.
+     *
+     * @param job The job that will be executed by the writer thread.
+     */
+    synchronized void submit(Runnable job) {
+        if (isClosed) {
+            throw new IllegalStateException("Log writer has already been closed.");
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                jobs.put(job);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Marks the log as failed. Is used by jobs which detect an error without throwing an exception.
+     */
+    void markAsFailed() {
+        writingFailed = true;
+    }
+
+    /**
+     * Waits until all submitted jobs have been executed and stops the writer thread. If the log is written into an
+     * archive, the archive is completed and closed afterwards.
+     * Repeated calls to this method are ignored.
+     *
+     * @return True if all jobs were executed without an error, false otherwise.
+     */
+    synchronized boolean close() {
+        if (!isClosed) {
+            submit(END_OF_JOBS);
+            isClosed = true;
+
+            boolean interrupted = false;
+            while (writerThread.isAlive()) {
+                try {
+                    writerThread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+
+            if (archive != null) {
+                try {
+                    archive.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    System.err.println("Log archive could not be completed");
+                    writingFailed = true;
+                }
+            }
+        }
+        return !writingFailed;
+    }
+
+    /**
+     * Creates a new file that contains the passed content. Must only be called by the writer thread.
+     *
+     * @param path    Path of the file relative to the root of the log.
+     * @param content The text that will be written to the file.
+     * @return True if the file was created successfully, false otherwise.
+     */
+    boolean writeFile(String path, CharSequence content) {
+        return writeFile(path, Collections.singletonList(CharBuffer.wrap(content)));
+    }
+
+    /**
+     * Creates a new file that contains the passed content. The chunks of the buffer are encoded one after another,
+     * without creating a String of the whole content. Must only be called by the writer thread.
+     *
+     * @param path    Path of the file relative to the root of the log.
+     * @param content The text that will be written to the file.
+     * @return True if the file was created successfully, false otherwise.
+     */
+    boolean writeFile(String path, ChunkedTextBuffer content) {
+        return writeFile(path, content.getChunks());
+    }
+
+    /**
+     * Creates a new binary file that contains the passed bytes. Must only be called by the writer thread.
+     *
+     * @param path    Path of the file relative to the root of the log.
+     * @param content The bytes that will be written to the file.
+     * @return True if the file was created successfully, false otherwise.
+     */
+    boolean writeFile(String path, byte[] content) {
+        try {
+            if (archive == null) {
+                try (FileChannel channel = FileChannel.open(resolve(path), StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE)) {
+                    ByteBuffer bytes = ByteBuffer.wrap(content);
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                }
+            } else {
+                archive.setLevel(compressionLevel);
+                archive.putNextEntry(new ZipEntry(path));
+                archive.write(content);
+                archive.closeEntry();
+            }
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            System.err.println("File '" + Paths.get(path).getFileName() + "' already exists");
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("File '" + Paths.get(path).getFileName() + "' could not be created");
+        }
+        return false;
+    }
+
+    /**
+     * Creates a new png file that contains the passed image. Must only be called by the writer thread.
+     *
+     * @param path  Path of the file relative to the root of the log.
+     * @param image The image that will be written to the file.
+     * @return True if the file was created successfully, false otherwise.
+     */
+    boolean writeImage(String path, BufferedImage image) {
+        try {
+            if (archive == null) {
+                Path file = resolve(path);
+                return ImageIO.write(image, "png", file.toFile());
+            } else {
+                // png is already compressed
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                if (!ImageIO.write(image, "png", content)) return false;
+                archive.setLevel(Deflater.NO_COMPRESSION);
+                archive.putNextEntry(new ZipEntry(path));
+                content.writeTo(archive);
+                archive.closeEntry();
+                return true;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("File '" + Paths.get(path).getFileName() + "' could not be created");
+            return false;
+        }
+    }
+
+    /**
+     * Creates a new file that contains the passed chunks of text in the given order.
+     *
+     * @param path   Path of the file relative to the root of the log.
+     * @param chunks The text that will be written to the file.
+     * @return True if the file was created successfully, false otherwise.
+     */
+    private boolean writeFile(String path, List<CharBuffer> chunks) {
+        try {
+            if (archive == null) {
+                try (FileChannel channel = FileChannel.open(resolve(path), StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.WRITE)) {
+                    encode(channel, chunks);
+                }
+            } else {
+                archive.setLevel(compressionLevel);
+                archive.putNextEntry(new ZipEntry(path));
+                encode(archiveChannel, chunks);
+                archive.closeEntry();
+            }
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            System.err.println("File '" + Paths.get(path).getFileName() + "' already exists");
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("File '" + Paths.get(path).getFileName() + "' could not be created");
+        }
+        return false;
+    }
+
+    /**
+     * Returns the absolute path of a file of the log and creates its parent directories if necessary.
+     *
+     * @param path Path of the file relative to the root of the log.
+     * @return Absolute path of the file.
+     * @throws IOException If a parent directory can not be created.
+     */
+    private Path resolve(String path) throws IOException {
+        Path file = rootDirectory.resolve(path);
+        Path parent = file.getParent();
+        if (!Files.isDirectory(parent)) Files.createDirectories(parent);
+        return file;
+    }
+
+    /**
+     * Encodes the passed chunks of text and writes them to the passed channel.
+     *
+     * @param channel The channel the encoded text is written to.
+     * @param chunks  The text that will be encoded.
+     * @throws IOException If the text can not be encoded or if writing to the channel fails.
+     */
+    private void encode(WritableByteChannel channel, List<CharBuffer> chunks) throws IOException {
+        encoder.reset();
+        buffer.clear();
+
+        for (CharBuffer chunk : chunks) {
+            encode(channel, chunk, false);
+        }
+        encode(channel, CharBuffer.allocate(0), true);
+        while (encoder.flush(buffer).isOverflow()) {
+            writeBuffer(channel);
+        }
+        writeBuffer(channel);
+    }
+
+    /**
+     * Encodes the passed characters into {@link #buffer}. The buffer is written to the passed channel whenever it is
+     * full.
+     *
+     * @param channel    The channel the encoded characters are written to.
+     * @param chars      The characters that will be encoded.
+     * @param endOfInput If no further characters follow.
+     * @throws IOException If the characters can not be encoded or if writing to the channel fails.
+     */
+    private void encode(WritableByteChannel channel, CharBuffer chars, boolean endOfInput) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, endOfInput);
+            if (result.isError()) result.throwException();
+            if (result.isUnderflow()) return;
+
+            // buffer is full
+            writeBuffer(channel);
+        }
+    }
+
+    /**
+     * Writes the content of {@link #buffer} to the passed channel and clears the buffer afterwards.
+     *
+     * @param channel The channel the content of the buffer is written to.
+     * @throws IOException If writing to the channel fails.
+     */
+    private void writeBuffer(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
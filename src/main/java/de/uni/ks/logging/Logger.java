@@ -20,20 +20,29 @@ import de.uni.ks.agent.QTable;
 import de.uni.ks.configuration.Config;
 import de.uni.ks.configuration.ConfigManager;
 import de.uni.ks.criterion.Criterion;
+import de.uni.ks.logging.data.ChunkedTextBuffer;
 import de.uni.ks.logging.data.EpisodeData;
 import de.uni.ks.logging.data.LevelData;
+import de.uni.ks.logging.data.PhaseLatencies;
 import de.uni.ks.logging.data.TrainingData;
+import de.uni.ks.logging.data.TrainingPhase;
 import de.uni.ks.logging.messages.GuiMessageLog;
 import de.uni.ks.logging.messages.GuiMessageType;
-import de.uni.ks.maze.Maze;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * <p> This class is the central logging class of the application. </p>
@@ -51,6 +60,12 @@ public class Logger {
     public static boolean guiIsActive = false;
     private static boolean initWarningShowed = false;
 
+    // Describes which messages are added to the misc logs.
+    private static LogVerbosity verbosity = LogVerbosity.ACTION;
+
+    // Threads whose messages are discarded, e.g. the additional actors of a parallel training.
+    private static final ThreadLocal<Boolean> threadIsMuted = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     // Flag to show message that images are to big only one time.
     private static boolean ignoreImageCreation = false;
 
@@ -64,6 +79,7 @@ public class Logger {
     public static void initLogger(String logName, Config configData, boolean guiWasStarted) {
 
         guiIsActive = guiWasStarted;
+        verbosity = configData.logVerbosity;
 
         // init trainingData object which will store all training related data
         trainingData = new TrainingData(logName, configData);
@@ -72,7 +88,7 @@ public class Logger {
         if (guiWasStarted) {
             guiMessageLogs = new GuiMessageLog[GuiMessageType.values().length];
             for (GuiMessageType type : GuiMessageType.values()) {
-                guiMessageLogs[type.ordinal()] = new GuiMessageLog();
+                guiMessageLogs[type.ordinal()] = new GuiMessageLog(type.name());
             }
         }
 
@@ -84,14 +100,27 @@ public class Logger {
     }
 
     /**
-     * Adds text to misc log of current training.
+     * Discards all messages that are added to the misc logs and the UI log by the current thread from now on.
+     * Used by threads that must not change the log of the current episode, e.g. the additional actors of a training.
+     */
+    public static void muteCurrentThread() {
+        threadIsMuted.set(Boolean.TRUE);
+    }
+
+    public static boolean isCurrentThreadMuted() {
+        return threadIsMuted.get();
+    }
+
+    /**
+     * Adds text to misc log of current training. The text is only added if the verbosity of the log includes
+     * {@link LogVerbosity#LEVEL}.
      *
      * @param content Text that will be added to misc log.
      */
     public static void addTextToMiscLogOfCurrentTraining(String content) {
         if (trainingData == null) {
             printLoggerInitWarning();
-        } else {
+        } else if (verbosity.includes(LogVerbosity.LEVEL) && !isCurrentThreadMuted()) {
             if (CurrentData.currentLevelData == null) {
                 trainingData.addTextToMiscLog("Initialisation: " + content);
             } else {
@@ -101,13 +130,28 @@ public class Logger {
     }
 
     /**
-     * Adds text to misc log of current level.
+     * Same as {@link #addTextToMiscLogOfCurrentTraining(String)}, but the text is only created if it is added to the
+     * log.
+     *
+     * @param content Supplier of the text that will be added to misc log.
+     */
+    public static void addTextToMiscLogOfCurrentTraining(Supplier<String> content) {
+        if (verbosity.includes(LogVerbosity.LEVEL) && !isCurrentThreadMuted()) {
+            addTextToMiscLogOfCurrentTraining(content.get());
+        }
+    }
+
+    /**
+     * Adds text to misc log of current level. The text is only added if the verbosity of the log includes
+     * {@link LogVerbosity#EPISODE}.
      *
      * @param content Text that will be added to misc log.
      */
     public static void addTextToMiscLogOfCurrentLevel(String content) {
         if (trainingData == null) {
             printLoggerInitWarning();
+        } else if (!verbosity.includes(LogVerbosity.EPISODE) || isCurrentThreadMuted()) {
+            return;
         } else if (CurrentData.currentLevelData == null) {
             System.err.println("Can't add text <" + content + "> to misc log of current level. Current level is not set");
         } else if (CurrentData.currentEpisodeData == null) {
@@ -119,13 +163,27 @@ public class Logger {
     }
 
     /**
-     * Adds text to misc log of current episode.
+     * Same as {@link #addTextToMiscLogOfCurrentLevel(String)}, but the text is only created if it is added to the log.
+     *
+     * @param content Supplier of the text that will be added to misc log.
+     */
+    public static void addTextToMiscLogOfCurrentLevel(Supplier<String> content) {
+        if (verbosity.includes(LogVerbosity.EPISODE) && !isCurrentThreadMuted()) {
+            addTextToMiscLogOfCurrentLevel(content.get());
+        }
+    }
+
+    /**
+     * Adds text to misc log of current episode. The text is only added if the verbosity of the log includes
+     * {@link LogVerbosity#ACTION}.
      *
      * @param content Text that will be added to misc log.
      */
     public static void addTextToMiscLogOfCurrentEpisode(String content) {
         if (trainingData == null) {
             printLoggerInitWarning();
+        } else if (!verbosity.includes(LogVerbosity.ACTION) || isCurrentThreadMuted()) {
+            return;
         } else if (CurrentData.currentLevelData == null) {
             System.err.println("Can't add text <" + content + "> to misc log of current episode. Current level is not set");
         } else if (CurrentData.currentEpisodeData == null) {
@@ -135,6 +193,18 @@ public class Logger {
         }
     }
 
+    /**
+     * Same as {@link #addTextToMiscLogOfCurrentEpisode(String)}, but the text is only created if it is added to the
+     * log. Should be used for messages that are created for every action.
+     *
+     * @param content Supplier of the text that will be added to misc log.
+     */
+    public static void addTextToMiscLogOfCurrentEpisode(Supplier<String> content) {
+        if (verbosity.includes(LogVerbosity.ACTION) && !isCurrentThreadMuted()) {
+            addTextToMiscLogOfCurrentEpisode(content.get());
+        }
+    }
+
     /**
      * Adds message to the UI log which is displayed in {@link de.uni.ks.gui.simulator.view.LoggerView}.
      * The added message will be placed in the tab that matches the passed {@link GuiMessageType}.
@@ -143,7 +213,7 @@ public class Logger {
      * @param type    The type of the message.
      */
     public static void addTextToGuiLog(String content, GuiMessageType type) {
-        if (guiIsActive) {
+        if (guiIsActive && !isCurrentThreadMuted()) {
             if (guiMessageLogs == null) {
                 printLoggerInitWarning();
             } else {
@@ -155,6 +225,18 @@ public class Logger {
         }
     }
 
+    /**
+     * Same as {@link #addTextToGuiLog(String, GuiMessageType)}, but the text is only created if the GUI is active.
+     *
+     * @param content Supplier of the text that will be added to the log.
+     * @param type    The type of the message.
+     */
+    public static void addTextToGuiLog(Supplier<String> content, GuiMessageType type) {
+        if (guiIsActive && !isCurrentThreadMuted()) {
+            addTextToGuiLog(content.get(), type);
+        }
+    }
+
     /**
      * Adds separator line to log of all GuiMessageTypes
      */
@@ -220,19 +302,61 @@ public class Logger {
      * Method writes logged data to hard drive. All logs are saved in a general log directory named "Logs".
      * The method will create the general log folder if none is existing yet.
      * If the general log directory is available, the method will create the log of the current training session.
-     * The log will be stored in a sub directory of the general log directory. This sub directory will be named after
-     * the log name of the training data object.
-     * The method will add a number to the log name, if a log with the desired log name already exists. This case will
-     * trigger a new recursive method call.
+     * The log will be stored in a sub directory of the general log directory, or in a ZIP archive if
+     * {@link Config#logFormat} is {@link LogFormat#ZIP}. The directory or archive will be named after the log name of
+     * the training data object.
+     * The method will add a number to the log name, if a log with the desired log name already exists.
+     * If the log is streamed to the hard drive (see {@link #startLogStream()}), only the remaining files of the
+     * training are written and the stream is closed.
      */
     public static void writeLog() {
         if (trainingData == null) {
             printLoggerInitWarning();
+        } else if (logWriter != null) {
+            finishLogStream();
+        } else if (trainingData.getConfig().logFormat == LogFormat.ZIP) {
+            if (!openLogWriter("start creating log")) return;
+
+            for (LevelData levelData : trainingData.getLevels()) {
+                for (EpisodeData episodeData : levelData.getEpisodes()) {
+                    submitEpisode(levelData, episodeData);
+                }
+                submitLevel(levelData);
+            }
+            finishLogStream();
         } else {
+            // Create directory for current training session
+            String trainingPath = createLogLocation(false);
+            String logName = new File(trainingPath).getName();
+
+            System.out.println("--------- start creating log '" + logName + "' ---------");
+            Logger.addTextToGuiLog("Start creating log '" + logName + "'", GuiMessageType.All);
+            // Create log for current training session
+            if (writeTrainingLog(trainingPath)) {
+                System.out.println("--------- created log '" + logName + "' successfully ---------");
+                Logger.addTextToGuiLog("Created log '" + logName + "' successfully", GuiMessageType.All);
+            } else {
+                System.err.println("--------- creation of log '" + logName + "' failed");
+                Logger.addTextToGuiLog("Creation of log '" + logName + "' failed", GuiMessageType.All);
+            }
+        }
+    }
+
+    /**
+     * Creates the general log directory "Logs" (if necessary) and the directory or the archive of the current
+     * training session inside of it. The directory or archive is named after the log name of the training data
+     * object. A number is added to the log name, if a log with the desired log name already exists.
+     *
+     * @param archive True if an empty archive file should be created, false if a directory should be created.
+     * @return The absolute path of the created directory or archive.
+     */
+    private static String createLogLocation(boolean archive) {
+        File generalLogDirectory = new File("Logs");
+        String trainingPath;
+        do {
             String logName = trainingData.getLogName();
 
             // Create general log directory
-            File generalLogDirectory = new File("Logs");
             if (fileNamePostFix == 0) {
                 System.out.println("\nlocation of Logs: " + generalLogDirectory.getAbsolutePath());
                 createDirectory("Logs");
@@ -242,26 +366,235 @@ public class Logger {
                 logName = logName + " (" + fileNamePostFix + ")";
             }
 
-            // Create directory for current training session
-            String trainingPath = generalLogDirectory.getAbsolutePath() + File.separator + logName;
-            if (createDirectory(trainingPath)) {
-                System.out.println("--------- start creating log '" + logName + "' ---------");
-                Logger.addTextToGuiLog("Start creating log '" + logName + "'", GuiMessageType.All);
-                // Create log for current training session
-                if (writeTrainingLog(trainingPath)) {
-                    System.out.println("--------- created log '" + logName + "' successfully ---------");
-                    Logger.addTextToGuiLog("Created log '" + logName + "' successfully", GuiMessageType.All);
-                } else {
-                    System.err.println("--------- creation of log '" + logName + "' failed");
-                    Logger.addTextToGuiLog("Creation of log '" + logName + "' failed", GuiMessageType.All);
+            trainingPath = generalLogDirectory.getAbsolutePath() + File.separator + logName;
+            if (archive) {
+                trainingPath += ".zip";
+                if (!createEmptyFile(trainingPath)) {
+                    fileNamePostFix++;
+                    continue;
                 }
-            } else {
+            } else if (!createDirectory(trainingPath)) {
                 fileNamePostFix++;
-                writeLog();
+                continue;
+            }
+            break;
+        } while (true);
+
+        return trainingPath;
+    }
+
+    /**
+     * Creates an empty file, if no file with the passed path exists.
+     *
+     * @param path String that represents the path and the name of the file.
+     * @return True if the file was created, false otherwise.
+     */
+    private static boolean createEmptyFile(String path) {
+        try {
+            return new File(path).createNewFile();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // ------ stream log to hard drive during training ------
+    private static LogWriter logWriter;
+    private static String streamedLogPath;
+    private static Thread logStreamShutdownHook;
+
+    /**
+     * <p> Starts to stream the log of the current training to the hard drive. The directory or archive of the log is
+     * created immediately (see {@link #writeLog()} for its location). </p>
+     * <p> From now on the files of every finished episode and level are written by a background thread as soon as
+     * {@link #logFinishedEpisode(LevelData, EpisodeData)} and {@link #logFinishedLevel(LevelData)} are called.
+     * Afterwards the episode data only keeps its summary values. The remaining files of the training are written by
+     * {@link #writeLog()}. The created directory layout and the file contents are the same as if the complete log is
+     * written at the end of the training. </p>
+     * <p> If the program is terminated before {@link #writeLog()} was called, all files of already finished episodes
+     * and levels are still written. </p>
+     */
+    public static void startLogStream() {
+        if (trainingData == null) {
+            printLoggerInitWarning();
+        } else if (logWriter == null) {
+            if (openLogWriter("start streaming log")) {
+                logStreamShutdownHook = new Thread(logWriter::close);
+                Runtime.getRuntime().addShutdownHook(logStreamShutdownHook);
+            }
+        }
+    }
+
+    /**
+     * Creates the directory or archive of the log (depending on {@link Config#logFormat}) and the background writer
+     * that writes into it.
+     *
+     * @param message Message that is displayed, if the writer was created. The name of the log is appended.
+     * @return True if the writer was created, false otherwise.
+     */
+    private static boolean openLogWriter(String message) {
+        Config config = trainingData.getConfig();
+        boolean archive = config.logFormat == LogFormat.ZIP;
+        String path = createLogLocation(archive);
+        String logName = new File(path).getName();
+
+        try {
+            logWriter = archive ? new LogWriter(path, config.zipCompressionLevel) : new LogWriter(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("--------- creation of log '" + logName + "' failed");
+            Logger.addTextToGuiLog("Creation of log '" + logName + "' failed", GuiMessageType.All);
+            return false;
+        }
+        streamedLogPath = path;
+
+        System.out.println("--------- " + message + " '" + logName + "' ---------");
+        Logger.addTextToGuiLog(message.substring(0, 1).toUpperCase() + message.substring(1) + " '" + logName
+                + "'", GuiMessageType.All);
+        return true;
+    }
+
+    /**
+     * Writes the Q-Table and the misc log of a finished episode, if the log is streamed to the hard drive.
+     * Afterwards only the summary values of the episode are kept in memory. Does nothing otherwise.
+     *
+     * @param levelData   Level data of the level the episode belongs to.
+     * @param episodeData Episode data of the finished episode.
+     */
+    public static void logFinishedEpisode(LevelData levelData, EpisodeData episodeData) {
+        if (logWriter == null) return;
+
+        submitEpisode(levelData, episodeData);
+        episodeData.releaseLogDetails();
+    }
+
+    /**
+     * Passes the files of an episode to the background writer.
+     *
+     * @param levelData   Level data of the level the episode belongs to.
+     * @param episodeData Episode data of the episode.
+     */
+    private static void submitEpisode(LevelData levelData, EpisodeData episodeData) {
+        String episodePath = getLevelEntryPath(levelData.getLevelNr()) + "/Episode " + episodeData.getEpisodeNr();
+        QTable qTable = episodeData.getQTable();
+        ChunkedTextBuffer miscLog = episodeData.getMiscLogBuffer();
+        LogWriter writer = logWriter;
+
+        writer.submit(() -> {
+            if (!writer.writeFile(episodePath + "/qtable.csv", qTable.getCsvString())) {
+                writer.markAsFailed();
+            }
+            if (!miscLog.isEmpty() && !writer.writeFile(episodePath + "/misc.txt", miscLog)) {
+                writer.markAsFailed();
+            }
+        });
+    }
+
+    /**
+     * Writes the maze image, the misc log and the evaluation file of a finished level, if the log is streamed to the
+     * hard drive. Does nothing otherwise.
+     *
+     * @param levelData Level data of the finished level.
+     */
+    public static void logFinishedLevel(LevelData levelData) {
+        if (logWriter == null) return;
+
+        submitLevel(levelData);
+    }
+
+    /**
+     * Passes the files of a level (without the files of its episodes) to the background writer.
+     *
+     * @param levelData Level data of the level.
+     */
+    private static void submitLevel(LevelData levelData) {
+        String levelPath = getLevelEntryPath(levelData.getLevelNr());
+        ChunkedTextBuffer miscLog = levelData.getMiscLogBuffer();
+        String evaluation = getLevelEvaluationString(levelData);
+        boolean restrictImageSize = trainingData.getConfig().restrictImageSize;
+        LogWriter writer = logWriter;
+
+        writer.submit(() -> {
+            BufferedImage image = getMazeImage(levelData, restrictImageSize);
+            if (image != null && !writer.writeImage(levelPath + "/maze.png", image)) {
+                writer.markAsFailed();
+            }
+            if (!miscLog.isEmpty() && !writer.writeFile(levelPath + "/misc.txt", miscLog)) {
+                writer.markAsFailed();
+            }
+            if (!writer.writeFile(levelPath + "/evaluation.csv", evaluation)) {
+                writer.markAsFailed();
             }
+        });
+    }
+
+    /**
+     * Writes the remaining files of the training (misc log, config and summary), waits until the background thread
+     * has written all files and closes the log stream.
+     */
+    private static void finishLogStream() {
+        String logName = new File(streamedLogPath).getName();
+        LogWriter writer = logWriter;
+
+        ChunkedTextBuffer miscLog = trainingData.getMiscLogBuffer();
+        if (!miscLog.isEmpty()) {
+            writer.submit(() -> {
+                if (!writer.writeFile("misc.txt", miscLog)) writer.markAsFailed();
+            });
+        }
+
+        String configPath = trainingData.getConfig().trainingName + ".cfg";
+        String config = ConfigManager.serializeConfig(trainingData.getConfig());
+        writer.submit(() -> {
+            if (!writer.writeFile(configPath, config)) writer.markAsFailed();
+        });
+
+        String summary = getSummaryString();
+        writer.submit(() -> {
+            if (!writer.writeFile("summary.csv", summary)) writer.markAsFailed();
+        });
+
+        byte[] episodeResults = EpisodeResultsWriter.encode(trainingData.getLevels());
+        writer.submit(() -> {
+            if (!writer.writeFile("episodes.bin", episodeResults)) writer.markAsFailed();
+        });
+
+        boolean success = writer.close();
+        if (logStreamShutdownHook != null) Runtime.getRuntime().removeShutdownHook(logStreamShutdownHook);
+        logWriter = null;
+        streamedLogPath = null;
+        logStreamShutdownHook = null;
+
+        if (success) {
+            System.out.println("--------- created log '" + logName + "' successfully ---------");
+            Logger.addTextToGuiLog("Created log '" + logName + "' successfully", GuiMessageType.All);
+        } else {
+            System.err.println("--------- creation of log '" + logName + "' failed");
+            Logger.addTextToGuiLog("Creation of log '" + logName + "' failed", GuiMessageType.All);
         }
     }
 
+    /**
+     * Returns the path of the directory of a level relative to the root of the log, using '/' as separator.
+     *
+     * @param levelNumber Number of the level.
+     * @return The relative path of the level directory.
+     */
+    private static String getLevelEntryPath(int levelNumber) {
+        return "Level " + levelNumber;
+    }
+
+    /**
+     * Returns the path of the directory of a level.
+     *
+     * @param trainingPath String that represents the path of the training log.
+     * @param levelNumber  Number of the level.
+     * @return The path of the level directory.
+     */
+    private static String getLevelPath(String trainingPath, int levelNumber) {
+        return trainingPath + File.separator + getLevelEntryPath(levelNumber);
+    }
+
     /**
      * Writes the whole training log to the logging sub directory.
      *
@@ -277,10 +610,12 @@ public class Logger {
 
         if (!writeSummaryFile(path + File.separator + "summary.csv")) return false;
 
+        if (!writeEpisodeResultsFile(path + File.separator + "episodes.bin")) return false;
+
         for (int level = 1; level <= trainingData.getLevels().size(); level++) {
 
             // create directory for level
-            String levelPath = path + File.separator + "Level " + level;
+            String levelPath = getLevelPath(path, level);
             createDirectory(levelPath);
 
             // create image file for maze used in this level
@@ -321,8 +656,8 @@ public class Logger {
      * @return boolean, which indicates whether the misc training log was created successfully or not.
      */
     static boolean writeMiscTrainingLog(String path) {
-        String fileContent = trainingData.getMiscLog();
-        if (!fileContent.equals("")) {
+        ChunkedTextBuffer fileContent = trainingData.getMiscLogBuffer();
+        if (!fileContent.isEmpty()) {
             return createFile(path, fileContent);
         }
         return true;
@@ -366,16 +701,46 @@ public class Logger {
         return createFile(path, fileContent.toString());
     }
 
+    /**
+     * Creates a binary file that contains the results (number of actions, reward and episode stop criterion) of all
+     * episodes of all levels in columns. The file can be read with {@link EpisodeResultsReader}.
+     *
+     * @param path String that represents the path where the results file will be saved.
+     * @return boolean, which indicates whether the results file was created successfully or not.
+     */
+    static boolean writeEpisodeResultsFile(String path) {
+        try {
+            Files.write(Paths.get(path), EpisodeResultsWriter.encode(trainingData.getLevels()),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("File '" + new File(path).getName() + "' could not be created");
+            return false;
+        }
+    }
+
     /**
      * Creates a .csv file that portrays a summary of the whole training.
      * This means the created file contains the minimum number of actions needed, the average number of actions taken,
      * the highest achievable reward and the average reward achieved of each level.
      * Furthermore it shows how often which episode stop criterion occurred and which criterion lead to the end of the level.
+     * If {@link Config#measurePhaseLatencies} is enabled, the median, the 99th percentile and the maximum duration of
+     * every {@link TrainingPhase} in the level are added.
      *
      * @param path String that represents the path where the total evaluation file will be saved.
      * @return boolean, which indicates whether the summary file was created successfully or not.
      */
     static boolean writeSummaryFile(String path) {
+        return createFile(path, getSummaryString());
+    }
+
+    /**
+     * Creates the content of the summary file, see {@link #writeSummaryFile(String)}.
+     *
+     * @return The content of the summary file.
+     */
+    private static String getSummaryString() {
         // init string that contains the future file content + add add some attributes to the headline
         StringBuilder fileContent = new StringBuilder("Level;Complexity;Optimal Number Of Actions;Average Number " +
                 "Of Actions;Optimal Reward;Average Reward;");
@@ -387,8 +752,18 @@ public class Logger {
             fileContent.append(criterion.getLoggerString()).append(";");
         }
 
-        // add last column identifier
-        fileContent.append("Level Abort Criterion\n");
+        // add column identifier of the level abort criterion and the columns of the phase latencies if they were measured
+        fileContent.append("Level Abort Criterion");
+        boolean phaseLatenciesMeasured = trainingData.getConfig() != null
+                && Boolean.TRUE.equals(trainingData.getConfig().measurePhaseLatencies);
+        if (phaseLatenciesMeasured) {
+            for (TrainingPhase phase : TrainingPhase.values()) {
+                fileContent.append(";").append(phase.getLoggerString()).append(" p50 [ns]");
+                fileContent.append(";").append(phase.getLoggerString()).append(" p99 [ns]");
+                fileContent.append(";").append(phase.getLoggerString()).append(" Max [ns]");
+            }
+        }
+        fileContent.append("\n");
 
         for (LevelData levelData : trainingData.getLevels()) {
             // add level number to the current row
@@ -416,10 +791,24 @@ public class Logger {
             // add level abort criterion the the current row
             fileContent.append(levelData.getOccurredLevelAbortCriterion().getLoggerString());
 
+            // add the phase latencies to the current row, the cells are empty if the level wasn't finished
+            if (phaseLatenciesMeasured) {
+                PhaseLatencies phaseLatencies = levelData.getPhaseLatencies();
+                for (TrainingPhase phase : TrainingPhase.values()) {
+                    if (phaseLatencies == null) {
+                        fileContent.append(";;;");
+                    } else {
+                        fileContent.append(";").append(phaseLatencies.getPercentile(phase, 0.5));
+                        fileContent.append(";").append(phaseLatencies.getPercentile(phase, 0.99));
+                        fileContent.append(";").append(phaseLatencies.getMax(phase));
+                    }
+                }
+            }
+
             // begin new row
             fileContent.append("\n");
         }
-        return createFile(path, fileContent.toString());
+        return fileContent.toString();
     }
 
     /**
@@ -431,16 +820,22 @@ public class Logger {
      * @return False, if writing the file failed. True if the file was written or if the image was to large to create.
      */
     private static boolean writeMazeImageFile(String path, int levelNumber, boolean reduceImageSize) {
-        LevelData levelData = trainingData.getLevelData(levelNumber);
-        Maze maze = levelData.getMaze();
-        BufferedImage image = maze.getMazeAsBufferedImage(reduceImageSize);
+        return writeMazeImageFile(path, trainingData.getLevelData(levelNumber), reduceImageSize);
+    }
+
+    /**
+     * Creates a png file that contains a image of the maze that was used in the passed level.
+     *
+     * @param path            String that represents the path where the maze file will be saved.
+     * @param levelData       Level data of the corresponding level.
+     * @param reduceImageSize If the images of the mazes are limited in size.
+     * @return False, if writing the file failed. True if the file was written or if the image was to large to create.
+     */
+    private static boolean writeMazeImageFile(String path, LevelData levelData, boolean reduceImageSize) {
+        BufferedImage image = getMazeImage(levelData, reduceImageSize);
 
         // If the image is to large to write
-        if (image == null && !ignoreImageCreation) {
-            System.err.println("Image for level " + levelNumber + " is to large, saving images from now on is omitted.");
-            ignoreImageCreation = true;
-            return true;
-        }
+        if (image == null) return true;
 
         try {
             ImageIO.write(image, "png", new File(path));
@@ -450,6 +845,24 @@ public class Logger {
         }
     }
 
+    /**
+     * Creates the image of the maze that was used in the passed level.
+     *
+     * @param levelData       Level data of the corresponding level.
+     * @param reduceImageSize If the images of the mazes are limited in size.
+     * @return The image of the maze, or null if the image is to large to create.
+     */
+    private static BufferedImage getMazeImage(LevelData levelData, boolean reduceImageSize) {
+        BufferedImage image = levelData.getMaze().getMazeAsBufferedImage(reduceImageSize);
+
+        if (image == null && !ignoreImageCreation) {
+            System.err.println("Image for level " + levelData.getLevelNr() + " is to large, saving images from now on "
+                    + "is omitted.");
+            ignoreImageCreation = true;
+        }
+        return image;
+    }
+
     /**
      * Creates csv. file on hard drive, that contains a all stored result of the corresponding level.
      *
@@ -458,8 +871,17 @@ public class Logger {
      * @return boolean, which indicates whether the evaluation file was created successfully or not.
      */
     static boolean writeLevelEvaluationFile(String path, int levelNumber) {
+        return createFile(path, getLevelEvaluationString(trainingData.getLevelData(levelNumber)));
+    }
+
+    /**
+     * Creates the content of the evaluation file of a level, see {@link #writeLevelEvaluationFile(String, int)}.
+     *
+     * @param levelData Level data of the corresponding level.
+     * @return The content of the evaluation file.
+     */
+    private static String getLevelEvaluationString(LevelData levelData) {
         StringBuilder fileContent = new StringBuilder("Episode;Number Of Actions;Reward;Episode Stop Criterion\n");
-        LevelData levelData = trainingData.getLevelData(levelNumber);
         for (EpisodeData episode : levelData.getEpisodes()) {
             fileContent.append(episode.getEpisodeNr())
                     .append(";")
@@ -470,7 +892,7 @@ public class Logger {
                     .append(episode.getOccurredEpisodeStopCriterion().getLoggerString())
                     .append("\n");
         }
-        return createFile(path, fileContent.toString());
+        return fileContent.toString();
     }
 
     /**
@@ -483,8 +905,8 @@ public class Logger {
     private static boolean writeMiscLevelLog(String path, int levelNumber) {
         LevelData levelData = trainingData.getLevelData(levelNumber);
 
-        String fileContent = levelData.getMiscLog();
-        if (!fileContent.equals("")) {
+        ChunkedTextBuffer fileContent = levelData.getMiscLogBuffer();
+        if (!fileContent.isEmpty()) {
             return createFile(path, fileContent);
         }
         return true;
@@ -519,8 +941,8 @@ public class Logger {
         LevelData levelData = trainingData.getLevelData(levelNumber);
         EpisodeData episodeData = levelData.getEpisodeData(episodeNumber);
 
-        String fileContent = episodeData.getMiscLog();
-        if (!fileContent.equals("")) {
+        ChunkedTextBuffer fileContent = episodeData.getMiscLogBuffer();
+        if (!fileContent.isEmpty()) {
             return createFile(path, fileContent);
         }
         return true;
@@ -575,6 +997,35 @@ public class Logger {
         }
     }
 
+    /**
+     * Creates file in passed path that contains the content of the passed buffer. The chunks of the buffer are written
+     * one after another, without creating a String of the whole content.
+     *
+     * @param path    String that represents the path and the name of the file.
+     * @param content Buffer whose content will be written to the file.
+     * @return boolean, which indicates whether the file was created successfully or not.
+     */
+    private static boolean createFile(String path, ChunkedTextBuffer content) {
+        File file = new File(path);
+        if (file.exists()) {
+            System.err.println("File '" + file.getName() + "' already exists");
+            return false;
+        } else {
+            // unlike Files.newBufferedWriter, the stream writer replaces characters that can not be encoded
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Paths.get(path),
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), Charset.defaultCharset()))) {
+                for (CharBuffer chunk : content.getChunks()) {
+                    writer.append(chunk);
+                }
+                return true;
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.err.println("File '" + file.getName() + "' could not be created");
+                return false;
+            }
+        }
+    }
+
     /**
      * Displays an error message in console if error message has not already been displayed.
      */
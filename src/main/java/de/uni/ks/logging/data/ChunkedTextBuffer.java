@@ -0,0 +1,128 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.data;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p> Text buffer that stores its content in a list of fixed-size blocks. Appending text only copies the appended
+ * characters, so the cost of an append does not depend on the length of the text that has already been stored
+ * (unlike concatenating Strings). </p>
+ * <p> The content is only converted into a String if {@link #toString()} is called. Writers can access the blocks
+ * directly with {@link #getChunks()}. </p>
+ * <p> Surrogate pairs of an appended text are never split between two blocks, so every chunk can be encoded on its
+ * own. </p>
+ */
+public final class ChunkedTextBuffer {
+
+    static final int CHUNK_SIZE = 8 * 1024;
+
+    private final List<CharBuffer> chunks = new ArrayList<>();
+    private int length = 0;
+
+    // Content as String, is created lazily and discarded on every append.
+    private String content = "";
+
+    /**
+     * Appends the passed text to the end of the buffer.
+     *
+     * @param text The text that will be appended.
+     */
+    public void append(String text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end) {
+            CharBuffer chunk = getWritableChunk();
+            int count = Math.min(chunk.remaining(), end - start);
+            // do not separate a surrogate pair if more text follows
+            if (start + count < end && Character.isHighSurrogate(text.charAt(start + count - 1))) {
+                count--;
+                if (count == 0) {
+                    // start a new chunk
+                    chunks.add(CharBuffer.allocate(CHUNK_SIZE));
+                    continue;
+                }
+            }
+            chunk.put(text, start, start + count);
+            start += count;
+        }
+        length += end;
+        if (end > 0) content = null;
+    }
+
+    /**
+     * Appends the passed character to the end of the buffer.
+     *
+     * @param c The character that will be appended.
+     */
+    public void append(char c) {
+        CharBuffer chunk = getWritableChunk();
+        chunk.put(c);
+        length++;
+        content = null;
+    }
+
+    /**
+     * Returns the last chunk if it has space left, otherwise a new chunk is added.
+     *
+     * @return Chunk to which text can be appended.
+     */
+    private CharBuffer getWritableChunk() {
+        if (chunks.isEmpty() || !chunks.get(chunks.size() - 1).hasRemaining()) {
+            chunks.add(CharBuffer.allocate(CHUNK_SIZE));
+        }
+        return chunks.get(chunks.size() - 1);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Returns read only views of the filled parts of all chunks, in the order of the text.
+     * The views are not affected by later appends.
+     *
+     * @return List of the chunks of this buffer.
+     */
+    public List<CharBuffer> getChunks() {
+        List<CharBuffer> views = new ArrayList<>(chunks.size());
+        for (CharBuffer chunk : chunks) {
+            CharBuffer view = chunk.asReadOnlyBuffer();
+            view.flip();
+            views.add(view);
+        }
+        return views;
+    }
+
+    @Override
+    public String toString() {
+        if (content == null) {
+            StringBuilder builder = new StringBuilder(length);
+            for (CharBuffer chunk : getChunks()) {
+                builder.append(chunk);
+            }
+            content = builder.toString();
+        }
+        return content;
+    }
+}
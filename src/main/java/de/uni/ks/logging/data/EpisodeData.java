@@ -22,12 +22,21 @@ import de.uni.ks.criterion.Criterion;
 /**
  * This class can be seen as a data class that stores all information about an episode.
  * Furthermore, certain episode related statistics can be calculated within this class.
+ * <p>
+ * As soon as the episode is added to a {@link LevelData} object, the number of actions, the total reward and the
+ * occurred stop criterion are stored in the row of the episode in the level and this object becomes a view of that row.
  */
 public class EpisodeData extends LogData {
     private final int episodeNr;
     private QTable qTable;
+
+    // level and row that hold the values after the episode was added to a level
+    private LevelData levelData;
+    private int row;
+
+    // values of the episode as long as it was not added to a level
     private int numberOfActions;
-    private Double totalReward;
+    private double totalReward;
     private Criterion occurredEpisodeStopCriterion;
 
     public EpisodeData(int episodeNr) {
@@ -35,16 +44,36 @@ public class EpisodeData extends LogData {
         this.totalReward = 0.0d;
     }
 
+    /**
+     * Links this episode to its row in the passed level.
+     *
+     * @param levelData The level to which the episode was added.
+     * @param row       The row of the episode in the level.
+     */
+    void attach(LevelData levelData, int row) {
+        this.levelData = levelData;
+        this.row = row;
+        this.occurredEpisodeStopCriterion = null;
+    }
+
     public void setQTable(QTable qTable) {
         this.qTable = new QTable(qTable);
     }
 
     public void setNumberOfActions(int numberOfActions) {
-        this.numberOfActions = numberOfActions;
+        if (levelData != null) {
+            levelData.setNumberOfActions(row, numberOfActions);
+        } else {
+            this.numberOfActions = numberOfActions;
+        }
     }
 
     public void setTotalReward(Double totalReward) {
-        this.totalReward = totalReward;
+        if (levelData != null) {
+            levelData.setTotalReward(row, totalReward);
+        } else {
+            this.totalReward = totalReward;
+        }
     }
 
     public int getEpisodeNr() {
@@ -56,18 +85,31 @@ public class EpisodeData extends LogData {
     }
 
     public int getNumberOfActions() {
-        return numberOfActions;
+        return levelData != null ? levelData.getNumberOfActions(row) : numberOfActions;
     }
 
     public Double getTotalReward() {
-        return totalReward;
+        return levelData != null ? levelData.getTotalReward(row) : totalReward;
     }
 
     public Criterion getOccurredEpisodeStopCriterion() {
-        return occurredEpisodeStopCriterion;
+        return levelData != null ? levelData.getOccurredEpisodeStopCriterion(row) : occurredEpisodeStopCriterion;
     }
 
     public void setOccurredEpisodeStopCriterion(Criterion occurredEpisodeStopCriterion) {
-        this.occurredEpisodeStopCriterion = occurredEpisodeStopCriterion;
+        if (levelData != null) {
+            levelData.setOccurredEpisodeStopCriterion(row, occurredEpisodeStopCriterion);
+        } else {
+            this.occurredEpisodeStopCriterion = occurredEpisodeStopCriterion;
+        }
+    }
+
+    /**
+     * Releases the Q-Table and the misc log of this episode after they have been written to the hard drive.
+     * Only the summary values (number of actions, total reward and occurred stop criterion) are kept.
+     */
+    public void releaseLogDetails() {
+        this.qTable = null;
+        this.clearMiscLog();
     }
 }
\ No newline at end of file
@@ -23,29 +23,58 @@ import de.uni.ks.maze.complexityFunction.ComplexityFunction;
 import de.uni.ks.maze.utils.MazeUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.TreeMap;
 
 /**
  * This class can be seen as a data class that stores all information about a level.
  * Furthermore, certain level related statistics can be calculated within this class.
+ * <p>
+ * The results of the episodes (number of actions, total reward and occurred stop criterion) are stored in primitive
+ * columns with one row per episode. The {@link EpisodeData} objects of the level are views of these rows. The summary
+ * statistics are updated whenever an episode is added, so they are available at any time of the level. They contain
+ * all episodes of the level including the current one.
  */
 public class LevelData extends LogData {
+    private static final int INITIAL_CAPACITY = 16;
+
     private final int levelNr;
     private final ArrayList<EpisodeData> episodes;
     private Maze maze;
     private Criterion occurredLevelAbortCriterion;
 
     private int optimalNumberOfActions;
-    private Double averageNumberOfAction;
     private Double optimalReward;
-    private Double averageReward;
     private Double complexity;
     private TreeMap<Criterion, Integer> episodeStopCriterionCounter;
+    private PhaseLatencies phaseLatencies;
+
+    // episode results, one row per episode
+    private int[] numberOfActions;
+    private double[] totalRewards;
+    private byte[] stopCriterionIds;
+    private int rows;
+
+    // occurred episode stop criteria, the index is the id used in stopCriterionIds
+    private final ArrayList<Criterion> stopCriteria;
+
+    // statistics of all rows except the last one, the last row is still changed during the current episode and is
+    // added when the statistics are read
+    private final Statistics closedActions;
+    private final Statistics closedRewards;
+    private int[] closedStopCriterionCounts;
 
     public LevelData(int levelNr) {
         this.levelNr = levelNr;
         this.episodes = new ArrayList<>();
+        this.numberOfActions = new int[INITIAL_CAPACITY];
+        this.totalRewards = new double[INITIAL_CAPACITY];
+        this.stopCriterionIds = new byte[INITIAL_CAPACITY];
+        this.stopCriteria = new ArrayList<>();
+        this.closedActions = new Statistics();
+        this.closedRewards = new Statistics();
+        this.closedStopCriterionCounts = new int[0];
     }
 
     public void setMaze(Maze maze) {
@@ -54,12 +83,47 @@ public class LevelData extends LogData {
         this.refreshOptimalReward();
     }
 
+    /**
+     * Adds the episode to this level. A new row is created for the episode, which holds the current values of the
+     * episode from now on.
+     *
+     * @param episodeData The episode that will be added.
+     */
     public void addEpisodeData(EpisodeData episodeData) {
+        if (rows > 0) {
+            closeRow(rows - 1);
+        }
+        if (rows == numberOfActions.length) {
+            int capacity = rows * 2;
+            numberOfActions = Arrays.copyOf(numberOfActions, capacity);
+            totalRewards = Arrays.copyOf(totalRewards, capacity);
+            stopCriterionIds = Arrays.copyOf(stopCriterionIds, capacity);
+        }
+        int row = rows++;
+        numberOfActions[row] = episodeData.getNumberOfActions();
+        totalRewards[row] = episodeData.getTotalReward();
+        stopCriterionIds[row] = getStopCriterionId(episodeData.getOccurredEpisodeStopCriterion());
+        episodeData.attach(this, row);
+
         this.episodes.add(episodeData);
         Logger.CurrentData.currentEpisodeData = episodeData;
     }
-
+    /**
+     * Returns the episode with the passed number.
+     * Episodes are numbered consecutively starting at 1, so the episode is normally found by its index directly.
+     * Only if the numbering has gaps the list is searched.
+     *
+     * @param episodeNr The number of the episode.
+     * @return The episode data or null if no episode with the passed number exists.
+     */
     public EpisodeData getEpisodeData(int episodeNr) {
+        int index = episodeNr - 1;
+        if (index >= 0 && index < episodes.size()) {
+            EpisodeData episode = episodes.get(index);
+            if (episode.getEpisodeNr() == episodeNr) {
+                return episode;
+            }
+        }
         for (EpisodeData episode : episodes) {
             if (episode.getEpisodeNr() == episodeNr) {
                 return episode;
@@ -105,30 +169,6 @@ public class LevelData extends LogData {
         return optimalReward;
     }
 
-    public void refreshAverageNumberOfActions() {
-        double totalActionsTaken = 0.0d;
-        for (EpisodeData episodeData : this.episodes) {
-            totalActionsTaken += episodeData.getNumberOfActions();
-        }
-        this.averageNumberOfAction = totalActionsTaken / this.episodes.size();
-    }
-
-    public Double getAverageNumberOfActions() {
-        return averageNumberOfAction;
-    }
-
-    public void refreshAverageReward() {
-        double totalLevelReward = 0.0d;
-        for (EpisodeData episodeData : this.episodes) {
-            totalLevelReward += episodeData.getTotalReward();
-        }
-        this.averageReward = totalLevelReward / this.episodes.size();
-    }
-
-    public Double getAverageReward() {
-        return averageReward;
-    }
-
     public void refreshComplexity(ComplexityFunction complexityFunction) {
         this.complexity = complexityFunction.calculateComplexity(maze);
     }
@@ -137,6 +177,28 @@ public class LevelData extends LogData {
         return complexity;
     }
 
+    /**
+     * Stores a copy of the passed latencies as the latencies of the training phases in this level.
+     *
+     * @param phaseLatencies The latencies measured during this level.
+     */
+    public void setPhaseLatencies(PhaseLatencies phaseLatencies) {
+        this.phaseLatencies = new PhaseLatencies(phaseLatencies);
+    }
+
+    /**
+     * @return The latencies of the training phases in this level or null if they were not measured.
+     */
+    public PhaseLatencies getPhaseLatencies() {
+        return phaseLatencies;
+    }
+
+    /**
+     * Counts how often each of the passed episode stopping criteria occurred in this level. The result can be
+     * obtained with {@link #getEpisodeStopCriterionCounter()}.
+     *
+     * @param usedEpisodeStoppingCriteria The episode stopping criteria that are counted.
+     */
     public void refreshEpisodeStoppingCriteriaOccurrences(List<Criterion> usedEpisodeStoppingCriteria) {
         // add names of episode stopping criteria in a sorted order to the head line
         ArrayList<Criterion> episodeStoppingCriteria = new ArrayList<>(usedEpisodeStoppingCriteria);
@@ -144,13 +206,8 @@ public class LevelData extends LogData {
         // create TreeMap that will count how often which criterion has occurred
         this.episodeStopCriterionCounter = createCriterionCounterTreeMap(episodeStoppingCriteria);
 
-        for (EpisodeData episodeData : this.episodes) {
-            // check which episode stopping criterion occurred and increase the counter of the criterion
-            Criterion occurredEpisodeStoppingCriterion = episodeData.getOccurredEpisodeStopCriterion();
-            if (episodeStopCriterionCounter.containsKey(occurredEpisodeStoppingCriterion)) {
-                int oldCounterValue = episodeStopCriterionCounter.get(occurredEpisodeStoppingCriterion);
-                episodeStopCriterionCounter.replace(occurredEpisodeStoppingCriterion, oldCounterValue + 1);
-            }
+        for (Criterion criterion : episodeStoppingCriteria) {
+            episodeStopCriterionCounter.put(criterion, getEpisodeStopCriterionOccurrences(criterion));
         }
     }
 
@@ -174,6 +231,215 @@ public class LevelData extends LogData {
     }
 
 
+    public int getNumberOfEpisodes() {
+        return rows;
+    }
+
+    /**
+     * Returns the average number of actions of all episodes of this level.
+     *
+     * @return The average number of actions or null if the level has no episodes.
+     */
+    public Double getAverageNumberOfActions() {
+        if (rows == 0) return null;
+        return (closedActions.sum + numberOfActions[rows - 1]) / rows;
+    }
+
+    public int getMinNumberOfActions() {
+        if (rows == 0) return 0;
+        return (int) Math.min(closedActions.min, numberOfActions[rows - 1]);
+    }
+
+    public int getMaxNumberOfActions() {
+        if (rows == 0) return 0;
+        return (int) Math.max(closedActions.max, numberOfActions[rows - 1]);
+    }
+
+    /**
+     * Returns the population variance of the number of actions of all episodes of this level.
+     *
+     * @return The variance or 0 if the level has no episodes.
+     */
+    public double getNumberOfActionsVariance() {
+        if (rows == 0) return 0.0d;
+        return closedActions.getVarianceWith(numberOfActions[rows - 1]);
+    }
+
+    /**
+     * Returns the average total reward of all episodes of this level.
+     *
+     * @return The average reward or null if the level has no episodes.
+     */
+    public Double getAverageReward() {
+        if (rows == 0) return null;
+        return (closedRewards.sum + totalRewards[rows - 1]) / rows;
+    }
+
+    public double getMinReward() {
+        if (rows == 0) return 0.0d;
+        return Math.min(closedRewards.min, totalRewards[rows - 1]);
+    }
+
+    public double getMaxReward() {
+        if (rows == 0) return 0.0d;
+        return Math.max(closedRewards.max, totalRewards[rows - 1]);
+    }
+
+    /**
+     * Returns the population variance of the total rewards of all episodes of this level.
+     *
+     * @return The variance or 0 if the level has no episodes.
+     */
+    public double getRewardVariance() {
+        if (rows == 0) return 0.0d;
+        return closedRewards.getVarianceWith(totalRewards[rows - 1]);
+    }
+
+    /**
+     * Returns how often the passed episode stop criterion occurred in this level so far. Criteria are compared by
+     * their logger string.
+     *
+     * @param criterion The episode stop criterion.
+     * @return The number of episodes that were stopped by the criterion.
+     */
+    public int getEpisodeStopCriterionOccurrences(Criterion criterion) {
+        int id = findStopCriterionId(criterion);
+        if (id < 0) return 0;
+        int occurrences = id < closedStopCriterionCounts.length ? closedStopCriterionCounts[id] : 0;
+        if (rows > 0 && stopCriterionIds[rows - 1] == id) {
+            occurrences++;
+        }
+        return occurrences;
+    }
+
+    int getNumberOfActions(int row) {
+        return numberOfActions[row];
+    }
+
+    void setNumberOfActions(int row, int numberOfActions) {
+        this.numberOfActions[row] = numberOfActions;
+        rowChanged(row);
+    }
+
+    double getTotalReward(int row) {
+        return totalRewards[row];
+    }
+
+    void setTotalReward(int row, double totalReward) {
+        this.totalRewards[row] = totalReward;
+        rowChanged(row);
+    }
+
+    Criterion getOccurredEpisodeStopCriterion(int row) {
+        byte id = stopCriterionIds[row];
+        return id < 0 ? null : stopCriteria.get(id);
+    }
+
+    void setOccurredEpisodeStopCriterion(int row, Criterion criterion) {
+        this.stopCriterionIds[row] = getStopCriterionId(criterion);
+        rowChanged(row);
+    }
+
+    /**
+     * Adds the row to the statistics of the closed rows.
+     *
+     * @param row The row that will not be changed anymore in the regular training.
+     */
+    private void closeRow(int row) {
+        closedActions.add(numberOfActions[row]);
+        closedRewards.add(totalRewards[row]);
+        byte id = stopCriterionIds[row];
+        if (id >= 0) {
+            closedStopCriterionCounts[id]++;
+        }
+    }
+
+    /**
+     * Must be called after the values of a row were changed. Changes of the last row do not need any work. If a closed
+     * row was changed, which does not happen in the regular training, the statistics are calculated again.
+     *
+     * @param row The changed row.
+     */
+    private void rowChanged(int row) {
+        if (row == rows - 1) return;
+        closedActions.clear();
+        closedRewards.clear();
+        Arrays.fill(closedStopCriterionCounts, 0);
+        for (int i = 0; i < rows - 1; i++) {
+            closeRow(i);
+        }
+    }
+
+    private byte getStopCriterionId(Criterion criterion) {
+        if (criterion == null) return -1;
+        int id = findStopCriterionId(criterion);
+        if (id < 0) {
+            if (stopCriteria.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many different episode stop criteria.");
+            }
+            id = stopCriteria.size();
+            stopCriteria.add(criterion);
+            closedStopCriterionCounts = Arrays.copyOf(closedStopCriterionCounts, stopCriteria.size());
+        }
+        return (byte) id;
+    }
+
+    private int findStopCriterionId(Criterion criterion) {
+        for (int id = 0; id < stopCriteria.size(); id++) {
+            if (stopCriteria.get(id).getLoggerString().equals(criterion.getLoggerString())) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Running statistics of a column. The variance is calculated with Welford's algorithm.
+     */
+    private static class Statistics {
+        private int count;
+        private double sum;
+        private double min;
+        private double max;
+        private double mean;
+        private double m2;
+
+        Statistics() {
+            clear();
+        }
+
+        void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+
+        /**
+         * Returns the population variance of the added values together with the passed value, without adding it.
+         *
+         * @param value The additional value.
+         * @return The variance.
+         */
+        double getVarianceWith(double value) {
+            int n = count + 1;
+            double delta = value - mean;
+            return (m2 + delta * delta * count / n) / n;
+        }
+
+        void clear() {
+            count = 0;
+            sum = 0.0d;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+            mean = 0.0d;
+            m2 = 0.0d;
+        }
+    }
+
     @Override
     public String toString() {
         return Integer.toString(this.getLevelNr());
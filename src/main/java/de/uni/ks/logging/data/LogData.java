@@ -19,20 +19,41 @@ package de.uni.ks.logging.data;
 /**
  * This class is the base class for all logger data classes.
  * Reason for this is that all logger data classes must have a mixed log in which text messages can be stored.
+ * The mixed log is stored in a {@link ChunkedTextBuffer}, because text is appended to it very frequently (up to
+ * multiple times per action).
  */
 class LogData {
 
-    private String miscLog;
+    private ChunkedTextBuffer miscLog;
 
     LogData() {
-        miscLog = "";
+        miscLog = new ChunkedTextBuffer();
     }
 
+    /**
+     * Returns the mixed log as String. The String is created on every call after new text was added, use
+     * {@link #getMiscLogBuffer()} to write the log without copying it.
+     *
+     * @return The content of the mixed log.
+     */
     public String getMiscLog() {
+        return miscLog.toString();
+    }
+
+    public ChunkedTextBuffer getMiscLogBuffer() {
         return miscLog;
     }
 
     public void addTextToMiscLog(String text) {
-        this.miscLog += text + "\n";
+        this.miscLog.append(text);
+        this.miscLog.append('\n');
+    }
+
+    /**
+     * Replaces the mixed log by an empty one. The old buffer is not modified, so it can still be written by another
+     * thread.
+     */
+    void clearMiscLog() {
+        this.miscLog = new ChunkedTextBuffer();
     }
 }
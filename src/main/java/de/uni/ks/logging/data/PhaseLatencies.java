@@ -0,0 +1,174 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.data;
+
+import java.util.Arrays;
+
+/**
+ * <p> Histograms of the durations of the {@link TrainingPhase}s of a training. The durations are measured with
+ * {@link System#nanoTime()}. </p>
+ * <p> Every histogram has fixed buckets: durations below 16 ns get a bucket each, above that every power of two is
+ * divided into 16 buckets, so a percentile deviates by at most 1/16 from the measured duration. Durations of more
+ * than 2^40 ns (about 18 minutes) are counted in the last bucket. The counts of all phases are stored in a single
+ * primitive array, so recording a duration doesn't allocate. </p>
+ * <p> If the latencies are not enabled, {@link #start()} doesn't read the clock and {@link #stop(TrainingPhase, long)}
+ * does nothing, so the measurement points can stay in the code of the training. </p>
+ * <p> The latencies are recorded by the training thread only. Other threads may read them while they are recorded,
+ * e.g. to show them in the console, but may see a state in which a recorded duration is not complete yet. </p>
+ */
+public final class PhaseLatencies {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private static final TrainingPhase[] PHASES = TrainingPhase.values();
+
+    /**
+     * Latencies that ignore all calls, e.g. for agents whose phases are not measured.
+     */
+    public static final PhaseLatencies DISABLED = new PhaseLatencies(false);
+
+    private final boolean enabled;
+    private final long[] counts;
+
+    /**
+     * @param enabled True if durations are measured and recorded, false if all calls are ignored.
+     */
+    public PhaseLatencies(boolean enabled) {
+        this.enabled = enabled;
+        this.counts = new long[enabled ? PHASES.length * BUCKETS : 0];
+    }
+
+    /**
+     * Copy constructor, e.g. to keep the latencies of a finished level.
+     *
+     * @param latenciesToCopy The latencies that are copied.
+     */
+    public PhaseLatencies(PhaseLatencies latenciesToCopy) {
+        this.enabled = latenciesToCopy.enabled;
+        this.counts = latenciesToCopy.counts.clone();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks the start of a phase.
+     *
+     * @return The current value of {@link System#nanoTime()} or 0 if the latencies are not enabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of a phase from its start until now.
+     *
+     * @param phase The finished phase.
+     * @param start The value that {@link #start()} returned at the start of the phase.
+     */
+    public void stop(TrainingPhase phase, long start) {
+        if (enabled) {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the passed duration of a phase.
+     *
+     * @param phase           The phase.
+     * @param durationInNanos The duration of the phase in nanoseconds.
+     */
+    public void record(TrainingPhase phase, long durationInNanos) {
+        if (enabled) {
+            counts[phase.ordinal() * BUCKETS + getBucket(Math.max(0, durationInNanos))]++;
+        }
+    }
+
+    /**
+     * Removes all recorded durations, e.g. when a new level starts.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    /**
+     * @param phase The phase.
+     * @return The number of recorded durations of the phase.
+     */
+    public long getCount(TrainingPhase phase) {
+        if (!enabled) return 0;
+
+        long count = 0;
+        int offset = phase.ordinal() * BUCKETS;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            count += counts[offset + bucket];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the duration that the passed fraction of the recorded durations of the phase doesn't exceed.
+     *
+     * @param phase      The phase.
+     * @param percentile The fraction of the durations, in [0, 1], e.g. 0.99 for the 99th percentile.
+     * @return The highest duration of the bucket that contains the percentile in nanoseconds, or 0 if no duration
+     * of the phase was recorded.
+     */
+    public long getPercentile(TrainingPhase phase, double percentile) {
+        long count = getCount(phase);
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        int offset = phase.ordinal() * BUCKETS;
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[offset + bucket];
+            if (seen >= rank) return getHighestValue(bucket);
+        }
+        return getHighestValue(BUCKETS - 1);
+    }
+
+    /**
+     * @param phase The phase.
+     * @return The highest recorded duration of the phase (see {@link #getPercentile(TrainingPhase, double)}).
+     */
+    public long getMax(TrainingPhase phase) {
+        return getPercentile(phase, 1.0);
+    }
+
+    static int getBucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && value >= 1L << (MAX_EXPONENT + 1)) return BUCKETS - 1;
+
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getHighestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
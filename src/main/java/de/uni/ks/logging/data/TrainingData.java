@@ -41,7 +41,22 @@ public class TrainingData extends LogData {
         Logger.CurrentData.currentLevelData = levelData;
     }
 
+    /**
+     * Returns the level with the passed number.
+     * Levels are numbered consecutively starting at 1, so the level is normally found by its index directly.
+     * Only if the numbering has gaps the list is searched.
+     *
+     * @param levelNr The number of the level.
+     * @return The level data or null if no level with the passed number exists.
+     */
     public LevelData getLevelData(int levelNr) {
+        int index = levelNr - 1;
+        if (index >= 0 && index < levels.size()) {
+            LevelData level = levels.get(index);
+            if (level.getLevelNr() == levelNr) {
+                return level;
+            }
+        }
         for (LevelData level : levels) {
             if (level.getLevelNr() == levelNr) {
                 return level;
@@ -0,0 +1,75 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.data;
+
+/**
+ * The phases of a training step whose durations are measured if {@link de.uni.ks.configuration.Config#measurePhaseLatencies}
+ * is enabled (see {@link PhaseLatencies}).
+ */
+public enum TrainingPhase {
+
+    /**
+     * The exploration policy chooses the next action.
+     */
+    CHOOSE_ACTION("Choose Action", "action"),
+    /**
+     * The Q-Value of the chosen action is updated.
+     */
+    Q_UPDATE("Q Update", "update"),
+    /**
+     * The episode stopping criteria are checked.
+     */
+    EPISODE_STOP_CRITERION("Episode Stop Criterion", "stop"),
+    /**
+     * The level change criteria are checked.
+     */
+    LEVEL_CHANGE_CRITERIA("Level Change Criteria", "level"),
+    /**
+     * The maze is changed for the next level.
+     */
+    CHANGE_MAZE("Change Maze", "maze"),
+    /**
+     * The complexity of the maze is calculated.
+     */
+    COMPLEXITY("Complexity", "complexity"),
+    /**
+     * Messages and results are passed to the {@link de.uni.ks.logging.Logger}.
+     */
+    LOGGING("Logging", "log");
+
+    private final String loggerString;
+    private final String shortName;
+
+    TrainingPhase(String loggerString, String shortName) {
+        this.loggerString = loggerString;
+        this.shortName = shortName;
+    }
+
+    /**
+     * @return The name of the phase in the summary of the log.
+     */
+    public String getLoggerString() {
+        return loggerString;
+    }
+
+    /**
+     * @return The name of the phase in the progress line of the console.
+     */
+    public String getShortName() {
+        return shortName;
+    }
+}
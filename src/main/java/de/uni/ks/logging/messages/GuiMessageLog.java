@@ -20,17 +20,73 @@ import de.uni.ks.logging.Logger;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * This class is the data class of the UI log, which only stores text messages.
- * The messages must be stored in a {@link FXThreadTransformationList}, otherwise there will be problems with updating the UI {@link de.uni.ks.gui.simulator.view.LoggerView}.
+ * <p>
+ * The messages are written by the training thread into a ring buffer of fixed size without any locking. The FX thread
+ * moves the new messages in one batch per frame into the list that is displayed in
+ * {@link de.uni.ks.gui.simulator.view.LoggerView} (see {@link #drain()}). The list only keeps the latest messages, older
+ * messages are appended to a temporary file. If the FX thread can't keep up, messages that were overwritten in the
+ * ring buffer are skipped.
  */
 public class GuiMessageLog {
-    private ObservableList<String> messages;
-    private FXThreadTransformationList<String> messagesFX;
 
-    public GuiMessageLog() {
-        messages = FXCollections.observableArrayList();
-        messagesFX = new FXThreadTransformationList<>(messages);
+    // number of messages that can be written before the FX thread has to take them
+    static final int BUFFER_CAPACITY = 1 << 14;
+
+    // number of messages that are displayed
+    public static final int DEFAULT_MAX_DISPLAYED_MESSAGES = 5000;
+
+    // single thread for all logs that appends the removed messages to the files
+    private static final Executor SPILL_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "GUI Log Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final int maxDisplayedMessages;
+    private final Executor spillExecutor;
+
+    // written by the training thread
+    private final AtomicReferenceArray<Message> buffer = new AtomicReferenceArray<>(BUFFER_CAPACITY);
+    private final AtomicLong writtenMessages = new AtomicLong();
+
+    // only accessed by the FX thread
+    private long takenMessages;
+    private final ObservableList<String> messages = FXCollections.observableArrayList();
+
+    // only accessed by the spill executor
+    private Path spillFile;
+    private boolean spillFailed;
+
+    /**
+     * Creates a log that displays {@link #DEFAULT_MAX_DISPLAYED_MESSAGES} messages.
+     *
+     * @param name Name of the log, which is part of the name of the file with the older messages.
+     */
+    public GuiMessageLog(String name) {
+        this(name, DEFAULT_MAX_DISPLAYED_MESSAGES, SPILL_EXECUTOR);
+    }
+
+    GuiMessageLog(String name, int maxDisplayedMessages, Executor spillExecutor) {
+        if (maxDisplayedMessages <= 0)
+            throw new IllegalArgumentException("The number of displayed messages must be positive.");
+        this.name = name;
+        this.maxDisplayedMessages = maxDisplayedMessages;
+        this.spillExecutor = spillExecutor;
     }
 
     public void addTextToLog(String text) {
@@ -39,14 +95,120 @@ public class GuiMessageLog {
         int episodeNr = Logger.CurrentData.currentEpisodeData != null
                 ? Logger.CurrentData.currentEpisodeData.getEpisodeNr() : 0;
         int actionNr = Logger.CurrentData.currentActionNumber;
-        this.messages.add("Level " + levelNr + " | Episode " + episodeNr + " | Action " + actionNr + ": " + text + "\n");
+        add("Level " + levelNr + " | Episode " + episodeNr + " | Action " + actionNr + ": " + text + "\n");
     }
 
     public void addTextToLogWithoutPrefix(String text) {
-        this.messages.add(text + "\n");
+        add(text + "\n");
+    }
+
+    /**
+     * Writes a message into the ring buffer. Must only be called by one thread at a time, which is the training thread.
+     *
+     * @param message The message.
+     */
+    private void add(String message) {
+        long index = writtenMessages.get();
+        buffer.set((int) (index & (BUFFER_CAPACITY - 1)), new Message(index, message));
+        writtenMessages.set(index + 1);
     }
 
-    public FXThreadTransformationList<String> getMessages() {
-        return messagesFX;
+    /**
+     * Moves the messages that were written since the last call into the displayed list. The messages are added with one
+     * change of the list and the oldest messages above the limit are removed with another one and appended to the file.
+     * Must be called by the FX thread.
+     *
+     * @return The number of new messages.
+     */
+    public int drain() {
+        long written = writtenMessages.get();
+        if (written == takenMessages) return 0;
+
+        long first = Math.max(takenMessages, written - BUFFER_CAPACITY);
+        List<String> newMessages = new ArrayList<>((int) (written - first) + 2);
+        long skipped = first - takenMessages;
+        for (long index = first; index < written; index++) {
+            Message message = buffer.get((int) (index & (BUFFER_CAPACITY - 1)));
+            // the slot holds a newer message if the message was overwritten while the messages were read
+            if (message.index != index) {
+                skipped++;
+                continue;
+            }
+            if (skipped > 0) {
+                newMessages.add("... " + skipped + " messages skipped ...\n");
+                skipped = 0;
+            }
+            newMessages.add(message.text);
+        }
+        if (skipped > 0) {
+            newMessages.add("... " + skipped + " messages skipped ...\n");
+        }
+        takenMessages = written;
+
+        if (newMessages.size() >= maxDisplayedMessages) {
+            List<String> removed = new ArrayList<>(messages);
+            removed.addAll(newMessages.subList(0, newMessages.size() - maxDisplayedMessages));
+            messages.setAll(newMessages.subList(newMessages.size() - maxDisplayedMessages, newMessages.size()));
+            if (!removed.isEmpty()) spill(removed);
+        } else {
+            int excess = messages.size() + newMessages.size() - maxDisplayedMessages;
+            if (excess > 0) {
+                List<String> removedView = messages.subList(0, excess);
+                List<String> removed = new ArrayList<>(removedView);
+                removedView.clear();
+                spill(removed);
+            }
+            messages.addAll(newMessages);
+        }
+        return newMessages.size();
+    }
+
+    private void spill(List<String> removedMessages) {
+        spillExecutor.execute(() -> {
+            if (spillFailed) return;
+            try {
+                if (spillFile == null) {
+                    spillFile = Files.createTempFile("gui-log-" + name + "-", ".txt");
+                    System.out.println("Older messages of the UI log " + name + " are written to " + spillFile);
+                }
+                Files.write(spillFile, String.join("", removedMessages).getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                spillFailed = true;
+                System.err.println("Can't write older messages of the UI log " + name + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Returns the file with the messages that were removed from the displayed list or null if no messages have been
+     * removed yet. Must be called by the thread that writes the file.
+     *
+     * @return The file with the older messages.
+     */
+    Path getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Returns the displayed messages, which must only be accessed by the FX thread.
+     *
+     * @return The latest messages.
+     */
+    public ObservableList<String> getMessages() {
+        return messages;
+    }
+
+    /**
+     * A message in the ring buffer together with its number, which tells if the slot has been overwritten.
+     */
+    private static final class Message {
+        private final long index;
+        private final String text;
+
+        private Message(long index, String text) {
+            this.index = index;
+            this.text = text;
+        }
     }
 }
@@ -0,0 +1,140 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.remote;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/**
+ * Connects to a {@link ProgressServer} and reads the progress of the training. The config of the training is read
+ * while connecting, all further frames are passed to a {@link ProgressListener} by {@link #readFrame}.
+ */
+public class ProgressClient implements AutoCloseable {
+
+    private final Socket socket;
+    private final DataInputStream input;
+    private final String trainingName;
+    private final String config;
+
+    // maze of the previous level, which is needed to apply the changes of the next one
+    private ProgressProtocol.MazeCells maze;
+
+    private ProgressClient(Socket socket) throws IOException {
+        this.socket = socket;
+        this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        ByteBuffer hello = readFrameContent();
+        if (hello == null || hello.get() != ProgressProtocol.HELLO) {
+            throw new IOException("The server did not send the config of the training.");
+        }
+        this.trainingName = ProgressProtocol.decodeString(hello);
+        this.config = ProgressProtocol.decodeString(hello);
+    }
+
+    /**
+     * Connects to the server on the passed port of the loopback address.
+     *
+     * @param port The port of the server.
+     * @return The client.
+     * @throws IOException If the connection fails.
+     */
+    public static ProgressClient connect(int port) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        try {
+            return new ProgressClient(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    public String getTrainingName() {
+        return trainingName;
+    }
+
+    /**
+     * Returns the serialized config of the training.
+     *
+     * @return The config.
+     */
+    public String getConfig() {
+        return config;
+    }
+
+    /**
+     * Reads the next frame and passes it to the listener. Blocks until a frame is available.
+     *
+     * @param listener The listener.
+     * @return False if the server closed the connection, true otherwise.
+     * @throws IOException If reading fails.
+     */
+    public boolean readFrame(ProgressListener listener) throws IOException {
+        ByteBuffer frame = readFrameContent();
+        if (frame == null) return false;
+        switch (frame.get()) {
+            case ProgressProtocol.LEVEL:
+                int levelNr = frame.getInt();
+                maze = ProgressProtocol.decodeLevel(frame, maze);
+                listener.onLevel(levelNr, maze);
+                break;
+            case ProgressProtocol.STEP:
+                listener.onStep(frame.getInt(), frame.getInt(), frame.getInt(), frame.getDouble(), frame.getInt(),
+                        frame.getInt());
+                break;
+            case ProgressProtocol.EPISODE:
+                listener.onEpisode(frame.getInt(), frame.getInt(), frame.getInt(), frame.getDouble(), frame.get(),
+                        frame.get());
+                break;
+            case ProgressProtocol.EPISODES:
+                int episodesLevelNr = frame.getInt();
+                int numberOfEpisodes = frame.getInt();
+                for (int i = 0; i < numberOfEpisodes; i++) {
+                    listener.onEpisode(episodesLevelNr, frame.getInt(), frame.getInt(), frame.getDouble(), frame.get(),
+                            frame.get());
+                }
+                break;
+            default:
+                // unknown frames are skipped
+                break;
+        }
+        return true;
+    }
+
+    private ByteBuffer readFrameContent() throws IOException {
+        int length;
+        try {
+            length = input.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length <= 0 || length > ProgressProtocol.MAX_FRAME_LENGTH) {
+            throw new IOException("Received a frame with invalid length " + length + ".");
+        }
+        byte[] content = new byte[length];
+        input.readFully(content);
+        return ByteBuffer.wrap(content);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.remote;
+
+/**
+ * Receives the frames a {@link ProgressClient} reads. The methods are called by the thread that reads the frames.
+ */
+public interface ProgressListener {
+
+    /**
+     * Called when a new level started.
+     *
+     * @param levelNr The number of the level.
+     * @param maze    The maze of the level.
+     */
+    void onLevel(int levelNr, ProgressProtocol.MazeCells maze);
+
+    /**
+     * Called for a step of the training. Not every step is received.
+     *
+     * @param levelNr     The number of the level.
+     * @param episodeNr   The number of the episode.
+     * @param actionNr    The number of actions in the episode.
+     * @param totalReward The total reward of the episode.
+     * @param agentRow    The x position of the agent.
+     * @param agentColumn The y position of the agent.
+     */
+    void onStep(int levelNr, int episodeNr, int actionNr, double totalReward, int agentRow, int agentColumn);
+
+    /**
+     * Called when an episode has been finished.
+     *
+     * @param levelNr            The number of the level.
+     * @param episodeNr          The number of the episode.
+     * @param numberOfActions    The number of actions in the episode.
+     * @param totalReward        The total reward of the episode.
+     * @param stopCriterionIndex The index of the criterion that stopped the episode in the config or -1.
+     * @param next               What follows the episode, see {@link ProgressProtocol#NEXT_EPISODE}.
+     */
+    void onEpisode(int levelNr, int episodeNr, int numberOfActions, double totalReward, int stopCriterionIndex,
+                   byte next);
+}
@@ -0,0 +1,289 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.remote;
+
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory;
+import de.uni.ks.maze.NodeType;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * <p>Binary format of the frames a {@link ProgressServer} sends to a {@link ProgressClient}. Each frame starts with
+ * its length (int, without the length itself) and its type (byte), followed by the content of the type:</p>
+ * <ul>
+ *     <li>{@link #HELLO}: the name and the serialized config of the training (each as int length and UTF-8
+ *     bytes).</li>
+ *     <li>{@link #LEVEL}: level number (int), whether the maze is complete or only contains the cells that changed
+ *     since the previous level (byte), number of rows and columns (int, int), positions of start and end (4 int) and
+ *     the cells (complete: type and color of each cell; changes: number of cells (int) and row, column, type and
+ *     color of each cell).</li>
+ *     <li>{@link #STEP}: level number, episode number, number of actions (int), total reward (double) and the position
+ *     of the agent (int, int).</li>
+ *     <li>{@link #EPISODE}: level number, episode number, number of actions (int), total reward (double), index of the
+ *     stop criterion in the config or -1 (byte) and what follows the episode (byte, see {@link #NEXT_EPISODE}).</li>
+ *     <li>{@link #EPISODES}: several episodes of a level in one frame, which the server keeps instead of the single
+ *     episode frames. Level number, number of episodes (int) and for each episode the content of an {@link #EPISODE}
+ *     frame without the level number.</li>
+ * </ul>
+ * <p>The types of the cells are stored as the ordinal of {@link NodeType}, the colors as ARGB values.</p>
+ */
+public final class ProgressProtocol {
+
+    static final byte HELLO = 1;
+    static final byte LEVEL = 2;
+    static final byte STEP = 3;
+    static final byte EPISODE = 4;
+    static final byte EPISODES = 5;
+
+    // what follows a finished episode
+    public static final byte NEXT_EPISODE = 0;
+    public static final byte NEXT_LEVEL = 1;
+    public static final byte TRAINING_FINISHED = 2;
+
+    private static final byte COMPLETE_MAZE = 0;
+    private static final byte CHANGED_CELLS = 1;
+
+    // frames that are larger than this are rejected by the client
+    static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+    private static final int STEP_LENGTH = 1 + 3 * Integer.BYTES + Double.BYTES + 2 * Integer.BYTES;
+    private static final int EPISODE_LENGTH = 1 + 3 * Integer.BYTES + Double.BYTES + 2;
+    private static final int EPISODE_ENTRY_LENGTH = 2 * Integer.BYTES + Double.BYTES + 2;
+
+    private ProgressProtocol() {
+    }
+
+    static ByteBuffer encodeHello(String trainingName, String config) {
+        byte[] nameBytes = trainingName.getBytes(StandardCharsets.UTF_8);
+        byte[] configBytes = config.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + Integer.BYTES + nameBytes.length + Integer.BYTES + configBytes.length;
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+        buffer.putInt(length).put(HELLO).putInt(nameBytes.length).put(nameBytes).putInt(configBytes.length)
+                .put(configBytes);
+        return buffer.flip();
+    }
+
+    static String decodeString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static ByteBuffer encodeStep(int levelNr, int episodeNr, int actionNr, double totalReward, int agentRow,
+                                 int agentColumn) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + STEP_LENGTH);
+        buffer.putInt(STEP_LENGTH).put(STEP).putInt(levelNr).putInt(episodeNr).putInt(actionNr).putDouble(totalReward)
+                .putInt(agentRow).putInt(agentColumn);
+        return buffer.flip();
+    }
+
+    static ByteBuffer encodeEpisode(int levelNr, int episodeNr, int numberOfActions, double totalReward,
+                                    int stopCriterionIndex, byte next) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + EPISODE_LENGTH);
+        buffer.putInt(EPISODE_LENGTH).put(EPISODE).putInt(levelNr).putInt(episodeNr).putInt(numberOfActions)
+                .putDouble(totalReward).put((byte) stopCriterionIndex).put(next);
+        return buffer.flip();
+    }
+
+    /**
+     * Returns what follows the episode of an episode frame.
+     *
+     * @param episodeFrame The frame created by {@link #encodeEpisode(int, int, int, double, int, byte)}.
+     * @return What follows the episode, see {@link #NEXT_EPISODE}.
+     */
+    static byte getNext(ByteBuffer episodeFrame) {
+        return episodeFrame.get(Integer.BYTES + EPISODE_LENGTH - 1);
+    }
+
+    /**
+     * Combines the episode frames of a level into one frame.
+     *
+     * @param episodeFrames The frames created by {@link #encodeEpisode(int, int, int, double, int, byte)}, all of the
+     *                      same level.
+     * @return The frame.
+     */
+    static ByteBuffer encodeEpisodes(List<ByteBuffer> episodeFrames) {
+        int length = 1 + 2 * Integer.BYTES + episodeFrames.size() * EPISODE_ENTRY_LENGTH;
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+        buffer.putInt(length).put(EPISODES).putInt(episodeFrames.get(0).getInt(Integer.BYTES + 1))
+                .putInt(episodeFrames.size());
+        for (ByteBuffer episodeFrame : episodeFrames) {
+            // the entry is the content of the episode frame after its level number
+            buffer.put(episodeFrame.duplicate().position(Integer.BYTES + 1 + Integer.BYTES));
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Encodes the maze of a level. If the previous maze has the same size, only the cells that differ are encoded.
+     *
+     * @param levelNr  The number of the level.
+     * @param maze     The maze of the level.
+     * @param previous The maze of the previous level or null.
+     * @return The frame.
+     */
+    static ByteBuffer encodeLevel(int levelNr, MazeCells maze, MazeCells previous) {
+        boolean complete = previous == null || previous.rows != maze.rows || previous.columns != maze.columns;
+        int changedCells = 0;
+        if (!complete) {
+            for (int i = 0; i < maze.types.length; i++) {
+                if (maze.types[i] != previous.types[i] || maze.colors[i] != previous.colors[i]) changedCells++;
+            }
+        }
+
+        int length = 1 + Integer.BYTES + 1 + 6 * Integer.BYTES + (complete
+                ? maze.types.length * (1 + Integer.BYTES)
+                : Integer.BYTES + changedCells * (2 * Integer.BYTES + 1 + Integer.BYTES));
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + length);
+        buffer.putInt(length).put(LEVEL).putInt(levelNr).put(complete ? COMPLETE_MAZE : CHANGED_CELLS)
+                .putInt(maze.rows).putInt(maze.columns)
+                .putInt(maze.startRow).putInt(maze.startColumn).putInt(maze.endRow).putInt(maze.endColumn);
+        if (complete) {
+            for (int i = 0; i < maze.types.length; i++) {
+                buffer.put(maze.types[i]).putInt(maze.colors[i]);
+            }
+        } else {
+            buffer.putInt(changedCells);
+            for (int i = 0; i < maze.types.length; i++) {
+                if (maze.types[i] != previous.types[i] || maze.colors[i] != previous.colors[i]) {
+                    buffer.putInt(i / maze.columns).putInt(i % maze.columns).put(maze.types[i]).putInt(maze.colors[i]);
+                }
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the maze of a level frame, the type has already been read.
+     *
+     * @param buffer   The content of the frame.
+     * @param previous The maze of the previous level, which is needed if only the changed cells are contained.
+     * @return The maze of the level.
+     */
+    static MazeCells decodeLevel(ByteBuffer buffer, MazeCells previous) {
+        boolean complete = buffer.get() == COMPLETE_MAZE;
+        int rows = buffer.getInt();
+        int columns = buffer.getInt();
+        MazeCells maze;
+        if (complete) {
+            maze = new MazeCells(rows, columns);
+        } else if (previous == null || previous.rows != rows || previous.columns != columns) {
+            throw new IllegalStateException("Received changes of a maze without the previous maze.");
+        } else {
+            maze = new MazeCells(previous);
+        }
+        maze.startRow = buffer.getInt();
+        maze.startColumn = buffer.getInt();
+        maze.endRow = buffer.getInt();
+        maze.endColumn = buffer.getInt();
+        if (complete) {
+            for (int i = 0; i < maze.types.length; i++) {
+                maze.types[i] = buffer.get();
+                maze.colors[i] = buffer.getInt();
+            }
+        } else {
+            int changedCells = buffer.getInt();
+            for (int i = 0; i < changedCells; i++) {
+                int index = buffer.getInt() * columns + buffer.getInt();
+                maze.types[index] = buffer.get();
+                maze.colors[index] = buffer.getInt();
+            }
+        }
+        return maze;
+    }
+
+    /**
+     * Cells of a maze in primitive arrays, row by row.
+     */
+    public static final class MazeCells {
+        final int rows;
+        final int columns;
+        final byte[] types;
+        final int[] colors;
+        int startRow;
+        int startColumn;
+        int endRow;
+        int endColumn;
+
+        private MazeCells(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+            this.types = new byte[rows * columns];
+            this.colors = new int[rows * columns];
+        }
+
+        private MazeCells(MazeCells cells) {
+            this.rows = cells.rows;
+            this.columns = cells.columns;
+            this.types = cells.types.clone();
+            this.colors = cells.colors.clone();
+        }
+
+        /**
+         * Reads the cells of a maze.
+         *
+         * @param maze The maze.
+         */
+        MazeCells(Maze maze) {
+            this(maze.getMaze().length, maze.getMaze()[0].length);
+            NodeFactory.Node[][] nodes = maze.getMaze();
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    types[row * columns + column] = (byte) nodes[row][column].getNodeType().ordinal();
+                    colors[row * columns + column] = nodes[row][column].getColor().getRGB();
+                }
+            }
+            startRow = maze.getStartNode().getXPos();
+            startColumn = maze.getStartNode().getYPos();
+            endRow = maze.getEndNode().getXPos();
+            endColumn = maze.getEndNode().getYPos();
+        }
+
+        /**
+         * Creates a maze with these cells.
+         *
+         * @param nodeFactory The node factory of the maze, which must match the config of the training.
+         * @return The maze.
+         */
+        public Maze toMaze(NodeFactory nodeFactory) {
+            NodeType[] nodeTypes = NodeType.values();
+            NodeFactory.Node[][] nodes = new NodeFactory.Node[rows][columns];
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    int index = row * columns + column;
+                    NodeFactory.Node node;
+                    if (row == startRow && column == startColumn) {
+                        node = nodeFactory.buildStartNode();
+                    } else if (row == endRow && column == endColumn) {
+                        node = nodeFactory.buildEndNode();
+                    } else if (nodeTypes[types[index]] == NodeType.IMPASSABLE) {
+                        node = nodeFactory.buildWallNode();
+                    } else {
+                        node = nodeFactory.buildWayNode();
+                    }
+                    node.setColor(new Color(colors[index], true));
+                    nodes[row][column] = node;
+                }
+            }
+            return new Maze(nodeFactory, nodes, nodes[startRow][startColumn], nodes[endRow][endColumn]);
+        }
+    }
+}
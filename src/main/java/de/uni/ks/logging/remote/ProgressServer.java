@@ -0,0 +1,358 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.remote;
+
+import de.uni.ks.maze.Maze;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Publishes the progress of a training on a local TCP port, so a {@link ProgressClient} can show it while the
+ * training runs without UI. Viewers can connect and disconnect at any time.</p>
+ * <p>The training thread only encodes frames (see {@link ProgressProtocol}) and puts them into a queue, it never
+ * waits for the network. A separate thread sends them with a non-blocking selector. Levels and episodes are kept, so
+ * a viewer that connects later receives the whole progress first. The episodes are kept in
+ * {@link ProgressProtocol#EPISODES} frames of up to {@link #EPISODES_PER_FRAME} episodes of a level, which are shared
+ * by all viewers instead of being copied. Steps are only published if a viewer is connected,
+ * at most every {@link #STEP_INTERVAL_IN_NANOSECONDS} and only if the viewer took the previous frames, otherwise
+ * they are dropped. A viewer that can't keep up with levels and episodes is disconnected.</p>
+ */
+public class ProgressServer implements AutoCloseable {
+
+    // minimum time between two published steps
+    static final long STEP_INTERVAL_IN_NANOSECONDS = 10_000_000;
+
+    // maximum number of bytes that may wait for a viewer, without the progress that is sent after connecting
+    private static final int MAX_PENDING_BYTES = 8 * 1024 * 1024;
+
+    // maximum number of frames the training may put into the queue before the sending thread takes them
+    private static final int MAX_QUEUED_FRAMES = 100_000;
+
+    // maximum number of episodes that are combined into one frame of the progress
+    static final int EPISODES_PER_FRAME = 4096;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread senderThread;
+    private volatile boolean closed;
+
+    // frames from the training thread to the sending thread
+    private final ConcurrentLinkedQueue<ByteBuffer> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedFrames = new AtomicInteger();
+    private volatile boolean viewerConnected;
+    private volatile boolean framesPending;
+
+    // only accessed by the training thread
+    private long lastStepTime;
+    private ProgressProtocol.MazeCells publishedMaze;
+    private boolean framesLost;
+
+    // only accessed by the sending thread, the frames of the progress are only read through duplicates
+    private final List<ByteBuffer> progress = new ArrayList<>();
+    private final List<ByteBuffer> levelEpisodes = new ArrayList<>();
+    private final List<Viewer> viewers = new ArrayList<>();
+
+    private ProgressServer(ServerSocketChannel serverChannel, Selector selector, String trainingName, String config) {
+        this.serverChannel = serverChannel;
+        this.selector = selector;
+        progress.add(ProgressProtocol.encodeHello(trainingName, config));
+
+        senderThread = new Thread(this::run, "Progress Server");
+        senderThread.setDaemon(true);
+        senderThread.start();
+    }
+
+    /**
+     * Opens the server on the passed port of the loopback address.
+     *
+     * @param port         The port, 0 chooses a free port.
+     * @param trainingName The name of the training.
+     * @param config       The serialized config of the training, which is sent to each viewer first.
+     * @return The server.
+     * @throws IOException If the port can't be opened.
+     */
+    public static ProgressServer open(int port, String trainingName, String config) throws IOException {
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            serverChannel.configureBlocking(false);
+            Selector selector = Selector.open();
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            return new ProgressServer(serverChannel, selector, trainingName, config);
+        } catch (IOException e) {
+            serverChannel.close();
+            throw e;
+        }
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    // ################################################################################################################
+    // Methods of the training thread
+    // ################################################################################################################
+
+    /**
+     * Publishes the current step, if a viewer is connected and the previous step is old enough.
+     *
+     * @param levelNr     The number of the level.
+     * @param episodeNr   The number of the episode.
+     * @param actionNr    The number of actions in the episode.
+     * @param totalReward The total reward of the episode.
+     * @param agentRow    The x position of the agent.
+     * @param agentColumn The y position of the agent.
+     */
+    public void publishStep(int levelNr, int episodeNr, int actionNr, double totalReward, int agentRow,
+                            int agentColumn) {
+        if (!viewerConnected) return;
+        long now = System.nanoTime();
+        if (now - lastStepTime < STEP_INTERVAL_IN_NANOSECONDS) return;
+        lastStepTime = now;
+        offer(ProgressProtocol.encodeStep(levelNr, episodeNr, actionNr, totalReward, agentRow, agentColumn), false);
+    }
+
+    /**
+     * Publishes a finished episode.
+     *
+     * @param levelNr            The number of the level.
+     * @param episodeNr          The number of the episode.
+     * @param numberOfActions    The number of actions in the episode.
+     * @param totalReward        The total reward of the episode.
+     * @param stopCriterionIndex The index of the criterion that stopped the episode in the config or -1.
+     * @param next               What follows the episode, see {@link ProgressProtocol#NEXT_EPISODE}.
+     */
+    public void publishEpisode(int levelNr, int episodeNr, int numberOfActions, double totalReward,
+                               int stopCriterionIndex, byte next) {
+        offer(ProgressProtocol.encodeEpisode(levelNr, episodeNr, numberOfActions, totalReward, stopCriterionIndex,
+                next), false);
+    }
+
+    /**
+     * Publishes the maze of a new level. Only the cells that changed since the previous level are sent. Levels are
+     * never dropped, since the changed cells of the next level are based on this maze.
+     *
+     * @param levelNr The number of the level.
+     * @param maze    The maze of the level.
+     */
+    public void publishLevel(int levelNr, Maze maze) {
+        ProgressProtocol.MazeCells cells = new ProgressProtocol.MazeCells(maze);
+        offer(ProgressProtocol.encodeLevel(levelNr, cells, publishedMaze), true);
+        publishedMaze = cells;
+    }
+
+    private void offer(ByteBuffer frame, boolean neverDrop) {
+        if (closed) return;
+        if (!neverDrop && queuedFrames.get() >= MAX_QUEUED_FRAMES) {
+            if (!framesLost) {
+                framesLost = true;
+                System.err.println("The progress server can't keep up, viewers will miss parts of the training.");
+            }
+            return;
+        }
+        queuedFrames.incrementAndGet();
+        queue.add(frame);
+    }
+
+    // ################################################################################################################
+    // Methods of the sending thread
+    // ################################################################################################################
+
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select(STEP_INTERVAL_IN_NANOSECONDS / 1_000_000);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isReadable()) read((Viewer) key.attachment());
+                    if (key.isValid() && key.isWritable()) write((Viewer) key.attachment());
+                }
+                distributeQueuedFrames();
+
+                boolean pending = false;
+                for (Viewer viewer : viewers) {
+                    pending |= !viewer.pending.isEmpty();
+                }
+                framesPending = pending;
+            }
+        } catch (IOException e) {
+            if (!closed) System.err.println("The progress server stopped: " + e.getMessage());
+        } finally {
+            for (Viewer viewer : new ArrayList<>(viewers)) {
+                disconnect(viewer);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        Viewer viewer = new Viewer(channel);
+        viewer.key = channel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE, viewer);
+
+        // the progress so far, which doesn't count towards the limit of the viewer
+        distributeQueuedFrames();
+        for (ByteBuffer frame : progress) {
+            viewer.pending.add(frame.duplicate());
+        }
+        for (ByteBuffer frame : levelEpisodes) {
+            viewer.pending.add(frame.duplicate());
+        }
+        viewer.progressFrames = viewer.pending.size();
+        viewers.add(viewer);
+        viewerConnected = true;
+    }
+
+    private void read(Viewer viewer) {
+        // viewers don't send anything, a read only detects that the connection was closed
+        try {
+            if (viewer.channel.read(ByteBuffer.allocate(64)) < 0) disconnect(viewer);
+        } catch (IOException e) {
+            disconnect(viewer);
+        }
+    }
+
+    private void write(Viewer viewer) {
+        try {
+            while (!viewer.pending.isEmpty()) {
+                ByteBuffer buffer = viewer.pending.peek();
+                viewer.channel.write(buffer);
+                if (buffer.hasRemaining()) return;
+                viewer.pending.poll();
+                if (viewer.progressFrames > 0) {
+                    viewer.progressFrames--;
+                } else {
+                    viewer.pendingBytes -= buffer.limit();
+                }
+            }
+            viewer.key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException e) {
+            disconnect(viewer);
+        }
+    }
+
+    private void distributeQueuedFrames() {
+        ByteBuffer frame;
+        while ((frame = queue.poll()) != null) {
+            queuedFrames.decrementAndGet();
+            byte type = frame.get(Integer.BYTES);
+            boolean isStep = type == ProgressProtocol.STEP;
+            if (type == ProgressProtocol.EPISODE) {
+                levelEpisodes.add(frame);
+                if (ProgressProtocol.getNext(frame) != ProgressProtocol.NEXT_EPISODE
+                        || levelEpisodes.size() == EPISODES_PER_FRAME) {
+                    compactLevelEpisodes();
+                }
+            } else if (!isStep) {
+                compactLevelEpisodes();
+                progress.add(frame);
+            }
+
+            for (Viewer viewer : new ArrayList<>(viewers)) {
+                if (isStep && !viewer.pending.isEmpty()) continue;
+                if (!isStep && viewer.pendingBytes + frame.limit() > MAX_PENDING_BYTES) {
+                    System.err.println("A viewer of the progress server can't keep up and was disconnected.");
+                    disconnect(viewer);
+                    continue;
+                }
+                viewer.pending.add(frame.duplicate());
+                viewer.pendingBytes += frame.limit();
+                viewer.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    // replaces the kept episode frames of the current level by one frame
+    private void compactLevelEpisodes() {
+        if (levelEpisodes.isEmpty()) return;
+        progress.add(ProgressProtocol.encodeEpisodes(levelEpisodes));
+        levelEpisodes.clear();
+    }
+
+    private void disconnect(Viewer viewer) {
+        viewers.remove(viewer);
+        viewerConnected = !viewers.isEmpty();
+        viewer.key.cancel();
+        try {
+            viewer.channel.close();
+        } catch (IOException e) {
+            System.err.println("Closing the connection to a viewer failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the remaining frames and closes the server and all connections. The viewers get at most one second to
+     * take the remaining frames.
+     */
+    @Override
+    public void close() {
+        long deadline = System.nanoTime() + 1_000_000_000L;
+        while ((!queue.isEmpty() || framesPending) && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(STEP_INTERVAL_IN_NANOSECONDS / 1_000_000);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        closed = true;
+        selector.wakeup();
+        try {
+            senderThread.join(1000);
+            selector.close();
+            serverChannel.close();
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Closing the progress server failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A connected viewer and the frames that wait for it.
+     */
+    private static class Viewer {
+        private final SocketChannel channel;
+        private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+        private long pendingBytes;
+        // number of frames at the head of the pending frames that belong to the progress sent after connecting
+        private int progressFrames;
+        private SelectionKey key;
+
+        private Viewer(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -28,8 +28,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * This class is responsible for the node management of a maze.
@@ -437,6 +435,22 @@ public class NodeFactory {
             return list;
         }
 
+        /**
+         * Counts the neighbors that {@link #getPassableNeighbors()} would return without creating a list.
+         *
+         * @return Number of neighbors the agent could move to from this node.
+         */
+        public int getNumberOfPassableNeighbors() {
+            return countIfPassable(getLeftNeighbor())
+                    + countIfPassable(getUpperNeighbor())
+                    + countIfPassable(getRightNeighbor())
+                    + countIfPassable(getLowerNeighbor());
+        }
+
+        private int countIfPassable(Node neighbor) {
+            return neighbor != null && neighbor.getNodeType() != NodeType.IMPASSABLE ? 1 : 0;
+        }
+
         public List<Node> getDirectNeighbors() {
 
             ArrayList<Node> list = new ArrayList<>();
@@ -542,31 +556,57 @@ public class NodeFactory {
      * @return An Array that contains the colors of all neighbor nodes.
      */
     private static javafx.scene.paint.Color[] getColorsOfState(String state) {
-
-        // get content of every [] bracket
-        Matcher matcher = Pattern.compile("\\[([^\\]]+)").matcher(state);
-        ArrayList<String> tags = new ArrayList<>();
-        int pos = -1;
-        while (matcher.find(pos + 1)) {
-            pos = matcher.start();
-            tags.add(matcher.group(1));
-        }
+        int[] argbColors = getNeighbourColorsOfState(state);
 
         // create color for every rbg value tuple
         javafx.scene.paint.Color[] colors = new javafx.scene.paint.Color[8];
         for (int i = 0; i < 8; i++) {
-            String[] currentStringRGBValues = tags.get(i).split(",");
-            int rValue = Integer.parseInt(currentStringRGBValues[0].substring(2));
-            int gValue = Integer.parseInt(currentStringRGBValues[1].substring(2));
-            int bValue = Integer.parseInt(currentStringRGBValues[2].substring(2));
-
-            java.awt.Color color = new java.awt.Color(rValue, gValue, bValue);
+            java.awt.Color color = new java.awt.Color(argbColors[i], true);
             colors[i] = transformColor(color);
         }
 
         return colors;
     }
 
+    /**
+     * The method returns the colors of all neighbor nodes of the passed state as ARGB values, in the same order as
+     * {@link #getColorsOfState(String)}. The state is parsed without regular expressions, since this is done for every
+     * state shown in the GUI. Neighbors without color (outside of the maze) are black.
+     *
+     * @param state State whose neighborhood node colors will be extracted.
+     * @return An Array that contains the ARGB colors of all neighbor nodes.
+     */
+    public static int[] getNeighbourColorsOfState(String state) {
+        int[] colors = new int[8];
+        int pos = 0;
+        for (int i = 0; i < 8; i++) {
+            int end = state.indexOf('|', pos);
+            if (end < 0) end = state.length();
+            int bracket = state.indexOf('[', pos);
+            if (bracket < 0 || bracket > end) {
+                colors[i] = 0xFF000000;
+            } else {
+                int red = parseColorComponent(state, bracket + 1);
+                int green = parseColorComponent(state, state.indexOf(',', bracket) + 1);
+                int blue = parseColorComponent(state, state.indexOf(',', state.indexOf(',', bracket) + 1) + 1);
+                colors[i] = 0xFF000000 | red << 16 | green << 8 | blue;
+            }
+            pos = end + 1;
+        }
+        return colors;
+    }
+
+    // parses a color component like "r=255" that starts at the passed position
+    private static int parseColorComponent(String state, int start) {
+        int value = 0;
+        for (int i = start + 2; i < state.length(); i++) {
+            char c = state.charAt(i);
+            if (c < '0' || c > '9') break;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
     /**
      * The method returns an image that displays the neighbourhood of the passed state.
      *
@@ -24,6 +24,7 @@ import de.uni.ks.maze.NodeFactory.Node;
 import de.uni.ks.maze.complexityFunction.ComplexityFunction;
 import de.uni.ks.maze.utils.mazeOperators.MazeOperator;
 import de.uni.ks.maze.utils.mazeOperators.ResizeOperator;
+import de.uni.ks.random.RandomStream;
 
 import java.util.*;
 
@@ -127,7 +128,7 @@ public class MazeUtils {
     }
 
     /**
-     * Wraps {@link #changeMaze(Maze, ArrayList, List, double, Random)} with default values for {@code currentDiff}.
+     * Wraps {@link #changeMaze(Maze, ArrayList, List, double, RandomStream)} with default values for {@code currentDiff}.
      *
      * @param maze      The instance of {@link de.uni.ks.maze.Maze} that should be changed.
      * @param operators The list of {@link de.uni.ks.maze.utils.mazeOperators.MazeOperator} that can be
@@ -137,7 +138,7 @@ public class MazeUtils {
      * @return A value quantifying the actual change the operations did,
      * this will always be smaller or equal to @code{delta}.
      */
-    public static double changeMaze(Maze maze, List<MazeOperator> operators, double delta, Random random) {
+    public static double changeMaze(Maze maze, List<MazeOperator> operators, double delta, RandomStream random) {
         return changeMaze(maze, new ArrayList<>(operators), operators, delta, random);
     }
 
@@ -156,7 +157,7 @@ public class MazeUtils {
      * @return A value that quantifies the change that was made to the maze.
      */
     private static double changeMaze(Maze maze, ArrayList<MazeOperator> operators, List<MazeOperator> allOperators,
-                                     double delta, Random random) {
+                                     double delta, RandomStream random) {
 
         double currentDiff = 0.0;
 
@@ -22,10 +22,9 @@ import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory;
 import de.uni.ks.maze.NodeType;
 import de.uni.ks.maze.utils.MazeUtils;
+import de.uni.ks.random.RandomStream;
 
-import java.util.Collections;
 import java.util.Objects;
-import java.util.Random;
 import java.util.Stack;
 
 /**
@@ -39,7 +38,7 @@ public class ChangeOptimalPathOperator implements MazeOperator {
 
     private double costsPerOptimalPathLengthIncreasement;
     private NodeFactory.Node nodeToBlock;
-    private final Random random;
+    private final RandomStream random;
     private final int seed;
 
     public ChangeOptimalPathOperator(double costsPerOptimalPathLengthIncreasement, int seed) {
@@ -49,7 +48,7 @@ public class ChangeOptimalPathOperator implements MazeOperator {
         }
 
         this.seed = seed;
-        this.random = new Random(seed);
+        this.random = new RandomStream(seed);
         this.costsPerOptimalPathLengthIncreasement = costsPerOptimalPathLengthIncreasement;
     }
 
@@ -110,7 +109,7 @@ public class ChangeOptimalPathOperator implements MazeOperator {
         // find a node that can be blocked AND whose costs will be allowed
         double resultingOptimalPathLengthDifference = 0;
         double resultingCosts = 0;
-        Collections.shuffle(blockableOptimalPathNodes, random);
+        random.shuffle(blockableOptimalPathNodes);
         for (NodeFactory.Node node : blockableOptimalPathNodes) {
             // select a blockable node randomly
             resultingOptimalPathLengthDifference = getOptimalPathLengthDifference(maze, node);
@@ -22,6 +22,7 @@ import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory;
 import de.uni.ks.maze.NodeType;
 import de.uni.ks.maze.utils.MazeUtils;
+import de.uni.ks.random.RandomStream;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -39,7 +40,7 @@ public class DeadEndOperator implements MazeOperator {
     private double optimalPathAndParallelRoutesPreferencePercentage;
     private int minPathLen;
     private int maxPathLen;
-    private final Random random;
+    private final RandomStream random;
     private final int seed;
 
     private double costPerNode;
@@ -80,7 +81,7 @@ public class DeadEndOperator implements MazeOperator {
 
         this.seed = seed;
         this.optimalPathAndParallelRoutesPreferencePercentage = optimalPathAndParallelRoutesPreferencePercentage;
-        this.random = new Random(seed);
+        this.random = new RandomStream(seed);
         this.costPerNode = costPerNode;
         this.minPathLen = minPathLen;
         this.maxPathLen = maxPathLen;
@@ -137,8 +138,8 @@ public class DeadEndOperator implements MazeOperator {
                 .filter(p -> !optimalPathAndParallelRouteNodes.contains(p))
                 .collect(Collectors.toCollection(LinkedList::new));
 
-        Collections.shuffle(passableNodesWithoutParallelRouteAndOptimalPathNodes, random);
-        Collections.shuffle(optimalPathAndParallelRouteNodes, random);
+        random.shuffle(passableNodesWithoutParallelRouteAndOptimalPathNodes);
+        random.shuffle(optimalPathAndParallelRouteNodes);
 
         List<Stack<NodeFactory.Node>> possibleDeadEnds = new ArrayList<>();
 
@@ -206,7 +207,7 @@ public class DeadEndOperator implements MazeOperator {
         // Recursively call DFS on all neighbors
         List<Stack<NodeFactory.Node>> paths = new ArrayList<>();
         List<NodeFactory.Node> directNeighbors = start.getDirectNeighbors();
-        Collections.shuffle(directNeighbors, random); // Shuffle the neighbors to go in a random direction.
+        random.shuffle(directNeighbors); // Shuffle the neighbors to go in a random direction.
         for (NodeFactory.Node node : directNeighbors) {
             if (!visited.contains(node) && isValidNewWay(node, start, visited, maze)) {
 
@@ -22,6 +22,7 @@ import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory;
 import de.uni.ks.maze.NodeType;
 import de.uni.ks.maze.utils.MazeUtils;
+import de.uni.ks.random.RandomStream;
 
 import java.util.*;
 
@@ -40,7 +41,7 @@ public class NewPathOperator implements MazeOperator {
     private int minPathLen;
     private int maxPathLen;
     private double costPerNode;
-    private final Random random;
+    private final RandomStream random;
     private final int seed;
 
     public NewPathOperator(int minPathLen, int maxPathLen, double costPerNode, int seed) {
@@ -62,7 +63,7 @@ public class NewPathOperator implements MazeOperator {
         this.maxPathLen = maxPathLen;
         this.costPerNode = costPerNode;
         this.seed = seed;
-        this.random = new Random(seed);
+        this.random = new RandomStream(seed);
     }
 
     @Override
@@ -109,7 +110,7 @@ public class NewPathOperator implements MazeOperator {
 
         List<NodeFactory.Node> shortestPath = maze.getShortestPath();
 
-        Collections.shuffle(shortestPath, random); // We do not want to have a bias for nodes at the beginning.
+        random.shuffle(shortestPath); // We do not want to have a bias for nodes at the beginning.
 
         List<Stack<NodeFactory.Node>> paths = new ArrayList<>();
 
@@ -21,9 +21,9 @@ import de.uni.ks.logging.messages.GuiMessageType;
 import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory;
 import de.uni.ks.maze.NodeType;
+import de.uni.ks.random.RandomStream;
 
 import java.util.Objects;
-import java.util.Random;
 
 /**
  * This operator enlarges the maze, whereby the maze can only be enlarged to the right or downwards.
@@ -35,7 +35,7 @@ public class ResizeOperator implements MazeOperator {
     private double costsPerDimension;
     private int xIncreasementValue;
     private int yIncreasementValue;
-    private final Random random;
+    private final RandomStream random;
     private final int seed;
 
     public ResizeOperator(double costsPerDimension, int seed) {
@@ -45,7 +45,7 @@ public class ResizeOperator implements MazeOperator {
         }
 
         this.seed = seed;
-        this.random = new Random(seed);
+        this.random = new RandomStream(seed);
         this.costsPerDimension = costsPerDimension;
     }
 
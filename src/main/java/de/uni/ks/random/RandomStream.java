@@ -0,0 +1,92 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.random;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * <p>
+ * Source of pseudo random numbers for a single component, e.g. an exploration policy or a maze operator.
+ * The numbers are generated by a {@link SplittableRandom}, so unlike {@link java.util.Random} no atomic operations are
+ * needed. Therefore a stream must only be used by one thread at a time.
+ * </p>
+ * <p>
+ * A component that needs random numbers for several sub components creates an independent stream for each of them
+ * with {@link #split()} instead of creating multiple generators with the same seed, which would produce correlated
+ * numbers. The same applies to trainings that run in parallel. As long as the streams are split in the same order,
+ * all numbers are reproducible for the seed of the root stream.
+ * </p>
+ */
+public final class RandomStream {
+
+    private final SplittableRandom random;
+
+    /**
+     * Creates a new root stream.
+     *
+     * @param seed Determines which numbers are generated.
+     */
+    public RandomStream(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private RandomStream(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Creates a new stream whose numbers are independent of the numbers of this stream.
+     * Every call advances this stream, i.e. consecutive calls return different streams.
+     *
+     * @return The new stream.
+     */
+    public RandomStream split() {
+        return new RandomStream(random.split());
+    }
+
+    /**
+     * @return A uniformly distributed value between 0 (inclusive) and 1 (exclusive).
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * @param bound The upper bound (exclusive). Must be positive.
+     * @return A uniformly distributed value between 0 (inclusive) and the bound (exclusive).
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Randomly permutes the passed list, like {@link java.util.Collections#shuffle(List, java.util.Random)}.
+     *
+     * @param list The list to be shuffled.
+     */
+    public void shuffle(List<?> list) {
+        shuffleTyped(list);
+    }
+
+    private <T> void shuffleTyped(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+}
@@ -17,18 +17,26 @@
 package de.uni.ks;
 
 import de.uni.ks.agent.Agent;
+import de.uni.ks.agent.ConcurrentQTable;
+import de.uni.ks.configuration.Config;
+import de.uni.ks.configuration.ConfigManager;
 import de.uni.ks.criterion.Criterion;
 import de.uni.ks.criterion.changeLevel.MaxEpisodesReached;
 import de.uni.ks.criterion.stopEpisode.EndStateReached;
 import de.uni.ks.criterion.stopEpisode.MaxActionsReached;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.logging.data.EpisodeData;
+import de.uni.ks.logging.data.LevelData;
+import de.uni.ks.logging.data.PhaseLatencies;
+import de.uni.ks.logging.data.TrainingPhase;
 import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory.Node;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.util.Arrays;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 class TrainingTest {
 
@@ -138,4 +146,77 @@ class TrainingTest {
         assertTrue(training.checkForLevelChangeCriteria(), "no level change criterion is true");
 
     }
-}
\ No newline at end of file
+
+    // tests if the episodes of all actors of a parallel training are logged and counted by the level change criteria
+    @Test
+    void testParallelTraining() {
+        Config config = ConfigManager.readConfig(new File("src/test/resources/testConfig.cfg"));
+        config.showProgressBarInConsole = false;
+        config.numberOfActors = 4;
+        Training training = MazeSimulator.createTraining(config, false);
+
+        training.doTraining();
+
+        assertTrue(training.isFinished());
+        assertTrue(training.getAgent().getQTable() instanceof ConcurrentQTable, "actors share the Q-Table");
+        for (int levelNr = 1; levelNr <= config.numberOfLevels; levelNr++) {
+            LevelData levelData = Logger.trainingData.getLevelData(levelNr);
+
+            // MaxEpisodesReached(numberOfEpisodes = 21) counts the episodes of all actors
+            assertEquals(21, levelData.getNumberOfEpisodes());
+            for (int episodeNr = 1; episodeNr <= 21; episodeNr++) {
+                EpisodeData episodeData = levelData.getEpisodeData(episodeNr);
+                assertNotNull(episodeData, "episodes are numbered consecutively");
+                assertNotNull(episodeData.getOccurredEpisodeStopCriterion());
+                assertTrue(episodeData.getNumberOfActions() > 0);
+            }
+        }
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertFalse(thread.getName().startsWith("Actor "), "actors are stopped after the training");
+        }
+    }
+
+    // tests if the latencies of the training phases are stored for every finished level if they are measured
+    @Test
+    void testPhaseLatencies() {
+        Config config = ConfigManager.readConfig(new File("src/test/resources/testConfig.cfg"));
+        config.showProgressBarInConsole = false;
+        config.measurePhaseLatencies = true;
+        Training training = MazeSimulator.createTraining(config, false);
+
+        training.doTraining();
+
+        for (int levelNr = 1; levelNr <= config.numberOfLevels; levelNr++) {
+            LevelData levelData = Logger.trainingData.getLevelData(levelNr);
+            PhaseLatencies phaseLatencies = levelData.getPhaseLatencies();
+            assertNotNull(phaseLatencies);
+
+            // every step chooses an action and updates the Q-Table
+            int numberOfActions = 0;
+            for (EpisodeData episodeData : levelData.getEpisodes()) {
+                numberOfActions += episodeData.getNumberOfActions();
+            }
+            assertEquals(numberOfActions, phaseLatencies.getCount(TrainingPhase.CHOOSE_ACTION));
+            assertEquals(numberOfActions, phaseLatencies.getCount(TrainingPhase.Q_UPDATE));
+            assertEquals(numberOfActions, phaseLatencies.getCount(TrainingPhase.EPISODE_STOP_CRITERION));
+            assertEquals(levelData.getNumberOfEpisodes(), phaseLatencies.getCount(TrainingPhase.LEVEL_CHANGE_CRITERIA));
+
+            // the maze of the first level is built, the mazes of the other levels are changed
+            assertEquals(levelNr == 1 ? 0 : 1, phaseLatencies.getCount(TrainingPhase.CHANGE_MAZE));
+        }
+    }
+
+    // tests if the latencies of the training phases are not stored if they are not measured
+    @Test
+    void testPhaseLatenciesAreNotMeasuredByDefault() {
+        Config config = ConfigManager.readConfig(new File("src/test/resources/testConfig.cfg"));
+        config.showProgressBarInConsole = false;
+        Training training = MazeSimulator.createTraining(config, false);
+
+        training.doTraining();
+
+        for (int levelNr = 1; levelNr <= config.numberOfLevels; levelNr++) {
+            assertNull(Logger.trainingData.getLevelData(levelNr).getPhaseLatencies());
+        }
+    }
+}
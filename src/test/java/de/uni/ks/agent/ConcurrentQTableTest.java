@@ -0,0 +1,233 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import de.uni.ks.TestUtils;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentQTableTest {
+
+    private static final int NUMBER_OF_THREADS = 4;
+
+    // tests if the concurrent Q-Table behaves like a Q-Table for a single thread
+    @Test
+    void testSingleThread() {
+        Maze maze = TestUtils.getDefaultMaze();
+        Node node = maze.getStartNode();
+        ArrayList<Action> actions = new ArrayList<>();
+        actions.add(Action.UP);
+        actions.add(Action.LEFT);
+
+        ConcurrentQTable qTable = new ConcurrentQTable(0.5);
+        assertFalse(qTable.stateExists(node));
+        assertTrue(qTable.addEntry(node, actions));
+        assertFalse(qTable.addEntry(node, actions), "state is only added once");
+
+        assertTrue(qTable.stateExists(node));
+        assertTrue(qTable.actionExists(node, Action.UP));
+        assertFalse(qTable.actionExists(node, Action.DOWN));
+        assertEquals(1, qTable.size());
+        assertEquals(0.5, qTable.getQValue(node, Action.UP));
+
+        qTable.setQValue(node, Action.LEFT, 2.0);
+        assertEquals(2.0, qTable.getQValue(node, Action.LEFT));
+        assertEquals(2.0, qTable.getHighestQValueOfState(node));
+        assertThrows(RuntimeException.class, () -> qTable.setQValue(node, Action.DOWN, 1.0));
+
+        HashMap<Action, Double> expectedActions = new HashMap<>();
+        expectedActions.put(Action.UP, 0.5);
+        expectedActions.put(Action.LEFT, 2.0);
+        assertEquals(expectedActions, qTable.getActions(node));
+
+        qTable.clear();
+        assertEquals(0, qTable.size());
+        assertFalse(qTable.stateExists(node));
+    }
+
+    // tests if the copy of a concurrent Q-Table is a plain Q-Table with the same values
+    @Test
+    void testCopy() {
+        Maze maze = TestUtils.getDefaultMaze();
+        ConcurrentQTable qTable = new ConcurrentQTable(0.0);
+        double value = 0.0;
+        for (Node node : maze.getAllPassableNodes()) {
+            HashMap<Action, Double> actions = new HashMap<>();
+            actions.put(Action.RIGHT, value++);
+            if (!qTable.stateExists(node)) {
+                qTable.addEntry(node, actions);
+            }
+        }
+
+        QTable copy = new QTable(qTable);
+        assertEquals(QTable.class, copy.getClass());
+        assertEquals(qTable.getQTable(), copy.getQTable());
+        assertEquals(qTable.size(), copy.size());
+        assertEquals(copy.getCsvString(), qTable.getCsvString());
+    }
+
+    // tests if every state is added exactly once if several threads add the same states
+    @Test
+    void testConcurrentAddEntry() throws InterruptedException {
+        Maze maze = TestUtils.getPlainMaze();
+        LinkedHashMap<String, Node> nodesOfStates = new LinkedHashMap<>();
+        for (Node node : maze.getAllPassableNodes()) {
+            nodesOfStates.putIfAbsent(node.getState(), node);
+        }
+        List<Node> nodes = new ArrayList<>(nodesOfStates.values());
+
+        ConcurrentQTable qTable = new ConcurrentQTable(0.0);
+        AtomicInteger addedStates = new AtomicInteger();
+        runConcurrently(() -> {
+            for (Node node : nodes) {
+                ArrayList<Action> actions = new ArrayList<>();
+                actions.add(Action.DOWN);
+                if (qTable.addEntry(node, actions)) {
+                    addedStates.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(nodes.size(), addedStates.get());
+        assertEquals(nodes.size(), qTable.size());
+        for (Node node : nodes) {
+            assertEquals(0.0, qTable.getQValue(node, Action.DOWN));
+        }
+    }
+
+    // tests if states that several threads create at the same time are initialized, including the first states of
+    // new chunks
+    @Test
+    void testConcurrentAddEntryAcrossChunks() throws InterruptedException {
+        int numberOfStates = 3 * ConcurrentQTable.SLOTS_PER_CHUNK + 1;
+        for (int round = 0; round < 20; round++) {
+            ConcurrentQTable qTable = new ConcurrentQTable(0.0);
+            AtomicInteger nextThread = new AtomicInteger();
+            runConcurrently(() -> {
+                int thread = nextThread.getAndIncrement();
+                for (int i = thread; i < numberOfStates; i += NUMBER_OF_THREADS) {
+                    HashMap<Action, Double> actions = new HashMap<>();
+                    actions.put(Action.RIGHT, (double) i);
+                    assertTrue(qTable.addEntry("state " + i, actions));
+                    assertEquals(i, qTable.getQValue("state " + i, Action.RIGHT));
+                }
+            });
+
+            assertEquals(numberOfStates, qTable.size());
+            for (int i = 0; i < numberOfStates; i++) {
+                assertEquals(i, qTable.getQValue("state " + i, Action.RIGHT));
+                assertEquals(i, qTable.getHighestQValue("state " + i));
+            }
+        }
+    }
+
+    // tests if no update is lost if the threads use compare and replace
+    @Test
+    void testConcurrentTrackChanges() throws InterruptedException {
+        int numberOfStates = 2 * ConcurrentQTable.SLOTS_PER_CHUNK + 1;
+        ConcurrentQTable qTable = new ConcurrentQTable(0.0);
+        HashMap<Action, Double> actions = new HashMap<>();
+        actions.put(Action.UP, 0.0);
+        qTable.addEntry("untracked", actions);
+        qTable.setTrackChanges(true);
+        assertTrue(qTable.takeChangedStates().isEmpty(), "states added before tracking are not changed");
+
+        AtomicInteger nextThread = new AtomicInteger();
+        runConcurrently(() -> {
+            int thread = nextThread.getAndIncrement();
+            for (int i = thread; i < numberOfStates; i += NUMBER_OF_THREADS) {
+                qTable.addEntry("state " + i, new HashMap<>(actions));
+            }
+        });
+        Set<String> changedStates = qTable.takeChangedStates();
+        assertEquals(numberOfStates, changedStates.size());
+        for (int i = 0; i < numberOfStates; i++) {
+            assertTrue(changedStates.contains("state " + i));
+        }
+        assertTrue(qTable.takeChangedStates().isEmpty(), "changes were taken");
+
+        // every thread changes every 7th state, the other states stay unchanged
+        Set<String> expectedStates = new HashSet<>();
+        for (int i = 0; i < numberOfStates; i += 7) {
+            expectedStates.add("state " + i);
+        }
+        runConcurrently(() -> {
+            for (String state : expectedStates) {
+                double qValue = qTable.getQValue(state, Action.UP);
+                qTable.replaceQValue(state, Action.UP, qValue, qValue + 1.0);
+            }
+        });
+        assertEquals(expectedStates, qTable.takeChangedStates());
+        assertEquals(actions, qTable.getRow("untracked"));
+        assertNull(qTable.getRow("missing"));
+
+        qTable.setTrackChanges(false);
+        qTable.addEntry("state -1", new HashMap<>(actions));
+        assertTrue(qTable.takeChangedStates().isEmpty(), "changes are not tracked");
+    }
+
+    @Test
+    void testConcurrentReplaceQValue() throws InterruptedException {
+        Node node = TestUtils.getDefaultMaze().getStartNode();
+        ArrayList<Action> actions = new ArrayList<>();
+        actions.add(Action.UP);
+        ConcurrentQTable qTable = new ConcurrentQTable(0.0);
+        qTable.addEntry(node, actions);
+
+        int incrementsPerThread = 10000;
+        runConcurrently(() -> {
+            for (int i = 0; i < incrementsPerThread; i++) {
+                double oldQValue;
+                do {
+                    oldQValue = qTable.getQValue(node, Action.UP);
+                } while (!qTable.replaceQValue(node.getState(), Action.UP, oldQValue, oldQValue + 1.0));
+            }
+        });
+
+        assertEquals(NUMBER_OF_THREADS * incrementsPerThread, qTable.getQValue(node, Action.UP));
+    }
+
+    // runs the task in several threads and rethrows the first exception or failed assertion of a thread
+    private static void runConcurrently(Runnable task) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+            Thread thread = new Thread(task);
+            thread.setUncaughtExceptionHandler((failedThread, throwable) -> failure.compareAndSet(null, throwable));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            fail(failure.get());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExperienceReplayBufferTest {
+
+    private static final String[] STATES = {"a", "b", "c", "d"};
+
+    // tests if a reward that was observed once is propagated backwards to the start of a chain of states
+    @Test
+    void testRewardIsPropagatedBackwards() {
+        assertRewardIsPropagatedBackwards(false);
+    }
+
+    // tests if a reward that was observed once is propagated backwards when transitions are drawn by priority
+    @Test
+    void testRewardIsPropagatedBackwardsWithPrioritizedReplay() {
+        assertRewardIsPropagatedBackwards(true);
+    }
+
+    // tests if the oldest transitions are overwritten once the buffer is full
+    @Test
+    void testOldestTransitionsAreOverwritten() {
+        ExperienceReplayBuffer buffer = new ExperienceReplayBuffer(0.5, 0.9, 1, 2, false, 0);
+        QTable qTable = createChain();
+
+        buffer.add("a", Action.RIGHT, 1.0, "b");
+        buffer.add("b", Action.RIGHT, 1.0, "c");
+        buffer.add("c", Action.RIGHT, 1.0, "d");
+        assertEquals(2, buffer.size());
+        assertEquals(2, buffer.getCapacity());
+
+        // the transition of state a was overwritten and is never replayed
+        for (int i = 0; i < 100; i++) {
+            buffer.replay(qTable);
+        }
+        assertEquals(0.0, qTable.qTable.get("a").get(Action.RIGHT));
+        assertTrue(qTable.qTable.get("b").get(Action.RIGHT) > 0.0);
+        assertTrue(qTable.qTable.get("c").get(Action.RIGHT) > 0.0);
+    }
+
+    // tests if an empty or cleared buffer does not update the Q-Table
+    @Test
+    void testClear() {
+        ExperienceReplayBuffer buffer = new ExperienceReplayBuffer(0.5, 0.9, 10, 10, true, 0);
+        QTable qTable = createChain();
+        assertEquals(0, buffer.replay(qTable));
+
+        buffer.add("a", Action.RIGHT, 1.0, "b");
+        assertEquals(1, buffer.size());
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.replay(qTable));
+        assertEquals(0.0, qTable.qTable.get("a").get(Action.RIGHT));
+    }
+
+    // tests if transitions whose state action pair is not part of the Q-Table are skipped
+    @Test
+    void testUnknownStatesAreSkipped() {
+        ExperienceReplayBuffer buffer = new ExperienceReplayBuffer(0.5, 0.9, 10, 10, false, 0);
+        QTable qTable = createChain();
+
+        buffer.add("x", Action.RIGHT, 1.0, "a");
+        buffer.add("d", Action.RIGHT, 1.0, "y");
+        assertEquals(0, buffer.replay(qTable));
+    }
+
+    // tests if invalid parameters are rejected
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ExperienceReplayBuffer(0.5, 0.9, 0, 10, false, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ExperienceReplayBuffer(0.5, 0.9, 1, 0, true, 0));
+    }
+
+    private static void assertRewardIsPropagatedBackwards(boolean prioritized) {
+        ExperienceReplayBuffer buffer = new ExperienceReplayBuffer(0.5, 0.9, 1, 100, prioritized, 42);
+        QTable qTable = createChain();
+
+        // walk the chain once, only the last transition is rewarded
+        for (int i = 0; i < STATES.length - 1; i++) {
+            double reward = i == STATES.length - 2 ? 1.0 : 0.0;
+            buffer.add(STATES[i], Action.RIGHT, reward, STATES[i + 1]);
+        }
+
+        for (int i = 0; i < 1000 && qTable.qTable.get("a").get(Action.RIGHT) == 0.0; i++) {
+            buffer.replay(qTable);
+        }
+        assertTrue(qTable.qTable.get("a").get(Action.RIGHT) > 0.0);
+        assertTrue(qTable.qTable.get("b").get(Action.RIGHT) > qTable.qTable.get("a").get(Action.RIGHT));
+    }
+
+    private static QTable createChain() {
+        QTable qTable = new QTable(0.0);
+        for (String state : STATES) {
+            HashMap<Action, Double> actions = new HashMap<>();
+            actions.put(Action.RIGHT, 0.0);
+            qTable.qTable.put(state, actions);
+        }
+        return qTable;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedPriorityQueueTest {
+
+    // tests if the keys are polled in the order of their priorities
+    @Test
+    void testKeysArePolledByPriority() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue();
+        queue.offer(3, 0.5);
+        queue.offer(100, 2.0);
+        queue.offer(7, 1.0);
+        queue.offer(0, 0.1);
+
+        assertEquals(4, queue.size());
+        assertEquals(100, queue.poll());
+        assertEquals(7, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(0, queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(-1, queue.poll(), "an empty queue returns -1");
+    }
+
+    // tests if offering a contained key only raises its priority
+    @Test
+    void testOfferOnlyRaisesPriority() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue();
+        queue.offer(1, 1.0);
+        queue.offer(2, 2.0);
+
+        queue.offer(1, 3.0);
+        assertEquals(2, queue.size(), "the key is contained only once");
+        assertEquals(3.0, queue.getPriority(1));
+
+        queue.offer(2, 0.5);
+        assertEquals(2.0, queue.getPriority(2), "a lower priority is ignored");
+
+        assertEquals(1, queue.poll());
+        assertEquals(2, queue.poll());
+    }
+
+    // tests if a cleared queue is empty and can be reused
+    @Test
+    void testClear() {
+        IndexedPriorityQueue queue = new IndexedPriorityQueue();
+        queue.offer(1, 1.0);
+        queue.offer(2, 2.0);
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+
+        queue.offer(1, 0.5);
+        assertEquals(1, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrioritizedSweepingPlannerTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    // tests if a reward that was observed once is propagated backwards to the start of a chain of states
+    @Test
+    void testRewardIsPropagatedBackwards() throws InterruptedException {
+        double alpha = 0.5;
+        double gamma = 0.9;
+        QTable qTable = new QTable(0.0);
+        String[] states = {"a", "b", "c", "d"};
+        for (String state : states) {
+            HashMap<Action, Double> actions = new HashMap<>();
+            actions.put(Action.RIGHT, 0.0);
+            qTable.qTable.put(state, actions);
+        }
+
+        try (PrioritizedSweepingPlanner planner = new PrioritizedSweepingPlanner(alpha, gamma, 0.0, 100, 1.0E-6)) {
+            planner.start();
+
+            // walk the chain once, only the last transition is rewarded
+            for (int i = 0; i < states.length - 1; i++) {
+                double reward = i == states.length - 2 ? 1.0 : 0.0;
+                double newQValue = alpha * reward;
+                qTable.replaceQValue(states[i], Action.RIGHT, 0.0, newQValue);
+                planner.observe(states[i], Map.of(Action.RIGHT, newQValue), Action.RIGHT, reward, states[i + 1],
+                        Map.of(Action.RIGHT, 0.0), newQValue);
+            }
+
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (qTable.qTable.get("a").get(Action.RIGHT) == 0.0 && System.currentTimeMillis() < deadline) {
+                planner.applyUpdates(qTable);
+                Thread.sleep(1);
+            }
+
+            assertTrue(qTable.qTable.get("a").get(Action.RIGHT) > 0.0, "reward reached the first state");
+            assertTrue(planner.getNumberOfPlanningUpdates() > 0);
+            // the values can't exceed the discounted reward
+            assertTrue(qTable.qTable.get("a").get(Action.RIGHT) <= gamma * gamma);
+            assertTrue(qTable.qTable.get("c").get(Action.RIGHT) <= 1.0);
+        }
+    }
+
+    // tests if updates that were calculated before a reset are not applied
+    @Test
+    void testUpdatesBeforeResetAreIgnored() throws InterruptedException {
+        QTable qTable = new QTable(0.0);
+        HashMap<Action, Double> actions = new HashMap<>();
+        actions.put(Action.RIGHT, 0.0);
+        qTable.qTable.put("a", actions);
+
+        try (PrioritizedSweepingPlanner planner = new PrioritizedSweepingPlanner(0.5, 0.9, 0.0, 100, 1.0E-6)) {
+            planner.start();
+            planner.observe("a", Map.of(Action.RIGHT, 0.0), Action.RIGHT, 1.0, "a", Map.of(Action.RIGHT, 0.0), 0.0);
+
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (planner.getNumberOfPlanningUpdates() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertTrue(planner.getNumberOfPlanningUpdates() > 0);
+
+            planner.reset();
+            assertEquals(0, planner.applyUpdates(qTable));
+            assertEquals(0.0, qTable.qTable.get("a").get(Action.RIGHT));
+        }
+    }
+
+    // tests if the planner rejects invalid parameters
+    @Test
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new PrioritizedSweepingPlanner(0.5, 0.9, 0.0, 0, 1.0E-4));
+        assertThrows(IllegalArgumentException.class, () -> new PrioritizedSweepingPlanner(0.5, 0.9, 0.0, 1, -1.0));
+    }
+}
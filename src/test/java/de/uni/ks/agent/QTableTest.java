@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -497,4 +498,81 @@ class QTableTest {
         assertThrows(RuntimeException.class, () -> qTable.getHighestQValueOfState(node));
 
     }
+
+    // tests if added and changed states are recorded while changes are tracked
+    @Test
+    void testTrackChanges() {
+
+        Maze myMaze = TestUtils.getDefaultMaze();
+        Node start = myMaze.getStartNode();
+        Node end = myMaze.getEndNode();
+        assertNotEquals(start.getState(), end.getState());
+
+        ArrayList<Action> actions = new ArrayList<>();
+        actions.add(Action.UP);
+        actions.add(Action.DOWN);
+
+        // changes are not recorded by default
+        QTable qTable = new QTable(0.0d);
+        qTable.addEntry(start, actions);
+        assertFalse(qTable.isTrackingChanges());
+        assertTrue(qTable.takeChangedStates().isEmpty());
+
+        // record adding and changing of states
+        qTable.setTrackChanges(true);
+        qTable.addEntry(end, actions);
+        assertEquals(Set.of(end.getState()), qTable.takeChangedStates());
+        assertTrue(qTable.takeChangedStates().isEmpty(), "changes were taken");
+
+        qTable.setQValue(start, Action.UP, 1.0d);
+        qTable.setQValue(start, Action.DOWN, 2.0d);
+        qTable.setQValue(end, Action.UP, 3.0d);
+        assertEquals(Set.of(start.getState(), end.getState()), qTable.takeChangedStates());
+
+        // clearing discards the recorded changes
+        qTable.setQValue(end, Action.UP, 4.0d);
+        qTable.clear();
+        assertTrue(qTable.wasClearedSinceChangesTaken());
+        qTable.addEntry(start, actions);
+        assertEquals(Set.of(start.getState()), qTable.takeChangedStates());
+        assertFalse(qTable.wasClearedSinceChangesTaken());
+    }
+
+    // tests if a Q-Value is only replaced if it still has the expected value
+    @Test
+    void testReplaceQValue() {
+        Maze myMaze = TestUtils.getDefaultMaze();
+        Node node = myMaze.getStartNode();
+        QTable qTable = new QTable(0.0);
+        qTable.setTrackChanges(true);
+        ArrayList<Action> actions = new ArrayList<>();
+        actions.add(Action.UP);
+        qTable.addEntry(node, actions);
+        qTable.takeChangedStates();
+        Action action = Action.UP;
+
+        assertTrue(qTable.replaceQValue(node.getState(), action, 0.0, 1.0));
+        assertEquals(1.0, qTable.getQValue(node, action));
+        assertEquals(Set.of(node.getState()), qTable.takeChangedStates(), "the replaced Q-Value marks the state as changed");
+
+        assertFalse(qTable.replaceQValue(node.getState(), action, 0.0, 2.0), "outdated value is not replaced");
+        assertEquals(1.0, qTable.getQValue(node, action));
+        assertFalse(qTable.replaceQValue("unknown state", action, 0.0, 2.0), "unknown state is ignored");
+    }
+
+    // tests if a row is returned as a copy
+    @Test
+    void testGetRow() {
+        Node node = TestUtils.getDefaultMaze().getStartNode();
+        QTable qTable = new QTable(0.0);
+        ArrayList<Action> actions = new ArrayList<>();
+        actions.add(Action.UP);
+        qTable.addEntry(node, actions);
+
+        HashMap<Action, Double> row = qTable.getRow(node.getState());
+        assertEquals(qTable.getActions(node), row);
+        row.put(Action.UP, 1.0);
+        assertEquals(0.0, qTable.getQValue(node, Action.UP), "changing the row doesn't change the Q-Table");
+        assertNull(qTable.getRow("unknown state"));
+    }
 }
@@ -23,6 +23,7 @@ import de.uni.ks.maze.NodeFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 
 import static de.uni.ks.TestUtils.getDefaultMaze;
@@ -55,19 +56,18 @@ class EpsilonFirstPolicyTest {
         EpsilonFirstPolicy epsilonFirstPolicy = new EpsilonFirstPolicy(1, 0,
                 numberOfActions, 42);
 
-        // Policy behaves like random first
-        RandomPolicy randomPolicy = new RandomPolicy(42);
+        // Policy behaves like random first, i.e. every action is chosen regardless of its q value
+        EnumMap<Action, Integer> counts = new EnumMap<>(Action.class);
         for (int i = 0; i < numberOfActions; i++) {
-            Assertions.assertEquals(randomPolicy.chooseAction(center, qTable),
-                    epsilonFirstPolicy.chooseAction(center, qTable));
+            counts.merge(epsilonFirstPolicy.chooseAction(center, qTable), 1, Integer::sum);
+        }
+        for (Action action : Action.values()) {
+            Assertions.assertTrue(counts.getOrDefault(action, 0) > numberOfActions / 8);
         }
-
 
         // Policy then behaves like greedy
-        GreedyPolicy greedyPolicy = new GreedyPolicy(42);
         for (int i = 0; i < numberOfActions; i++) {
-            Assertions.assertEquals(greedyPolicy.chooseAction(center, qTable),
-                    epsilonFirstPolicy.chooseAction(center, qTable));
+            Assertions.assertEquals(Action.UP, epsilonFirstPolicy.chooseAction(center, qTable));
         }
     }
 }
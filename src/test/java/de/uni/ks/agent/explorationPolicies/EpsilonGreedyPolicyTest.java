@@ -24,8 +24,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 
 import static de.uni.ks.TestUtils.getDefaultMaze;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -54,22 +56,23 @@ class EpsilonGreedyPolicyTest {
         // add entry to q-table
         qTable.addEntry(center, actions);
 
-        // Test that the order of actions the policy chooses depends on the seed only, and not on the q-Value.
-        RandomPolicy randomPolicy = new RandomPolicy(42);
+        // Test that every action is chosen about equally often, regardless of the q-Value.
         EpsilonGreedyPolicy epsilonGreedyPolicy = new EpsilonGreedyPolicy(1, 42);
+        int tries = 10000;
+        EnumMap<Action, Integer> counts = new EnumMap<>(Action.class);
+        for (int i = 0; i < tries; i++) {
+            counts.merge(epsilonGreedyPolicy.chooseAction(center, qTable), 1, Integer::sum);
+        }
+        for (Action action : Action.values()) {
+            Assertions.assertEquals(tries / 4.0, counts.getOrDefault(action, 0), tries / 50.0);
+        }
 
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
-
-        randomPolicy = new RandomPolicy(33);
-        epsilonGreedyPolicy = new EpsilonGreedyPolicy(1, 33);
-
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
-        Assertions.assertEquals(randomPolicy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
+        // Test that the order of actions the policy chooses depends on the seed only.
+        EpsilonGreedyPolicy first = new EpsilonGreedyPolicy(1, 33);
+        EpsilonGreedyPolicy second = new EpsilonGreedyPolicy(1, 33);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(first.chooseAction(center, qTable), second.chooseAction(center, qTable));
+        }
     }
 
     // With low epsilon it should behave like greedy policy.
@@ -125,11 +128,14 @@ class EpsilonGreedyPolicyTest {
         qTable.addEntry(center, actions);
 
         // init greedy policy
-        GreedyPolicy greedy = new GreedyPolicy(1234);
         EpsilonGreedyPolicy epsilonGreedyPolicy = new EpsilonGreedyPolicy(0, 1234);
 
-        // check if greedy-policy selected greedy action RIGHT
-        assertEquals(greedy.chooseAction(center, qTable), epsilonGreedyPolicy.chooseAction(center, qTable));
+        // check if the policy only selects the greedy actions UP and RIGHT
+        EnumMap<Action, Integer> counts = new EnumMap<>(Action.class);
+        for (int i = 0; i < 100; i++) {
+            counts.merge(epsilonGreedyPolicy.chooseAction(center, qTable), 1, Integer::sum);
+        }
+        assertEquals(Set.of(Action.UP, Action.RIGHT), counts.keySet());
     }
 
     // Test that the policy behaves like greedy policy most of the time.
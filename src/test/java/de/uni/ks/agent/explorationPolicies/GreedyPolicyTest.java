@@ -90,7 +90,7 @@ class GreedyPolicyTest {
         // select action
         Action action = greedy.chooseAction(center, qTable);
 
-        // check if greedy policy selected greedy action RIGHT
-        assertEquals(Action.RIGHT, action, "select greedy action regarding to seed");
+        // check if greedy policy selected greedy action UP
+        assertEquals(Action.UP, action, "select greedy action regarding to seed");
     }
 }
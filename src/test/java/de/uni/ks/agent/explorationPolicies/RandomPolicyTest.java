@@ -59,7 +59,7 @@ class RandomPolicyTest {
         Action a4 = policy.chooseAction(center, qTable);
 
         Assertions.assertEquals(Action.DOWN, a1);
-        Assertions.assertEquals(Action.UP, a2);
+        Assertions.assertEquals(Action.RIGHT, a2);
         Assertions.assertEquals(Action.DOWN, a3);
         Assertions.assertEquals(Action.UP, a4);
 
@@ -70,10 +70,10 @@ class RandomPolicyTest {
         Action a7 = policy.chooseAction(center, qTable);
         Action a8 = policy.chooseAction(center, qTable);
 
-        Assertions.assertEquals(Action.DOWN, a5);
+        Assertions.assertEquals(Action.UP, a5);
         Assertions.assertEquals(Action.DOWN, a6);
-        Assertions.assertEquals(Action.LEFT, a7);
-        Assertions.assertEquals(Action.UP, a8);
+        Assertions.assertEquals(Action.RIGHT, a7);
+        Assertions.assertEquals(Action.DOWN, a8);
     }
 }
 
@@ -23,7 +23,9 @@ import de.uni.ks.maze.NodeFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Map;
 
 import static de.uni.ks.TestUtils.getDefaultMaze;
 
@@ -120,8 +122,8 @@ class SoftmaxPolicyTest {
 
         // check if softmax-policy chooses random actions
         Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.DOWN);
-        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.LEFT);
-        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.LEFT);
+        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.DOWN);
+        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.UP);
         Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.RIGHT);
     }
 
@@ -152,9 +154,62 @@ class SoftmaxPolicyTest {
 
         // check if softmax-policy chooses random actions
         Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.DOWN);
-        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.LEFT);
-        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.LEFT);
+        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.DOWN);
+        Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.UP);
         Assertions.assertEquals(softmaxPolicy.chooseAction(center, qTable), Action.RIGHT);
     }
 
+    // tests if the double precision calculation is only used if it is exact enough
+    @Test
+    void testDoublePrecisionIsUsedIfSufficient() {
+        Map<Action, Double> qValues = Map.of(Action.UP, 1.0, Action.RIGHT, 0.5, Action.DOWN, -0.5);
+
+        Assertions.assertTrue(new SoftmaxPolicy(1, 1, 1234).isDoublePrecisionSufficient(qValues));
+        Assertions.assertTrue(new SoftmaxPolicy(0.001, 10, 1234).isDoublePrecisionSufficient(qValues));
+        Assertions.assertFalse(new SoftmaxPolicy(1, SoftmaxPolicy.MAX_DOUBLE_PRECISION + 1, 1234).isDoublePrecisionSufficient(qValues));
+        Assertions.assertFalse(new SoftmaxPolicy(1e-10, 10, 1234).isDoublePrecisionSufficient(qValues));
+        Assertions.assertFalse(new SoftmaxPolicy(1, 10, 1234).isDoublePrecisionSufficient(Map.of(Action.UP, Double.NaN)));
+        Assertions.assertFalse(new SoftmaxPolicy(1, 10, 1234).isDoublePrecisionSufficient(Map.of()));
+    }
+
+    // tests if the double precision and the big decimal calculation choose actions with the same distribution
+    @Test
+    void testDoubleAndBigDecimalDistributionsAreIdentical() {
+        Maze myMaze = getDefaultMaze();
+        NodeFactory.Node center = myMaze.getStartNode();
+
+        HashMap<Action, Double> actions = new HashMap<>();
+        actions.put(Action.UP, 1.0);
+        actions.put(Action.RIGHT, 0.5);
+        actions.put(Action.DOWN, 0.2);
+        actions.put(Action.LEFT, -0.3);
+        QTable qTable = new QTable(0.0);
+        qTable.addEntry(center, actions);
+
+        double temperature = 0.5;
+        SoftmaxPolicy doublePolicy = new SoftmaxPolicy(temperature, 10, 1234);
+        SoftmaxPolicy bigDecimalPolicy = new SoftmaxPolicy(temperature, 30, 1234);
+        Assertions.assertTrue(doublePolicy.isDoublePrecisionSufficient(actions));
+        Assertions.assertFalse(bigDecimalPolicy.isDoublePrecisionSufficient(actions));
+
+        int numberOfDraws = 20000;
+        Map<Action, Integer> doubleCounts = new EnumMap<>(Action.class);
+        Map<Action, Integer> bigDecimalCounts = new EnumMap<>(Action.class);
+        for (int i = 0; i < numberOfDraws; i++) {
+            doubleCounts.merge(doublePolicy.chooseAction(center, qTable), 1, Integer::sum);
+            bigDecimalCounts.merge(bigDecimalPolicy.chooseAction(center, qTable), 1, Integer::sum);
+        }
+
+        // both calculations consume the same random numbers, so they have to choose the same actions
+        Assertions.assertEquals(bigDecimalCounts, doubleCounts);
+
+        // the relative frequencies have to match the Gibbs/Boltzmann distribution
+        double denominator = actions.values().stream().mapToDouble(q -> Math.exp(q / temperature)).sum();
+        for (Map.Entry<Action, Double> entry : actions.entrySet()) {
+            double expectedProbability = Math.exp(entry.getValue() / temperature) / denominator;
+            double frequency = doubleCounts.getOrDefault(entry.getKey(), 0) / (double) numberOfDraws;
+            Assertions.assertEquals(expectedProbability, frequency, 0.01);
+        }
+    }
+
 }
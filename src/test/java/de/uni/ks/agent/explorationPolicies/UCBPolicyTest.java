@@ -0,0 +1,108 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.agent.explorationPolicies;
+
+import de.uni.ks.agent.Action;
+import de.uni.ks.agent.QTable;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+
+import static de.uni.ks.TestUtils.getDefaultMaze;
+
+class UCBPolicyTest {
+
+    // tests if every action is tried once before any action is chosen a second time
+    @Test
+    void testUntriedActionsAreChosenFirst() {
+        Maze myMaze = getDefaultMaze();
+        NodeFactory.Node center = myMaze.getStartNode();
+        QTable qTable = createQTable(center);
+
+        UCBPolicy ucbPolicy = new UCBPolicy(1, 1234);
+
+        EnumSet<Action> chosenActions = EnumSet.noneOf(Action.class);
+        for (int i = 0; i < 4; i++) {
+            Action action = ucbPolicy.chooseAction(center, qTable);
+            Assertions.assertTrue(chosenActions.add(action), "action " + action + " was chosen twice");
+            ucbPolicy.postProcessing(center, action, qTable.getQValue(center, action), null, qTable);
+        }
+
+        for (Action action : Action.values()) {
+            Assertions.assertEquals(1, ucbPolicy.getVisits(center, action));
+        }
+    }
+
+    // tests if the policy behaves like the greedy-policy without exploration bonus once all actions were tried
+    @Test
+    void testWithoutExplorationBonus() {
+        Maze myMaze = getDefaultMaze();
+        NodeFactory.Node center = myMaze.getStartNode();
+        QTable qTable = createQTable(center);
+
+        UCBPolicy ucbPolicy = new UCBPolicy(0, 1234);
+        for (int i = 0; i < 100; i++) {
+            Action action = ucbPolicy.chooseAction(center, qTable);
+            ucbPolicy.postProcessing(center, action, qTable.getQValue(center, action), null, qTable);
+        }
+
+        Assertions.assertEquals(97, ucbPolicy.getVisits(center, Action.UP));
+        Assertions.assertEquals(1, ucbPolicy.getVisits(center, Action.LEFT));
+    }
+
+    // tests if rarely chosen actions are chosen again once their bound exceeds the q value of the best action
+    @Test
+    void testRarelyChosenActionsAreExplored() {
+        Maze myMaze = getDefaultMaze();
+        NodeFactory.Node center = myMaze.getStartNode();
+        QTable qTable = createQTable(center);
+
+        UCBPolicy ucbPolicy = new UCBPolicy(1, 1234);
+        for (int i = 0; i < 1000; i++) {
+            Action action = ucbPolicy.chooseAction(center, qTable);
+            ucbPolicy.postProcessing(center, action, qTable.getQValue(center, action), null, qTable);
+        }
+
+        // the greedy action is chosen most of the time, but every other action is still explored
+        Assertions.assertTrue(ucbPolicy.getVisits(center, Action.UP) > 500);
+        for (Action action : EnumSet.of(Action.RIGHT, Action.DOWN, Action.LEFT)) {
+            Assertions.assertTrue(ucbPolicy.getVisits(center, action) > 10);
+        }
+    }
+
+    // tests if a negative exploration parameter is rejected
+    @Test
+    void testNegativeExplorationParameter() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new UCBPolicy(-1, 1234));
+    }
+
+    private static QTable createQTable(NodeFactory.Node node) {
+        HashMap<Action, Double> actions = new HashMap<>();
+        actions.put(Action.UP, 1.0);
+        actions.put(Action.RIGHT, 0.5);
+        actions.put(Action.DOWN, 0.5);
+        actions.put(Action.LEFT, 0.5);
+
+        QTable qTable = new QTable(0.5);
+        qTable.addEntry(node, actions);
+        return qTable;
+    }
+}
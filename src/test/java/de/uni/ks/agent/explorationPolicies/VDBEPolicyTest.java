@@ -169,4 +169,23 @@ class VDBEPolicyTest {
         Assertions.assertEquals(0.375, vdbePolicy.getEpsilon(center));
     }
 
+    // tests if the activation value equals the difference of the Boltzmann probabilities and can't overflow
+    @Test
+    void testBoltzmannActivation() {
+        double[][] qValuePairs = {{0.5, 5}, {5, 0.5}, {-3, 2}, {0.1, 0.1000001}, {10, 10}};
+        for (double inverseSensitivity : new double[]{0.5, 3, 100}) {
+            for (double[] qValues : qValuePairs) {
+                double oldETerm = Math.exp(qValues[0] / inverseSensitivity);
+                double newETerm = Math.exp(qValues[1] / inverseSensitivity);
+                double expected = Math.abs(oldETerm - newETerm) / (oldETerm + newETerm);
+                Assertions.assertEquals(expected, VDBEPolicy.boltzmannActivation(qValues[0], qValues[1], inverseSensitivity), 1e-12);
+            }
+        }
+
+        // exp(Q/inverseSensitivity) would overflow for these values
+        Assertions.assertEquals(1.0, VDBEPolicy.boltzmannActivation(0, 1000, 0.001));
+        Assertions.assertEquals(1.0, VDBEPolicy.boltzmannActivation(-Double.MAX_VALUE, Double.MAX_VALUE, 1e-300));
+        Assertions.assertEquals(0.0, VDBEPolicy.boltzmannActivation(1e300, 1e300, 1e-300));
+    }
+
 }
@@ -21,6 +21,7 @@ import de.uni.ks.criterion.changeLevel.MaxEpisodesReached;
 import de.uni.ks.criterion.changeLevel.PerformanceAchievedPercentageTolerance;
 import de.uni.ks.criterion.stopEpisode.EndStateReached;
 import de.uni.ks.criterion.stopEpisode.MaxActionsReached;
+import de.uni.ks.logging.LogVerbosity;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -68,6 +69,9 @@ class ConfigManagerTest {
         assertTrue(config.horizontal);
         assertFalse(config.startEachLevelWithEmptyQTable);
 
+        // enum keys
+        assertEquals(LogVerbosity.EPISODE, config.logVerbosity);
+
         // exploration policy
         assertTrue(config.explorationPolicy instanceof GreedyPolicy);
         assertEquals(123456, ((GreedyPolicy) config.explorationPolicy).getSeed());
@@ -100,6 +104,9 @@ class ConfigManagerTest {
         // String
         String configFileName
                 = ConfigManager.parseField(config.getClass().getField(identifiers.getTrainingName()), config);
+        // Enum
+        String logVerbosity
+                = ConfigManager.parseField(config.getClass().getField("logVerbosity"), config);
         // ExplorationPolicy
         String explorationPolicy
                 = ConfigManager.parseField(config.getClass().getField(identifiers.getExplorationPolicy()), config);
@@ -113,6 +120,7 @@ class ConfigManagerTest {
         assertEquals(config.generatedWallColorsSeed.toString(), generatedWallColorsSeed);
         assertEquals(config.qLearningAlpha.toString(), qLearningAlpha);
         assertEquals(config.trainingName, configFileName);
+        assertEquals(config.logVerbosity.name(), logVerbosity);
 
         assertEquals(config.explorationPolicy.myConfigString(), explorationPolicy);
 
@@ -219,4 +227,16 @@ class ConfigManagerTest {
         boolean fileWasDeleted = configFile.delete();
         Assertions.assertTrue(fileWasDeleted);
     }
+
+    // tests if planning is rejected in a parallel training, since the planner needs a single writer of the Q-Table
+    @Test
+    void testPlanningWithActorsIsRejected() {
+        Config config = ConfigManager.readConfig(new File("src/test/resources/testConfig.cfg"));
+        config.numberOfActors = 2;
+        config.planningUpdatesPerStep = 0;
+        ConfigManager.validateConfig(config);
+
+        config.planningUpdatesPerStep = 5;
+        assertThrows(IllegalArgumentException.class, () -> ConfigManager.validateConfig(config));
+    }
 }
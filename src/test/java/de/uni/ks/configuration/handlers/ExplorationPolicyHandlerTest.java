@@ -16,12 +16,17 @@
 */
 package de.uni.ks.configuration.handlers;
 
+import de.uni.ks.agent.explorationPolicies.ExplorationPolicy;
 import de.uni.ks.agent.explorationPolicies.GreedyPolicy;
+import de.uni.ks.agent.explorationPolicies.UCBPolicy;
 import de.uni.ks.configuration.Config;
 import de.uni.ks.configuration.Identifiers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.List;
+
 class ExplorationPolicyHandlerTest {
 
     private final Identifiers identifiers = new Identifiers();
@@ -59,4 +64,32 @@ class ExplorationPolicyHandlerTest {
 
         Assertions.assertEquals(greedyPolicy, config.explorationPolicy);
     }
+
+    @Test
+    void testHandlerCreatesUCBPolicy() throws NoSuchFieldException {
+        KeyHandler handler = new ExplorationPolicyHandler();
+
+        Config config = new Config();
+
+        handler.handle(identifiers.getExplorationPolicy(), "UCBPolicy(c = 1.5, seed = 55)", config);
+
+        Assertions.assertEquals(new UCBPolicy(1.5, 55), config.explorationPolicy);
+    }
+
+    // tests if the copies of a policy keep its parameters, but get different seeds
+    @Test
+    void testCreatePoliciesWithSplitSeeds() {
+        UCBPolicy policy = new UCBPolicy(1.5, 55);
+
+        List<ExplorationPolicy> copies = ExplorationPolicyHandler.createPoliciesWithSplitSeeds(policy, 3);
+
+        Assertions.assertEquals(3, copies.size());
+        Assertions.assertEquals(3, new HashSet<>(copies).size(), "every copy has its own seed");
+        for (ExplorationPolicy copy : copies) {
+            Assertions.assertTrue(copy.myConfigString().startsWith("UCBPolicy(c = 1.5, seed = "));
+            Assertions.assertNotEquals(policy, copy);
+        }
+        Assertions.assertEquals(copies, ExplorationPolicyHandler.createPoliciesWithSplitSeeds(policy, 3),
+                "the seeds depend on the seed of the policy only");
+    }
 }
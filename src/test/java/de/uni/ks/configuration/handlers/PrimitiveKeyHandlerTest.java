@@ -17,6 +17,7 @@
 package de.uni.ks.configuration.handlers;
 
 import de.uni.ks.configuration.Config;
+import de.uni.ks.logging.LogVerbosity;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -41,6 +42,8 @@ class PrimitiveKeyHandlerTest {
         Assertions.assertThrows(HandlerUtils.ConfigurationReaderException.class,
                 () -> handler.handle(Config.class.getField("generatedWayColorsSeed").getName(),
                         "22.22", config));
+        Assertions.assertThrows(HandlerUtils.ConfigurationReaderException.class,
+                () -> handler.handle("logVerbosity", "EVERYTHING", config));
     }
 
     @Test
@@ -52,9 +55,11 @@ class PrimitiveKeyHandlerTest {
         handler.handle("generatedWallColorsSeed", "11", config);
         handler.handle("qLearningAlpha", "22.22", config);
         handler.handle("horizontal", "True", config);
+        handler.handle("logVerbosity", "LEVEL", config);
 
         Assertions.assertEquals(11, config.generatedWallColorsSeed.intValue());
         Assertions.assertEquals(22.22, config.qLearningAlpha.doubleValue());
         Assertions.assertTrue(config.horizontal);
+        Assertions.assertEquals(LogVerbosity.LEVEL, config.logVerbosity);
     }
 }
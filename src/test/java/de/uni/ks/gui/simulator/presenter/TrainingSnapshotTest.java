@@ -0,0 +1,86 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.presenter;
+
+import de.uni.ks.MazeSimulator;
+import de.uni.ks.Training;
+import de.uni.ks.agent.Action;
+import de.uni.ks.configuration.Config;
+import de.uni.ks.configuration.ConfigManager;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.logging.data.LevelData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+class TrainingSnapshotTest {
+
+    // tests if merging all snapshots of a training (the UI never took one) loses no events and no Q-table changes
+    @Test
+    void testMergeAllSnapshotsOfTraining() {
+        Config config = ConfigManager.readConfig(new File("src/test/resources/testConfig.cfg"));
+        config.showProgressBarInConsole = false;
+        Training training = MazeSimulator.createTraining(config, false);
+        training.initSimulation();
+        training.getAgent().getQTable().setTrackChanges(true);
+
+        TrainingSnapshot merged = null;
+        boolean isNotFinished = true;
+        while (isNotFinished) {
+            int oldLvlNr = training.getCurrentLevelNr();
+            int oldEpisodeNr = training.getCurrentEpisodeNr();
+            isNotFinished = training.doStep();
+            TrainingSnapshot snapshot = TrainingSnapshot.create(training, oldLvlNr, oldEpisodeNr, !isNotFinished);
+            if (merged == null) {
+                merged = snapshot;
+            } else {
+                merged.absorb(snapshot);
+            }
+        }
+
+        Assertions.assertTrue(merged.trainingFinished);
+        Assertions.assertEquals(config.numberOfLevels, merged.levelNr);
+
+        // every episode and every level was reported once in the right order
+        int episodeIndex = 0;
+        for (LevelData levelData : Logger.trainingData.getLevels()) {
+            TrainingSnapshot.FinishedLevel finishedLevel = merged.finishedLevels.get(levelData.getLevelNr() - 1);
+            Assertions.assertEquals(levelData.getLevelNr(), finishedLevel.levelNr);
+            Assertions.assertEquals(levelData.getAverageNumberOfActions(), finishedLevel.averageNumberOfActions);
+            for (int episodeNr = 1; episodeNr <= levelData.getNumberOfEpisodes(); episodeNr++) {
+                TrainingSnapshot.FinishedEpisode finishedEpisode = merged.finishedEpisodes.get(episodeIndex++);
+                Assertions.assertEquals(levelData.getLevelNr(), finishedEpisode.levelNr);
+                Assertions.assertEquals(episodeNr, finishedEpisode.episodeNr);
+                Assertions.assertEquals(levelData.getEpisodeData(episodeNr).getNumberOfActions(),
+                        finishedEpisode.numberOfActions);
+            }
+        }
+        Assertions.assertEquals(episodeIndex, merged.finishedEpisodes.size());
+        Assertions.assertEquals(config.numberOfLevels, merged.finishedLevels.size());
+        Assertions.assertNull(merged.finishedLevels.get(config.numberOfLevels - 1).complexityOfNextLevel);
+
+        // the merged rows are the final Q-table
+        HashMap<String, HashMap<Action, Double>> qTable = training.getAgent().getQTable().getQTable();
+        Assertions.assertEquals(qTable.size(), merged.qTableRows.size());
+        for (Map.Entry<String, HashMap<Action, Double>> row : qTable.entrySet()) {
+            Assertions.assertEquals(row.getValue(), merged.qTableRows.get(row.getKey()));
+        }
+    }
+}
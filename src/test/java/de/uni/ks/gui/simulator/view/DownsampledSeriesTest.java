@@ -0,0 +1,86 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.view;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DownsampledSeriesTest {
+
+    // tests if all points are kept if there are not more points than requested
+    @Test
+    void testDownsampleWithFewPoints() {
+        double[] xValues = {1, 2, 3, 4};
+        double[] yValues = {5, 1, 7, 2};
+        Assertions.assertArrayEquals(new int[]{0, 1, 2, 3}, DownsampledSeries.downsample(xValues, yValues, 4, 4));
+        Assertions.assertArrayEquals(new int[]{0, 1, 2}, DownsampledSeries.downsample(xValues, yValues, 3, 10));
+    }
+
+    // tests if the first and the last point and the peaks of the buckets are selected
+    @Test
+    void testDownsample() {
+        int size = 1002;
+        double[] xValues = new double[size];
+        double[] yValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            xValues[i] = i + 1;
+            yValues[i] = 10;
+        }
+        yValues[123] = 500;
+        yValues[789] = 0;
+
+        int[] indices = DownsampledSeries.downsample(xValues, yValues, size, 12);
+        Assertions.assertEquals(12, indices.length);
+        Assertions.assertEquals(0, indices[0]);
+        Assertions.assertEquals(size - 1, indices[11]);
+        for (int i = 1; i < indices.length; i++) {
+            Assertions.assertTrue(indices[i] > indices[i - 1]);
+        }
+        Assertions.assertTrue(contains(indices, 123));
+        Assertions.assertTrue(contains(indices, 789));
+    }
+
+    // tests if the highest values are tracked and a horizontal line consists of two points
+    @Test
+    void testAddAndHorizontalLine() {
+        DownsampledSeries series = new DownsampledSeries("test");
+        for (int i = 1; i <= 100; i++) {
+            series.add(i, i % 7);
+        }
+        Assertions.assertEquals(100, series.size());
+        Assertions.assertEquals(100, series.getHighestXValue());
+        Assertions.assertEquals(6, series.getHighestYValue());
+
+        series.render(20);
+        Assertions.assertEquals(20, series.getSeries().getData().size());
+
+        series.setHorizontalLine(3, 50, 8);
+        Assertions.assertEquals(2, series.size());
+        Assertions.assertEquals(50, series.getHighestXValue());
+        Assertions.assertEquals(8, series.getHighestYValue());
+        series.render(20);
+        Assertions.assertEquals(2, series.getSeries().getData().size());
+        Assertions.assertEquals(3.0, series.getSeries().getData().get(0).getXValue());
+    }
+
+    private static boolean contains(int[] array, int value) {
+        for (int element : array) {
+            if (element == value) return true;
+        }
+        return false;
+    }
+}
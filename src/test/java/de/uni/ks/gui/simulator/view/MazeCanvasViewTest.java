@@ -0,0 +1,65 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.view;
+
+import de.uni.ks.TestUtils;
+import de.uni.ks.maze.Maze;
+import de.uni.ks.maze.NodeFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MazeCanvasViewTest {
+
+    // tests if each node is written as a square of its colour with a gray border at the position of its cell
+    @Test
+    void testRasterizeMaze() {
+        Maze maze = TestUtils.getMazeWithOneParallelRouteAndDeadEndOnOptimalPath();
+        NodeFactory.Node[][] nodes = maze.getMaze();
+        int cellPixels = 10;
+        int width = nodes[0].length * cellPixels;
+        int border = 0xFF808080;
+
+        int[] pixels = MazeCanvasView.rasterizeMaze(maze, cellPixels);
+        Assertions.assertEquals(nodes.length * cellPixels * width, pixels.length);
+
+        for (int row = 0; row < nodes.length; row++) {
+            for (int column = 0; column < nodes[0].length; column++) {
+                int x = column * cellPixels;
+                int y = row * cellPixels;
+                Assertions.assertEquals(nodes[row][column].getColor().getRGB(),
+                        pixels[(y + cellPixels / 2) * width + x + cellPixels / 2]);
+                Assertions.assertEquals(border, pixels[y * width + x]);
+                Assertions.assertEquals(border, pixels[(y + cellPixels - 1) * width + x + cellPixels - 1]);
+            }
+        }
+    }
+
+    // tests if small cells are written without a border
+    @Test
+    void testRasterizeMazeWithSmallCells() {
+        Maze maze = TestUtils.getMazeWithOneParallelRouteAndDeadEndOnOptimalPath();
+        NodeFactory.Node[][] nodes = maze.getMaze();
+        int width = nodes[0].length;
+
+        int[] pixels = MazeCanvasView.rasterizeMaze(maze, 1);
+        for (int row = 0; row < nodes.length; row++) {
+            for (int column = 0; column < nodes[0].length; column++) {
+                Assertions.assertEquals(nodes[row][column].getColor().getRGB(), pixels[row * width + column]);
+            }
+        }
+    }
+}
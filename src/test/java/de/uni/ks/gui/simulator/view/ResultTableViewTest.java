@@ -0,0 +1,61 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.view;
+
+import de.uni.ks.logging.data.EpisodeData;
+import de.uni.ks.logging.data.LevelData;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ResultTableViewTest {
+
+    // tests if only new episodes are added and the previously last episode is replaced
+    @Test
+    void testUpdateResultsTable() {
+        LevelData levelData = new LevelData(3);
+        for (int episodeNr = 1; episodeNr <= 10; episodeNr++) {
+            levelData.addEpisodeData(new EpisodeData(episodeNr));
+        }
+
+        // the list of a level is found by its number, even if the previous levels were never shown
+        ResultTableView.ResultTableDataController controller = new ResultTableView.ResultTableDataController();
+        Assertions.assertTrue(controller.updateResultsTable(levelData, 4));
+        ObservableList<EpisodeData> episodes = controller.getEpisodesOfLevel(3);
+        Assertions.assertEquals(4, episodes.size());
+        Assertions.assertEquals(0, controller.getEpisodesOfLevel(1).size());
+
+        List<String> changes = new ArrayList<>();
+        episodes.addListener((ListChangeListener<EpisodeData>) c -> {
+            while (c.next()) {
+                changes.add((c.wasReplaced() ? "replaced " : "added ") + c.getFrom() + "-" + c.getTo());
+            }
+        });
+        Assertions.assertTrue(controller.updateResultsTable(levelData, 10));
+        Assertions.assertEquals(List.of("replaced 3-4", "added 4-10"), changes);
+        for (int episodeNr = 1; episodeNr <= 10; episodeNr++) {
+            Assertions.assertSame(levelData.getEpisodeData(episodeNr), controller.getEpisodeOfLevel(3, episodeNr));
+        }
+
+        // less episodes than already shown can't be synchronized
+        Assertions.assertFalse(controller.updateResultsTable(levelData, 5));
+    }
+}
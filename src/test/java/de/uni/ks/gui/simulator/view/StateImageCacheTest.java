@@ -0,0 +1,53 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.gui.simulator.view;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+class StateImageCacheTest {
+
+    // tests if the neighbour cells are filled with their colours and the borders and the agent cell are kept
+    @Test
+    void testCreatePixels() {
+        int size = StateImageCache.IMAGE_SIZE;
+        int cell = StateImageCache.CELL_SIZE;
+        int border = 0xFF808080;
+        int[] template = new int[size * size];
+        Arrays.fill(template, border);
+
+        int[] neighbourColors = {0xFF000001, 0xFF000002, 0xFF000003, 0xFF000004, 0xFF000005, 0xFF000006,
+                0xFF000007, 0xFF000008};
+        int[] pixels = StateImageCache.createPixels(template, neighbourColors);
+
+        // upper, upper right, right, lower right, lower, lower left, left and upper left neighbour
+        int[][] cells = {{1, 0}, {2, 0}, {2, 1}, {2, 2}, {1, 2}, {0, 2}, {0, 1}, {0, 0}};
+        for (int i = 0; i < cells.length; i++) {
+            int x = cells[i][0] * cell;
+            int y = cells[i][1] * cell;
+            Assertions.assertEquals(neighbourColors[i], pixels[y * size + x]);
+            Assertions.assertEquals(neighbourColors[i], pixels[(y + cell - 2) * size + x + cell - 2]);
+            Assertions.assertEquals(border, pixels[(y + cell - 1) * size + x + cell - 1]);
+        }
+
+        // agent cell and template are unchanged
+        Assertions.assertEquals(border, pixels[(cell + cell / 2) * size + cell + cell / 2]);
+        Assertions.assertEquals(border, template[0]);
+    }
+}
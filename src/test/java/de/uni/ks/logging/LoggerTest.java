@@ -27,6 +27,7 @@ import de.uni.ks.criterion.stopEpisode.EndStateReached;
 import de.uni.ks.logging.data.EpisodeData;
 import de.uni.ks.logging.data.LevelData;
 import de.uni.ks.logging.data.TrainingData;
+import de.uni.ks.logging.messages.GuiMessageType;
 import de.uni.ks.maze.Maze;
 import de.uni.ks.maze.NodeFactory;
 import de.uni.ks.maze.complexityFunction.DefaultComplexityFunction;
@@ -40,6 +41,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 class LoggerTest {
 
@@ -409,6 +411,203 @@ class LoggerTest {
         Assertions.assertNotEquals(qTableLevel1Episode1, qTableLevel1Episode2);
     }
 
+    // tests if a streamed log contains the same files as a log that is written at the end of the training
+    @Test
+    void testLogStream() {
+        // write complete log for comparison
+        TrainingData expectedTrainingData = getTestTrainingData();
+        Logger.trainingData = expectedTrainingData;
+        String expectedPath = expectedTrainingData.getLogName();
+        deleteDirectory(expectedPath);
+        Logger.createDirectory(expectedPath);
+        Assertions.assertTrue(Logger.writeTrainingLog(expectedPath));
+
+        // stream log of the same training data
+        TrainingData trainingData = getTestTrainingData();
+        Logger.trainingData = trainingData;
+        String streamedPath = "Logs" + File.separator + trainingData.getLogName();
+        deleteDirectory(streamedPath);
+        Logger.startLogStream();
+        for (LevelData levelData : trainingData.getLevels()) {
+            for (EpisodeData episodeData : levelData.getEpisodes()) {
+                Logger.logFinishedEpisode(levelData, episodeData);
+                // details of streamed episodes are released
+                Assertions.assertNull(episodeData.getQTable());
+                Assertions.assertEquals("", episodeData.getMiscLog());
+            }
+            Logger.logFinishedLevel(levelData);
+        }
+        Logger.writeLog();
+
+        String[] files = {"MyTrainingName.cfg", "summary.csv", "Level 1/evaluation.csv",
+                "Level 1/Episode 1/qtable.csv", "Level 1/Episode 2/qtable.csv", "Level 2/evaluation.csv",
+                "Level 2/Episode 1/qtable.csv"};
+        for (String file : files) {
+            Assertions.assertEquals(readFile(expectedPath + "/" + file), readFile(streamedPath + "/" + file), file);
+        }
+        Assertions.assertTrue(Files.exists(Paths.get(streamedPath + "/Level 1/maze.png")));
+        Assertions.assertTrue(Files.exists(Paths.get(streamedPath + "/Level 2/maze.png")));
+
+        deleteDirectory(expectedPath);
+        deleteDirectory(streamedPath);
+    }
+
+    // tests if a log archive contains the same files as a log directory and if entries can be read
+    @Test
+    void testZipLog() throws IOException {
+        // write complete log for comparison
+        TrainingData expectedTrainingData = getTestTrainingData();
+        expectedTrainingData.addTextToMiscLog("Misc Training Log Message");
+        expectedTrainingData.getLevelData(1).getEpisodeData(2).addTextToMiscLog("Misc log message episode 2");
+        Logger.trainingData = expectedTrainingData;
+        String expectedPath = expectedTrainingData.getLogName();
+        deleteDirectory(expectedPath);
+        Logger.createDirectory(expectedPath);
+        Assertions.assertTrue(Logger.writeTrainingLog(expectedPath));
+
+        // write the same training data as archive
+        TrainingData trainingData = getTestTrainingData();
+        trainingData.addTextToMiscLog("Misc Training Log Message");
+        trainingData.getLevelData(1).getEpisodeData(2).addTextToMiscLog("Misc log message episode 2");
+        trainingData.getConfig().logFormat = LogFormat.ZIP;
+        Logger.trainingData = trainingData;
+        String archivePath = "Logs" + File.separator + trainingData.getLogName() + ".zip";
+        deleteDirectory(archivePath);
+        Logger.writeLog();
+
+        String[] files = {"misc.txt", "MyTrainingName.cfg", "summary.csv", "episodes.bin", "Level 1/maze.png",
+                "Level 1/evaluation.csv", "Level 1/Episode 1/qtable.csv", "Level 1/Episode 2/qtable.csv",
+                "Level 1/Episode 2/misc.txt", "Level 2/maze.png", "Level 2/evaluation.csv",
+                "Level 2/Episode 1/qtable.csv"};
+        try (LogArchiveReader reader = new LogArchiveReader(new File(archivePath))) {
+            Assertions.assertEquals(files.length, reader.listEntries().size());
+            Assertions.assertEquals(5, reader.listEntries("Level 1").size());
+            Assertions.assertFalse(reader.containsEntry("Level 2/Episode 1/misc.txt"));
+
+            for (String file : files) {
+                Assertions.assertTrue(reader.containsEntry(file), file);
+                if (file.endsWith(".png") || file.endsWith(".bin")) continue;
+                // the config file contains the log format
+                if (file.endsWith(".cfg")) continue;
+                Assertions.assertEquals(new String(Files.readAllBytes(Paths.get(expectedPath, file))), reader.readEntry(file),
+                        file);
+            }
+
+            // extract single entry
+            String extractedPath = "extracted.csv";
+            reader.extractEntry("summary.csv", new File(extractedPath));
+            Assertions.assertEquals(readFile(expectedPath + "/summary.csv"), readFile(extractedPath));
+            deleteDirectory(extractedPath);
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> reader.readEntry("Level 3/maze.png"));
+        }
+
+        deleteDirectory(expectedPath);
+        deleteDirectory(archivePath);
+    }
+
+    // tests if the binary results file contains the results of all episodes
+    @Test
+    void testEpisodeResultsFile() throws IOException {
+        TrainingData trainingData = getTestTrainingData();
+        Logger.trainingData = trainingData;
+        String fileName = "episodes.bin";
+        deleteDirectory(fileName);
+
+        Assertions.assertTrue(Logger.writeEpisodeResultsFile(fileName));
+
+        EpisodeResultsReader reader = new EpisodeResultsReader(new File(fileName));
+        Assertions.assertEquals(3, reader.getNumberOfEpisodes());
+        Assertions.assertEquals(1, reader.getStopCriteria().size());
+
+        // rows
+        Assertions.assertEquals(1, reader.getLevelNr(1));
+        Assertions.assertEquals(2, reader.getEpisodeNr(1));
+        Assertions.assertEquals(4, reader.getNumberOfActions(1));
+        Assertions.assertEquals(-2.0d, reader.getTotalReward(1));
+        Assertions.assertEquals(2, reader.getLevelNr(2));
+        Assertions.assertEquals(trainingData.getConfig().episodeStoppingCriteria.get(0).getLoggerString(),
+                reader.getStopCriterion(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> reader.getLevelNr(3));
+
+        // aggregates
+        Assertions.assertEquals(2, reader.aggregateLevels().size());
+        EpisodeResultsReader.LevelAggregate level1 = reader.aggregateLevel(1);
+        LevelData levelData1 = trainingData.getLevelData(1);
+        Assertions.assertEquals(2, level1.getNumberOfEpisodes());
+        Assertions.assertEquals(levelData1.getAverageNumberOfActions().doubleValue(), level1.getAverageNumberOfActions());
+        Assertions.assertEquals(levelData1.getAverageReward().doubleValue(), level1.getAverageReward());
+        Assertions.assertEquals(4, level1.getMinNumberOfActions());
+        Assertions.assertEquals(5, level1.getMaxNumberOfActions());
+        Assertions.assertEquals(-5.0d, level1.getMinReward());
+        Assertions.assertEquals(2, level1.getStopCriterionOccurrences(reader.getStopCriteria().get(0)));
+        Assertions.assertNull(reader.aggregateLevel(3));
+
+        deleteDirectory(fileName);
+    }
+
+    // tests if only messages that match the configured verbosity are added to the misc logs
+    @Test
+    void testLogVerbosity() {
+        Config config = getTestConfig();
+        config.logVerbosity = LogVerbosity.EPISODE;
+        Logger.initLogger("VerbosityLog", config, false);
+
+        Logger.addTextToMiscLogOfCurrentTraining("training message");
+        Logger.addTextToMiscLogOfCurrentLevel(() -> "level message");
+        Logger.addTextToMiscLogOfCurrentEpisode("episode message");
+        Logger.addTextToMiscLogOfCurrentEpisode(() -> {
+            Assertions.fail("Message of a suppressed verbosity must not be created");
+            return "";
+        });
+        Logger.addTextToGuiLog(() -> {
+            Assertions.fail("Message for an inactive gui must not be created");
+            return "";
+        }, GuiMessageType.Policy);
+
+        TrainingData trainingData = Logger.trainingData;
+        Assertions.assertEquals("Level 1: training message\n", trainingData.getMiscLog());
+        Assertions.assertEquals("Episode 1: level message\n", trainingData.getLevelData(1).getMiscLog());
+        Assertions.assertEquals("", trainingData.getLevelData(1).getEpisodeData(1).getMiscLog());
+
+        // no misc logs at all
+        config.logVerbosity = LogVerbosity.OFF;
+        Logger.initLogger("VerbosityLog", config, false);
+        Logger.addTextToMiscLogOfCurrentTraining("training message");
+        Logger.addTextToMiscLogOfCurrentLevel("level message");
+        Assertions.assertEquals("", Logger.trainingData.getMiscLog());
+        Assertions.assertEquals("", Logger.trainingData.getLevelData(1).getMiscLog());
+
+        // restore default verbosity for other tests
+        Logger.initLogger("VerbosityLog", getTestConfig(), false);
+    }
+
+    // tests if the messages of a muted thread (an actor of a parallel training) are not even created
+    @Test
+    void testMutedThread() throws InterruptedException {
+        Config config = getTestConfig();
+        config.logVerbosity = LogVerbosity.ACTION;
+        Logger.initLogger("MutedLog", config, false);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread actor = new Thread(() -> {
+            Logger.muteCurrentThread();
+            Logger.addTextToMiscLogOfCurrentTraining(() -> Assertions.fail("Message of a muted thread was created"));
+            Logger.addTextToMiscLogOfCurrentLevel(() -> Assertions.fail("Message of a muted thread was created"));
+            Logger.addTextToMiscLogOfCurrentEpisode(() -> Assertions.fail("Message of a muted thread was created"));
+        });
+        actor.setUncaughtExceptionHandler((thread, throwable) -> failure.set(throwable));
+        actor.start();
+        actor.join();
+
+        Assertions.assertNull(failure.get());
+        Assertions.assertEquals("", Logger.trainingData.getMiscLog());
+        Assertions.assertEquals("", Logger.trainingData.getLevelData(1).getMiscLog());
+
+        // restore default verbosity for other tests
+        Logger.initLogger("MutedLog", getTestConfig(), false);
+    }
+
     private TrainingData getTestTrainingData() {
         Config config = getTestConfig();
         TrainingData trainingData = new TrainingData("TestLog", config);
@@ -439,9 +638,7 @@ class LoggerTest {
         level1Episode2.setOccurredEpisodeStopCriterion(config.episodeStoppingCriteria.get(0));
         level1.addEpisodeData(level1Episode2);
 
-        level1.refreshAverageNumberOfActions();
         level1.refreshEpisodeStoppingCriteriaOccurrences(config.episodeStoppingCriteria);
-        level1.refreshAverageReward();
 
         // create data for level 2
         LevelData level2 = new LevelData(2);
@@ -460,9 +657,7 @@ class LoggerTest {
         level2Episode1.setOccurredEpisodeStopCriterion(config.episodeStoppingCriteria.get(0));
         level2.addEpisodeData(level2Episode1);
 
-        level2.refreshAverageNumberOfActions();
         level2.refreshEpisodeStoppingCriteriaOccurrences(config.episodeStoppingCriteria);
-        level2.refreshAverageReward();
 
         return trainingData;
     }
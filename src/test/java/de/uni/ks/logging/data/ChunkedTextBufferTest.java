@@ -0,0 +1,92 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.List;
+
+class ChunkedTextBufferTest {
+
+    // tests if text that exceeds multiple chunks is stored correctly
+    @Test
+    void testAppendOverMultipleChunks() {
+        ChunkedTextBuffer buffer = new ChunkedTextBuffer();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            String text = "Action " + i + ": chosen action UP";
+            buffer.append(text);
+            buffer.append('\n');
+            expected.append(text).append('\n');
+        }
+
+        Assertions.assertEquals(expected.length(), buffer.length());
+        Assertions.assertEquals(expected.toString(), buffer.toString());
+        Assertions.assertTrue(buffer.getChunks().size() > 1);
+
+        StringBuilder fromChunks = new StringBuilder();
+        for (CharBuffer chunk : buffer.getChunks()) {
+            fromChunks.append(chunk);
+        }
+        Assertions.assertEquals(expected.toString(), fromChunks.toString());
+    }
+
+    // tests if surrogate pairs are not split between two chunks
+    @Test
+    void testSurrogatePairsAreNotSplit() {
+        ChunkedTextBuffer buffer = new ChunkedTextBuffer();
+        buffer.append("a".repeat(ChunkedTextBuffer.CHUNK_SIZE - 1));
+        buffer.append("\uD83D\uDE00b");
+
+        List<CharBuffer> chunks = buffer.getChunks();
+        Assertions.assertEquals(2, chunks.size());
+        Assertions.assertEquals(ChunkedTextBuffer.CHUNK_SIZE - 1, chunks.get(0).length());
+        Assertions.assertEquals("\uD83D\uDE00b", chunks.get(1).toString());
+        Assertions.assertEquals("a".repeat(ChunkedTextBuffer.CHUNK_SIZE - 1) + "\uD83D\uDE00b", buffer.toString());
+    }
+
+    // tests if chunks that were returned before are not changed by later appends
+    @Test
+    void testChunksAreSnapshots() {
+        ChunkedTextBuffer buffer = new ChunkedTextBuffer();
+        buffer.append("first");
+        List<CharBuffer> chunks = buffer.getChunks();
+        buffer.append("second");
+
+        Assertions.assertEquals("first", chunks.get(0).toString());
+        Assertions.assertEquals("firstsecond", buffer.toString());
+    }
+
+    // tests the mixed log of the log data classes
+    @Test
+    void testMiscLog() {
+        EpisodeData episodeData = new EpisodeData(1);
+        Assertions.assertEquals("", episodeData.getMiscLog());
+        Assertions.assertTrue(episodeData.getMiscLogBuffer().isEmpty());
+
+        episodeData.addTextToMiscLog("Action 1: text");
+        episodeData.addTextToMiscLog("Action 2: text");
+        Assertions.assertEquals("Action 1: text\nAction 2: text\n", episodeData.getMiscLog());
+
+        ChunkedTextBuffer released = episodeData.getMiscLogBuffer();
+        episodeData.releaseLogDetails();
+        Assertions.assertEquals("", episodeData.getMiscLog());
+        Assertions.assertEquals("Action 1: text\nAction 2: text\n", released.toString());
+    }
+}
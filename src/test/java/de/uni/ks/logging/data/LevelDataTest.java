@@ -0,0 +1,165 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.data;
+
+import de.uni.ks.criterion.Criterion;
+import de.uni.ks.criterion.stopEpisode.EndStateReached;
+import de.uni.ks.criterion.stopEpisode.MaxActionsReached;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+class LevelDataTest {
+
+    // tests if levels and episodes with consecutive numbers are found by their number
+    @Test
+    void testGetDataByNumber() {
+        TrainingData trainingData = new TrainingData("test", null);
+        for (int levelNr = 1; levelNr <= 3; levelNr++) {
+            LevelData levelData = new LevelData(levelNr);
+            trainingData.addLevelData(levelData);
+            for (int episodeNr = 1; episodeNr <= 100; episodeNr++) {
+                levelData.addEpisodeData(new EpisodeData(episodeNr));
+            }
+        }
+
+        for (int levelNr = 1; levelNr <= 3; levelNr++) {
+            LevelData levelData = trainingData.getLevelData(levelNr);
+            Assertions.assertEquals(levelNr, levelData.getLevelNr());
+            for (int episodeNr = 1; episodeNr <= 100; episodeNr++) {
+                Assertions.assertEquals(episodeNr, levelData.getEpisodeData(episodeNr).getEpisodeNr());
+            }
+            Assertions.assertNull(levelData.getEpisodeData(0));
+            Assertions.assertNull(levelData.getEpisodeData(101));
+        }
+        Assertions.assertNull(trainingData.getLevelData(0));
+        Assertions.assertNull(trainingData.getLevelData(4));
+    }
+
+    // tests if data is still found if the numbering has gaps
+    @Test
+    void testGetDataByNumberWithGaps() {
+        TrainingData trainingData = new TrainingData("test", null);
+        LevelData levelData = new LevelData(2);
+        trainingData.addLevelData(levelData);
+        trainingData.addLevelData(new LevelData(5));
+        levelData.addEpisodeData(new EpisodeData(3));
+        levelData.addEpisodeData(new EpisodeData(1));
+
+        Assertions.assertSame(levelData, trainingData.getLevelData(2));
+        Assertions.assertEquals(5, trainingData.getLevelData(5).getLevelNr());
+        Assertions.assertNull(trainingData.getLevelData(1));
+        Assertions.assertEquals(3, levelData.getEpisodeData(3).getEpisodeNr());
+        Assertions.assertEquals(1, levelData.getEpisodeData(1).getEpisodeNr());
+        Assertions.assertNull(levelData.getEpisodeData(2));
+    }
+
+    // tests if the statistics of the level match the statistics calculated from all episodes
+    @Test
+    void testStatistics() {
+        Criterion endStateReached = new EndStateReached();
+        Criterion maxActionsReached = new MaxActionsReached(100);
+        LevelData levelData = new LevelData(1);
+        Assertions.assertEquals(0, levelData.getNumberOfEpisodes());
+        Assertions.assertNull(levelData.getAverageNumberOfActions());
+        Assertions.assertNull(levelData.getAverageReward());
+
+        Random random = new Random(42);
+        for (int episodeNr = 1; episodeNr <= 300; episodeNr++) {
+            EpisodeData episodeData = new EpisodeData(episodeNr);
+            levelData.addEpisodeData(episodeData);
+
+            // values of the current episode change with every action
+            int actions = 1 + random.nextInt(100);
+            for (int action = 1; action <= actions; action++) {
+                episodeData.setNumberOfActions(action);
+                episodeData.setTotalReward(-0.5d * action + random.nextDouble());
+            }
+            episodeData.setOccurredEpisodeStopCriterion(actions == 100 ? maxActionsReached : endStateReached);
+
+            assertStatistics(levelData, List.of(endStateReached, maxActionsReached));
+        }
+    }
+
+    // tests if the statistics are still correct after an older episode was changed
+    @Test
+    void testStatisticsAfterChangeOfOldEpisode() {
+        Criterion endStateReached = new EndStateReached();
+        LevelData levelData = new LevelData(1);
+        for (int episodeNr = 1; episodeNr <= 5; episodeNr++) {
+            EpisodeData episodeData = new EpisodeData(episodeNr);
+            episodeData.setNumberOfActions(episodeNr);
+            episodeData.setTotalReward((double) -episodeNr);
+            episodeData.setOccurredEpisodeStopCriterion(endStateReached);
+            levelData.addEpisodeData(episodeData);
+        }
+
+        levelData.getEpisodeData(1).setNumberOfActions(50);
+        levelData.getEpisodeData(2).setTotalReward(10.0d);
+        levelData.getEpisodeData(3).setOccurredEpisodeStopCriterion(null);
+
+        Assertions.assertEquals(50, levelData.getEpisodeData(1).getNumberOfActions());
+        Assertions.assertEquals(10.0d, levelData.getEpisodeData(2).getTotalReward().doubleValue());
+        Assertions.assertNull(levelData.getEpisodeData(3).getOccurredEpisodeStopCriterion());
+        assertStatistics(levelData, List.of(endStateReached));
+    }
+
+    private void assertStatistics(LevelData levelData, List<Criterion> criteria) {
+        List<EpisodeData> episodes = levelData.getEpisodes();
+        int n = episodes.size();
+        double actionSum = 0.0d;
+        double rewardSum = 0.0d;
+        int minActions = Integer.MAX_VALUE;
+        int maxActions = Integer.MIN_VALUE;
+        double minReward = Double.POSITIVE_INFINITY;
+        double maxReward = Double.NEGATIVE_INFINITY;
+        for (EpisodeData episodeData : episodes) {
+            actionSum += episodeData.getNumberOfActions();
+            rewardSum += episodeData.getTotalReward();
+            minActions = Math.min(minActions, episodeData.getNumberOfActions());
+            maxActions = Math.max(maxActions, episodeData.getNumberOfActions());
+            minReward = Math.min(minReward, episodeData.getTotalReward());
+            maxReward = Math.max(maxReward, episodeData.getTotalReward());
+        }
+        double actionMean = actionSum / n;
+        double rewardMean = rewardSum / n;
+        double actionVariance = 0.0d;
+        double rewardVariance = 0.0d;
+        for (EpisodeData episodeData : episodes) {
+            actionVariance += Math.pow(episodeData.getNumberOfActions() - actionMean, 2) / n;
+            rewardVariance += Math.pow(episodeData.getTotalReward() - rewardMean, 2) / n;
+        }
+
+        Assertions.assertEquals(n, levelData.getNumberOfEpisodes());
+        Assertions.assertEquals(actionMean, levelData.getAverageNumberOfActions().doubleValue());
+        Assertions.assertEquals(rewardMean, levelData.getAverageReward().doubleValue(), 1e-9);
+        Assertions.assertEquals(minActions, levelData.getMinNumberOfActions());
+        Assertions.assertEquals(maxActions, levelData.getMaxNumberOfActions());
+        Assertions.assertEquals(minReward, levelData.getMinReward());
+        Assertions.assertEquals(maxReward, levelData.getMaxReward());
+        Assertions.assertEquals(actionVariance, levelData.getNumberOfActionsVariance(), 1e-6);
+        Assertions.assertEquals(rewardVariance, levelData.getRewardVariance(), 1e-6);
+
+        for (Criterion criterion : criteria) {
+            long occurrences = episodes.stream()
+                    .filter(episodeData -> episodeData.getOccurredEpisodeStopCriterion() == criterion).count();
+            Assertions.assertEquals(occurrences, levelData.getEpisodeStopCriterionOccurrences(criterion));
+        }
+    }
+}
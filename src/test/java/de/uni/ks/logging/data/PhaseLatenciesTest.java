@@ -0,0 +1,89 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PhaseLatenciesTest {
+
+    // tests if small durations are stored exactly and larger durations deviate by at most 1/16
+    @Test
+    void testBucketPrecision() {
+        for (long duration = 0; duration < 16; duration++) {
+            Assertions.assertEquals(duration, PhaseLatencies.getHighestValue(PhaseLatencies.getBucket(duration)));
+        }
+        for (long duration : new long[]{16, 17, 31, 32, 33, 1000, 123_456_789L, 1L << 40}) {
+            long highestValue = PhaseLatencies.getHighestValue(PhaseLatencies.getBucket(duration));
+            Assertions.assertTrue(highestValue >= duration);
+            Assertions.assertTrue(highestValue - duration <= duration / 16, "duration " + duration);
+        }
+    }
+
+    // tests if durations that exceed the highest bucket are counted in the highest bucket
+    @Test
+    void testDurationsAboveRange() {
+        Assertions.assertEquals(PhaseLatencies.BUCKETS - 1, PhaseLatencies.getBucket(Long.MAX_VALUE));
+        Assertions.assertEquals(PhaseLatencies.BUCKETS - 1, PhaseLatencies.getBucket(1L << 41));
+        Assertions.assertEquals(PhaseLatencies.BUCKETS - 1, PhaseLatencies.getBucket((1L << 41) - 1));
+    }
+
+    // tests if the percentiles of the recorded durations are calculated per phase
+    @Test
+    void testPercentiles() {
+        PhaseLatencies latencies = new PhaseLatencies(true);
+        for (int i = 1; i <= 100; i++) {
+            latencies.record(TrainingPhase.CHOOSE_ACTION, i);
+        }
+        latencies.record(TrainingPhase.LOGGING, 5);
+
+        Assertions.assertEquals(100, latencies.getCount(TrainingPhase.CHOOSE_ACTION));
+        Assertions.assertEquals(1, latencies.getCount(TrainingPhase.LOGGING));
+        Assertions.assertEquals(0, latencies.getCount(TrainingPhase.Q_UPDATE));
+
+        Assertions.assertEquals(51, latencies.getPercentile(TrainingPhase.CHOOSE_ACTION, 0.5));
+        Assertions.assertEquals(99, latencies.getPercentile(TrainingPhase.CHOOSE_ACTION, 0.99));
+        Assertions.assertEquals(103, latencies.getMax(TrainingPhase.CHOOSE_ACTION));
+        Assertions.assertEquals(5, latencies.getMax(TrainingPhase.LOGGING));
+        Assertions.assertEquals(0, latencies.getMax(TrainingPhase.Q_UPDATE));
+    }
+
+    // tests if a copy is not changed by the latencies it was copied from
+    @Test
+    void testCopyAndClear() {
+        PhaseLatencies latencies = new PhaseLatencies(true);
+        latencies.record(TrainingPhase.CHANGE_MAZE, 1000);
+        PhaseLatencies copy = new PhaseLatencies(latencies);
+
+        latencies.clear();
+
+        Assertions.assertEquals(0, latencies.getCount(TrainingPhase.CHANGE_MAZE));
+        Assertions.assertEquals(1, copy.getCount(TrainingPhase.CHANGE_MAZE));
+    }
+
+    // tests if disabled latencies ignore all calls
+    @Test
+    void testDisabled() {
+        PhaseLatencies latencies = new PhaseLatencies(false);
+        long start = latencies.start();
+        latencies.stop(TrainingPhase.COMPLEXITY, start);
+        latencies.record(TrainingPhase.COMPLEXITY, 10);
+
+        Assertions.assertEquals(0, start);
+        Assertions.assertEquals(0, latencies.getCount(TrainingPhase.COMPLEXITY));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.messages;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class GuiMessageLogTest {
+
+    // tests if the messages are taken in one batch and only the latest messages are kept
+    @Test
+    void testDrain() throws IOException {
+        GuiMessageLog log = new GuiMessageLog("test", 3, Runnable::run);
+        for (int i = 0; i < 2; i++) {
+            log.addTextToLogWithoutPrefix("message " + i);
+        }
+        Assertions.assertTrue(log.getMessages().isEmpty());
+        Assertions.assertEquals(2, log.drain());
+        Assertions.assertEquals(0, log.drain());
+        Assertions.assertNull(log.getSpillFile());
+
+        for (int i = 2; i < 5; i++) {
+            log.addTextToLogWithoutPrefix("message " + i);
+        }
+        Assertions.assertEquals(3, log.drain());
+        Assertions.assertEquals(3, log.getMessages().size());
+        Assertions.assertEquals("message 2\n", log.getMessages().get(0));
+        Assertions.assertEquals("message 4\n", log.getMessages().get(2));
+
+        log.addTextToLogWithoutPrefix("message 5");
+        Assertions.assertEquals(1, log.drain());
+        Assertions.assertEquals("message 3\n", log.getMessages().get(0));
+
+        // removed messages are written to the file
+        Path spillFile = log.getSpillFile();
+        try {
+            Assertions.assertEquals("message 0\nmessage 1\nmessage 2\n",
+                    new String(Files.readAllBytes(spillFile), StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(spillFile);
+        }
+    }
+
+    // tests if messages that were overwritten before they were taken are skipped
+    @Test
+    void testDrainAfterOverflow() {
+        GuiMessageLog log = new GuiMessageLog("test", GuiMessageLog.BUFFER_CAPACITY + 1, Runnable::run);
+        for (int i = 0; i < GuiMessageLog.BUFFER_CAPACITY + 10; i++) {
+            log.addTextToLogWithoutPrefix("message " + i);
+        }
+        Assertions.assertEquals(GuiMessageLog.BUFFER_CAPACITY + 1, log.drain());
+        Assertions.assertEquals("... 10 messages skipped ...\n", log.getMessages().get(0));
+        Assertions.assertEquals("message 10\n", log.getMessages().get(1));
+        Assertions.assertEquals("message " + (GuiMessageLog.BUFFER_CAPACITY + 9) + "\n",
+                log.getMessages().get(GuiMessageLog.BUFFER_CAPACITY));
+        Assertions.assertNull(log.getSpillFile());
+    }
+
+    // tests if every taken message is the message that was written at its position while the training thread writes
+    @Test
+    void testDrainWhileWriting() throws InterruptedException {
+        int numberOfMessages = 50 * GuiMessageLog.BUFFER_CAPACITY;
+        GuiMessageLog log = new GuiMessageLog("test", 2 * GuiMessageLog.BUFFER_CAPACITY + 1, runnable -> {
+        });
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < numberOfMessages; i++) {
+                log.addTextToLogWithoutPrefix(Integer.toString(i));
+            }
+        });
+        writer.start();
+
+        long expectedMessage = 0;
+        boolean writing = true;
+        while (writing) {
+            writing = writer.isAlive();
+            int newMessages = log.drain();
+            List<String> messages = log.getMessages();
+            for (String message : messages.subList(messages.size() - newMessages, messages.size())) {
+                if (message.startsWith("... ")) {
+                    expectedMessage += Long.parseLong(message.substring(4, message.indexOf(" messages skipped")));
+                } else {
+                    Assertions.assertEquals(expectedMessage + "\n", message);
+                    expectedMessage++;
+                }
+            }
+        }
+        writer.join();
+        Assertions.assertEquals(numberOfMessages, expectedMessage);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.logging.remote;
+
+import de.uni.ks.MazeSimulator;
+import de.uni.ks.TestUtils;
+import de.uni.ks.Training;
+import de.uni.ks.configuration.Config;
+import de.uni.ks.configuration.ConfigManager;
+import de.uni.ks.logging.Logger;
+import de.uni.ks.logging.data.EpisodeData;
+import de.uni.ks.logging.data.LevelData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class ProgressServerTest {
+
+    // tests if a viewer that connects after the training receives the config, all levels and all episodes
+    @Test
+    void testViewerReceivesProgress() throws IOException {
+        Config config = ConfigManager.readConfig(new File("src/test/resources/testConfig.cfg"));
+        config.showProgressBarInConsole = false;
+        Training training = MazeSimulator.createTraining(config, false);
+        String serializedConfig = ConfigManager.serializeConfig(config);
+
+        try (ProgressServer progressServer = ProgressServer.open(0, config.trainingName, serializedConfig)) {
+            training.setProgressServer(progressServer);
+            training.doTraining();
+
+            RecordingListener listener = new RecordingListener();
+            try (ProgressClient progressClient = ProgressClient.connect(progressServer.getPort())) {
+                Assertions.assertEquals(config.trainingName, progressClient.getTrainingName());
+                Assertions.assertEquals(serializedConfig, progressClient.getConfig());
+                while (!listener.finished) {
+                    Assertions.assertTrue(progressClient.readFrame(listener));
+                }
+            }
+
+            // no steps are sent to a viewer that connected after the training
+            Assertions.assertEquals(0, listener.steps);
+
+            // the mazes and episodes match the log of the training
+            Assertions.assertEquals(Logger.trainingData.getLevels().size(), listener.mazes.size());
+            int episodeIndex = 0;
+            for (LevelData levelData : Logger.trainingData.getLevels()) {
+                ProgressProtocol.MazeCells expected = new ProgressProtocol.MazeCells(levelData.getMaze());
+                ProgressProtocol.MazeCells received = listener.mazes.get(levelData.getLevelNr() - 1);
+                Assertions.assertArrayEquals(expected.types, received.types);
+                Assertions.assertArrayEquals(expected.colors, received.colors);
+                Assertions.assertEquals(expected.startRow, received.startRow);
+                Assertions.assertEquals(expected.endColumn, received.endColumn);
+
+                for (EpisodeData episodeData : levelData.getEpisodes()) {
+                    int[] episode = listener.episodes.get(episodeIndex++);
+                    Assertions.assertEquals(levelData.getLevelNr(), episode[0]);
+                    Assertions.assertEquals(episodeData.getEpisodeNr(), episode[1]);
+                    Assertions.assertEquals(episodeData.getNumberOfActions(), episode[2]);
+                    Assertions.assertEquals(config.episodeStoppingCriteria.indexOf(
+                            episodeData.getOccurredEpisodeStopCriterion()), episode[3]);
+                }
+            }
+            Assertions.assertEquals(episodeIndex, listener.episodes.size());
+        }
+    }
+
+    // tests if a viewer receives all episodes of a level, which the server combines into several frames
+    @Test
+    void testViewerReceivesCombinedEpisodes() throws IOException {
+        int numberOfEpisodes = 2 * ProgressServer.EPISODES_PER_FRAME + 1;
+        try (ProgressServer progressServer = ProgressServer.open(0, "combined episodes", "")) {
+            progressServer.publishLevel(1, TestUtils.getDefaultMaze());
+            for (int episodeNr = 1; episodeNr <= numberOfEpisodes; episodeNr++) {
+                progressServer.publishEpisode(1, episodeNr, episodeNr, -episodeNr, episodeNr % 2,
+                        episodeNr < numberOfEpisodes ? ProgressProtocol.NEXT_EPISODE
+                                : ProgressProtocol.TRAINING_FINISHED);
+            }
+
+            RecordingListener listener = new RecordingListener();
+            try (ProgressClient progressClient = ProgressClient.connect(progressServer.getPort())) {
+                while (!listener.finished) {
+                    Assertions.assertTrue(progressClient.readFrame(listener));
+                }
+            }
+
+            Assertions.assertEquals(1, listener.mazes.size());
+            Assertions.assertEquals(numberOfEpisodes, listener.episodes.size());
+            for (int i = 0; i < numberOfEpisodes; i++) {
+                int episodeNr = i + 1;
+                Assertions.assertArrayEquals(new int[]{1, episodeNr, episodeNr, episodeNr % 2},
+                        listener.episodes.get(i));
+            }
+        }
+    }
+
+    // tests if a maze is rebuilt from its cells
+    @Test
+    void testMazeCellsToMaze() {
+        Config config = ConfigManager.readConfig(new File("src/test/resources/testConfig.cfg"));
+        config.showProgressBarInConsole = false;
+        Training training = MazeSimulator.createTraining(config, false);
+        training.initSimulation();
+
+        ProgressProtocol.MazeCells cells = new ProgressProtocol.MazeCells(training.getMaze());
+        ProgressProtocol.MazeCells rebuilt = new ProgressProtocol.MazeCells(
+                cells.toMaze(training.getMaze().getNodeFactory()));
+        Assertions.assertArrayEquals(cells.types, rebuilt.types);
+        Assertions.assertArrayEquals(cells.colors, rebuilt.colors);
+        Assertions.assertEquals(training.getMaze().getLengthOfShortestPath(),
+                cells.toMaze(training.getMaze().getNodeFactory()).getLengthOfShortestPath());
+    }
+
+    private static class RecordingListener implements ProgressListener {
+        private final List<ProgressProtocol.MazeCells> mazes = new ArrayList<>();
+        private final List<int[]> episodes = new ArrayList<>();
+        private int steps;
+        private boolean finished;
+
+        @Override
+        public void onLevel(int levelNr, ProgressProtocol.MazeCells maze) {
+            Assertions.assertEquals(mazes.size() + 1, levelNr);
+            mazes.add(maze);
+        }
+
+        @Override
+        public void onStep(int levelNr, int episodeNr, int actionNr, double totalReward, int agentRow,
+                           int agentColumn) {
+            steps++;
+        }
+
+        @Override
+        public void onEpisode(int levelNr, int episodeNr, int numberOfActions, double totalReward,
+                              int stopCriterionIndex, byte next) {
+            episodes.add(new int[]{levelNr, episodeNr, numberOfActions, stopCriterionIndex});
+            finished = next == ProgressProtocol.TRAINING_FINISHED;
+        }
+    }
+}
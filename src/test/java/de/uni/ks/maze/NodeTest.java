@@ -17,6 +17,7 @@
 package de.uni.ks.maze;
 
 import de.uni.ks.maze.NodeFactory.Node;
+import de.uni.ks.maze.utils.MazeUtils;
 import org.junit.jupiter.api.Test;
 
 import static de.uni.ks.TestUtils.createMaze;
@@ -53,4 +54,24 @@ class NodeTest {
 
     }
 
+    // tests if the neighbour colours parsed from the state match the colours of the neighbours
+    @Test
+    void testGetNeighbourColorsOfState() {
+        NodeFactory nodeFactory = new NodeFactory(-0.05, 1, 5, 5, 123, 345, 678, 91011, 200);
+        Maze maze = MazeUtils.buildMaze(10, true, nodeFactory);
+        Node[][] nodes = maze.getMaze();
+        for (int x = 1; x < nodes.length - 1; x++) {
+            for (int y = 1; y < nodes[0].length - 1; y++) {
+                Node node = maze.getNodeAt(x, y);
+                Node[] neighbours = {node.getUpperNeighbor(), node.getUpperRightNeighbor(), node.getRightNeighbor(),
+                        node.getLowerRightNeighbor(), node.getLowerNeighbor(), node.getLowerLeftNeighbor(),
+                        node.getLeftNeighbor(), node.getUpperLeftNeighbor()};
+
+                int[] colors = NodeFactory.getNeighbourColorsOfState(node.getState());
+                for (int i = 0; i < 8; i++) {
+                    assertEquals(neighbours[i].getColor().getRGB(), colors[i]);
+                }
+            }
+        }
+    }
 }
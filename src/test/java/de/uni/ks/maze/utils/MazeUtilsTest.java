@@ -22,6 +22,7 @@ import de.uni.ks.maze.NodeFactory;
 import de.uni.ks.maze.NodeFactory.Node;
 import de.uni.ks.maze.NodeType;
 import de.uni.ks.maze.utils.mazeOperators.MazeOperator;
+import de.uni.ks.random.RandomStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -70,7 +71,7 @@ class MazeUtilsTest {
 
         NodeFactory nodeFactory = new NodeFactory(-0.05, 0, 1, 1, 0, 0, 0, 0, 200);
         Maze maze = MazeUtils.getPlaceholderMaze(nodeFactory);
-        Random random = new Random(123);
+        RandomStream random = new RandomStream(123);
 
         //   1. returns 0 when delta is 0
         Assertions.assertEquals(0.0,
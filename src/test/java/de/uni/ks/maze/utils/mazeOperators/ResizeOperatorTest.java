@@ -781,7 +781,7 @@ class ResizeOperatorTest {
         Maze maze = TestUtils.getSimpleHorizontalMaze();
 
         // try to use resize Operator if a total dimension increase of 4 is allowed
-        ResizeOperator resizeOperator = new ResizeOperator(25, 265);
+        ResizeOperator resizeOperator = new ResizeOperator(25, 263);
 
         // estimateCost method will return the cost for a total increase of 4.
         // Therefore, check if costs are costsPerDimension * 4
@@ -0,0 +1,70 @@
+/*
+    Copyright (C) 2020 Philip Martin and Timo Sturm
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, see <http://www.gnu.org/licenses/>.
+*/
+package de.uni.ks.random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class RandomStreamTest {
+
+    // tests if streams with the same seed and the same splits generate the same numbers
+    @Test
+    void testStreamsAreReproducible() {
+        RandomStream first = new RandomStream(42);
+        RandomStream second = new RandomStream(42);
+        RandomStream firstChild = first.split();
+        RandomStream secondChild = second.split();
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(first.nextInt(1000), second.nextInt(1000));
+            Assertions.assertEquals(firstChild.nextDouble(), secondChild.nextDouble());
+        }
+    }
+
+    // tests if split streams generate other numbers than their parent and their siblings
+    @Test
+    void testSplitStreamsAreIndependent() {
+        RandomStream parent = new RandomStream(42);
+        RandomStream firstChild = parent.split();
+        RandomStream secondChild = parent.split();
+
+        List<Integer> parentNumbers = nextInts(parent);
+        Assertions.assertNotEquals(parentNumbers, nextInts(firstChild));
+        Assertions.assertNotEquals(parentNumbers, nextInts(secondChild));
+        Assertions.assertNotEquals(nextInts(new RandomStream(42).split()), nextInts(new RandomStream(43).split()));
+    }
+
+    // tests if shuffling creates a permutation of the list
+    @Test
+    void testShuffle() {
+        List<Integer> list = IntStream.range(0, 100).boxed().collect(Collectors.toCollection(ArrayList::new));
+        new RandomStream(42).shuffle(list);
+
+        Assertions.assertNotEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), list);
+        Assertions.assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()),
+                list.stream().sorted().collect(Collectors.toList()));
+    }
+
+    private static List<Integer> nextInts(RandomStream stream) {
+        return IntStream.range(0, 20).mapToObj(i -> stream.nextInt(Integer.MAX_VALUE)).collect(Collectors.toList());
+    }
+}